@@ -1,5 +0,0 @@
-package com.mindquest.config;
-
-public class GameConfig {
-    public static final boolean DEBUG = true; // Set to true for debug output, false for player experience
-}
@@ -0,0 +1,59 @@
+package com.mindquest.config;
+
+/**
+ * Server tunables resolved from JVM system properties or environment variables.
+ * A system property wins over an environment variable with the same key,
+ * so tests and tools can override settings without touching the environment.
+ */
+public final class ServerConfig {
+
+    private ServerConfig() {
+        // Utility class - no instantiation
+    }
+
+    /**
+     * Get a raw setting value.
+     *
+     * @param key The setting key (e.g., "MINDQUEST_EXECUTOR_THREADS")
+     * @param defaultValue Value returned when the key is not set
+     * @return The configured value, or the default
+     */
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isEmpty()) {
+            value = System.getenv(key);
+        }
+        return (value == null || value.isEmpty()) ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("[WARN] Invalid " + key + " '" + value + "', using default " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("[WARN] Invalid " + key + " '" + value + "', using default " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+}
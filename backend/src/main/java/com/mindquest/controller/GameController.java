@@ -26,7 +26,7 @@ public class GameController {
 
     public GameController() {
         this.player = new Player();
-        this.questionBank = new QuestionBank();
+        this.questionBank = QuestionBank.shared();
         this.sessionManager = new SessionManager(player, questionBank);
         this.gameService = new GameService(sessionManager, player, questionBank);
         this.navigationManager = new NavigationManager();
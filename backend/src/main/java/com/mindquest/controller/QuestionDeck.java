@@ -0,0 +1,145 @@
+package com.mindquest.controller;
+
+import com.mindquest.model.question.Question;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * One session's view of a topic/difficulty bucket. Questions are identified by
+ * their dense ordinal (position in the bucket list) and used ordinals are kept
+ * in a bitset, one bit per question.
+ *
+ * A draw picks k unused ordinals with Floyd's sampling and maps them through
+ * the bitset, so a round costs O(k + n/64) instead of filtering and shuffling
+ * the whole bucket. The bitset is rebuilt from the session's used IDs only when
+ * they changed behind the deck's back (restore, mixed rounds, a lost race).
+ */
+final class QuestionDeck {
+
+    /**
+     * Questions picked for a round, with their ordinals for {@link #commit}.
+     */
+    record Draw(List<Question> questions, int[] ordinals) {
+    }
+
+    private final List<Question> bucket;
+    private final int size;
+    private final long[] used;
+    private int usedCount;
+    private UsedQuestionIds syncedWith;
+
+    QuestionDeck(List<Question> bucket) {
+        this.bucket = bucket;
+        this.size = bucket.size();
+        this.used = new long[(size + 63) >>> 6];
+    }
+
+    /**
+     * True when this deck was built over the given list, so its ordinals still apply.
+     */
+    boolean covers(List<Question> candidates) {
+        return candidates == bucket && candidates.size() == size;
+    }
+
+    /**
+     * Picks up to {@code count} questions not in {@code usedIds}, in random order.
+     * The deck is not changed until the draw is committed.
+     */
+    synchronized Draw draw(int count, UsedQuestionIds usedIds, Random random) {
+        sync(usedIds);
+        int free = size - usedCount;
+        int k = Math.min(count, free);
+
+        // Floyd's algorithm: k distinct ranks among the free ordinals
+        int[] ranks = new int[k];
+        for (int j = free - k, n = 0; j < free; j++, n++) {
+            int t = random.nextInt(j + 1);
+            ranks[n] = contains(ranks, n, t) ? j : t;
+        }
+        Arrays.sort(ranks);
+
+        int[] ordinals = new int[k];
+        int word = 0;
+        int clearBefore = 0;
+        for (int i = 0; i < k; i++) {
+            int clear;
+            while (clearBefore + (clear = Long.bitCount(~used[word])) <= ranks[i]) {
+                clearBefore += clear;
+                word++;
+            }
+            ordinals[i] = (word << 6) + nthClearBit(used[word], ranks[i] - clearBefore);
+        }
+
+        // Sorted ranks give sorted ordinals; shuffle the few picked for play order
+        for (int i = k - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = ordinals[i];
+            ordinals[i] = ordinals[j];
+            ordinals[j] = tmp;
+        }
+        Question[] questions = new Question[k];
+        for (int i = 0; i < k; i++) {
+            questions[i] = bucket.get(ordinals[i]);
+        }
+        return new Draw(List.of(questions), ordinals);
+    }
+
+    /**
+     * Marks a draw as used once the session state moved from {@code basis} to
+     * {@code result}. If the deck was resynced in between, the next draw rebuilds it.
+     */
+    synchronized void commit(Draw draw, UsedQuestionIds basis, UsedQuestionIds result) {
+        if (syncedWith != basis) {
+            return;
+        }
+        for (int ordinal : draw.ordinals()) {
+            long bit = 1L << ordinal;
+            if ((used[ordinal >>> 6] & bit) == 0) {
+                used[ordinal >>> 6] |= bit;
+                usedCount++;
+            }
+        }
+        syncedWith = result;
+    }
+
+    private void sync(UsedQuestionIds usedIds) {
+        if (usedIds == syncedWith) {
+            return;
+        }
+        Arrays.fill(used, 0L);
+        if ((size & 63) != 0) {
+            // Padding past the last question counts as used so it is never drawn
+            used[used.length - 1] = -1L << (size & 63);
+        }
+        usedCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (usedIds.contains(bucket.get(i).getId())) {
+                used[i >>> 6] |= 1L << i;
+                usedCount++;
+            }
+        }
+        syncedWith = usedIds;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Position of the n-th (0-based) zero bit in a word.
+     */
+    private static int nthClearBit(long word, int n) {
+        long free = ~word;
+        for (int i = 0; i < n; i++) {
+            free &= free - 1;
+        }
+        return Long.numberOfTrailingZeros(free);
+    }
+}
@@ -1,65 +1,101 @@
 package com.mindquest.controller;
 
+import com.mindquest.config.ServerConfig;
+import com.mindquest.loader.TopicIndex;
 import com.mindquest.loader.factory.QuestionBankFactory;
 import com.mindquest.loader.config.SourceConfig;
 import com.mindquest.loader.config.MixedTopicsConfig;
 import com.mindquest.model.game.Player;
 import com.mindquest.model.question.Question;
+import com.mindquest.metrics.Counter;
+import com.mindquest.metrics.MetricFamily;
+import com.mindquest.metrics.MetricsRegistry;
 import com.mindquest.model.QuestionBank;
+import com.mindquest.service.dto.SessionSnapshot;
+import com.mindquest.service.executor.SharedExecutor;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.UnaryOperator;
 
+/**
+ * Round flow and question selection for one session.
+ *
+ * Settings (system property or environment variable):
+ * - MINDQUEST_PREFETCH_AFTER_QUESTIONS: once this many questions of a round are
+ *   answered, the next round for the same topic and difficulty is prepared in the
+ *   background (default: 3; negative disables)
+ * - MINDQUEST_PREFETCH_WAIT_MS: how long a round start waits for a prefetch that is
+ *   already loading before loading inline instead (default: 2000)
+ */
 public class SessionManager {
     private static final int DEFAULT_QUESTIONS_PER_ROUND = 5;
+    private static final int PREFETCH_AFTER_QUESTIONS = ServerConfig.getInt("MINDQUEST_PREFETCH_AFTER_QUESTIONS", 3);
+    private static final long PREFETCH_WAIT_MS = ServerConfig.getLong("MINDQUEST_PREFETCH_WAIT_MS", 2000L);
+    private static final MetricFamily<Counter> PREFETCHES = MetricsRegistry.get().counter(
+        "mindquest_round_prefetch_total",
+        "Background next-round preparations by outcome (hit, redrawn, miss, unstarted, late, failed, skipped)",
+        "outcome");
     
     private final Player player;
     private final QuestionBank questionBank;
     
     private final AtomicReference<SessionState> state;
-    private record SessionState(
-        List<Question> currentRoundQuestions,
-        Set<String> usedQuestionIds,
-        String currentTopic,
-        String currentDifficulty,
-        int currentQuestionIndex,
-        int globalPoints,
-        SourceConfig sourceConfig
-    ) {
+    // Bitset view of each bucket this session drew from, keyed by topic and difficulty
+    private final Map<String, QuestionDeck> decks = new HashMap<>();
+    // Next round being prepared in the background, if any
+    private final AtomicReference<Prefetch> prefetch = new AtomicReference<>();
+
+    /**
+     * Questions of one round. Built once per round and shared by every state
+     * of that round, so advancing the cursor never copies it.
+     */
+    private record Round(List<Question> questions, String topic, String difficulty, boolean predictable) {
+        static final Round NONE = new Round(Collections.emptyList(), null, null, false);
+
         /**
          * Compact constructor with defensive copying to ensure immutability.
-         * Prevents external modification of mutable collections.
          */
-        SessionState {
-            currentRoundQuestions = currentRoundQuestions != null 
-                ? Collections.unmodifiableList(new ArrayList<>(currentRoundQuestions))
+        Round {
+            questions = questions != null
+                ? Collections.unmodifiableList(new ArrayList<>(questions))
                 : Collections.emptyList();
-            usedQuestionIds = usedQuestionIds != null
-                ? Collections.unmodifiableSet(new HashSet<>(usedQuestionIds))
-                : Collections.emptySet();
         }
-        
+    }
+
+    /**
+     * Immutable session state: the shared round and used IDs plus a small cursor.
+     * Per-answer updates allocate only this record.
+     */
+    private record SessionState(
+        Round round,
+        UsedQuestionIds usedQuestionIds,
+        int currentQuestionIndex,
+        int globalPoints,
+        SourceConfig sourceConfig
+    ) {
         /**
          * Factory method for creating an empty initial state.
          * 
          * @return A new SessionState with default values
          */
         static SessionState empty() {
-            return new SessionState(
-                Collections.emptyList(), 
-                new HashSet<>(), 
-                null, 
-                null, 
-                0, 
-                0, 
-                null
-            );
+            return new SessionState(Round.NONE, UsedQuestionIds.empty(), 0, 0, null);
         }
         
         /**
@@ -67,18 +103,55 @@ public class SessionManager {
          * @return A new SessionState with updated config
          */
         SessionState withConfig(SourceConfig newConfig) {
-            return new SessionState(
-                currentRoundQuestions, 
-                usedQuestionIds, 
-                currentTopic, 
-                currentDifficulty, 
-                currentQuestionIndex, 
-                globalPoints, 
-                newConfig
-            );
+            return new SessionState(round, usedQuestionIds, currentQuestionIndex, globalPoints, newConfig);
+        }
+
+        SessionState withQuestionIndex(int index) {
+            return new SessionState(round, usedQuestionIds, index, globalPoints, sourceConfig);
+        }
+
+        SessionState withGlobalPoints(int points) {
+            return new SessionState(round, usedQuestionIds, currentQuestionIndex, points, sourceConfig);
+        }
+
+        /**
+         * Starts a round at its first question; when {@code markUsed} is set the
+         * round's question IDs are added to the used set.
+         */
+        SessionState withRound(Round newRound, boolean markUsed) {
+            UsedQuestionIds used = markUsed
+                ? usedQuestionIds.plus(newRound.questions().stream().map(Question::getId).toList())
+                : usedQuestionIds;
+            return new SessionState(newRound, used, 0, globalPoints, sourceConfig);
         }
     }
 
+    /**
+     * A speculative next round: the bucket's candidates and a draw made against
+     * the used IDs at the time. Nothing is committed until a round start takes it,
+     * so a miss is discarded by dropping the reference.
+     */
+    private record Prefetch(String topic, String difficulty, SourceConfig sourceConfig,
+                            CompletableFuture<PreparedRound> result, AtomicBoolean claimed) {
+
+        /**
+         * Take ownership of the work; exactly one of the background task and the
+         * round start wins, so nobody ever waits on a task that has not started.
+         */
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        boolean matches(String topic, String difficulty, SourceConfig config) {
+            return this.topic.equals(topic) && this.difficulty.equals(difficulty)
+                && sameSource(sourceConfig, config);
+        }
+    }
+
+    private record PreparedRound(List<Question> candidates, QuestionDeck deck, QuestionDeck.Draw draw,
+                                 UsedQuestionIds basis) {
+    }
+
     public SessionManager(Player player, QuestionBank questionBank) {
         this.player = player;
         this.questionBank = questionBank;
@@ -114,24 +187,36 @@ public class SessionManager {
         player.resetForRound();
         player.setHintsForDifficulty(difficulty);
         
-        // Load questions outside the atomic update to avoid blocking
-        List<Question> newQuestions = loadQuestionsInternal(topic, difficulty, state.get().sourceConfig);
-        
-        state.updateAndGet(s -> {
-            Set<String> newUsedIds = new HashSet<>(s.usedQuestionIds);
-            for (Question q : newQuestions) {
-                newUsedIds.add(q.getId());
+        // Load questions outside the atomic update to avoid blocking; a matching
+        // prefetch already did the loading (and usually the draw) in the background
+        SessionState current = state.get();
+        PreparedRound prepared = takePrefetch(topic, difficulty, current.sourceConfig);
+        List<Question> candidates = prepared != null
+            ? prepared.candidates()
+            : loadQuestionsInternal(topic, difficulty, current.sourceConfig);
+        if (candidates.isEmpty()) {
+            state.updateAndGet(s -> s.withRound(new Round(candidates, topic, difficulty, false), true));
+            return;
+        }
+
+        QuestionDeck deck;
+        QuestionDeck.Draw draw;
+        if (prepared != null && prepared.basis() == current.usedQuestionIds) {
+            deck = prepared.deck();
+            draw = prepared.draw();
+            PREFETCHES.labels("hit").inc();
+        } else {
+            if (prepared != null) {
+                // Used IDs moved since the prefetch drew; the loaded candidates are still good
+                PREFETCHES.labels("redrawn").inc();
             }
-            return new SessionState(
-                newQuestions,
-                newUsedIds,
-                topic,
-                difficulty,
-                0,
-                s.globalPoints,
-                s.sourceConfig
-            );
-        });
+            deck = deckFor(topic, difficulty, candidates);
+            draw = deck.draw(DEFAULT_QUESTIONS_PER_ROUND, current.usedQuestionIds, ThreadLocalRandom.current());
+        }
+        Round round = new Round(draw.questions(), topic, difficulty, true);
+        SessionState next = state.updateAndGet(s -> s.withRound(round, true));
+        deck.commit(draw, current.usedQuestionIds, next.usedQuestionIds);
+        maybePrefetch(next);
     }
     
   
@@ -144,18 +229,10 @@ public class SessionManager {
         List<Question> shuffledQuestions = new ArrayList<>(questions);
         Collections.shuffle(shuffledQuestions);
         
-        state.updateAndGet(s -> {
-            // Don't add inline questions to usedQuestionIds - they're replayable
-            return new SessionState(
-                shuffledQuestions,
-                s.usedQuestionIds,  // Keep existing used IDs, don't add new ones
-                topic,
-                difficulty,
-                0,
-                s.globalPoints,
-                s.sourceConfig
-            );
-        });
+        // Don't add inline questions to usedQuestionIds - they're replayable
+        discardPrefetch();
+        Round round = new Round(shuffledQuestions, topic, difficulty, false);
+        state.updateAndGet(s -> s.withRound(round, false));
     }
 
     /**
@@ -170,21 +247,9 @@ public class SessionManager {
         // Load questions
         List<Question> newQuestions = loadMixedQuestionsInternal(config, state.get().usedQuestionIds);
         
-        state.updateAndGet(s -> {
-            Set<String> newUsedIds = new HashSet<>(s.usedQuestionIds);
-            for (Question q : newQuestions) {
-                newUsedIds.add(q.getId());
-            }
-            return new SessionState(
-                newQuestions,
-                newUsedIds,
-                topic,
-                difficulty,
-                0,
-                s.globalPoints,
-                s.sourceConfig
-            );
-        });
+        discardPrefetch();
+        Round round = new Round(newQuestions, topic, difficulty, false);
+        state.updateAndGet(s -> s.withRound(round, true));
     }
 
     private List<Question> loadMixedQuestionsInternal(MixedTopicsConfig config, Set<String> currentUsedIds) {
@@ -208,7 +273,7 @@ public class SessionManager {
                     .filePath(sourceConfig.getFilePath())
                     .extraParams(sourceConfig.getExtraParams())
                     .build();
-                topicQuestions = QuestionBankFactory.getQuestions(roundConfig);
+                topicQuestions = loadFromSource(roundConfig);
             } else {
                 topicQuestions = questionBank.getQuestionsByTopicAndDifficulty(topic, difficulty);
             }
@@ -253,7 +318,7 @@ public class SessionManager {
                 .filePath(sourceConfig.getFilePath())
                 .extraParams(sourceConfig.getExtraParams())
                 .build();
-            availableQuestions = QuestionBankFactory.getQuestions(roundConfig);
+            availableQuestions = loadFromSource(roundConfig);
         } else {
             availableQuestions = questionBank.getQuestionsByTopicAndDifficulty(topic, difficulty);
         }
@@ -263,20 +328,124 @@ public class SessionManager {
             return Collections.emptyList();
         }
 
-      
-        Set<String> usedIdsSnapshot = state.get().usedQuestionIds;
+        return availableQuestions;
+    }
+
+    /**
+     * Questions for a configured source: the startup topic index when it holds
+     * the source, otherwise a fresh load through the factory.
+     */
+    private static List<Question> loadFromSource(SourceConfig roundConfig) {
+        List<Question> indexed = TopicIndex.get().lookup(roundConfig);
+        return indexed != null ? indexed : QuestionBankFactory.getQuestions(roundConfig);
+    }
+
+    /**
+     * Start preparing the next round once the current one reaches the prefetch
+     * point. Speculative work is skipped when the shared executor is backed up.
+     */
+    private void maybePrefetch(SessionState s) {
+        Round round = s.round;
+        if (PREFETCH_AFTER_QUESTIONS < 0 || !round.predictable()
+                || s.currentQuestionIndex != Math.min(PREFETCH_AFTER_QUESTIONS, round.questions().size())) {
+            return;
+        }
+        SharedExecutor executor = SharedExecutor.get();
+        if (executor.getQueueDepth() > executor.getQueueCapacity() / 2) {
+            PREFETCHES.labels("skipped").inc();
+            return;
+        }
 
-        List<Question> freshQuestions = new ArrayList<>();
-        for (Question q : availableQuestions) {
-            if (!usedIdsSnapshot.contains(q.getId())) {
-                freshQuestions.add(q);
+        CompletableFuture<PreparedRound> result = new CompletableFuture<>();
+        Prefetch next = new Prefetch(round.topic(), round.difficulty(), s.sourceConfig, result, new AtomicBoolean());
+        Prefetch previous = prefetch.getAndSet(next);
+        if (previous != null) {
+            previous.claim();
+            previous.result().cancel(false);
+        }
+        UsedQuestionIds basis = s.usedQuestionIds;
+        executor.executor().execute(() -> {
+            if (!next.claim()) {
+                return; // Discarded or taken over before it started
+            }
+            try {
+                List<Question> candidates = loadQuestionsInternal(next.topic(), next.difficulty(), next.sourceConfig());
+                if (candidates.isEmpty()) {
+                    result.complete(new PreparedRound(candidates, null, null, basis));
+                    return;
+                }
+                QuestionDeck deck = deckFor(next.topic(), next.difficulty(), candidates);
+                QuestionDeck.Draw draw = deck.draw(DEFAULT_QUESTIONS_PER_ROUND, basis, ThreadLocalRandom.current());
+                result.complete(new PreparedRound(candidates, deck, draw, basis));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
             }
+        });
+    }
+
+    /**
+     * Take the pending prefetch if it was for this round; returns null on a miss,
+     * failure or timeout, and the caller loads inline.
+     *
+     * Round starts run on a mailbox drain that holds a shared worker, so a prefetch
+     * still queued on the same pool is claimed and dropped rather than awaited;
+     * only a prefetch that is already running is waited for, and only briefly.
+     */
+    private PreparedRound takePrefetch(String topic, String difficulty, SourceConfig config) {
+        Prefetch pending = prefetch.getAndSet(null);
+        if (pending == null) {
+            return null;
+        }
+        if (!pending.matches(topic, difficulty, config)) {
+            pending.claim();
+            pending.result().cancel(false);
+            PREFETCHES.labels("miss").inc();
+            return null;
         }
+        if (pending.claim()) {
+            pending.result().cancel(false);
+            PREFETCHES.labels("unstarted").inc();
+            return null;
+        }
+        try {
+            return pending.result().get(PREFETCH_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            pending.result().cancel(false);
+            PREFETCHES.labels("late").inc();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            PREFETCHES.labels("failed").inc();
+            return null;
+        } catch (CancellationException | ExecutionException e) {
+            PREFETCHES.labels("failed").inc();
+            return null;
+        }
+    }
 
-        Collections.shuffle(freshQuestions);
-        
-        int count = Math.min(DEFAULT_QUESTIONS_PER_ROUND, freshQuestions.size());
-        return freshQuestions.subList(0, count);
+    private void discardPrefetch() {
+        Prefetch pending = prefetch.getAndSet(null);
+        if (pending != null) {
+            pending.claim();
+            pending.result().cancel(false);
+            PREFETCHES.labels("miss").inc();
+        }
+    }
+
+    private static boolean sameSource(SourceConfig a, SourceConfig b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.getType() == b.getType()
+            && Objects.equals(a.getFilePath(), b.getFilePath())
+            && Objects.equals(a.getExtraParams(), b.getExtraParams());
+    }
+
+    private QuestionDeck deckFor(String topic, String difficulty, List<Question> candidates) {
+        synchronized (decks) {
+            return decks.compute(topic + "_" + difficulty,
+                (key, deck) -> deck != null && deck.covers(candidates) ? deck : new QuestionDeck(candidates));
+        }
     }
 
     /**
@@ -286,8 +455,9 @@ public class SessionManager {
      */
     public Question getCurrentQuestion() {
         SessionState s = state.get();
-        if (s.currentQuestionIndex < s.currentRoundQuestions.size()) {
-            return s.currentRoundQuestions.get(s.currentQuestionIndex);
+        List<Question> questions = s.round.questions();
+        if (s.currentQuestionIndex < questions.size()) {
+            return questions.get(s.currentQuestionIndex);
         }
         return null;
     }
@@ -297,15 +467,28 @@ public class SessionManager {
      * Thread-safe operation using atomic state update.
      */
     public void moveToNextQuestion() {
-        state.updateAndGet(s -> new SessionState(
-            s.currentRoundQuestions,
-            s.usedQuestionIds,
-            s.currentTopic,
-            s.currentDifficulty,
-            s.currentQuestionIndex + 1,
-            s.globalPoints,
-            s.sourceConfig
-        ));
+        maybePrefetch(state.updateAndGet(s -> s.withQuestionIndex(s.currentQuestionIndex + 1)));
+    }
+
+    /**
+     * Advances past the question at {@code expectedIndex} only if it is still
+     * the current one (compare-and-set on the session state).
+     *
+     * @param expectedIndex The question the caller answered
+     * @return true if this call advanced the round, false if it had already moved on
+     */
+    public boolean advanceFrom(int expectedIndex) {
+        while (true) {
+            SessionState s = state.get();
+            if (s.currentQuestionIndex != expectedIndex || expectedIndex >= s.round.questions().size()) {
+                return false;
+            }
+            SessionState next = s.withQuestionIndex(expectedIndex + 1);
+            if (state.compareAndSet(s, next)) {
+                maybePrefetch(next);
+                return true;
+            }
+        }
     }
 
     /**
@@ -315,15 +498,15 @@ public class SessionManager {
      */
     public boolean hasMoreQuestions() {
         SessionState s = state.get();
-        return s.currentQuestionIndex < s.currentRoundQuestions.size();
+        return s.currentQuestionIndex < s.round.questions().size();
     }
 
     public String getCurrentTopic() {
-        return state.get().currentTopic;
+        return state.get().round.topic();
     }
 
     public String getCurrentDifficulty() {
-        return state.get().currentDifficulty;
+        return state.get().round.difficulty();
     }
 
     /**
@@ -346,20 +529,16 @@ public class SessionManager {
             throw new IllegalArgumentException("Cannot add negative points: " + points);
         }
         
-        state.updateAndGet(s -> new SessionState(
-            s.currentRoundQuestions,
-            s.usedQuestionIds,
-            s.currentTopic,
-            s.currentDifficulty,
-            s.currentQuestionIndex,
-            s.globalPoints + points,
-            s.sourceConfig
-        ));
+        state.updateAndGet(s -> s.withGlobalPoints(s.globalPoints + points));
     }
 
     public void resetSession() {
         player.resetForRound(); // Note: Player reset might need its own sync if shared
         state.set(SessionState.empty());
+        discardPrefetch();
+        synchronized (decks) {
+            decks.clear();
+        }
     }
 
     /**
@@ -369,6 +548,53 @@ public class SessionManager {
      * @return The question count for the active round
      */
     public int getCurrentRoundQuestionCount() {
-        return state.get().currentRoundQuestions.size();
+        return state.get().round.questions().size();
+    }
+
+    /**
+     * Gets every question of the current round, answered or not.
+     *
+     * @return Unmodifiable list of the round's questions in play order
+     */
+    public List<Question> getCurrentRoundQuestions() {
+        return state.get().round.questions();
+    }
+
+    /**
+     * Gets the position of the current question within the round.
+     *
+     * @return 0-based index; equals the round size once every question is answered
+     */
+    public int getCurrentQuestionIndex() {
+        return state.get().currentQuestionIndex;
+    }
+
+    /**
+     * Copies the current session state into a snapshot builder.
+     * Player state is exported separately by GameService.
+     */
+    public void exportTo(SessionSnapshot.Builder builder) {
+        SessionState s = state.get();
+        builder.roundQuestions(s.round.questions())
+            .usedQuestionIds(s.usedQuestionIds)
+            .topic(s.round.topic())
+            .difficulty(s.round.difficulty())
+            .questionIndex(s.currentQuestionIndex)
+            .globalPoints(s.globalPoints)
+            .sourceConfig(s.sourceConfig);
+    }
+
+    /**
+     * Replaces the session state with the one captured in a snapshot.
+     */
+    public void restoreFrom(SessionSnapshot snapshot) {
+        discardPrefetch();
+        state.set(new SessionState(
+            new Round(snapshot.getRoundQuestions(), snapshot.getTopic(), snapshot.getDifficulty(), false),
+            UsedQuestionIds.copyOf(snapshot.getUsedQuestionIds()),
+            snapshot.getQuestionIndex(),
+            snapshot.getGlobalPoints(),
+            snapshot.getSourceConfig()
+        ));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+package com.mindquest.controller;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable set of question IDs a session has already played.
+ *
+ * Versions share one append-only log: a version is the log plus the number of
+ * entries it can see. Adding to the newest version appends in place, so a new
+ * round costs O(round size) instead of copying every ID seen so far. Adding to
+ * an older version (a concurrent update lost the race, or a restored snapshot)
+ * copies into a fresh log, which is correct but rare.
+ */
+final class UsedQuestionIds extends AbstractSet<String> {
+
+    private final IdLog log;
+    private final int size;
+
+    private UsedQuestionIds(IdLog log, int size) {
+        this.log = log;
+        this.size = size;
+    }
+
+    static UsedQuestionIds empty() {
+        return new UsedQuestionIds(new IdLog(), 0);
+    }
+
+    static UsedQuestionIds copyOf(Iterable<String> ids) {
+        return empty().plus(ids);
+    }
+
+    /**
+     * Returns a version that also contains the given IDs; this version is unchanged.
+     */
+    UsedQuestionIds plus(Iterable<String> ids) {
+        synchronized (log) {
+            if (log.size == size) {
+                for (String id : ids) {
+                    log.append(id);
+                }
+                return log.size == size ? this : new UsedQuestionIds(log, log.size);
+            }
+        }
+        IdLog fork = new IdLog();
+        synchronized (fork) {
+            for (String id : this) {
+                fork.append(id);
+            }
+            for (String id : ids) {
+                fork.append(id);
+            }
+            return new UsedQuestionIds(fork, fork.size);
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        Integer ordinal = o instanceof String ? log.ordinals.get(o) : null;
+        return ordinal != null && ordinal < size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        String[] ids = log.ids;
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public String next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return ids[next++];
+            }
+        };
+    }
+
+    /**
+     * Shared append-only storage. Writers hold the monitor; readers only look at
+     * entries below their own size, which were published before the version was.
+     */
+    private static final class IdLog {
+        private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+        private volatile String[] ids = new String[16];
+        private volatile int size;
+
+        void append(String id) {
+            if (id == null || ordinals.containsKey(id)) {
+                return;
+            }
+            String[] current = ids;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[size] = id;
+            ids = current;
+            ordinals.put(id, size);
+            size++;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.mindquest.llm;
+
+import com.mindquest.llm.exception.LlmException;
+import com.mindquest.metrics.LatencyHistogram;
+import com.mindquest.metrics.MetricFamily;
+import com.mindquest.metrics.MetricsRegistry;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide index of in-flight LLM requests by request ID.
+ *
+ * Question sources create a short-lived provider per generation, so callers that
+ * want to cancel (e.g. the generation job registry) cannot reach the provider
+ * directly. Sources run their prompt through {@link #complete}, which registers
+ * the provider under the prompt ID; {@link #cancel} then forwards to
+ * {@link LlmProvider#cancel(String)}.
+ */
+public final class InFlightRequests {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+    public static final String OUTCOME_CANCELLED = "cancelled";
+
+    private static final MetricFamily<LatencyHistogram> LATENCY = MetricsRegistry.get().histogram(
+        "mindquest_llm_request_duration_seconds", "LLM call latency by provider and outcome", "provider", "outcome");
+
+    private static final ConcurrentHashMap<String, LlmProvider> ACTIVE = new ConcurrentHashMap<>();
+
+    // Cancellations that arrived before the provider had registered the request
+    private static final Set<String> CANCELLED = ConcurrentHashMap.newKeySet();
+
+    private InFlightRequests() {
+        // Utility class - no instantiation
+    }
+
+    /**
+     * Run a prompt asynchronously and wait for it; {@link #cancel} with the prompt ID aborts it.
+     *
+     * @throws LlmException with category CANCELLED if the request was cancelled
+     */
+    public static CompletionResult complete(LlmProvider provider, Prompt prompt) throws LlmException {
+        String requestId = prompt.getId();
+        String providerId = provider.getMetadata().getProviderId();
+        long startNanos = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        ACTIVE.put(requestId, provider);
+        try {
+            if (CANCELLED.contains(requestId)) {
+                outcome = OUTCOME_CANCELLED;
+                throw cancelled(providerId, requestId, null);
+            }
+            CompletableFuture<CompletionResult> future = provider.completeAsync(prompt);
+            if (CANCELLED.contains(requestId)) {
+                provider.cancel(requestId);
+            }
+            CompletionResult result = future.join();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } catch (CancellationException e) {
+            outcome = OUTCOME_CANCELLED;
+            throw cancelled(providerId, requestId, e);
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof LlmException) {
+                if (((LlmException) cause).getCategory() == LlmException.Category.CANCELLED) {
+                    outcome = OUTCOME_CANCELLED;
+                }
+                throw (LlmException) cause;
+            }
+            if (cause instanceof CancellationException) {
+                outcome = OUTCOME_CANCELLED;
+                throw cancelled(providerId, requestId, cause);
+            }
+            throw new LlmException(LlmException.Category.PROVIDER_ERROR, providerId,
+                cause != null ? cause.getMessage() : e.getMessage(), cause);
+        } finally {
+            ACTIVE.remove(requestId, provider);
+            CANCELLED.remove(requestId);
+            recordLatency(providerId, outcome, startNanos);
+        }
+    }
+
+    /**
+     * Record an LLM call in the per-provider latency histogram; streaming callers
+     * that bypass {@link #complete} report here too.
+     *
+     * @param outcome one of {@code success}, {@code error}, {@code cancelled}
+     */
+    public static void recordLatency(String providerId, String outcome, long startNanos) {
+        LATENCY.labels(providerId, outcome).recordSince(startNanos);
+    }
+
+    /**
+     * Cancel a request started through {@link #complete}. A cancellation that races
+     * ahead of the request is remembered and applied as soon as it registers.
+     *
+     * @return true if a running request was found
+     */
+    public static boolean cancel(String requestId) {
+        if (requestId == null) {
+            return false;
+        }
+        CANCELLED.add(requestId);
+        LlmProvider provider = ACTIVE.get(requestId);
+        if (provider == null) {
+            return false;
+        }
+        provider.cancel(requestId);
+        return true;
+    }
+
+    /**
+     * Forget a pending cancellation for a request that finished or will never start.
+     */
+    public static void forget(String requestId) {
+        CANCELLED.remove(requestId);
+    }
+
+    public static int activeCount() {
+        return ACTIVE.size();
+    }
+
+    private static LlmException cancelled(String providerId, String requestId, Throwable cause) {
+        return new LlmException(LlmException.Category.CANCELLED, providerId,
+            "Request " + requestId + " was cancelled", cause);
+    }
+}
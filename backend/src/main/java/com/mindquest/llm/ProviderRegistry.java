@@ -1,15 +1,26 @@
 package com.mindquest.llm;
 
+import com.mindquest.config.ServerConfig;
 import com.mindquest.llm.exception.LlmException;
 import com.mindquest.llm.util.SecretResolver;
+import com.mindquest.logging.Log;
+import com.mindquest.logging.Logger;
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Registry for discovering and managing LLM provider factories.
+ *
+ * Setting MINDQUEST_LLM_PROVIDER_OVERRIDE (system property or environment variable)
+ * to a registered provider ID, e.g. "mock", makes every {@link #createProvider} call
+ * return that provider instead, so load tests and demos run without a real LLM.
  */
 public class ProviderRegistry {
     
+    public static final String PROVIDER_OVERRIDE_KEY = "MINDQUEST_LLM_PROVIDER_OVERRIDE";
+    
+    private static final Logger log = Log.get("ProviderRegistry");
+    
     private final Map<String, LlmProviderFactory> factories;
     
     public ProviderRegistry() {
@@ -26,15 +37,15 @@ public class ProviderRegistry {
         for (LlmProviderFactory factory : loader) {
             String id = factory.getProviderId();
             if (factories.containsKey(id)) {
-                System.err.println("[ProviderRegistry] Warning: duplicate provider ID '" + id + "' - ignoring duplicate");
+                log.warn("Duplicate provider ID '" + id + "' - ignoring duplicate");
                 continue;
             }
             factories.put(id, factory);
-            System.out.println("[ProviderRegistry] Registered provider: " + id + " (" + factory.getDisplayName() + ")");
+            log.debug(() -> "Registered provider: " + id + " (" + factory.getDisplayName() + ")");
         }
         
         if (factories.isEmpty()) {
-            System.err.println("[ProviderRegistry] Warning: no LLM providers found via ServiceLoader");
+            log.warn("No LLM providers found via ServiceLoader");
         }
     }
     
@@ -58,7 +69,7 @@ public class ProviderRegistry {
                         temp.close();
                         return meta;
                     } catch (Exception e) {
-                        System.err.println("[ProviderRegistry] Failed to get metadata for " + f.getProviderId() + ": " + e.getMessage());
+                        log.warn("Failed to get metadata for " + f.getProviderId() + ": " + e.getMessage());
                         return null;
                     }
                 })
@@ -70,7 +81,10 @@ public class ProviderRegistry {
      * Creates a provider instance by ID.
      */
     public LlmProvider createProvider(String providerId, String apiKey, ProviderOptions options) throws LlmException {
-        LlmProviderFactory factory = factories.get(providerId);
+        String override = ServerConfig.getString(PROVIDER_OVERRIDE_KEY, null);
+        LlmProviderFactory factory = override != null && factories.containsKey(override)
+            ? factories.get(override)
+            : factories.get(providerId);
         
         if (factory == null) {
             throw new LlmException(
@@ -12,7 +12,8 @@ public class LlmException extends Exception {
         TIMEOUT,        // Operation exceeded timeout limit
         PARSE,          // Unable to parse provider response
         PROVIDER_ERROR, // Provider returned 5xx error
-        INVALID_REQUEST // Invalid prompt or configuration
+        INVALID_REQUEST, // Invalid prompt or configuration
+        CANCELLED       // Request was cancelled by the caller
     }
     
     private final Category category;
@@ -20,6 +20,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SubmissionPublisher;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Gemini LLM provider using official Google GenAI SDK.
@@ -39,6 +40,9 @@ public class GeminiProvider implements LlmProvider {
     // Track in-flight async requests for cancellation
     private final ConcurrentHashMap<String, CompletableFuture<CompletionResult>> activeRequests = new ConcurrentHashMap<>();
     
+    // Cancellation flags for in-flight streams, checked between chunks
+    private final ConcurrentHashMap<String, AtomicBoolean> activeStreams = new ConcurrentHashMap<>();
+    
     // Executor for streaming operations
     private final ExecutorService streamExecutor = Executors.newCachedThreadPool(r -> {
         Thread t = new Thread(r);
@@ -301,6 +305,11 @@ public class GeminiProvider implements LlmProvider {
     
     @Override
     public boolean cancel(String requestId) {
+        AtomicBoolean stream = activeStreams.remove(requestId);
+        if (stream != null) {
+            stream.set(true);
+            return true;
+        }
         CompletableFuture<CompletionResult> future = activeRequests.get(requestId);
         if (future != null && !future.isDone()) {
             boolean cancelled = future.cancel(true);
@@ -383,6 +392,8 @@ public class GeminiProvider implements LlmProvider {
         
         // Start streaming in background
         final String finalPrompt = fullPrompt;
+        final AtomicBoolean cancelled = new AtomicBoolean(false);
+        activeStreams.put(prompt.getId(), cancelled);
         streamExecutor.submit(() -> {
             com.google.genai.ResponseStream<GenerateContentResponse> responseStream = null;
             try {
@@ -395,6 +406,9 @@ public class GeminiProvider implements LlmProvider {
                 
                 // Iterate and emit stream events
                 for (GenerateContentResponse chunk : responseStream) {
+                    if (cancelled.get()) {
+                        break; // Caller went away; stop reading tokens
+                    }
                     String partialText = chunk.text();
                     
                     if (partialText != null && !partialText.isEmpty()) {
@@ -404,7 +418,9 @@ public class GeminiProvider implements LlmProvider {
                 }
                 
                 // Emit completion event
-                publisher.submit(StreamEvent.done(prompt.getId()));
+                if (!cancelled.get()) {
+                    publisher.submit(StreamEvent.done(prompt.getId()));
+                }
                 timeoutTask.cancel(false); // Cancel timeout since we completed normally
                 
             } catch (Exception e) {
@@ -418,6 +434,7 @@ public class GeminiProvider implements LlmProvider {
                 );
                 publisher.submit(StreamEvent.error(prompt.getId(), llmError));
             } finally {
+                activeStreams.remove(prompt.getId(), cancelled);
                 // Clean up stream
                 if (responseStream != null) {
                     try {
@@ -458,6 +475,8 @@ public class GeminiProvider implements LlmProvider {
         // Cancel all in-flight requests
         activeRequests.forEach((id, future) -> future.cancel(true));
         activeRequests.clear();
+        activeStreams.forEach((id, flag) -> flag.set(true));
+        activeStreams.clear();
         // Shutdown executors
         streamExecutor.shutdown();
         timeoutScheduler.shutdown();
@@ -5,6 +5,8 @@ import com.mindquest.llm.exception.LlmException;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Flow;
@@ -12,11 +14,16 @@ import java.util.concurrent.SubmissionPublisher;
 
 /**
  * Mock LLM provider for testing.
-
+ *
+ * Built with {@link #forQuestions(int)} it answers question-generation prompts
+ * with valid question JSON, so the generation endpoints can be exercised offline.
  */
 public class MockProvider implements LlmProvider {
     
-    private final String responseText;
+    private static final Pattern QUESTION_COUNT = Pattern.compile("Generate (\\d+) multiple-choice questions about (.+?) at ");
+    private static final int STREAM_CHUNKS = 16;
+    
+    private final String responseText;    // null = generate question JSON from the prompt
     private final boolean simulateError;
     private boolean closed = false;
     private final int simulatedDelayMs;
@@ -42,6 +49,13 @@ public class MockProvider implements LlmProvider {
         this("Mock LLM response for testing", false, 50);
     }
     
+    /**
+     * Provider that answers question-generation prompts with well-formed questions.
+     */
+    public static MockProvider forQuestions(int simulatedDelayMs) {
+        return new MockProvider(null, false, simulatedDelayMs);
+    }
+    
     @Override
     public ProviderMetadata getMetadata() {
         return new ProviderMetadata(
@@ -71,11 +85,16 @@ public class MockProvider implements LlmProvider {
             );
         }
         
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("tokens", responseText.split("\\s+").length);
-        metadata.put("model", "mock-model-v1");
+        if (responseText == null && simulatedDelayMs > 0) {
+            try {
+                Thread.sleep(simulatedDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new LlmException(LlmException.Category.CANCELLED, "mock", "Interrupted");
+            }
+        }
         
-        return new CompletionResult(prompt.getId(), responseText, metadata);
+        return result(prompt);
     }
     
     @Override
@@ -109,11 +128,7 @@ public class MockProvider implements LlmProvider {
                 throw new RuntimeException(e);
             }
             
-            Map<String, Object> metadata = new HashMap<>();
-            metadata.put("tokens", responseText.split("\\s+").length);
-            metadata.put("model", "mock-model-v1");
-            
-            return new CompletionResult(prompt.getId(), responseText, metadata);
+            return result(prompt);
         });
         
         // Track for cancellation
@@ -159,11 +174,22 @@ public class MockProvider implements LlmProvider {
         // Simulate streaming by breaking response into chunks
         new Thread(() -> {
             try {
-                String[] words = responseText.split("\\s+");
-                for (int i = 0; i < words.length; i++) {
-                    String chunk = words[i] + (i < words.length - 1 ? " " : "");
-                    publisher.submit(StreamEvent.partial(prompt.getId(), chunk));
-                    Thread.sleep(50); // Simulate network delay
+                if (responseText == null) {
+                    // Question JSON arrives in even chunks spread over the simulated delay
+                    String text = responseFor(prompt);
+                    int size = Math.max(1, (text.length() + STREAM_CHUNKS - 1) / STREAM_CHUNKS);
+                    for (int start = 0; start < text.length(); start += size) {
+                        publisher.submit(StreamEvent.partial(prompt.getId(),
+                            text.substring(start, Math.min(text.length(), start + size))));
+                        Thread.sleep(simulatedDelayMs / STREAM_CHUNKS);
+                    }
+                } else {
+                    String[] words = responseText.split("\\s+");
+                    for (int i = 0; i < words.length; i++) {
+                        String chunk = words[i] + (i < words.length - 1 ? " " : "");
+                        publisher.submit(StreamEvent.partial(prompt.getId(), chunk));
+                        Thread.sleep(50); // Simulate network delay
+                    }
                 }
                 publisher.submit(StreamEvent.done(prompt.getId()));
                 publisher.close();
@@ -192,4 +218,40 @@ public class MockProvider implements LlmProvider {
     public boolean isClosed() {
         return closed;
     }
+    
+    private CompletionResult result(Prompt prompt) {
+        String text = responseFor(prompt);
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("tokens", text.split("\\s+").length);
+        metadata.put("model", "mock-model-v1");
+        return new CompletionResult(prompt.getId(), text, metadata);
+    }
+    
+    private String responseFor(Prompt prompt) {
+        return responseText != null ? responseText : questionJson(prompt.getInstruction());
+    }
+    
+    /**
+     * Question JSON in the format PromptTemplates asks for, sized from the prompt.
+     */
+    static String questionJson(String instruction) {
+        int count = 5;
+        String topic = "General";
+        Matcher matcher = QUESTION_COUNT.matcher(instruction != null ? instruction : "");
+        if (matcher.find()) {
+            count = Integer.parseInt(matcher.group(1));
+            topic = matcher.group(2).replace("\"", "");
+        }
+        StringBuilder json = new StringBuilder(128 + count * 160);
+        json.append("{\"topic\": \"").append(topic).append("\", \"questions\": [");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(", ");
+            }
+            json.append("{\"questionText\": \"Mock question ").append(i + 1).append(" about ").append(topic)
+                .append("?\", \"choices\": [\"Option A\", \"Option B\", \"Option C\", \"Option D\"], ")
+                .append("\"correctIndex\": ").append(i % 4).append('}');
+        }
+        return json.append("]}").toString();
+    }
 }
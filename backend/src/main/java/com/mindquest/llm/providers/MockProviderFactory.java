@@ -1,11 +1,15 @@
 package com.mindquest.llm.providers;
 
+import com.mindquest.config.ServerConfig;
 import com.mindquest.llm.*;
 import com.mindquest.llm.exception.LlmException;
 
 /**
  * Factory for creating MockProvider instances.
  * Registered via ServiceLoader for testing.
+ *
+ * Providers answer question-generation prompts with generated questions after
+ * MINDQUEST_MOCK_LLM_DELAY_MS (default: 50) to stand in for model latency.
  */
 public class MockProviderFactory implements LlmProviderFactory {
     
@@ -22,6 +26,6 @@ public class MockProviderFactory implements LlmProviderFactory {
     @Override
     public LlmProvider create(String apiKey, ProviderOptions options) throws LlmException {
         // Mock provider doesn't need API key
-        return new MockProvider();
+        return MockProvider.forQuestions(Math.max(0, ServerConfig.getInt("MINDQUEST_MOCK_LLM_DELAY_MS", 50)));
     }
 }
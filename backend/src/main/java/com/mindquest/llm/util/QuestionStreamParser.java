@@ -0,0 +1,96 @@
+package com.mindquest.llm.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * Incremental scanner that pulls question objects out of a streamed LLM response.
+ *
+ * The model answers with {@code {"topic": ..., "questions": [ {...}, {...} ]}} but
+ * the text arrives in arbitrary chunks. Feed each chunk as it arrives; every JSON
+ * object that sits directly inside an array is handed to the callback the moment
+ * its closing brace is seen, without waiting for the rest of the document.
+ * Choices are plain strings, so the only such objects are the questions.
+ *
+ * Text outside the JSON (markdown fences, chatter) is skipped because it is not
+ * inside an array. Not thread-safe: feed from one thread at a time.
+ */
+public final class QuestionStreamParser {
+
+    private final Consumer<String> onObject;
+    private final Deque<Character> containers = new ArrayDeque<>();
+    private final StringBuilder current = new StringBuilder(512);
+
+    private boolean inString;
+    private boolean escaped;
+    private int captureDepth = -1; // Container depth at which the captured object opened
+    private int emitted;
+
+    /**
+     * @param onObject receives the raw JSON text of each completed question object
+     */
+    public QuestionStreamParser(Consumer<String> onObject) {
+        this.onObject = onObject;
+    }
+
+    /**
+     * Consume the next chunk of model output.
+     */
+    public void feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            boolean capturing = captureDepth >= 0;
+            if (capturing) {
+                current.append(c);
+            }
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"':
+                    inString = true;
+                    break;
+                case '{':
+                    if (!capturing && !containers.isEmpty() && containers.peek() == '[') {
+                        captureDepth = containers.size();
+                        current.setLength(0);
+                        current.append(c);
+                    }
+                    containers.push(c);
+                    break;
+                case '[':
+                    containers.push(c);
+                    break;
+                case '}':
+                case ']':
+                    if (!containers.isEmpty()) {
+                        containers.pop();
+                    }
+                    if (capturing && c == '}' && containers.size() == captureDepth) {
+                        captureDepth = -1;
+                        emitted++;
+                        onObject.accept(current.toString());
+                        current.setLength(0);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /** Number of objects handed to the callback so far. */
+    public int getEmittedCount() {
+        return emitted;
+    }
+}
@@ -1,5 +1,8 @@
 package com.mindquest.llm.util;
 
+import com.mindquest.logging.Log;
+import com.mindquest.logging.Logger;
+
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
@@ -14,6 +17,8 @@ public class SecretResolver {
     private static final String ENV_FILE = ".env";
     private static final String HOME_CREDENTIALS = ".mindquest/credentials.properties";
     
+    private static final Logger log = Log.get("SecretResolver");
+    
     private final Map<String, String> secrets;
     
     public SecretResolver() {
@@ -25,22 +30,17 @@ public class SecretResolver {
      * Loads secrets from all available sources (env, .env, home).
      */
     private void loadSecrets() {
-        System.out.println("\n========== [SecretResolver] DEBUG START ==========");
-        
         // 1. Load from .env file in project root
         loadFromEnvFile();
-        System.out.println("[DEBUG] After .env: LOCAL_LLM_ENDPOINT = " + secrets.get("LOCAL_LLM_ENDPOINT"));
+        log.debug(() -> "After .env: LOCAL_LLM_ENDPOINT = " + secrets.get("LOCAL_LLM_ENDPOINT"));
         
         // 2. Load from user home credentials file
         loadFromHomeCredentials();
-        System.out.println("[DEBUG] After home credentials: LOCAL_LLM_ENDPOINT = " + secrets.get("LOCAL_LLM_ENDPOINT"));
+        log.debug(() -> "After home credentials: LOCAL_LLM_ENDPOINT = " + secrets.get("LOCAL_LLM_ENDPOINT"));
         
         // 3. System environment variables override everything
         loadFromSystemEnv();
-        System.out.println("[DEBUG] After system env: LOCAL_LLM_ENDPOINT = " + secrets.get("LOCAL_LLM_ENDPOINT"));
-        
-        System.out.println("[DEBUG] System.getenv('LOCAL_LLM_ENDPOINT') = " + System.getenv("LOCAL_LLM_ENDPOINT"));
-        System.out.println("========== [SecretResolver] DEBUG END ==========\n");
+        log.debug(() -> "After system env: LOCAL_LLM_ENDPOINT = " + secrets.get("LOCAL_LLM_ENDPOINT"));
     }
     
     /**
@@ -57,7 +57,7 @@ public class SecretResolver {
         
         Path envPath = null;
         for (Path p : possiblePaths) {
-            System.out.println("[DEBUG] Checking for .env at: " + p.toAbsolutePath().normalize());
+            log.debug(() -> "Checking for .env at: " + p.toAbsolutePath().normalize());
             if (Files.exists(p)) {
                 envPath = p;
                 break;
@@ -65,18 +65,18 @@ public class SecretResolver {
         }
         
         if (envPath == null) {
-            System.out.println("[SecretResolver] No .env file found in any location");
-            System.out.println("[DEBUG] Current working directory: " + System.getProperty("user.dir"));
+            log.debug(() -> "No .env file found in any location (working directory: " + System.getProperty("user.dir") + ")");
             return;
         }
         
-        System.out.println("[DEBUG] Found .env at: " + envPath.toAbsolutePath().normalize());
+        Path found = envPath;
+        log.debug(() -> "Found .env at: " + found.toAbsolutePath().normalize());
         
         try (BufferedReader reader = Files.newBufferedReader(envPath)) {
             Properties props = new Properties();
             props.load(reader);
             
-            System.out.println("[DEBUG] .env file contains LOCAL_LLM_ENDPOINT = " + props.getProperty("LOCAL_LLM_ENDPOINT"));
+            log.debug(() -> ".env file contains LOCAL_LLM_ENDPOINT = " + props.getProperty("LOCAL_LLM_ENDPOINT"));
             
             for (String key : props.stringPropertyNames()) {
                 String value = props.getProperty(key).trim();
@@ -85,9 +85,9 @@ public class SecretResolver {
                 }
             }
             
-            System.out.println("[SecretResolver] Loaded secrets from .env file");
+            log.debug("Loaded secrets from .env file");
         } catch (IOException e) {
-            System.err.println("[SecretResolver] Error reading .env file: " + e.getMessage());
+            log.warn("Error reading .env file: " + e.getMessage());
         }
     }
     
@@ -115,9 +115,9 @@ public class SecretResolver {
                 }
             }
             
-            System.out.println("[SecretResolver] Loaded secrets from home credentials");
+            log.debug("Loaded secrets from home credentials");
         } catch (IOException e) {
-            System.err.println("[SecretResolver] Error reading home credentials: " + e.getMessage());
+            log.warn("Error reading home credentials: " + e.getMessage());
         }
     }
     
@@ -140,7 +140,7 @@ public class SecretResolver {
         for (String key : llmKeys) {
             String value = env.get(key);
             if (value != null && !value.isEmpty()) {
-                System.out.println("[DEBUG] System env variable " + key + " = " + value + " (will OVERRIDE file values)");
+                log.debug(() -> "System env variable " + key + " is set (will OVERRIDE file values)");
                 secrets.put(key, value); // Override file-based values
             }
         }
@@ -195,7 +195,7 @@ public class SecretResolver {
      */
     public String getLocalLlmEndpoint() {
         String endpoint = getSecret("LOCAL_LLM_ENDPOINT", "http://localhost:11434/v1");
-        System.out.println("[DEBUG] getLocalLlmEndpoint() returning: " + endpoint);
+        log.debug(() -> "getLocalLlmEndpoint() returning: " + endpoint);
         return endpoint;
     }
     
@@ -0,0 +1,38 @@
+package com.mindquest.loader;
+
+import com.mindquest.model.question.Question;
+
+import java.util.List;
+
+/**
+ * Rough heap footprint of parsed questions, used for memory budgets and
+ * startup reports. Counts object headers plus one byte per character, as with
+ * compact Latin-1 strings on a 64-bit JVM with compressed oops.
+ */
+public final class QuestionFootprint {
+
+    private static final int QUESTION_BYTES = 40;
+    private static final int STRING_BYTES = 40;
+    private static final int LIST_BYTES = 56;
+    private static final int REFERENCE_BYTES = 4;
+
+    private QuestionFootprint() {}
+
+    public static long estimate(Question q) {
+        long bytes = QUESTION_BYTES + LIST_BYTES
+            + STRING_BYTES + q.getId().length()
+            + STRING_BYTES + q.getQuestionText().length();
+        for (String choice : q.getChoices()) {
+            bytes += STRING_BYTES + choice.length() + REFERENCE_BYTES;
+        }
+        return bytes;
+    }
+
+    public static long estimate(List<Question> questions) {
+        long bytes = LIST_BYTES + (long) REFERENCE_BYTES * questions.size();
+        for (Question q : questions) {
+            bytes += estimate(q);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,289 @@
+package com.mindquest.loader;
+
+import com.mindquest.config.ServerConfig;
+import com.mindquest.loader.config.SourceConfig;
+import com.mindquest.loader.source.CsvQuestionLoader;
+import com.mindquest.loader.source.CustomJsonQuestionLoader;
+import com.mindquest.loader.source.ExcelQuestionLoader;
+import com.mindquest.loader.source.JsonQuestionLoader;
+import com.mindquest.logging.Log;
+import com.mindquest.logging.Logger;
+import com.mindquest.model.QuestionBank;
+import com.mindquest.model.question.Difficulty;
+import com.mindquest.model.question.Question;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * In-memory index of every file-backed and built-in question source.
+ *
+ * {@link #build()} runs once at server startup. It discovers CSV, Excel and
+ * custom JSON topics with {@link TopicScanner}, adds the built-in JSON sets and
+ * the hardcoded {@link QuestionBank}, and parses them in parallel on a
+ * fork-join pool. Rounds then draw from the index instead of re-parsing a file
+ * on every start. Each bucket keeps its list instance and question IDs for the
+ * life of its entry, so per-session decks and used-question tracking stay valid
+ * across rounds.
+ *
+ * The {@link TopicScanner} directory watcher and upload notifications mark a
+ * changed file's entry dirty, and the next lookup re-parses it in place, so a
+ * lookup never touches the filesystem. With watching disabled, only uploads
+ * through the server are picked up. Topics added after startup and
+ * generated sources (Gemini, local LLM) are not indexed, and neither are CSV
+ * files large enough for {@link CsvQuestionLoader} to sample: {@link #lookup} returns
+ * null and the caller loads through the factory as before.
+ *
+ * Settings (system property or environment variable):
+ * - MINDQUEST_TOPIC_INDEX: build the index when the server starts (default: true)
+ * - MINDQUEST_TOPIC_INDEX_THREADS: parallelism of the startup parse (default: available processors)
+ */
+public final class TopicIndex {
+
+    private static final Logger log = Log.get("TopicIndex");
+    private static final TopicIndex INSTANCE = new TopicIndex();
+
+    private final Map<SourceKey, Entry> entries = new ConcurrentHashMap<>();
+    // Sources changed on disk since they were parsed
+    private final Set<SourceKey> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean built;
+
+    /**
+     * One indexed source: a file, a built-in JSON folder or a hardcoded topic.
+     */
+    private record SourceKey(SourceConfig.SourceType type, String name) {}
+
+    /**
+     * Parsed questions of one source by difficulty. {@code file} is null for
+     * classpath and in-memory sources, which never go stale.
+     */
+    private record Entry(SourceKey key, Path file, Map<Difficulty, List<Question>> buckets, int questions, long bytes) {}
+
+    /**
+     * Outcome of a startup build.
+     */
+    public record Report(int sources, int questions, long estimatedBytes, long elapsedMillis, int threads) {}
+
+    private TopicIndex() {}
+
+    public static TopicIndex get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Discover and parse every indexable source. Sources that fail to parse are
+     * logged and left out; the factory still serves them the old way.
+     */
+    public Report build() {
+        long start = System.nanoTime();
+        int threads = Math.max(1, ServerConfig.getInt("MINDQUEST_TOPIC_INDEX_THREADS",
+            Runtime.getRuntime().availableProcessors()));
+
+        List<Callable<Entry>> tasks = new ArrayList<>();
+        for (SourceKey key : discover()) {
+            tasks.add(() -> loadOrNull(key));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (Future<Entry> result : pool.invokeAll(tasks)) {
+                Entry entry = result.get();
+                if (entry != null) {
+                    entries.put(entry.key(), entry);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Index build failed: " + e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        built = true;
+
+        Report report = new Report(entries.size(), getQuestionCount(), getEstimatedBytes(),
+            (System.nanoTime() - start) / 1_000_000, threads);
+        log.info("Indexed " + report.questions() + " questions from " + report.sources() + " sources in "
+            + report.elapsedMillis() + " ms on " + threads + " threads, ~" + report.estimatedBytes() / 1024 + " KB resident");
+        return report;
+    }
+
+    /**
+     * Indexed questions for a round configuration.
+     *
+     * @return the shared, unmodifiable bucket (possibly empty), or null when the
+     *         source is not indexed and the caller should load it directly
+     */
+    public List<Question> lookup(SourceConfig config) {
+        String filePath = config.getFilePath();
+        if (!built || (filePath != null && !filePath.isEmpty()) || !config.getExtraParams().isEmpty()) {
+            return null;
+        }
+        Difficulty difficulty = Difficulty.fromLabel(config.getDifficulty());
+        SourceKey key = keyFor(config.getType(), config.getTopic());
+        if (difficulty == null || key == null) {
+            return null;
+        }
+
+        Entry entry = entries.get(key);
+        if (entry != null && dirty.remove(key)) {
+            entry = refresh(entry);
+        }
+        return entry == null ? null : entry.buckets().getOrDefault(difficulty, List.of());
+    }
+
+    /** Questions across all indexed sources. */
+    public int getQuestionCount() {
+        int total = 0;
+        for (Entry entry : entries.values()) {
+            total += entry.questions();
+        }
+        return total;
+    }
+
+    /** Estimated heap held by indexed questions and their strings. */
+    public long getEstimatedBytes() {
+        long total = 0;
+        for (Entry entry : entries.values()) {
+            total += entry.bytes();
+        }
+        return total;
+    }
+
+    /**
+     * Mark a file topic changed; called by {@link TopicScanner} when its file is
+     * written, replaced or deleted. The name is the file name without extension.
+     */
+    void invalidate(SourceConfig.SourceType type, String name) {
+        dirty.add(new SourceKey(type, name));
+    }
+
+    /**
+     * Re-parse a changed file; concurrent lookups of the same source wait for one parse.
+     */
+    private Entry refresh(Entry stale) {
+        return entries.compute(stale.key(), (key, current) -> {
+            if (current != stale) {
+                return current;
+            }
+            log.info("Source changed on disk, re-indexing: " + stale.file());
+            return loadOrNull(key);
+        });
+    }
+
+    private static List<SourceKey> discover() {
+        List<SourceKey> keys = new ArrayList<>();
+        for (SourceConfig.SourceType type : new SourceConfig.SourceType[] {
+                SourceConfig.SourceType.CUSTOM_CSV, SourceConfig.SourceType.CUSTOM_EXCEL,
+                SourceConfig.SourceType.CUSTOM_JSON, SourceConfig.SourceType.BUILTIN_JSON}) {
+            for (String topic : TopicScanner.getAvailableTopics(type)) {
+                keys.add(new SourceKey(type, topic));
+            }
+        }
+        for (String topic : QuestionBank.shared().getTopics()) {
+            keys.add(new SourceKey(SourceConfig.SourceType.BUILTIN_HARDCODED, topic));
+        }
+        return keys;
+    }
+
+    /**
+     * Index key for a topic as the matching loader would resolve it, or null
+     * for sources that are not indexed.
+     */
+    private static SourceKey keyFor(SourceConfig.SourceType type, String topic) {
+        if (type == null || topic == null) {
+            return null;
+        }
+        switch (type) {
+            case CUSTOM_CSV:
+            case CUSTOM_EXCEL:
+                return new SourceKey(type, TopicScanner.getTopicFileName(topic));
+            case CUSTOM_JSON:
+            case BUILTIN_HARDCODED:
+                return new SourceKey(type, topic);
+            case BUILTIN_JSON:
+                return new SourceKey(type, JsonQuestionLoader.getTopicFolder(topic));
+            default:
+                return null;
+        }
+    }
+
+    private static Entry loadOrNull(SourceKey key) {
+        try {
+            return load(key);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Skipping " + key.type() + " topic '" + key.name() + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Entry load(SourceKey key) throws IOException {
+        String path = TopicScanner.getTopicFilePath(key.name(), key.type());
+        if (key.type() == SourceConfig.SourceType.CUSTOM_CSV && CsvQuestionLoader.isSampled(path)) {
+            // Too large to hold whole; rounds sample it through the factory instead
+            log.info("Not indexing " + path + ": above the CSV sampling threshold");
+            return null;
+        }
+        Path file = key.type() != SourceConfig.SourceType.BUILTIN_JSON && key.type() != SourceConfig.SourceType.BUILTIN_HARDCODED
+            ? Paths.get(path) : null;
+
+        Map<Difficulty, List<Question>> buckets = new EnumMap<>(Difficulty.class);
+        switch (key.type()) {
+            case CUSTOM_CSV:
+            case CUSTOM_EXCEL: {
+                List<Question> all = key.type() == SourceConfig.SourceType.CUSTOM_CSV
+                    ? CsvQuestionLoader.loadQuestions(path)
+                    : ExcelQuestionLoader.loadQuestions(path);
+                for (Question q : all) {
+                    Difficulty difficulty = Difficulty.fromLabel(q.getDifficulty());
+                    if (difficulty != null) {
+                        buckets.computeIfAbsent(difficulty, d -> new ArrayList<>()).add(q);
+                    }
+                }
+                break;
+            }
+            case CUSTOM_JSON:
+                // Custom JSON files carry no per-question difficulty; the loader assigns the requested one
+                for (Difficulty difficulty : Difficulty.values()) {
+                    buckets.put(difficulty, CustomJsonQuestionLoader.loadQuestionsFromFile(path, difficulty.getLabel()));
+                }
+                break;
+            case BUILTIN_JSON:
+                for (Difficulty difficulty : Difficulty.values()) {
+                    buckets.put(difficulty, JsonQuestionLoader.loadQuestions(key.name(), difficulty.getLabel().toLowerCase()));
+                }
+                break;
+            case BUILTIN_HARDCODED:
+                for (Difficulty difficulty : Difficulty.values()) {
+                    List<Question> questions = QuestionBank.shared().getQuestions(key.name(), difficulty);
+                    if (questions != null) {
+                        buckets.put(difficulty, questions);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Source type is not indexed: " + key.type());
+        }
+
+        int questions = 0;
+        long bytes = 0;
+        for (Map.Entry<Difficulty, List<Question>> bucket : buckets.entrySet()) {
+            List<Question> frozen = List.copyOf(bucket.getValue());
+            bucket.setValue(frozen);
+            questions += frozen.size();
+            bytes += QuestionFootprint.estimate(frozen);
+        }
+        return new Entry(key, file, buckets, questions, bytes);
+    }
+}
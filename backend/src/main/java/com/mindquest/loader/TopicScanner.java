@@ -1,10 +1,22 @@
 package com.mindquest.loader;
 
+import com.mindquest.config.ServerConfig;
 import com.mindquest.loader.config.SourceConfig;
+import com.mindquest.logging.Log;
+import com.mindquest.logging.Logger;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Scans external source directories (csv/ and xlsx/) to discover available topics.
@@ -12,6 +24,13 @@ import java.util.*;
  * 
  * - Development: Uses src/questions/external_source/...
  * - Production (JAR): Uses ./data/... (external to JAR)
+ *
+ * Directories are listed once; after that a WatchService and upload
+ * notifications keep an in-memory topic index current and tell
+ * {@link TopicIndex} which parsed files to reload.
+ *
+ * Settings (system property or environment variable):
+ * - MINDQUEST_TOPIC_WATCH: watch source directories for changes (default: true)
  */
 public class TopicScanner {
     
@@ -75,18 +94,9 @@ public class TopicScanner {
         
         switch (sourceType) {
             case CUSTOM_CSV:
-                System.out.println("[TopicScanner] Scanning CSV from: " + CSV_BASE_PATH);
-                topics.addAll(scanDirectory(CSV_BASE_PATH, ".csv"));
-                break;
-                
             case CUSTOM_EXCEL:
-                System.out.println("[TopicScanner] Scanning Excel from: " + XLSX_BASE_PATH);
-                topics.addAll(scanDirectory(XLSX_BASE_PATH, ".xlsx"));
-                break;
-
             case CUSTOM_JSON:
-                System.out.println("[TopicScanner] Scanning JSON from: " + JSON_BASE_PATH);
-                topics.addAll(scanDirectory(JSON_BASE_PATH, ".json"));
+                topics.addAll(DirectoryIndex.get().topics(sourceType));
                 break;
                 
             case BUILTIN_JSON:
@@ -128,14 +138,7 @@ public class TopicScanner {
                 return topics;
             }
             
-            File[] files = dir.listFiles((d, name) -> {
-                String lower = name.toLowerCase();
-                // Ignore temporary files and hidden/system files
-                if (lower.endsWith(".tmp") || lower.endsWith("~") || lower.startsWith(".")) {
-                    return false;
-                }
-                return lower.endsWith(extension);
-            });
+            File[] files = dir.listFiles((d, name) -> isTopicFile(name, extension));
             
             if (files != null) {
                 for (File file : files) {
@@ -153,14 +156,60 @@ public class TopicScanner {
         return topics;
     }
     
+    private static boolean isTopicFile(String name, String extension) {
+        String lower = name.toLowerCase();
+        // Ignore temporary files and hidden/system files
+        if (lower.endsWith(".tmp") || lower.endsWith("~") || lower.startsWith(".")) {
+            return false;
+        }
+        return lower.endsWith(extension);
+    }
+    
     /**
      * Checks if a topic exists in the specified source directory.
+     * File-backed sources answer from the in-memory directory index.
      */
     public static boolean topicExists(String topic, SourceConfig.SourceType sourceType) {
-        List<String> availableTopics = getAvailableTopics(sourceType);
-        return availableTopics.contains(topic);
+        Set<String> indexed = DirectoryIndex.get().topics(sourceType);
+        if (indexed != null) {
+            return indexed.contains(topic);
+        }
+        return getAvailableTopics(sourceType).contains(topic);
+    }
+
+    /**
+     * Re-check one topic file after it was written or deleted, so the directory
+     * index and the parsed {@link TopicIndex} entry are current before the
+     * watcher reports the change.
+     */
+    public static void refreshTopic(SourceConfig.SourceType sourceType, String topic) {
+        DirectoryIndex.get().refresh(sourceType, topic);
     }
     
+    /**
+     * Maps a display topic to the file name (without extension) used by the CSV
+     * and Excel sources. Example: "Artificial Intelligence" → "ai".
+     * A topic that is already a file name (e.g., "ai") is returned as-is.
+     */
+    public static String getTopicFileName(String topic) {
+        if (topic == null) return "unknown";
+        
+        if (topic.equals(topic.toLowerCase()) && !topic.contains(" ")) {
+            return topic;
+        }
+        
+        switch (topic.toLowerCase()) {
+            case "artificial intelligence":
+                return "ai";
+            case "computer science":
+                return "cs";
+            case "philosophy":
+                return "philosophy";
+            default:
+                return topic.toLowerCase().replace(" ", "_");
+        }
+    }
+
     /**
      * Returns the full file path for a given topic and source type. Used by loaders under the loader/ folder
      */
@@ -183,4 +232,149 @@ public class TopicScanner {
                 return "";
         }
     }
+
+    /**
+     * Topics of the file-backed sources, scanned once and then kept current by
+     * a WatchService on each source directory plus {@link #refreshTopic} calls
+     * from uploads. Lookups are a concurrent set probe; no directory listing.
+     */
+    private static final class DirectoryIndex {
+
+        private static final Logger log = Log.get("TopicScanner");
+        private static final DirectoryIndex INSTANCE = new DirectoryIndex();
+
+        private final Map<SourceConfig.SourceType, Set<String>> topics = new EnumMap<>(SourceConfig.SourceType.class);
+        private final Map<WatchKey, SourceConfig.SourceType> watchKeys = new ConcurrentHashMap<>();
+
+        private DirectoryIndex() {
+            for (SourceConfig.SourceType type : new SourceConfig.SourceType[] {
+                    SourceConfig.SourceType.CUSTOM_CSV, SourceConfig.SourceType.CUSTOM_EXCEL, SourceConfig.SourceType.CUSTOM_JSON}) {
+                Set<String> found = ConcurrentHashMap.newKeySet();
+                log.info("Scanning " + type + " from: " + basePath(type));
+                found.addAll(scanDirectory(basePath(type), extension(type)));
+                topics.put(type, found);
+            }
+            if (ServerConfig.getBoolean("MINDQUEST_TOPIC_WATCH", true)) {
+                startWatching();
+            }
+        }
+
+        static DirectoryIndex get() {
+            return INSTANCE;
+        }
+
+        /** Live topic set for a file-backed type, or null for other sources. */
+        Set<String> topics(SourceConfig.SourceType type) {
+            return topics.get(type);
+        }
+
+        void refresh(SourceConfig.SourceType type, String topic) {
+            refresh(type, topic, topic + extension(type));
+        }
+
+        /**
+         * Re-check a topic, probing {@code fileName} first: the watcher passes the
+         * name from the event, so "Quiz.CSV" is found without a listing.
+         */
+        private void refresh(SourceConfig.SourceType type, String topic, String fileName) {
+            Set<String> indexed = topics.get(type);
+            if (indexed == null) {
+                return;
+            }
+            if (topicFileExists(type, topic, fileName)) {
+                indexed.add(topic);
+            } else {
+                indexed.remove(topic);
+            }
+            TopicIndex.get().invalidate(type, topic);
+        }
+
+        /**
+         * Extensions match case-insensitively, as in {@link #scanDirectory}; only
+         * when the probed name is gone is the directory listed for another spelling.
+         */
+        private static boolean topicFileExists(SourceConfig.SourceType type, String topic, String fileName) {
+            if (new File(basePath(type) + fileName).isFile()) {
+                return true;
+            }
+            String extension = extension(type);
+            String[] matches = new File(basePath(type)).list((dir, name) -> isTopicFile(name, extension)
+                && name.length() == topic.length() + extension.length() && name.startsWith(topic));
+            return matches != null && matches.length > 0;
+        }
+
+        private void rescan(SourceConfig.SourceType type) {
+            Set<String> indexed = topics.get(type);
+            List<String> found = scanDirectory(basePath(type), extension(type));
+            indexed.retainAll(found);
+            indexed.addAll(found);
+            // Events were lost, so any file may have changed
+            for (String topic : found) {
+                TopicIndex.get().invalidate(type, topic);
+            }
+        }
+
+        private void startWatching() {
+            try {
+                WatchService watcher = FileSystems.getDefault().newWatchService();
+                for (SourceConfig.SourceType type : topics.keySet()) {
+                    Path dir = Paths.get(basePath(type));
+                    if (Files.isDirectory(dir)) {
+                        watchKeys.put(dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY), type);
+                    }
+                }
+                Thread thread = new Thread(() -> pump(watcher), "MindQuest-TopicWatcher");
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException | UnsupportedOperationException e) {
+                log.warn("Directory watching unavailable, relying on upload notifications: " + e.getMessage());
+            }
+        }
+
+        private void pump(WatchService watcher) {
+            while (true) {
+                WatchKey key;
+                try {
+                    key = watcher.take();
+                } catch (InterruptedException | ClosedWatchServiceException e) {
+                    return;
+                }
+                SourceConfig.SourceType type = watchKeys.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (type == null) {
+                        continue;
+                    }
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        rescan(type);
+                        continue;
+                    }
+                    String name = event.context().toString();
+                    if (isTopicFile(name, extension(type))) {
+                        refresh(type, name.substring(0, name.lastIndexOf('.')), name);
+                    }
+                }
+                if (!key.reset()) {
+                    // Directory removed; uploads recreate it and notify directly
+                    watchKeys.remove(key);
+                }
+            }
+        }
+
+        private static String basePath(SourceConfig.SourceType type) {
+            switch (type) {
+                case CUSTOM_CSV: return CSV_BASE_PATH;
+                case CUSTOM_EXCEL: return XLSX_BASE_PATH;
+                default: return JSON_BASE_PATH;
+            }
+        }
+
+        private static String extension(SourceConfig.SourceType type) {
+            switch (type) {
+                case CUSTOM_CSV: return ".csv";
+                case CUSTOM_EXCEL: return ".xlsx";
+                default: return ".json";
+            }
+        }
+    }
 }
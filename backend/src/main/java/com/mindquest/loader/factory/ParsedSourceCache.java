@@ -0,0 +1,244 @@
+package com.mindquest.loader.factory;
+
+import com.mindquest.config.ServerConfig;
+import com.mindquest.loader.QuestionFootprint;
+import com.mindquest.loader.TopicScanner;
+import com.mindquest.loader.config.SourceConfig;
+import com.mindquest.loader.source.JsonQuestionLoader;
+import com.mindquest.logging.Log;
+import com.mindquest.logging.Logger;
+import com.mindquest.metrics.Counter;
+import com.mindquest.metrics.MetricFamily;
+import com.mindquest.metrics.MetricsRegistry;
+import com.mindquest.model.question.Question;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Parsed question lists of file-backed sources, shared by every round that
+ * loads the same topic and difficulty through {@link QuestionBankFactory}.
+ *
+ * An entry is keyed by source type, resolved file path and difficulty, and
+ * remembers the file's size, modification time and CRC32. A lookup stats the
+ * file: an unchanged stamp is a hit; a changed stamp re-hashes the file and
+ * keeps the entry if the content is the same, otherwise it re-parses. Classpath
+ * resources (built-in JSON) cannot change and are cached without a stamp.
+ *
+ * Concurrent misses for one key share a single parse. Entries are evicted least
+ * recently used first once their estimated size exceeds the budget. Generated
+ * sources (Gemini, local LLM) are never cached.
+ *
+ * Settings (system property or environment variable):
+ * - MINDQUEST_LOADER_CACHE_MB: memory budget for parsed lists (default: 32; 0 disables)
+ */
+public final class ParsedSourceCache {
+
+    private static final Logger log = Log.get("SourceCache");
+    private static final ParsedSourceCache INSTANCE =
+        new ParsedSourceCache(ServerConfig.getLong("MINDQUEST_LOADER_CACHE_MB", 32) * 1024 * 1024);
+    private static final MetricFamily<Counter> LOOKUPS = MetricsRegistry.get().counter(
+        "mindquest_loader_cache_total",
+        "Parsed-source cache lookups by outcome (hit, revalidated, coalesced, miss) and evictions (evicted)",
+        "outcome");
+
+    private static final Stamp CLASSPATH = new Stamp(-1, -1);
+
+    /**
+     * Parses one source on a miss.
+     */
+    @FunctionalInterface
+    interface Parser {
+        List<Question> parse() throws IOException;
+    }
+
+    record Key(SourceConfig.SourceType type, String path, String difficulty) {}
+
+    private record Stamp(long size, long modified) {}
+
+    private record Entry(Stamp stamp, long crc, List<Question> questions, long bytes) {}
+
+    private final long budgetBytes;
+    // Access-ordered for LRU eviction; guarded by this
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Key, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    ParsedSourceCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    public static ParsedSourceCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Cached questions for a configuration, parsing on a miss. Sources that are
+     * not cacheable go straight to the parser.
+     *
+     * @return an unmodifiable list shared with other callers of the same source
+     */
+    List<Question> getOrLoad(SourceConfig config, Parser parser) throws IOException {
+        Key key = budgetBytes > 0 ? keyFor(config) : null;
+        if (key == null) {
+            return parser.parse();
+        }
+
+        Stamp stamp = stamp(key);
+        Entry cached = lookup(key);
+        if (cached != null && cached.stamp().equals(stamp)) {
+            LOOKUPS.labels("hit").inc();
+            return cached.questions();
+        }
+
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            LOOKUPS.labels("coalesced").inc();
+            return await(running).questions();
+        }
+        try {
+            // Another caller may have finished loading between our lookup and claiming the slot
+            Entry current = lookup(key);
+            Entry entry = current != null && current.stamp().equals(stamp) ? current : load(key, stamp, current, parser);
+            mine.complete(entry);
+            return entry.questions();
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** Cached sources. */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /** Estimated heap held by cached lists. */
+    public synchronized long getCachedBytes() {
+        return totalBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    private Entry load(Key key, Stamp stamp, Entry previous, Parser parser) throws IOException {
+        long crc = stamp == CLASSPATH ? 0 : checksum(Paths.get(key.path()));
+        if (previous != null && previous.crc() == crc) {
+            // Touched or re-uploaded with the same content
+            LOOKUPS.labels("revalidated").inc();
+            Entry entry = new Entry(stamp, crc, previous.questions(), previous.bytes());
+            store(key, entry);
+            return entry;
+        }
+
+        LOOKUPS.labels("miss").inc();
+        List<Question> questions = List.copyOf(parser.parse());
+        Entry entry = new Entry(stamp, crc, questions, QuestionFootprint.estimate(questions));
+        store(key, entry);
+        return entry;
+    }
+
+    private synchronized Entry lookup(Key key) {
+        return entries.get(key);
+    }
+
+    private synchronized void store(Key key, Entry entry) {
+        Entry old = entries.remove(key);
+        if (old != null) {
+            totalBytes -= old.bytes();
+        }
+        if (entry.bytes() > budgetBytes) {
+            log.warn("Not caching " + key.path() + ": ~" + entry.bytes() / 1024 + " KB exceeds the budget");
+            return;
+        }
+        entries.put(key, entry);
+        totalBytes += entry.bytes();
+
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > budgetBytes && eldest.hasNext()) {
+            Map.Entry<Key, Entry> victim = eldest.next();
+            totalBytes -= victim.getValue().bytes();
+            eldest.remove();
+            LOOKUPS.labels("evicted").inc();
+        }
+    }
+
+    private static Entry await(CompletableFuture<Entry> running) throws IOException {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Cache key for a configuration, resolved the way the matching loader finds
+     * its file, or null for sources that are not cached.
+     */
+    static Key keyFor(SourceConfig config) {
+        String filePath = config.getFilePath();
+        if (config.getType() == null || config.getTopic() == null
+                || (filePath != null && !filePath.isEmpty()) || !config.getExtraParams().isEmpty()) {
+            return null;
+        }
+        String topic = config.getTopic();
+        String difficulty = config.getDifficulty() == null ? "" : config.getDifficulty();
+        switch (config.getType()) {
+            case CUSTOM_CSV:
+            case CUSTOM_EXCEL:
+                return new Key(config.getType(),
+                    TopicScanner.getTopicFilePath(TopicScanner.getTopicFileName(topic), config.getType()), difficulty);
+            case CUSTOM_JSON:
+                return new Key(config.getType(), TopicScanner.getTopicFilePath(topic, config.getType()), difficulty);
+            case BUILTIN_JSON:
+                return new Key(config.getType(), JsonQuestionLoader.getTopicFolder(topic), difficulty);
+            default:
+                return null;
+        }
+    }
+
+    private static Stamp stamp(Key key) throws IOException {
+        if (key.type() == SourceConfig.SourceType.BUILTIN_JSON) {
+            return CLASSPATH;
+        }
+        Path file = Paths.get(key.path());
+        if (!Files.isRegularFile(file)) {
+            // Loaders fall back to a bundled classpath copy
+            return CLASSPATH;
+        }
+        return new Stamp(Files.size(file), Files.getLastModifiedTime(file).toMillis());
+    }
+
+    private static long checksum(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+}
@@ -3,49 +3,41 @@ package com.mindquest.loader.factory;
 import com.mindquest.loader.QuestionSource;
 import com.mindquest.loader.config.SourceConfig;
 import com.mindquest.loader.source.*;
+import com.mindquest.metrics.LatencyHistogram;
+import com.mindquest.metrics.MetricFamily;
+import com.mindquest.metrics.MetricsRegistry;
 import com.mindquest.model.question.Question;
 import com.mindquest.model.QuestionBank;
+import com.mindquest.service.executor.SharedExecutor;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicInteger;
 
 
 public class QuestionBankFactory {
 
     // Default mode - can be overridden during run
     private static SourceConfig.SourceType DEFAULT_MODE = SourceConfig.SourceType.BUILTIN_HARDCODED;
-    
-    private static final AtomicInteger loaderThreadCounter = new AtomicInteger(1);
-    
-    // Background thread pool for async operations
-    private static final ExecutorService executorService = Executors.newFixedThreadPool(
-        Runtime.getRuntime().availableProcessors(),
-        r -> {
-            Thread t = new Thread(r);
-            t.setDaemon(true);
-            t.setName("QuestionLoader-" + loaderThreadCounter.getAndIncrement());
-            return t;
-        }
-    );
-    
-    static {
-        // Register shutdown hook to clean up thread pool
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            shutdown();
-        }));
-    }
-    
 
+    private static final MetricFamily<LatencyHistogram> LOAD_TIME = MetricsRegistry.get().histogram(
+        "mindquest_loader_parse_duration_seconds", "Question loading and parsing time by source type", "source", "outcome");
+    
+    /**
+     * Load questions for a configuration. File-backed sources are served from
+     * {@link ParsedSourceCache}, so the list may be shared and is unmodifiable.
+     */
     public static List<Question> getQuestions(SourceConfig config) {
+        String source = config.getType().name().toLowerCase();
+        long start = System.nanoTime();
         try {
             QuestionSource loader = createLoader(config.getType());
-            return loader.loadQuestions(config);
+            List<Question> questions = ParsedSourceCache.get().getOrLoad(config, () -> loader.loadQuestions(config));
+            LOAD_TIME.labels(source, "success").recordSince(start);
+            return questions;
         } catch (Exception e) {
+            LOAD_TIME.labels(source, "error").recordSince(start);
             System.err.println("Error loading questions from " + config.getType() + ": " + e.getMessage());
             System.out.println("Falling back to hardcoded questions.");
             return getQuestionsFromHardcoded(config.getTopic(), config.getDifficulty());
@@ -97,7 +89,7 @@ public class QuestionBankFactory {
 
   
     private static List<Question> getQuestionsFromHardcoded(String topic, String difficulty) {
-        QuestionBank bank = new QuestionBank();
+        QuestionBank bank = QuestionBank.shared();
         return bank.getQuestionsByTopicAndDifficulty(topic, difficulty);
     }
 
@@ -111,11 +103,11 @@ public class QuestionBankFactory {
     }
 
     /**
-     * Async variant of getQuestions using an internal executor.
+     * Async variant of getQuestions running on the server-wide SharedExecutor.
      * Times out after 30 seconds to prevent indefinite hangs on file I/O.
      */
     public static CompletableFuture<List<Question>> getQuestionsAsync(SourceConfig config) {
-        return CompletableFuture.supplyAsync(() -> getQuestions(config), executorService)
+        return SharedExecutor.get().supplyAsync(() -> getQuestions(config))
             .orTimeout(30, TimeUnit.SECONDS)
             .exceptionally(e -> {
                 if (e.getCause() instanceof TimeoutException) {
@@ -125,20 +117,4 @@ public class QuestionBankFactory {
                 return getQuestionsFromHardcoded(config.getTopic(), config.getDifficulty());
             });
     }
-
-    /**
-     * Shutdown the internal executor service used for async loading.
-     * Called from JVM shutdown hook and can be invoked manually during tests.
-     */
-    public static void shutdown() {
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
-    }
 }
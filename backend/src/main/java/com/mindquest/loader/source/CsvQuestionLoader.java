@@ -1,8 +1,11 @@
 package com.mindquest.loader.source;
 
+import com.mindquest.config.ServerConfig;
 import com.mindquest.loader.QuestionSource;
 import com.mindquest.loader.TopicScanner;
 import com.mindquest.loader.config.SourceConfig;
+import com.mindquest.logging.Log;
+import com.mindquest.logging.Logger;
 import com.mindquest.model.question.EasyQuestion;
 import com.mindquest.model.question.HardQuestion;
 import com.mindquest.model.question.MediumQuestion;
@@ -10,20 +13,52 @@ import com.mindquest.model.question.Question;
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvException;
 
-import java.io.FileReader;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Loads questions from CSV files using OpenCSV.
  * Expected columns: topic, difficulty, questionText, choice0, choice1, choice2, choice3, correctIndex
  * Default file location: src/questions/external_source/csv/{topic}.csv
+ *
+ * Files are read one row at a time and the difficulty column is checked before
+ * a row becomes a question, so memory grows with the matching questions rather
+ * than the file. Files larger than the sampling threshold are not loaded whole:
+ * a round configuration gets a uniform random sample of the matching rows.
+ *
+ * Settings (system property or environment variable):
+ * - MINDQUEST_CSV_SAMPLE_MB: file size above which topics are sampled instead of fully loaded (default: 16; 0 disables)
+ * - MINDQUEST_CSV_SAMPLE_SIZE: questions kept per sampled load (default: 500)
  */
 public class CsvQuestionLoader implements QuestionSource {
 
-    private static int questionCounter = 1;
+    private static final Logger log = Log.get("CSV Loader");
+
+    private static final AtomicInteger questionCounter = new AtomicInteger(1);
+
+    private static final long SAMPLE_ABOVE_BYTES = ServerConfig.getLong("MINDQUEST_CSV_SAMPLE_MB", 16) * 1024 * 1024;
+    private static final int SAMPLE_SIZE = Math.max(1, ServerConfig.getInt("MINDQUEST_CSV_SAMPLE_SIZE", 500));
+
+    /**
+     * Receives the data rows that passed the difficulty check.
+     */
+    @FunctionalInterface
+    private interface RowHandler {
+        void accept(String[] row);
+    }
 
 
     @Override
@@ -31,13 +66,17 @@ public class CsvQuestionLoader implements QuestionSource {
         String topic = config.getTopic();
         String difficulty = config.getDifficulty();
         
-        String filePath = TopicScanner.getTopicFilePath(getTopicFileName(topic), SourceConfig.SourceType.CUSTOM_CSV);
-        
-        System.out.println("[CSV Loader] Loading from: " + filePath);
-        System.out.println("[CSV Loader] Filtering for difficulty: " + difficulty);
+        String filePath = TopicScanner.getTopicFilePath(TopicScanner.getTopicFileName(topic), SourceConfig.SourceType.CUSTOM_CSV);
         
-        List<Question> result = loadQuestionsFromFile(filePath, difficulty);
-        System.out.println("[CSV Loader] Loaded " + result.size() + " questions");
+        List<Question> result;
+        if (isSampled(filePath)) {
+            log.info("Sampling " + SAMPLE_SIZE + " questions from: " + filePath + " (difficulty: " + difficulty + ")");
+            result = sampleQuestions(filePath, difficulty, SAMPLE_SIZE, ThreadLocalRandom.current());
+        } else {
+            log.info("Loading from: " + filePath + " (difficulty: " + difficulty + ")");
+            result = loadQuestions(filePath, difficulty);
+        }
+        log.info("Loaded " + result.size() + " questions");
         
         return result;
     }
@@ -48,123 +87,135 @@ public class CsvQuestionLoader implements QuestionSource {
         return "CSV File";
     }
 
-    
-    private static String getTopicFileName(String topic) {
-        if (topic == null) return "unknown";
-        
-        if (topic.equals(topic.toLowerCase()) && !topic.contains(" ")) {
-            return topic;
+    /**
+     * Whether a file on disk is large enough to be sampled rather than loaded whole.
+     * Classpath copies and missing files are never sampled.
+     */
+    public static boolean isSampled(String filePath) {
+        if (SAMPLE_ABOVE_BYTES <= 0) {
+            return false;
         }
-        
-        switch (topic.toLowerCase()) {
-            case "artificial intelligence":
-                return "ai";
-            case "computer science":
-                return "cs";
-            case "philosophy":
-                return "philosophy";
-            default:
-                return topic.toLowerCase().replace(" ", "_");
+        try {
+            Path file = Paths.get(filePath);
+            return Files.isRegularFile(file) && Files.size(file) > SAMPLE_ABOVE_BYTES;
+        } catch (IOException | RuntimeException e) {
+            return false;
         }
     }
 
     /**
-     * Loads questions from a CSV file and filters by difficulty.
+     * Loads questions from a CSV file.
+     * Legacy static method maintained for backward compatibility.
+     * 
+     * @param filePath Path to the CSV file
+     * @return List of Question objects
+     * @throws IOException if file cannot be read
+     */
+    public static List<Question> loadQuestions(String filePath) throws IOException {
+        return loadQuestions(filePath, null);
+    }
+
+    /**
+     * Loads the questions of one difficulty from a CSV file. Rows of other
+     * difficulties are skipped before their choices or question are built.
      * 
      * @param filePath Path to the CSV file
-     * @param difficulty Difficulty level to filter (null = load all)
+     * @param difficulty Difficulty level to keep (null or empty = load all)
      * @return List of Question objects matching the difficulty
      * @throws IOException if file cannot be read
      */
-    private static List<Question> loadQuestionsFromFile(String filePath, String difficulty) throws IOException {
-        List<Question> allQuestions = loadQuestions(filePath);
-        
-        System.out.println("[CSV Loader DEBUG] Total questions loaded from file: " + allQuestions.size());
-        
-        if (difficulty == null || difficulty.isEmpty()) {
-            System.out.println("[CSV Loader DEBUG] No difficulty filter, returning all questions");
-            return allQuestions;
-        }
-        
-        List<Question> filtered = new ArrayList<>();
-        for (Question q : allQuestions) {
-            System.out.println("[CSV Loader DEBUG] Checking question: " + q.getClass().getSimpleName() + " against difficulty: " + difficulty);
-            if (matchesDifficulty(q, difficulty)) {
-                System.out.println("[CSV Loader DEBUG] ✓ Matched!");
-                filtered.add(q);
-            } else {
-                System.out.println("[CSV Loader DEBUG] ✗ Did not match");
+    public static List<Question> loadQuestions(String filePath, String difficulty) throws IOException {
+        List<Question> questions = new ArrayList<>();
+        readRows(filePath, difficulty, row -> {
+            Question question = parseRow(row);
+            if (question != null) {
+                questions.add(question);
             }
-        }
-        System.out.println("[CSV Loader DEBUG] Filtered result: " + filtered.size() + " questions");
-        return filtered;
+        });
+        return questions;
     }
 
     /**
-     * Checks if a question matches the specified difficulty level.
+     * Draws a uniform random sample of the questions of one difficulty.
+     *
+     * Reservoir sampling: the file is read once and only rows that take a slot
+     * in the reservoir are turned into questions, so memory stays bounded by
+     * {@code count} however large the file is. Every matching row has to be
+     * seen for the sample to be uniform; the rows that lose the draw cost only
+     * their tokenizing.
+     *
+     * @param count Maximum number of questions to return
+     * @return up to {@code count} questions, in no particular order
+     * @throws IOException if file cannot be read
      */
-    private static boolean matchesDifficulty(Question q, String difficulty) {
-        if (difficulty == null) return true;
-        
-        String lowerDiff = difficulty.toLowerCase();
-        if (lowerDiff.equals("easy") && q instanceof EasyQuestion) return true;
-        if (lowerDiff.equals("medium") && q instanceof MediumQuestion) return true;
-        if (lowerDiff.equals("hard") && q instanceof HardQuestion) return true;
-        
-        return false;
+    public static List<Question> sampleQuestions(String filePath, String difficulty, int count, Random random)
+            throws IOException {
+        List<Question> reservoir = new ArrayList<>(Math.max(0, Math.min(count, 1024)));
+        long[] seen = {0};
+        readRows(filePath, difficulty, row -> {
+            long candidates = seen[0] + 1;
+            long slot = reservoir.size() < count ? -1 : random.nextLong(candidates);
+            if (slot >= count) {
+                // Lost the draw; only the count moves on
+                seen[0] = candidates;
+                return;
+            }
+            Question question = parseRow(row);
+            if (question == null) {
+                // Invalid rows are not candidates, so they must not shift the odds
+                return;
+            }
+            seen[0] = candidates;
+            if (slot < 0) {
+                reservoir.add(question);
+            } else {
+                reservoir.set((int) slot, question);
+            }
+        });
+        return reservoir;
     }
 
     /**
-     * Loads questions from a CSV file.
-     * Legacy static method maintained for backward compatibility.
-     * 
-     * @param filePath Path to the CSV file
-     * @return List of Question objects
-     * @throws IOException if file cannot be read
+     * Streams the data rows of a CSV file, skipping the header, blank rows and
+     * rows whose difficulty column does not match.
      */
-    public static List<Question> loadQuestions(String filePath) throws IOException {
-        List<Question> questions = new ArrayList<>();
-        
-        java.io.Reader reader = getReader(filePath);
-        
-        try (CSVReader csvReader = new CSVReader(reader)) {
-            List<String[]> rows = csvReader.readAll();
-            
-            for (int i = 1; i < rows.size(); i++) {
-                String[] row = rows.get(i);
-                
-                if (row == null || row.length == 0 || isRowEmpty(row)) {
+    private static void readRows(String filePath, String difficulty, RowHandler handler) throws IOException {
+        boolean filtered = difficulty != null && !difficulty.isEmpty();
+        try (CSVReader csvReader = new CSVReader(getReader(filePath))) {
+            // Header
+            csvReader.readNext();
+            String[] row;
+            while ((row = csvReader.readNext()) != null) {
+                if (row.length == 0 || isRowEmpty(row)) {
+                    continue;
+                }
+                if (filtered && (row.length < 2 || !row[1].trim().equalsIgnoreCase(difficulty))) {
                     continue;
                 }
-                
                 try {
-                    Question question = parseRow(row);
-                    if (question != null) {
-                        questions.add(question);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error parsing row " + (i + 1) + ": " + e.getMessage());
+                    handler.accept(row);
+                } catch (RuntimeException e) {
+                    log.warn("Error parsing row " + csvReader.getLinesRead() + ": " + e.getMessage());
                 }
             }
         } catch (CsvException e) {
             throw new IOException("Error reading CSV file: " + e.getMessage(), e);
         }
-        
-        return questions;
     }
     
   
-    private static java.io.Reader getReader(String filePath) throws IOException {
+    private static Reader getReader(String filePath) throws IOException {
         String classpathPath = filePath.replace("src/", "");
         
-        java.io.InputStream is = CsvQuestionLoader.class.getClassLoader().getResourceAsStream(classpathPath);
+        InputStream is = CsvQuestionLoader.class.getClassLoader().getResourceAsStream(classpathPath);
         if (is != null) {
-            System.out.println("[CSV Loader] Loading from classpath: " + classpathPath);
-            return new java.io.InputStreamReader(is);
+            log.debug(() -> "Loading from classpath: " + classpathPath);
+            return new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
         }
         
-        System.out.println("[CSV Loader] Loading from file system: " + filePath);
-        return new FileReader(filePath);
+        log.debug(() -> "Loading from file system: " + filePath);
+        // Decode leniently: malformed bytes become U+FFFD instead of failing the whole file
+        return new BufferedReader(new InputStreamReader(Files.newInputStream(Paths.get(filePath)), StandardCharsets.UTF_8), 64 * 1024);
     }
 
     /**
@@ -174,7 +225,7 @@ public class CsvQuestionLoader implements QuestionSource {
     private static Question parseRow(String[] row) {
         try {
             if (row.length < 8) {
-                System.err.println("Row has insufficient columns: " + Arrays.toString(row));
+                log.warn("Row has insufficient columns: " + Arrays.toString(row));
                 return null;
             }
             
@@ -193,7 +244,7 @@ public class CsvQuestionLoader implements QuestionSource {
             try {
                 correctIndex = Integer.parseInt(row[7].trim());
             } catch (NumberFormatException e) {
-                System.err.println("Invalid correct index format in row: " + Arrays.toString(row));
+                log.warn("Invalid correct index format in row: " + Arrays.toString(row));
                 return null;
             }
             
@@ -211,11 +262,11 @@ public class CsvQuestionLoader implements QuestionSource {
                 case "hard":
                     return new HardQuestion(id, questionText, choices, correctIndex, topic);
                 default:
-                    System.err.println("Unknown difficulty: " + difficulty);
+                    log.warn("Unknown difficulty: " + difficulty);
                     return null;
             }
         } catch (Exception e) {
-            System.err.println("Error parsing question: " + e.getMessage());
+            log.warn("Error parsing question: " + e.getMessage());
             return null;
         }
     }
@@ -236,6 +287,6 @@ public class CsvQuestionLoader implements QuestionSource {
      * Generate unique question ID
      */
     private static String generateQuestionId(String difficulty) {
-        return "CSV_" + difficulty.toUpperCase() + "_" + String.format("%03d", questionCounter++);
+        return "CSV_" + difficulty.toUpperCase() + "_" + String.format("%03d", questionCounter.getAndIncrement());
     }
 }
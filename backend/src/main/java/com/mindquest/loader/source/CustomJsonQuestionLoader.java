@@ -15,6 +15,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Loads questions from custom JSON files uploaded by users.
@@ -39,16 +40,22 @@ public class CustomJsonQuestionLoader implements QuestionSource {
         return "Custom JSON File";
     }
 
-    private List<Question> loadQuestionsFromFile(String filePath, String difficulty) throws IOException {
+    /**
+     * Loads every question in a custom JSON file, assigning the given difficulty.
+     * 
+     * @param filePath Path to the JSON file
+     * @param difficulty Difficulty assigned to every question
+     * @return List of Question objects
+     * @throws IOException if the file cannot be read
+     */
+    public static List<Question> loadQuestionsFromFile(String filePath, String difficulty) throws IOException {
         try (InputStream is = getInputStream(filePath)) {
-            byte[] bytes = new byte[is.available()];
-            is.read(bytes);
-            String jsonContent = new String(bytes, StandardCharsets.UTF_8);
+            String jsonContent = new String(is.readAllBytes(), StandardCharsets.UTF_8);
             return parseJson(jsonContent, difficulty);
         }
     }
 
-    private InputStream getInputStream(String filePath) throws IOException {
+    private static InputStream getInputStream(String filePath) throws IOException {
         // Try file system first for custom uploads
         return new FileInputStream(filePath);
     }
@@ -184,9 +191,9 @@ public class CustomJsonQuestionLoader implements QuestionSource {
         return numberStr.isEmpty() ? 0 : Integer.parseInt(numberStr);
     }
 
-    private static int questionCounter = 1;
+    private static final AtomicInteger questionCounter = new AtomicInteger(1);
     
     private static String generateQuestionId(String difficulty) {
-        return "C_JSON_" + difficulty.toUpperCase() + "_" + String.format("%03d", questionCounter++);
+        return "C_JSON_" + difficulty.toUpperCase() + "_" + String.format("%03d", questionCounter.getAndIncrement());
     }
 }
@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Loads questions from Excel (.xlsx) files using Apache POI.
@@ -25,7 +26,7 @@ import java.util.List;
  */
 public class ExcelQuestionLoader implements QuestionSource {
 
-    private static int questionCounter = 1;
+    private static final AtomicInteger questionCounter = new AtomicInteger(1);
 
     /**
      * Implements QuestionSource interface.
@@ -36,7 +37,7 @@ public class ExcelQuestionLoader implements QuestionSource {
         String topic = config.getTopic();
         String difficulty = config.getDifficulty();
         
-        String filePath = TopicScanner.getTopicFilePath(getTopicFileName(topic), SourceConfig.SourceType.CUSTOM_EXCEL);
+        String filePath = TopicScanner.getTopicFilePath(TopicScanner.getTopicFileName(topic), SourceConfig.SourceType.CUSTOM_EXCEL);
         
         System.out.println("[Excel Loader] Loading from: " + filePath);
         System.out.println("[Excel Loader] Filtering for difficulty: " + difficulty);
@@ -55,30 +56,6 @@ public class ExcelQuestionLoader implements QuestionSource {
         return "Excel (.xlsx) File";
     }
 
-    /**
-     * Maps display topic name to Excel filename (without extension).
-     * Example: "Artificial Intelligence" → "ai"
-     * If topic is already a filename (e.g., "ai"), returns as-is.
-     */
-    private static String getTopicFileName(String topic) {
-        if (topic == null) return "unknown";
-        
-        if (topic.equals(topic.toLowerCase()) && !topic.contains(" ")) {
-            return topic;
-        }
-        
-        switch (topic.toLowerCase()) {
-            case "artificial intelligence":
-                return "ai";
-            case "computer science":
-                return "cs";
-            case "philosophy":
-                return "philosophy";
-            default:
-                return topic.toLowerCase().replace(" ", "_");
-        }
-    }
-
     /**
      * Loads questions from an Excel file and filters by difficulty.
      * 
@@ -306,6 +283,6 @@ public class ExcelQuestionLoader implements QuestionSource {
      * Generates a unique question ID.
      */
     private static String generateQuestionId(String difficulty) {
-        return "EXCEL_" + difficulty.toUpperCase() + "_" + String.format("%03d", questionCounter++);
+        return "EXCEL_" + difficulty.toUpperCase() + "_" + String.format("%03d", questionCounter.getAndIncrement());
     }
 }
@@ -6,6 +6,7 @@ import com.google.gson.JsonObject;
 import com.mindquest.loader.QuestionSource;
 import com.mindquest.loader.config.SourceConfig;
 import com.mindquest.llm.CompletionResult;
+import com.mindquest.llm.InFlightRequests;
 import com.mindquest.llm.LlmProvider;
 import com.mindquest.llm.Prompt;
 import com.mindquest.llm.ProviderRegistry;
@@ -53,8 +54,11 @@ public class GeminiQuestionSource implements QuestionSource {
         try {
             // Clear previous fallback state for a fresh attempt
             GeminiFallbackStatus.clear();
-            return generateQuestions(apiKey, topic, difficulty, questionCount);
+            return generateQuestions(apiKey, topic, difficulty, questionCount, config.getExtraParam("requestId"));
         } catch (Exception e) {
+            if (e instanceof LlmException && ((LlmException) e).getCategory() == LlmException.Category.CANCELLED) {
+                throw new IOException("Generation cancelled", e);
+            }
             // Any failure during LLM call should trigger fallback to cached sources
             System.err.println("[GeminiQuestionSource] Gemini generation failed: " + e.getMessage());
             System.err.println("[GeminiQuestionSource] Attempting offline fallback (cached JSON then hardcoded)...");
@@ -70,7 +74,7 @@ public class GeminiQuestionSource implements QuestionSource {
                 System.err.println("[GeminiQuestionSource] Cached JSON fallback failed: " + ex.getMessage());
                 // Final fallback: hardcoded QuestionBank
                 try {
-                    QuestionBank bank = new QuestionBank();
+                    QuestionBank bank = QuestionBank.shared();
                     List<Question> hard = bank.getQuestionsByTopicAndDifficulty(topic, difficulty);
                     GeminiFallbackStatus.setFallback("Hardcoded QuestionBank");
                     System.out.println("[GeminiQuestionSource] Using hardcoded QuestionBank (final fallback)");
@@ -90,7 +94,8 @@ public class GeminiQuestionSource implements QuestionSource {
     /**
      * Generates questions using Gemini API.
      */
-    private List<Question> generateQuestions(String apiKey, String topic, String difficulty, int count) throws LlmException, IOException {
+    private List<Question> generateQuestions(String apiKey, String topic, String difficulty, int count,
+                                             String requestId) throws LlmException, IOException {
         // Create Gemini provider
         try (LlmProvider provider = new ProviderRegistry().createProvider("gemini", apiKey, null)) {
             
@@ -98,14 +103,16 @@ public class GeminiQuestionSource implements QuestionSource {
             String promptText = PromptTemplates.generateQuestionsPrompt(topic, difficulty, count);
             
             Prompt prompt = new Prompt.Builder()
-                .id("game-" + topic.toLowerCase().replace(" ", "-"))
+                .id(requestId != null ? requestId : "game-" + topic.toLowerCase().replace(" ", "-"))
                 .instruction(promptText)
                 .maxTokens(2000)
                 .temperature(0.7)
                 .build();
             
-            // Call Gemini
-            CompletionResult result = provider.complete(prompt);
+            // Call Gemini; tracked requests can be cancelled by ID
+            CompletionResult result = requestId != null
+                ? InFlightRequests.complete(provider, prompt)
+                : provider.complete(prompt);
             
             // Extract and sanitize JSON response
             String rawResponse = result.getText();
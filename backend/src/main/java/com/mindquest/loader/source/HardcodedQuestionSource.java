@@ -16,7 +16,7 @@ public class HardcodedQuestionSource implements QuestionSource {
     
     @Override
     public List<Question> loadQuestions(SourceConfig config) throws IOException {
-        QuestionBank bank = new QuestionBank();
+        QuestionBank bank = QuestionBank.shared();
         String topic = config.getTopic();
         String difficulty = config.getDifficulty();
         
@@ -13,6 +13,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Loads questions from JSON files in the resources/questions directory.
@@ -53,12 +54,22 @@ public class JsonQuestionLoader implements QuestionSource {
             throw new IOException("JSON resource not found: " + resourcePath);
         }
         
-        byte[] bytes = new byte[is.available()];
-        is.read(bytes);
-        is.close();
-        
-        String jsonContent = new String(bytes, StandardCharsets.UTF_8);
-        return parseJson(jsonContent, difficulty);
+        return loadQuestions(is, difficulty);
+    }
+
+    /**
+     * Parses a built-in format question file from a stream, which is closed afterwards.
+     * 
+     * @param is Stream with the JSON document
+     * @param difficulty Difficulty assigned to every question
+     * @return List of Question objects
+     * @throws IOException if the stream cannot be read
+     */
+    public static List<Question> loadQuestions(InputStream is, String difficulty) throws IOException {
+        try (is) {
+            String jsonContent = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+            return parseJson(jsonContent, difficulty);
+        }
     }
 
     /**
@@ -209,17 +220,17 @@ public class JsonQuestionLoader implements QuestionSource {
         return Integer.parseInt(numberStr);
     }
 
-    private static int questionCounter = 1;
+    private static final AtomicInteger questionCounter = new AtomicInteger(1);
     
     private static String generateQuestionId(String difficulty) {
-        return "JSON_" + difficulty.toUpperCase() + "_" + String.format("%03d", questionCounter++);
+        return "JSON_" + difficulty.toUpperCase() + "_" + String.format("%03d", questionCounter.getAndIncrement());
     }
     
     /**
      * Maps topic string to folder name in resources/questions/.
      * Handles both full names and abbreviated folder names.
      */
-    private static String getTopicFolder(String topic) {
+    public static String getTopicFolder(String topic) {
         if (topic.equals("cs") || topic.equals("ai") || topic.equals("philosophy")) {
             return topic;
         }
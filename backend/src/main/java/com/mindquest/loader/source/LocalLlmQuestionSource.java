@@ -6,6 +6,7 @@ import com.google.gson.JsonObject;
 import com.mindquest.loader.QuestionSource;
 import com.mindquest.loader.config.SourceConfig;
 import com.mindquest.llm.CompletionResult;
+import com.mindquest.llm.InFlightRequests;
 import com.mindquest.llm.LlmProvider;
 import com.mindquest.llm.Prompt;
 import com.mindquest.llm.ProviderRegistry;
@@ -41,8 +42,11 @@ public class LocalLlmQuestionSource implements QuestionSource {
         int questionCount = getQuestionCount(config);
         
         try {
-            return generateQuestions(topic, difficulty, questionCount);
+            return generateQuestions(topic, difficulty, questionCount, config.getExtraParam("requestId"));
         } catch (Exception e) {
+            if (e instanceof LlmException && ((LlmException) e).getCategory() == LlmException.Category.CANCELLED) {
+                throw new IOException("Generation cancelled", e);
+            }
             // Fallback to cached/hardcoded questions if local LLM fails
             System.err.println("[LocalLlmQuestionSource] Local LLM generation failed: " + e.getMessage());
             System.err.println("[LocalLlmQuestionSource] Attempting fallback to cached sources...");
@@ -56,7 +60,7 @@ public class LocalLlmQuestionSource implements QuestionSource {
             } catch (Exception ex) {
                 // Final fallback: hardcoded QuestionBank
                 try {
-                    QuestionBank bank = new QuestionBank();
+                    QuestionBank bank = QuestionBank.shared();
                     List<Question> hard = bank.getQuestionsByTopicAndDifficulty(topic, difficulty);
                     System.out.println("[LocalLlmQuestionSource] Using hardcoded QuestionBank (final fallback)");
                     return hard;
@@ -75,7 +79,8 @@ public class LocalLlmQuestionSource implements QuestionSource {
     /**
      * Generates questions using the local LLM provider.
      */
-    private List<Question> generateQuestions(String topic, String difficulty, int count) throws LlmException, IOException {
+    private List<Question> generateQuestions(String topic, String difficulty, int count,
+                                             String requestId) throws LlmException, IOException {
         // Create local LLM provider (no API key needed)
         try (LlmProvider provider = new ProviderRegistry().createProvider("local", null, null)) {
             
@@ -95,7 +100,7 @@ public class LocalLlmQuestionSource implements QuestionSource {
                 promptText;
             
             Prompt prompt = new Prompt.Builder()
-                .id("local-game-" + topic.toLowerCase().replace(" ", "-"))
+                .id(requestId != null ? requestId : "local-game-" + topic.toLowerCase().replace(" ", "-"))
                 .instruction(enhancedPrompt)
                 .maxTokens(2500) // Local models may need more tokens
                 .temperature(0.7)
@@ -103,8 +108,10 @@ public class LocalLlmQuestionSource implements QuestionSource {
             
             System.out.println("[LocalLlmQuestionSource] Generating " + count + " questions for '" + topic + "' at " + difficulty);
             
-            // Call local LLM
-            CompletionResult result = provider.complete(prompt);
+            // Call local LLM; tracked requests can be cancelled by ID
+            CompletionResult result = requestId != null
+                ? InFlightRequests.complete(provider, prompt)
+                : provider.complete(prompt);
             
             // Extract and sanitize JSON response
             String rawResponse = result.getText();
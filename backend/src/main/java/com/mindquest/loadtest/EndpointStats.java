@@ -0,0 +1,45 @@
+package com.mindquest.loadtest;
+
+import com.mindquest.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client-side latency and error counts for one endpoint, shared by all players.
+ */
+public final class EndpointStats {
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long startNanos, boolean failed) {
+        latency.recordSince(startNanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Latency at the given percentile, in milliseconds.
+     */
+    public double percentileMillis(double percentile) {
+        return latency.valueAtPercentile(percentile) / 1e6;
+    }
+}
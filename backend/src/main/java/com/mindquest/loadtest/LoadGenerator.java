@@ -0,0 +1,238 @@
+package com.mindquest.loadtest;
+
+import com.mindquest.llm.ProviderRegistry;
+import com.mindquest.server.GameServer;
+import io.javalin.Javalin;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process load generator: starts the GameServer on a free port and drives
+ * simulated players through the REST API, then reports throughput, latency
+ * percentiles and error rates per endpoint, plus heap and thread usage.
+ *
+ * LLM routes are served by the mock provider, so a run needs no network.
+ * Players run on virtual threads when the JVM has them (Java 21+), otherwise
+ * on one platform thread each. See {@link LoadSettings} for the knobs, e.g.
+ * <pre>
+ *   java -DMINDQUEST_LOAD_PLAYERS=500 -DMINDQUEST_LOAD_THINK_TIME=exp:1500 \
+ *        -cp ... com.mindquest.loadtest.LoadGenerator
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    private static final long SAMPLE_INTERVAL_MS = 250;
+
+    /**
+     * Per-endpoint statistics, in report order.
+     */
+    static final class Endpoints {
+        final EndpointStats createSession = new EndpointStats("POST /api/sessions");
+        final EndpointStats generate = new EndpointStats("POST /api/llm/local/generate");
+        final EndpointStats start = new EndpointStats("POST /start");
+        final EndpointStats question = new EndpointStats("GET /question");
+        final EndpointStats hints = new EndpointStats("GET /hints");
+        final EndpointStats useHint = new EndpointStats("POST /use-hint");
+        final EndpointStats answer = new EndpointStats("POST /answer");
+
+        List<EndpointStats> all() {
+            return List.of(createSession, generate, start, question, hints, useHint, answer);
+        }
+    }
+
+    /**
+     * Outcome of a run.
+     */
+    public record Report(List<EndpointStats> endpoints, double elapsedSeconds, String threadMode,
+                         long peakHeapBytes, long maxHeapBytes, int peakThreads,
+                         long gcCount, long gcMillis) {
+
+        public long totalRequests() {
+            return endpoints.stream().mapToLong(EndpointStats::getCount).sum();
+        }
+
+        public long totalErrors() {
+            return endpoints.stream().mapToLong(EndpointStats::getErrors).sum();
+        }
+
+        public double throughput() {
+            return totalRequests() / elapsedSeconds;
+        }
+    }
+
+    private final LoadSettings settings;
+
+    public LoadGenerator(LoadSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromConfig();
+        System.out.println("[LoadTest] " + settings.players() + " players for " + settings.durationSeconds()
+            + "s (ramp " + settings.rampSeconds() + "s, think " + settings.thinkTime() + ")");
+        Report report = new LoadGenerator(settings).run();
+        print(report, settings);
+        System.exit(report.totalErrors() == 0 ? 0 : 1);
+    }
+
+    /**
+     * Start a server, run the players to the deadline, stop the server.
+     */
+    public Report run() throws InterruptedException {
+        // Offline, throwaway server unless the caller configured otherwise
+        defaultProperty(ProviderRegistry.PROVIDER_OVERRIDE_KEY, "mock");
+        defaultProperty("MINDQUEST_JOURNAL_ENABLED", "false");
+        // An enabled journal still gets its own directory, never the server's data/journal
+        defaultProperty("MINDQUEST_JOURNAL_DIR", tempDirectory("mindquest-loadtest-journal"));
+        defaultProperty("MINDQUEST_SESSION_STORE", "memory");
+
+        GameServer server = new GameServer();
+        Javalin app = server.start(0);
+        String baseUrl = "http://localhost:" + app.port();
+
+        Endpoints endpoints = new Endpoints();
+        ResourceSampler sampler = new ResourceSampler();
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+        long rampMs = settings.rampSeconds() * 1000L;
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + (rampMs + settings.durationSeconds() * 1000L) * 1_000_000;
+        PlayerThreads threads = playerThreads(settings.players());
+        try {
+            sampler.start();
+            for (int i = 0; i < settings.players(); i++) {
+                long delay = rampMs * i / settings.players();
+                threads.executor.execute(new SimulatedPlayer(client, baseUrl, settings, endpoints, deadline, delay, i));
+            }
+            threads.executor.shutdown();
+            long waitMs = (deadline - System.nanoTime()) / 1_000_000 + 35_000;
+            if (!threads.executor.awaitTermination(waitMs, TimeUnit.MILLISECONDS)) {
+                threads.executor.shutdownNow();
+            }
+        } finally {
+            sampler.stop();
+            server.stop(app);
+        }
+
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+        return new Report(endpoints.all(), (System.nanoTime() - startNanos) / 1e9, threads.mode,
+            sampler.peakHeap.get(), ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax(),
+            sampler.peakThreads.get(), gcCount, gcMillis);
+    }
+
+    private static void print(Report report, LoadSettings settings) {
+        System.out.println();
+        System.out.printf("%-30s %9s %9s %7s %9s %9s %9s %9s%n",
+            "Endpoint", "Requests", "Req/s", "Err%", "p50 ms", "p95 ms", "p99 ms", "p999 ms");
+        for (EndpointStats stats : report.endpoints()) {
+            if (stats.getCount() == 0) {
+                continue;
+            }
+            System.out.printf("%-30s %9d %9.1f %6.2f%% %9.2f %9.2f %9.2f %9.2f%n",
+                stats.getName(), stats.getCount(), stats.getCount() / report.elapsedSeconds(),
+                100.0 * stats.getErrors() / stats.getCount(),
+                stats.percentileMillis(50), stats.percentileMillis(95),
+                stats.percentileMillis(99), stats.percentileMillis(99.9));
+        }
+        System.out.println();
+        System.out.printf("Total: %d requests in %.1fs = %.1f req/s, %d errors (%d players, %s threads)%n",
+            report.totalRequests(), report.elapsedSeconds(), report.throughput(), report.totalErrors(),
+            settings.players(), report.threadMode());
+        System.out.printf("JVM (server + players): peak heap %d MB of %d MB, peak threads %d, GC %d runs / %d ms%n",
+            report.peakHeapBytes() >> 20, report.maxHeapBytes() >> 20, report.peakThreads(),
+            report.gcCount(), report.gcMillis());
+    }
+
+    private static String tempDirectory(String prefix) {
+        try {
+            Path dir = Files.createTempDirectory(prefix);
+            dir.toFile().deleteOnExit();
+            return dir.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void defaultProperty(String key, String value) {
+        if (System.getProperty(key) == null && System.getenv(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private record PlayerThreads(ExecutorService executor, String mode) {
+    }
+
+    /**
+     * Virtual-thread-per-task executor when available; the project targets Java 17,
+     * so it is looked up reflectively and falls back to one platform thread per player.
+     */
+    private static PlayerThreads playerThreads(int players) {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            return new PlayerThreads(executor, "virtual");
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(players, r -> {
+                Thread thread = new Thread(r, "LoadTest-Player-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            return new PlayerThreads(executor, "platform");
+        }
+    }
+
+    /**
+     * Tracks peak heap and live thread count while the run is in progress.
+     */
+    private static final class ResourceSampler {
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final AtomicLong peakHeap = new AtomicLong();
+        private final AtomicInteger peakThreads = new AtomicInteger();
+        private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "LoadTest-Sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        void start() {
+            threads.resetPeakThreadCount();
+            timer.scheduleAtFixedRate(this::sample, 0, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+
+        void stop() {
+            timer.shutdownNow();
+            sample();
+        }
+
+        private void sample() {
+            peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+            peakThreads.accumulateAndGet(threads.getPeakThreadCount(), Math::max);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.mindquest.loadtest;
+
+import com.mindquest.config.ServerConfig;
+
+/**
+ * Load test parameters.
+ *
+ * Settings (system property or environment variable):
+ * - MINDQUEST_LOAD_PLAYERS: concurrent simulated players (default: 50)
+ * - MINDQUEST_LOAD_DURATION_SECONDS: measured run length (default: 30)
+ * - MINDQUEST_LOAD_RAMP_SECONDS: players start spread over this window (default: 5)
+ * - MINDQUEST_LOAD_THINK_TIME: think time before each answer, see {@link ThinkTime} (default: lognormal:800:0.6)
+ * - MINDQUEST_LOAD_ACCURACY: chance a player answers correctly (default: 0.7)
+ * - MINDQUEST_LOAD_HINT_RATE: chance a player checks and uses a hint per question (default: 0.1)
+ * - MINDQUEST_LOAD_LLM_RATE: chance a round is generated through the (mock) LLM first (default: 0.1)
+ * - MINDQUEST_LOAD_TOPIC / MINDQUEST_LOAD_DIFFICULTY: round to play (default: Computer Science / Easy)
+ */
+public record LoadSettings(int players, int durationSeconds, int rampSeconds, ThinkTime thinkTime,
+                           double accuracy, double hintRate, double llmRate, String topic, String difficulty) {
+
+    public static LoadSettings fromConfig() {
+        return new LoadSettings(
+            Math.max(1, ServerConfig.getInt("MINDQUEST_LOAD_PLAYERS", 50)),
+            Math.max(1, ServerConfig.getInt("MINDQUEST_LOAD_DURATION_SECONDS", 30)),
+            Math.max(0, ServerConfig.getInt("MINDQUEST_LOAD_RAMP_SECONDS", 5)),
+            ThinkTime.parse(ServerConfig.getString("MINDQUEST_LOAD_THINK_TIME", "lognormal:800:0.6")),
+            probability("MINDQUEST_LOAD_ACCURACY", 0.7),
+            probability("MINDQUEST_LOAD_HINT_RATE", 0.1),
+            probability("MINDQUEST_LOAD_LLM_RATE", 0.1),
+            ServerConfig.getString("MINDQUEST_LOAD_TOPIC", "Computer Science"),
+            ServerConfig.getString("MINDQUEST_LOAD_DIFFICULTY", "Easy")
+        );
+    }
+
+    private static double probability(String key, double defaultValue) {
+        String value = ServerConfig.getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.min(1.0, Math.max(0.0, Double.parseDouble(value)));
+        } catch (NumberFormatException e) {
+            System.err.println("[WARN] Invalid " + key + " '" + value + "', using default " + defaultValue);
+            return defaultValue;
+        }
+    }
+}
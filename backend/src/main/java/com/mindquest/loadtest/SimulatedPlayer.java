@@ -0,0 +1,172 @@
+package com.mindquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * One player: creates a session, then plays rounds through the REST API until
+ * the deadline - optionally generating the round through the LLM endpoint,
+ * thinking before each answer, and checking/using hints along the way.
+ * Sessions never repeat a question, so once a round comes back empty the
+ * player starts over with a new session.
+ */
+final class SimulatedPlayer implements Runnable {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final LoadSettings settings;
+    private final LoadGenerator.Endpoints endpoints;
+    private final long deadlineNanos;
+    private final long startDelayMs;
+    private final Random random;
+
+    SimulatedPlayer(HttpClient client, String baseUrl, LoadSettings settings, LoadGenerator.Endpoints endpoints,
+                    long deadlineNanos, long startDelayMs, long seed) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.endpoints = endpoints;
+        this.deadlineNanos = deadlineNanos;
+        this.startDelayMs = startDelayMs;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run() {
+        try {
+            Thread.sleep(startDelayMs);
+            while (!expired()) {
+                JsonNode session = call(endpoints.createSession, post("/api/sessions", null));
+                if (session == null) {
+                    pause();
+                    continue;
+                }
+                String sessionPath = "/api/sessions/" + session.path("sessionId").asText();
+                while (!expired() && playRound(sessionPath)) {
+                    // Keep playing this session until its question pool runs dry
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Play one round; returns false when the round had no questions left to play.
+     */
+    private boolean playRound(String sessionPath) throws InterruptedException {
+        ObjectNode start = mapper.createObjectNode()
+            .put("topic", settings.topic())
+            .put("difficulty", settings.difficulty());
+        if (random.nextDouble() < settings.llmRate()) {
+            ObjectNode generate = mapper.createObjectNode()
+                .put("topic", settings.topic())
+                .put("difficulty", settings.difficulty())
+                .put("count", 5);
+            JsonNode generated = call(endpoints.generate, post("/api/llm/local/generate", generate));
+            if (generated != null && generated.path("questions").isArray()) {
+                start.set("questions", (ArrayNode) generated.get("questions"));
+            }
+        }
+        if (call(endpoints.start, post(sessionPath + "/start", start)) == null) {
+            pause();
+            return true;
+        }
+
+        boolean played = false;
+        while (!expired()) {
+            JsonNode question = call(endpoints.question, get(sessionPath + "/question"));
+            if (question == null) {
+                return true; // Error already counted
+            }
+            if (question.isMissingNode()) {
+                return played; // 204: round over, or nothing left to ask
+            }
+            played = true;
+            if (random.nextDouble() < settings.hintRate()) {
+                JsonNode hints = call(endpoints.hints, get(sessionPath + "/hints"));
+                if (hints != null && hints.path("hints").asInt() > 0) {
+                    call(endpoints.useHint, post(sessionPath + "/use-hint", null));
+                }
+            }
+
+            long thinkMs = settings.thinkTime().sampleMillis(random);
+            Thread.sleep(thinkMs);
+
+            int correct = question.path("correctIndex").asInt();
+            int index = random.nextDouble() < settings.accuracy() ? correct : (correct + 1 + random.nextInt(3)) % 4;
+            ObjectNode answer = mapper.createObjectNode()
+                .put("index", index)
+                .put("answerTimeMs", thinkMs)
+                .put("questionId", question.path("id").asText())
+                .put("idempotencyKey", Long.toHexString(random.nextLong()));
+            JsonNode result = call(endpoints.answer, post(sessionPath + "/answer", answer));
+            if (result == null || result.path("roundComplete").asBoolean()) {
+                return true;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Send a request and record it; returns the parsed body, a missing node for
+     * an empty success, or null when the request failed.
+     */
+    private JsonNode call(EndpointStats stats, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean failed = response.statusCode() >= 400;
+            stats.record(start, failed);
+            if (failed) {
+                return null;
+            }
+            String body = response.body();
+            return body == null || body.isEmpty() || response.statusCode() == 204
+                ? mapper.missingNode()
+                : mapper.readTree(body);
+        } catch (IOException e) {
+            stats.record(start, true);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, JsonNode body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body.toString()))
+            .build();
+    }
+
+    private boolean expired() {
+        return Thread.currentThread().isInterrupted() || System.nanoTime() >= deadlineNanos;
+    }
+
+    private void pause() throws InterruptedException {
+        // Back off briefly after a failed start so a broken server is not hammered in a tight loop
+        Thread.sleep(100);
+    }
+}
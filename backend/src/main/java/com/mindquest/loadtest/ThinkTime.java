@@ -0,0 +1,101 @@
+package com.mindquest.loadtest;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * How long a simulated player "reads" a question before answering.
+ *
+ * Parsed from a short spec:
+ * - none
+ * - fixed:MS
+ * - uniform:MIN-MAX
+ * - exp:MEAN (exponential, capped at 10x the mean)
+ * - lognormal:MEDIAN:SIGMA (long-tailed, like real players)
+ */
+public final class ThinkTime {
+
+    private enum Kind { NONE, FIXED, UNIFORM, EXPONENTIAL, LOGNORMAL }
+
+    private final Kind kind;
+    private final double a;
+    private final double b;
+    private final String spec;
+
+    private ThinkTime(Kind kind, double a, double b, String spec) {
+        this.kind = kind;
+        this.a = a;
+        this.b = b;
+        this.spec = spec;
+    }
+
+    /**
+     * Parse a think-time spec.
+     *
+     * @throws IllegalArgumentException if the spec is not recognised
+     */
+    public static ThinkTime parse(String spec) {
+        String value = spec == null ? "none" : spec.trim().toLowerCase(Locale.ROOT);
+        try {
+            if (value.isEmpty() || value.equals("none")) {
+                return new ThinkTime(Kind.NONE, 0, 0, "none");
+            }
+            String[] parts = value.split(":", 2);
+            String args = parts.length > 1 ? parts[1] : "";
+            switch (parts[0]) {
+                case "fixed":
+                    return new ThinkTime(Kind.FIXED, Double.parseDouble(args), 0, value);
+                case "uniform": {
+                    String[] range = args.split("-", 2);
+                    double min = Double.parseDouble(range[0]);
+                    double max = Double.parseDouble(range[1]);
+                    if (max < min) {
+                        break;
+                    }
+                    return new ThinkTime(Kind.UNIFORM, min, max, value);
+                }
+                case "exp":
+                    return new ThinkTime(Kind.EXPONENTIAL, Double.parseDouble(args), 0, value);
+                case "lognormal": {
+                    String[] params = args.split(":", 2);
+                    return new ThinkTime(Kind.LOGNORMAL, Double.parseDouble(params[0]), Double.parseDouble(params[1]), value);
+                }
+                default:
+                    break;
+            }
+        } catch (RuntimeException e) {
+            // Fall through to the error below
+        }
+        throw new IllegalArgumentException("Invalid think time '" + spec
+            + "' (expected none, fixed:MS, uniform:MIN-MAX, exp:MEAN or lognormal:MEDIAN:SIGMA)");
+    }
+
+    /**
+     * Draw a think time in milliseconds.
+     */
+    public long sampleMillis(Random random) {
+        double ms;
+        switch (kind) {
+            case FIXED:
+                ms = a;
+                break;
+            case UNIFORM:
+                ms = a + random.nextDouble() * (b - a);
+                break;
+            case EXPONENTIAL:
+                ms = Math.min(a * 10, -a * Math.log(1 - random.nextDouble()));
+                break;
+            case LOGNORMAL:
+                ms = a * Math.exp(b * random.nextGaussian());
+                break;
+            default:
+                ms = 0;
+        }
+        return Math.max(0, Math.round(ms));
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
@@ -0,0 +1,167 @@
+package com.mindquest.logging;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer ring buffer drained by a single daemon writer thread.
+ *
+ * Request threads claim a slot with one CAS and return; formatting and the
+ * (synchronized) console write happen on the writer, which prints everything it
+ * finds in one batch. When the ring is full INFO and below are dropped and
+ * counted rather than blocking the caller; WARN and ERROR are written inline.
+ */
+final class AsyncAppender {
+
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private final AtomicReferenceArray<LogEvent> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();   // Next sequence to claim
+    private volatile long tail;                          // Next sequence to take from the ring
+    private volatile long printed;                       // Everything before this is on the console
+    private volatile boolean writerParked;
+    private final Thread writer;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    record LogEvent(Level level, String category, String message, Throwable error) {
+    }
+
+    AsyncAppender(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.writer = new Thread(this::drainLoop, "MindQuest-LogWriter");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    void append(LogEvent event) {
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail >= slots.length()) {
+                if (event.level().compareTo(Level.WARN) >= 0) {
+                    write(event);
+                } else {
+                    dropped.increment();
+                }
+                return;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        slots.set((int) (sequence & mask), event);
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drainLoop() {
+        StringBuilder out = new StringBuilder(8192);
+        StringBuilder err = new StringBuilder(1024);
+        while (true) {
+            long position = tail;
+            int batch = 0;
+            while (true) {
+                int index = (int) (position & mask);
+                LogEvent event = slots.get(index);
+                if (event == null) {
+                    // Either empty, or a producer claimed the slot and has not published yet
+                    if (position == head.get() || batch > 0) {
+                        break;
+                    }
+                    Thread.onSpinWait();
+                    continue;
+                }
+                slots.set(index, null);
+                position++;
+                tail = position;
+                try {
+                    format(event, event.level().compareTo(Level.WARN) >= 0 ? err : out);
+                } catch (RuntimeException e) {
+                    // A misbehaving toString must not stop the writer
+                    out.append("[Log] Could not format line from ").append(event.category()).append('\n');
+                }
+                batch++;
+            }
+            if (batch > 0) {
+                flush(out, System.out);
+                flush(err, System.err);
+                written.add(batch);
+                printed = position;
+                continue;
+            }
+            writerParked = true;
+            if (tail == head.get()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+        }
+    }
+
+    private static void flush(StringBuilder buffer, PrintStream stream) {
+        if (buffer.length() > 0) {
+            stream.print(buffer);
+            stream.flush();
+            buffer.setLength(0);
+        }
+    }
+
+    private void write(LogEvent event) {
+        StringBuilder line = new StringBuilder(128);
+        format(event, line);
+        System.err.print(line);
+        written.increment();
+    }
+
+    static void format(LogEvent event, StringBuilder out) {
+        if (event.level() != Level.INFO) {
+            out.append('[').append(event.level()).append("] ");
+        }
+        out.append('[').append(event.category()).append("] ").append(event.message()).append('\n');
+        if (event.error() != null) {
+            StringWriter trace = new StringWriter();
+            event.error().printStackTrace(new PrintWriter(trace));
+            out.append(trace);
+        }
+    }
+
+    /**
+     * Wait until everything appended so far has been written, up to the timeout.
+     */
+    boolean flush(long timeoutMillis) {
+        long target = head.get();
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        while (printed < target) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(100_000);
+        }
+        return true;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    long pending() {
+        return head.get() - tail;
+    }
+
+    long getWrittenCount() {
+        return written.sum();
+    }
+
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,27 @@
+package com.mindquest.logging;
+
+/**
+ * Log severity, lowest first. A category set to a level emits that level and above.
+ */
+public enum Level {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    /**
+     * Parse a configured level name, falling back to the default for unknown values.
+     */
+    static Level parse(String value, Level defaultLevel) {
+        if (value == null) {
+            return defaultLevel;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return defaultLevel;
+        }
+    }
+}
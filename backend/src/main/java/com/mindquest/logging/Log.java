@@ -0,0 +1,120 @@
+package com.mindquest.logging;
+
+import com.mindquest.config.ServerConfig;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logging facade for server and loader code.
+ *
+ * Output keeps the existing console format ("[Category] message", with the level
+ * in front for anything but INFO) but goes through a ring buffer drained by one
+ * writer thread, so request threads never wait on the System.out lock.
+ *
+ * Settings (system property or environment variable):
+ * - MINDQUEST_LOG_LEVEL: default level for every category (default: INFO)
+ * - MINDQUEST_LOG_LEVEL_&lt;CATEGORY&gt;: per-category override, category upper-cased with
+ *   non-alphanumerics as underscores (e.g. MINDQUEST_LOG_LEVEL_CSV_LOADER=DEBUG)
+ * - MINDQUEST_LOG_ASYNC: write through the ring buffer (default: true)
+ * - MINDQUEST_LOG_BUFFER: ring buffer slots (default: 8192)
+ * - MINDQUEST_LOG_SAMPLE_PER_SECOND: sampled debug lines let through per category per second (default: 20)
+ */
+public final class Log {
+
+    private static final Map<String, Logger> LOGGERS = new ConcurrentHashMap<>();
+
+    private static volatile Level defaultLevel;
+    private static volatile int samplesPerSecond;
+    private static volatile AsyncAppender appender;
+
+    static {
+        reconfigure();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(2000), "MindQuest-LogFlush"));
+    }
+
+    private Log() {
+        // Utility class - no instantiation
+    }
+
+    /**
+     * Get the logger for a category, creating it on first use.
+     */
+    public static Logger get(String category) {
+        return LOGGERS.computeIfAbsent(category, c -> new Logger(c, levelFor(c), samplesPerSecond));
+    }
+
+    /**
+     * Re-read the settings and apply them to every existing logger.
+     * Lets tools and tests switch levels or appender mode at runtime.
+     */
+    public static synchronized void reconfigure() {
+        defaultLevel = Level.parse(ServerConfig.getString("MINDQUEST_LOG_LEVEL", null), Level.INFO);
+        samplesPerSecond = Math.max(0, ServerConfig.getInt("MINDQUEST_LOG_SAMPLE_PER_SECOND", 20));
+
+        AsyncAppender previous = appender;
+        if (previous != null) {
+            previous.flush(1000);
+        }
+        if (ServerConfig.getBoolean("MINDQUEST_LOG_ASYNC", true)) {
+            int capacity = ServerConfig.getInt("MINDQUEST_LOG_BUFFER", 8192);
+            appender = previous != null && previous.capacity() >= capacity ? previous : new AsyncAppender(capacity);
+        } else {
+            appender = null;
+        }
+
+        for (Logger logger : LOGGERS.values()) {
+            logger.configure(levelFor(logger.getCategory()), samplesPerSecond);
+        }
+    }
+
+    private static Level levelFor(String category) {
+        String key = "MINDQUEST_LOG_LEVEL_" + category.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]+", "_");
+        return Level.parse(ServerConfig.getString(key, null), defaultLevel);
+    }
+
+    static void append(Level level, String category, String message, Throwable error) {
+        AsyncAppender.LogEvent event = new AsyncAppender.LogEvent(level, category, message, error);
+        AsyncAppender current = appender;
+        if (current != null) {
+            current.append(event);
+            return;
+        }
+        StringBuilder line = new StringBuilder(128);
+        AsyncAppender.format(event, line);
+        if (level.compareTo(Level.WARN) >= 0) {
+            System.err.print(line);
+        } else {
+            System.out.print(line);
+        }
+    }
+
+    /**
+     * Block until buffered lines are written, up to the timeout.
+     *
+     * @return true if everything was written in time
+     */
+    public static boolean flush(long timeoutMillis) {
+        AsyncAppender current = appender;
+        return current == null || current.flush(timeoutMillis);
+    }
+
+    /**
+     * Appender counters for the health endpoint.
+     */
+    public static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        AsyncAppender current = appender;
+        stats.put("async", current != null);
+        stats.put("defaultLevel", defaultLevel.name());
+        if (current != null) {
+            stats.put("bufferCapacity", current.capacity());
+            stats.put("pending", current.pending());
+            stats.put("written", current.getWrittenCount());
+            stats.put("dropped", current.getDroppedCount());
+        }
+        return stats;
+    }
+}
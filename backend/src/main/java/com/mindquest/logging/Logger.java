@@ -0,0 +1,114 @@
+package com.mindquest.logging;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Logger for one category (usually the tag the class already printed, e.g. "CSV Loader").
+ * Obtain with {@link Log#get(String)} and keep in a static field.
+ *
+ * Disabled levels cost one volatile read. Per-request debug lines should use the
+ * {@code Supplier} overloads so the message is only built when it will be written,
+ * and {@link #debugSampled} so a busy endpoint cannot flood the output.
+ */
+public final class Logger {
+
+    private final String category;
+    private volatile Level level;
+    private volatile int samplesPerSecond;
+
+    // Sampling window for debugSampled: second number, lines let through, lines suppressed
+    private final AtomicLong sampleWindow = new AtomicLong(-1);
+    private final AtomicInteger sampleCount = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    Logger(String category, Level level, int samplesPerSecond) {
+        this.category = category;
+        this.level = level;
+        this.samplesPerSecond = samplesPerSecond;
+    }
+
+    void configure(Level level, int samplesPerSecond) {
+        this.level = level;
+        this.samplesPerSecond = samplesPerSecond;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public boolean isEnabled(Level candidate) {
+        return candidate.compareTo(level) >= 0 && candidate != Level.OFF;
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public void debug(String message) {
+        log(Level.DEBUG, message, null);
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isEnabled(Level.DEBUG)) {
+            Log.append(Level.DEBUG, category, message.get(), null);
+        }
+    }
+
+    /**
+     * Debug line from a hot path: at most the configured number per second are
+     * written, the rest are counted and reported once the next second begins.
+     */
+    public void debugSampled(Supplier<String> message) {
+        if (!isEnabled(Level.DEBUG)) {
+            return;
+        }
+        long second = System.nanoTime() / 1_000_000_000L;
+        long window = sampleWindow.get();
+        if (window != second && sampleWindow.compareAndSet(window, second)) {
+            sampleCount.set(0);
+            long dropped = suppressed.getAndSet(0);
+            if (dropped > 0) {
+                Log.append(Level.DEBUG, category, "(" + dropped + " similar lines suppressed)", null);
+            }
+        }
+        if (sampleCount.incrementAndGet() <= samplesPerSecond) {
+            Log.append(Level.DEBUG, category, message.get(), null);
+        } else {
+            suppressed.incrementAndGet();
+        }
+    }
+
+    public void info(String message) {
+        log(Level.INFO, message, null);
+    }
+
+    public void info(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) {
+            Log.append(Level.INFO, category, message.get(), null);
+        }
+    }
+
+    public void warn(String message) {
+        log(Level.WARN, message, null);
+    }
+
+    public void error(String message) {
+        log(Level.ERROR, message, null);
+    }
+
+    public void error(String message, Throwable error) {
+        log(Level.ERROR, message, error);
+    }
+
+    private void log(Level at, String message, Throwable error) {
+        if (isEnabled(at)) {
+            Log.append(at, category, message, error);
+        }
+    }
+}
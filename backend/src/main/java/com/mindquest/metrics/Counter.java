@@ -0,0 +1,24 @@
+package com.mindquest.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter backed by a {@link LongAdder}, so concurrent increments
+ * from request threads do not contend on a single cache line.
+ */
+public final class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    public void inc() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long sum() {
+        return value.sum();
+    }
+}
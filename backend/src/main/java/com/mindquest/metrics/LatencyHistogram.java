@@ -0,0 +1,120 @@
+package com.mindquest.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, in the spirit of HdrHistogram.
+ *
+ * Each power of two between {@value #MIN_EXPONENT} and {@value #MAX_EXPONENT} (in
+ * nanoseconds, about 8µs to 137s) is split into two buckets, so any recorded value
+ * is within 50% of its bucket's upper bound. Recording is an O(1) index computation
+ * plus two {@link LongAdder} increments; no locks, no allocation.
+ */
+public final class LatencyHistogram {
+
+    static final int MIN_EXPONENT = 13;
+    static final int MAX_EXPONENT = 37;
+    private static final int SUB_BUCKETS = 2;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - MIN_EXPONENT) * SUB_BUCKETS;
+
+    // Last slot is the overflow bucket (+Inf)
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record one observation.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets[indexOf(value)].increment();
+        sumNanos.add(value);
+    }
+
+    public void record(long duration, TimeUnit unit) {
+        record(unit.toNanos(duration));
+    }
+
+    /**
+     * Record the time elapsed since a {@link System#nanoTime()} reading.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    static int indexOf(long nanos) {
+        if (nanos < (1L << MIN_EXPONENT)) {
+            return 0;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKET_COUNT;
+        }
+        int half = (int) ((nanos >>> (exponent - 1)) & 1);
+        return (exponent - MIN_EXPONENT) * SUB_BUCKETS + half;
+    }
+
+    /**
+     * Inclusive upper bound of a bucket in nanoseconds.
+     */
+    static long upperBoundNanos(int index) {
+        int exponent = MIN_EXPONENT + index / SUB_BUCKETS;
+        long base = 1L << exponent;
+        return index % SUB_BUCKETS == 0 ? base + base / 2 - 1 : 2 * base - 1;
+    }
+
+    /**
+     * Current per-bucket counts; the last element is the overflow bucket.
+     * Counts are read individually, so a snapshot taken under load may be
+     * off by the observations recorded while it was being taken.
+     */
+    public long[] bucketCounts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+
+    /**
+     * Approximate value at a percentile (0-100): the upper bound of the bucket
+     * holding that observation, or 0 when nothing was recorded.
+     */
+    public long valueAtPercentile(double percentile) {
+        long[] counts = bucketCounts();
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(100.0, percentile) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBoundNanos(i);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,100 @@
+package com.mindquest.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A named metric and its labelled children, e.g. one histogram per route and status.
+ *
+ * Look children up with {@link #labels}; the first lookup for a label combination
+ * creates the child, later ones are a single concurrent map read.
+ *
+ * @param <T> {@link Counter}, {@link LatencyHistogram}, or {@code Supplier<Number>} for gauges
+ */
+public final class MetricFamily<T> {
+
+    enum Type {
+        COUNTER("counter"),
+        GAUGE("gauge"),
+        HISTOGRAM("histogram");
+
+        final String exposition;
+
+        Type(String exposition) {
+            this.exposition = exposition;
+        }
+    }
+
+    private final String name;
+    private final String help;
+    private final Type type;
+    private final List<String> labelNames;
+    private final Supplier<T> factory;
+    private final Map<List<String>, T> children = new ConcurrentHashMap<>();
+
+    MetricFamily(String name, String help, Type type, String[] labelNames, Supplier<T> factory) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.labelNames = List.of(labelNames);
+        this.factory = factory;
+    }
+
+    /**
+     * Get or create the child for the given label values (same order as the label names).
+     */
+    public T labels(String... values) {
+        List<String> key = key(values);
+        T child = children.get(key);
+        if (child == null) {
+            if (factory == null) {
+                throw new IllegalStateException("Metric " + name + " has no child for " + key);
+            }
+            child = children.computeIfAbsent(key, k -> factory.get());
+        }
+        return child;
+    }
+
+    /**
+     * Bind a value supplier to the given label values; used for gauges and
+     * for counters whose value is kept elsewhere. Replaces an earlier binding.
+     */
+    public void register(T child, String... values) {
+        children.put(key(values), child);
+    }
+
+    private List<String> key(String[] values) {
+        if (values.length != labelNames.size()) {
+            throw new IllegalArgumentException("Metric " + name + " expects labels " + labelNames
+                + " but got " + Arrays.toString(values));
+        }
+        String[] copy = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            copy[i] = values[i] != null ? values[i] : "";
+        }
+        return List.of(copy);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getHelp() {
+        return help;
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    List<String> getLabelNames() {
+        return labelNames;
+    }
+
+    Map<List<String>, T> getChildren() {
+        return children;
+    }
+}
@@ -0,0 +1,161 @@
+package com.mindquest.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide metrics registry, exposed in Prometheus text format at /metrics.
+ *
+ * Metrics are created once (typically in a static field or constructor) and
+ * recorded on the hot path without locks:
+ * <pre>
+ *   MetricFamily&lt;LatencyHistogram&gt; latency = MetricsRegistry.get()
+ *       .histogram("mindquest_llm_request_duration_seconds", "LLM call latency", "provider");
+ *   latency.labels("gemini").recordSince(start);
+ * </pre>
+ * Asking for an existing name returns the same family, so independent callers
+ * may declare the same metric.
+ */
+public final class MetricsRegistry {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final Map<String, MetricFamily<?>> families = new ConcurrentHashMap<>();
+
+    MetricsRegistry() {
+    }
+
+    /**
+     * Get the process-wide registry.
+     */
+    public static MetricsRegistry get() {
+        return INSTANCE;
+    }
+
+    public MetricFamily<Counter> counter(String name, String help, String... labelNames) {
+        return family(name, help, MetricFamily.Type.COUNTER, labelNames, Counter::new);
+    }
+
+    public MetricFamily<LatencyHistogram> histogram(String name, String help, String... labelNames) {
+        return family(name, help, MetricFamily.Type.HISTOGRAM, labelNames, LatencyHistogram::new);
+    }
+
+    /**
+     * Gauge family; bind values with {@link MetricFamily#register}.
+     */
+    public MetricFamily<Supplier<Number>> gauge(String name, String help, String... labelNames) {
+        return family(name, help, MetricFamily.Type.GAUGE, labelNames, null);
+    }
+
+    /**
+     * Counter whose value is maintained elsewhere (e.g. a pool's rejection count);
+     * bind values with {@link MetricFamily#register}.
+     */
+    public MetricFamily<Supplier<Number>> counterFunction(String name, String help, String... labelNames) {
+        return family(name, help, MetricFamily.Type.COUNTER, labelNames, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> MetricFamily<T> family(String name, String help, MetricFamily.Type type,
+                                       String[] labelNames, Supplier<T> factory) {
+        MetricFamily<?> family = families.computeIfAbsent(name,
+            n -> new MetricFamily<>(n, help, type, labelNames, factory));
+        if (family.getType() != type || !family.getLabelNames().equals(List.of(labelNames))) {
+            throw new IllegalArgumentException("Metric " + name + " already registered as "
+                + family.getType() + " with labels " + family.getLabelNames());
+        }
+        return (MetricFamily<T>) family;
+    }
+
+    /**
+     * Render every metric in Prometheus text exposition format, sorted by name.
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+        for (MetricFamily<?> family : new TreeMap<>(families).values()) {
+            if (family.getChildren().isEmpty()) {
+                continue;
+            }
+            String name = family.getName();
+            out.append("# HELP ").append(name).append(' ').append(family.getHelp()).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(family.getType().exposition).append('\n');
+            for (Map.Entry<List<String>, ?> child : family.getChildren().entrySet()) {
+                String labels = labels(family.getLabelNames(), child.getKey());
+                Object metric = child.getValue();
+                if (metric instanceof LatencyHistogram) {
+                    writeHistogram(out, name, family.getLabelNames(), child.getKey(), (LatencyHistogram) metric);
+                } else if (metric instanceof Counter) {
+                    writeSample(out, name, labels, ((Counter) metric).sum());
+                } else if (metric instanceof Supplier) {
+                    Object value = ((Supplier<?>) metric).get();
+                    writeSample(out, name, labels, value instanceof Number ? (Number) value : Double.NaN);
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static void writeHistogram(StringBuilder out, String name, List<String> labelNames,
+                                       List<String> labelValues, LatencyHistogram histogram) {
+        long[] counts = histogram.bucketCounts();
+        long cumulative = 0;
+        String prefix = labelPairs(labelNames, labelValues);
+        String separator = prefix.isEmpty() ? "" : ",";
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            cumulative += counts[i];
+            double le = (LatencyHistogram.upperBoundNanos(i) + 1) / 1e9;
+            out.append(name).append("_bucket{").append(prefix).append(separator)
+                .append("le=\"").append(le).append("\"} ").append(cumulative).append('\n');
+        }
+        cumulative += counts[LatencyHistogram.BUCKET_COUNT];
+        out.append(name).append("_bucket{").append(prefix).append(separator)
+            .append("le=\"+Inf\"} ").append(cumulative).append('\n');
+        String labels = prefix.isEmpty() ? "" : "{" + prefix + "}";
+        writeSample(out, name + "_sum", labels, histogram.getSumNanos() / 1e9);
+        writeSample(out, name + "_count", labels, cumulative);
+    }
+
+    private static void writeSample(StringBuilder out, String name, String labels, Number value) {
+        out.append(name).append(labels).append(' ');
+        if (value instanceof Double || value instanceof Float) {
+            double d = value.doubleValue();
+            out.append(Double.isNaN(d) ? "NaN" : Double.toString(d));
+        } else {
+            out.append(value.longValue());
+        }
+        out.append('\n');
+    }
+
+    private static String labels(List<String> names, List<String> values) {
+        String pairs = labelPairs(names, values);
+        return pairs.isEmpty() ? "" : "{" + pairs + "}";
+    }
+
+    private static String labelPairs(List<String> names, List<String> values) {
+        StringBuilder pairs = new StringBuilder();
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) {
+                pairs.append(',');
+            }
+            pairs.append(names.get(i)).append("=\"");
+            String value = values.get(i);
+            for (int c = 0; c < value.length(); c++) {
+                char ch = value.charAt(c);
+                if (ch == '\\' || ch == '"') {
+                    pairs.append('\\').append(ch);
+                } else if (ch == '\n') {
+                    pairs.append("\\n");
+                } else {
+                    pairs.append(ch);
+                }
+            }
+            pairs.append('"');
+        }
+        return pairs.toString();
+    }
+}
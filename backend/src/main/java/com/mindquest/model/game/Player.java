@@ -102,6 +102,15 @@ public class Player {
         this.hints = hints;
     }
 
+    /**
+     * Restore full player state, including the difficulty-based hint cap.
+     * Used when a passivated session is rehydrated.
+     */
+    public void restoreState(int hp, int score, int hints, int maxHints) {
+        this.maxHints = maxHints;
+        restoreState(hp, score, hints);
+    }
+
     public int getMaxHp() {
         return MAX_HP;
     }
@@ -0,0 +1,41 @@
+package com.mindquest.model.question;
+
+/**
+ * The three difficulty tiers. {@link #getLabel()} is the spelling used in
+ * requests, question files and {@link Question#getDifficulty()}.
+ */
+public enum Difficulty {
+    EASY("Easy"),
+    MEDIUM("Medium"),
+    HARD("Hard");
+
+    // values() clones on every call; lookups sit on the request path
+    private static final Difficulty[] VALUES = values();
+
+    private final String label;
+
+    Difficulty(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Parse a label such as "Easy" or "hard".
+     *
+     * @return the matching tier, or null for null or unknown labels
+     */
+    public static Difficulty fromLabel(String label) {
+        if (label == null) {
+            return null;
+        }
+        for (Difficulty difficulty : VALUES) {
+            if (difficulty.label.equalsIgnoreCase(label)) {
+                return difficulty;
+            }
+        }
+        return null;
+    }
+}
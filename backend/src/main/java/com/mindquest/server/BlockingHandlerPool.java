@@ -0,0 +1,162 @@
+package com.mindquest.server;
+
+import com.mindquest.config.ServerConfig;
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dedicated pool for handlers that block for a long time (LLM generation, file loading).
+ *
+ * A wrapped handler is suspended with {@code ctx.future(...)}: the Jetty worker is
+ * released immediately and the handler body runs here, so a burst of 60-120s LLM
+ * calls cannot starve short gameplay requests. The pool is bounded; when all
+ * workers are busy and the queue is full the request is answered with 503 instead
+ * of waiting indefinitely.
+ *
+ * Sizing (system property or environment variable):
+ * - MINDQUEST_BLOCKING_THREADS: concurrent long-running handlers (default: 8)
+ * - MINDQUEST_BLOCKING_QUEUE: requests waiting for a worker (default: 32)
+ */
+public final class BlockingHandlerPool {
+
+    private static final int DEFAULT_THREADS = 8;
+    private static final int DEFAULT_QUEUE_CAPACITY = 32;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ThreadPoolExecutor pool;
+    private final int queueCapacity;
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicInteger threadCounter = new AtomicInteger(1);
+
+    public BlockingHandlerPool(int threads, int queueCapacity) {
+        int workerCount = Math.max(1, threads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.pool = new ThreadPoolExecutor(
+            workerCount,
+            workerCount,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(this.queueCapacity),
+            r -> {
+                Thread t = new Thread(r);
+                t.setDaemon(true);
+                t.setName("MindQuest-Blocking-" + threadCounter.getAndIncrement());
+                return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Create a pool sized from configuration.
+     */
+    public static BlockingHandlerPool fromConfig() {
+        return new BlockingHandlerPool(
+            ServerConfig.getInt("MINDQUEST_BLOCKING_THREADS", DEFAULT_THREADS),
+            ServerConfig.getInt("MINDQUEST_BLOCKING_QUEUE", DEFAULT_QUEUE_CAPACITY)
+        );
+    }
+
+    /**
+     * Wrap a handler so that it runs on this pool instead of the Jetty worker.
+     */
+    public Handler offload(Handler handler) {
+        return ctx -> {
+            // Read the body while still on the request thread
+            ctx.bodyAsBytes();
+            ctx.future(() -> submit(ctx, handler));
+        };
+    }
+
+    /**
+     * Run a background task (e.g. a generation job) on the pool.
+     *
+     * @throws RejectedExecutionException if the pool and its queue are full
+     */
+    public void execute(Runnable task) {
+        try {
+            pool.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Void> submit(Context ctx, Handler handler) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        try {
+            pool.execute(() -> {
+                try {
+                    handler.handle(ctx);
+                    done.complete(null);
+                } catch (Throwable e) {
+                    done.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            System.err.println("[BlockingPool] Saturated, rejecting " + ctx.method() + " " + ctx.path());
+            ctx.status(503).header("Retry-After", "5").json(Map.of(
+                "error", "Server busy",
+                "message", "Too many generation requests in progress. Retry shortly."
+            ));
+            done.complete(null);
+        }
+        return done;
+    }
+
+    /** Tasks waiting for a free worker. */
+    public int getQueueDepth() {
+        return pool.getQueue().size();
+    }
+
+    /** Tasks currently running. */
+    public int getActiveTaskCount() {
+        return pool.getActiveCount();
+    }
+
+    /** Requests turned away because the pool was saturated. */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Snapshot of the pool gauges for health/diagnostic endpoints.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeTasks", getActiveTaskCount());
+        stats.put("maxThreads", pool.getMaximumPoolSize());
+        stats.put("queueDepth", getQueueDepth());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("completedTasks", pool.getCompletedTaskCount());
+        stats.put("rejected", getRejectedCount());
+        return stats;
+    }
+
+    /**
+     * Stop accepting work. Running generations are abandoned after a short grace period.
+     */
+    public void shutdown() {
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(5, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,21 +1,43 @@
 package com.mindquest.server;
 
+import com.mindquest.config.ServerConfig;
+import com.mindquest.loader.TopicIndex;
+import com.mindquest.loader.factory.ParsedSourceCache;
+import com.mindquest.logging.Log;
+import com.mindquest.logging.Logger;
+import com.mindquest.metrics.LatencyHistogram;
+import com.mindquest.metrics.MetricFamily;
+import com.mindquest.metrics.MetricsRegistry;
 import com.mindquest.model.QuestionBank;
+import com.mindquest.server.generation.GenerationJobRegistry;
 import com.mindquest.server.handler.GameplayHandler;
+import com.mindquest.server.handler.GameplayWebSocketHandler;
 import com.mindquest.server.handler.GeminiHandler;
+import com.mindquest.server.handler.GenerationJobHandler;
 import com.mindquest.server.handler.LocalLlmHandler;
+import com.mindquest.server.handler.QuestionStreamHandler;
 import com.mindquest.server.handler.SavedSetsHandler;
 import com.mindquest.server.handler.SessionHandler;
 import com.mindquest.server.handler.UploadHandler;
+import com.mindquest.server.journal.SessionJournal;
+import com.mindquest.service.executor.SharedExecutor;
 import io.javalin.Javalin;
+import io.javalin.http.Context;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Main entry point for the MindQuest Game Server..
  */
 public class GameServer {
 
+    private static final String REQUEST_START_ATTRIBUTE = "mindquest.requestStart";
+    private static final String UNMATCHED_ROUTE = "unmatched";
+    private static final Logger httpLog = Log.get("Http");
+
     private final SessionRegistry sessionRegistry;
     private final SessionHandler sessionHandler;
     private final GameplayHandler gameplayHandler;
@@ -23,19 +45,43 @@ public class GameServer {
     private final GeminiHandler geminiHandler;
     private final LocalLlmHandler localLlmHandler;
     private final SavedSetsHandler savedSetsHandler;
+    private final GenerationJobHandler generationJobHandler;
+    private final QuestionStreamHandler questionStreamHandler;
+    private final GameplayWebSocketHandler gameplayWebSocketHandler;
+    private final BlockingHandlerPool blockingPool;
+    private final GenerationJobRegistry generationJobs;
+    private final MetricFamily<LatencyHistogram> requestLatency;
 
     public GameServer() {
         // Initialize shared dependencies
-        QuestionBank globalQuestionBank = new QuestionBank();
+        QuestionBank globalQuestionBank = QuestionBank.shared();
         this.sessionRegistry = new SessionRegistry(globalQuestionBank);
 
+        // Restore sessions from the journal. A shared store already holds every
+        // session, so the journal only applies to single-node setups.
+        if (!sessionRegistry.isShared()) {
+            SessionJournal journal = SessionJournal.fromConfig();
+            if (journal != null) {
+                sessionRegistry.enableJournal(journal);
+            }
+        }
+
+        this.blockingPool = BlockingHandlerPool.fromConfig();
+        this.generationJobs = GenerationJobRegistry.fromConfig(blockingPool::execute);
+
         // Initialize handlers with dependencies
         this.sessionHandler = new SessionHandler(sessionRegistry);
         this.gameplayHandler = new GameplayHandler(sessionRegistry);
         this.uploadHandler = new UploadHandler();
-        this.geminiHandler = new GeminiHandler();
-        this.localLlmHandler = new LocalLlmHandler();
+        this.geminiHandler = new GeminiHandler(generationJobs);
+        this.localLlmHandler = new LocalLlmHandler(generationJobs);
         this.savedSetsHandler = new SavedSetsHandler();
+        this.generationJobHandler = new GenerationJobHandler(generationJobs);
+        this.questionStreamHandler = QuestionStreamHandler.fromConfig();
+        this.gameplayWebSocketHandler = new GameplayWebSocketHandler(sessionRegistry);
+        this.requestLatency = MetricsRegistry.get().histogram("mindquest_http_request_duration_seconds",
+            "HTTP request latency by route template, method and status", "route", "method", "status");
+        registerGauges();
     }
 
     public static void main(String[] args) {
@@ -46,33 +92,11 @@ public class GameServer {
     public void start() {
         try {
             int port = getPort();
-            
-            Javalin app = Javalin.create(config -> {
-                config.bundledPlugins.enableCors(cors -> cors.addRule(it -> it.anyHost()));
-            }).start(port);
-
-            // Request/Response logging for debugging
-            app.before(ctx -> {
-                System.out.println("[REQ] " + ctx.method() + " " + ctx.path() + " from " + ctx.ip());
-            });
-            
-            app.after(ctx -> {
-                System.out.println("[RES] " + ctx.status() + " " + ctx.method() + " " + ctx.path());
-            });
-
-            // Global error handler
-            app.exception(Exception.class, (e, ctx) -> {
-                System.err.println("[ERROR] Unhandled exception: " + e.getMessage());
-                e.printStackTrace();
-                ctx.status(500).json(Map.of(
-                    "error", "Internal server error",
-                    "message", e.getMessage()
-                ));
-            });
-
-            // Register routes
-            registerRoutes(app, port);
-            
+            if (ServerConfig.getBoolean("MINDQUEST_TOPIC_INDEX", true)) {
+                TopicIndex.get().build();
+            }
+            Javalin app = start(port);
+
             System.out.println("===================================");
             System.out.println("Game Server started on port " + port);
             System.out.println("Health: http://localhost:" + port + "/health");
@@ -81,8 +105,7 @@ public class GameServer {
             // Graceful shutdown hook for cloud platforms
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 System.out.println("[SHUTDOWN] Stopping server gracefully...");
-                app.stop();
-                sessionRegistry.shutdownAll();
+                stop(app);
                 System.out.println("[SHUTDOWN] Server stopped.");
             }));
             
@@ -93,15 +116,106 @@ public class GameServer {
         }
     }
 
-    private void registerRoutes(Javalin app, int port) {
+    /**
+     * Start the server on the given port (0 picks a free port, see {@code app.port()}).
+     */
+    public Javalin start(int port) {
+        return createApp().start(port);
+    }
+
+    /**
+     * Build the configured application without starting it.
+     *
+     * Jetty pool sizing (system property or environment variable):
+     * - MINDQUEST_HTTP_MAX_THREADS / MINDQUEST_HTTP_MIN_THREADS: request threads (default: 200 / 8)
+     * - MINDQUEST_VIRTUAL_THREADS: run requests on virtual threads when the JVM supports them (default: false)
+     * - MINDQUEST_ASYNC_TIMEOUT_SECONDS: limit for offloaded handlers (default: 180)
+     * - MINDQUEST_WS_IDLE_TIMEOUT_SECONDS: close silent gameplay sockets after this long (default: 300)
+     */
+    public Javalin createApp() {
+        Javalin app = Javalin.create(config -> {
+            config.bundledPlugins.enableCors(cors -> cors.addRule(it -> it.anyHost()));
+            config.useVirtualThreads = ServerConfig.getBoolean("MINDQUEST_VIRTUAL_THREADS", false);
+            if (!config.useVirtualThreads) {
+                QueuedThreadPool threadPool = new QueuedThreadPool(
+                    ServerConfig.getInt("MINDQUEST_HTTP_MAX_THREADS", 200),
+                    ServerConfig.getInt("MINDQUEST_HTTP_MIN_THREADS", 8));
+                threadPool.setName("MindQuest-Http");
+                config.jetty.threadPool = threadPool;
+            }
+            config.http.asyncTimeout = ServerConfig.getLong("MINDQUEST_ASYNC_TIMEOUT_SECONDS", 180) * 1000;
+            Duration wsIdleTimeout = Duration.ofSeconds(ServerConfig.getLong("MINDQUEST_WS_IDLE_TIMEOUT_SECONDS", 300));
+            config.jetty.modifyWebSocketServletFactory(factory -> factory.setIdleTimeout(wsIdleTimeout));
+        });
+
+        // Per-route latency histograms; the request log is sampled debug output
+        // (MINDQUEST_LOG_LEVEL_HTTP=DEBUG) so it cannot throttle a busy server
+        app.before(ctx -> {
+            ctx.attribute(REQUEST_START_ATTRIBUTE, System.nanoTime());
+            httpLog.debugSampled(() -> "[REQ] " + ctx.method() + " " + ctx.path() + " from " + ctx.ip());
+        });
+        
+        app.after(ctx -> {
+            Long start = ctx.attribute(REQUEST_START_ATTRIBUTE);
+            if (start != null) {
+                requestLatency.labels(routeOf(ctx), ctx.method().name(), String.valueOf(ctx.statusCode()))
+                    .recordSince(start);
+            }
+            httpLog.debugSampled(() -> "[RES] " + ctx.status() + " " + ctx.method() + " " + ctx.path());
+        });
+
+        // Global error handler
+        app.exception(Exception.class, (e, ctx) -> {
+            httpLog.error("Unhandled exception: " + e.getMessage(), e);
+            ctx.status(500).json(Map.of(
+                "error", "Internal server error",
+                "message", e.getMessage()
+            ));
+        });
+
+        // Register routes
+        registerRoutes(app);
+        return app;
+    }
+
+    /**
+     * Stop the HTTP server, then release sessions and this server's worker pool.
+     * The SharedExecutor outlives the server and is stopped by its own shutdown
+     * hook, so another server can still be started in the same JVM.
+     */
+    public void stop(Javalin app) {
+        app.stop();
+        blockingPool.shutdown();
+        sessionRegistry.shutdownAll();
+    }
+
+    /**
+     * Pool that runs the long-running handlers, exposed so tools can route their own routes through it.
+     */
+    public BlockingHandlerPool getBlockingPool() {
+        return blockingPool;
+    }
+
+    private void registerRoutes(Javalin app) {
         // Health check endpoints
         app.get("/", ctx -> ctx.result("MindQuest Game Server is running!"));
+        app.get("/metrics", ctx -> ctx.contentType(MetricsRegistry.CONTENT_TYPE).result(MetricsRegistry.get().scrape()));
         
-        app.get("/health", ctx -> ctx.json(Map.of(
-            "status", "UP",
-            "timestamp", System.currentTimeMillis(),
-            "activeSessions", sessionRegistry.getActiveSessionCount(),
-            "port", port
+        app.get("/health", ctx -> ctx.json(Map.ofEntries(
+            Map.entry("status", "UP"),
+            Map.entry("timestamp", System.currentTimeMillis()),
+            Map.entry("activeSessions", sessionRegistry.getActiveSessionCount()),
+            Map.entry("sessionEvictions", sessionRegistry.getEvictionStats()),
+            Map.entry("sessionPassivation", sessionRegistry.getPassivationStats()),
+            Map.entry("sessionStore", sessionRegistry.getStoreStats()),
+            Map.entry("journal", sessionRegistry.getJournalStats()),
+            Map.entry("executor", SharedExecutor.get().stats()),
+            Map.entry("blockingPool", blockingPool.stats()),
+            Map.entry("generationJobs", generationJobs.stats()),
+            Map.entry("generationStreams", questionStreamHandler.stats()),
+            Map.entry("websocket", gameplayWebSocketHandler.stats()),
+            Map.entry("logging", Log.stats()),
+            Map.entry("port", ctx.port())
         )));
 
         // Session management
@@ -113,24 +227,36 @@ public class GameServer {
         app.post("/api/sessions/{id}/start", gameplayHandler::startRound);
         app.get("/api/sessions/{id}/question", gameplayHandler::getCurrentQuestion);
         app.post("/api/sessions/{id}/answer", gameplayHandler::submitAnswer);
+        app.get("/api/sessions/{id}/round", gameplayHandler::getRound);
+        app.post("/api/sessions/{id}/round/answers", gameplayHandler::submitAnswers);
         app.get("/api/sessions/{id}/hints", gameplayHandler::getHints);
         app.post("/api/sessions/{id}/use-hint", gameplayHandler::useHint);
+        // Same actions over one socket per player. In shared mode every mutating
+        // operation writes the session back to the store from its mailbox task
+        app.ws("/api/sessions/{id}/ws", gameplayWebSocketHandler::configure);
 
         // Question Upload & Debug
-        app.post("/api/upload/questions", uploadHandler::uploadQuestions);
-        app.post("/api/test/load-file", uploadHandler::loadTestFile);
+        app.post("/api/upload/questions", blockingPool.offload(uploadHandler::uploadQuestions));
+        app.post("/api/test/load-file", blockingPool.offload(uploadHandler::loadTestFile));
         app.get("/api/debug/list-external", uploadHandler::listExternal);
 
         // Gemini AI Question Generation
         app.get("/api/gemini/status", geminiHandler::getStatus);
         app.get("/api/gemini/network-test", geminiHandler::testNetwork);
-        app.post("/api/gemini/generate", geminiHandler::generateQuestions);
+        // Generation blocks for up to minutes, so it runs off the Jetty pool
+        app.post("/api/gemini/generate", blockingPool.offload(geminiHandler::generateQuestions));
+        app.sse("/api/gemini/generate/stream", questionStreamHandler::streamGemini);
 
         // Local LLM (LM Studio) Integration
         app.get("/api/llm/providers", localLlmHandler::getProviders);
         app.get("/api/llm/local/status", localLlmHandler::getLocalStatus);
-        app.post("/api/llm/local/test", localLlmHandler::testLocalLlm);
-        app.post("/api/llm/local/generate", localLlmHandler::generateQuestions);
+        app.post("/api/llm/local/test", blockingPool.offload(localLlmHandler::testLocalLlm));
+        app.post("/api/llm/local/generate", blockingPool.offload(localLlmHandler::generateQuestions));
+        app.sse("/api/llm/local/generate/stream", questionStreamHandler::streamLocal);
+
+        // Background generation jobs (started with ?async=true on the generate endpoints)
+        app.get("/api/generation-jobs/{id}", generationJobHandler::getJob);
+        app.delete("/api/generation-jobs/{id}", generationJobHandler::cancelJob);
 
         // Saved AI Question Sets
         app.get("/api/saved-sets", savedSetsHandler::listSavedSets);
@@ -139,6 +265,54 @@ public class GameServer {
         app.delete("/api/saved-sets/{id}", savedSetsHandler::deleteSavedSet);
     }
 
+    /**
+     * Route template for the latency label ("/api/sessions/{id}/state" rather than the
+     * concrete path), so per-session URLs do not create one series each. Requests that
+     * matched no route share one label (Javalin reports a message instead of a path).
+     */
+    private static String routeOf(Context ctx) {
+        try {
+            String route = ctx.endpointHandlerPath();
+            return route != null && route.startsWith("/") ? route : UNMATCHED_ROUTE;
+        } catch (RuntimeException e) {
+            return UNMATCHED_ROUTE;
+        }
+    }
+
+    /**
+     * Expose pool, session and connection state as gauges at /metrics.
+     */
+    private void registerGauges() {
+        MetricsRegistry metrics = MetricsRegistry.get();
+        metrics.gauge("mindquest_active_sessions", "Sessions currently held in memory")
+            .register(sessionRegistry::getActiveSessionCount);
+        metrics.gauge("mindquest_websocket_connections", "Open gameplay WebSocket connections")
+            .register(gameplayWebSocketHandler::getOpenConnections);
+        metrics.gauge("mindquest_topic_index_questions", "Questions held in the startup topic index")
+            .register(TopicIndex.get()::getQuestionCount);
+        metrics.gauge("mindquest_topic_index_bytes", "Estimated heap held by the startup topic index")
+            .register(TopicIndex.get()::getEstimatedBytes);
+        metrics.gauge("mindquest_loader_cache_entries", "Parsed question lists held by the loader cache")
+            .register(ParsedSourceCache.get()::getEntryCount);
+        metrics.gauge("mindquest_loader_cache_bytes", "Estimated heap held by the loader cache")
+            .register(ParsedSourceCache.get()::getCachedBytes);
+
+        MetricFamily<Supplier<Number>> queueDepth = metrics.gauge(
+            "mindquest_executor_queue_depth", "Tasks waiting for a worker", "pool");
+        MetricFamily<Supplier<Number>> activeTasks = metrics.gauge(
+            "mindquest_executor_active_tasks", "Tasks currently running", "pool");
+        MetricFamily<Supplier<Number>> overflow = metrics.counterFunction(
+            "mindquest_executor_overflow_total", "Tasks that found the queue full (caller-runs or rejected)", "pool");
+
+        SharedExecutor shared = SharedExecutor.get();
+        queueDepth.register(shared::getQueueDepth, "shared");
+        activeTasks.register(shared::getActiveTaskCount, "shared");
+        overflow.register(shared::getCallerRunsCount, "shared");
+        queueDepth.register(blockingPool::getQueueDepth, "blocking");
+        activeTasks.register(blockingPool::getActiveTaskCount, "blocking");
+        overflow.register(blockingPool::getRejectedCount, "blocking");
+    }
+
     /**
      * Get port from environment variable (for cloud platforms) or fallback to 7070 for local dev.
      */
@@ -1,82 +1,430 @@
 package com.mindquest.server;
 
+import com.mindquest.config.ServerConfig;
 import com.mindquest.controller.SessionManager;
 import com.mindquest.model.QuestionBank;
 import com.mindquest.model.game.Player;
+import com.mindquest.server.journal.JournalRecord;
+import com.mindquest.server.journal.SessionJournal;
+import com.mindquest.server.session.FileSessionStore;
+import com.mindquest.server.session.SessionCodec;
+import com.mindquest.server.session.SessionPolicy;
+import com.mindquest.server.session.SessionStore;
+import com.mindquest.server.session.SessionStoreFactory;
+import com.mindquest.server.session.TimingWheel;
 import com.mindquest.service.GameService;
+import com.mindquest.service.StateChangeListener;
+import com.mindquest.service.dto.SessionSnapshot;
+import com.mindquest.service.executor.SharedExecutor;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * Centralized registry for managing game sessions.
- * Thread-safe singleton that stores session ID to GameService mappings.
+ * Thread-safe store of session ID to GameService mappings.
+ *
+ * Sessions are evicted when they sit idle past the idle TTL, when they outlive the
+ * absolute TTL, or (least recently used first) when the registry is at capacity.
+ * Expiry is driven by a hashed timing wheel so a request only pays an O(1) touch.
+ *
+ * Between those two states sits passivation: a session idle past the passivation
+ * delay is written to the SessionStore and its GameService dropped, keeping only a
+ * small entry in memory. The next getSession call rehydrates it transparently.
+ *
+ * In shared mode (MINDQUEST_SESSION_SHARED=true) the SessionStore is the source of
+ * truth and may be used by several nodes at once. Every mutating request is written
+ * back through {@link #commit}, guarded by the record version, and getSession reloads
+ * the local copy whenever another node has written a newer version.
+ *
+ * With a SessionJournal attached ({@link #enableJournal}), every state change is
+ * journaled and live sessions are rebuilt from the journal on startup.
  */
 public class SessionRegistry {
 
-    private final Map<String, GameService> sessions = new ConcurrentHashMap<>();
+    /** LRU position is only refreshed if the last refresh is older than this. */
+    private static final long LRU_REORDER_INTERVAL_MS = 1000;
+
+    /** How long compaction waits for busy session mailboxes before giving up until the next run. */
+    private static final long COMPACT_MAILBOX_WAIT_MS = TimeUnit.SECONDS.toMillis(10);
+
+    /** How long shutdown waits for queued session operations. */
+    private static final long SHUTDOWN_DRAIN_MS = TimeUnit.SECONDS.toMillis(5);
+
+    /** How often a shared registry asks the store to drop records idle past the TTL. */
+    private static final long STORE_PURGE_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Outcome of writing a session back to a shared store.
+     */
+    public enum CommitResult {
+        /** Written, or nothing to write. */
+        COMMITTED,
+        /** Another request wrote first; the local copy was reloaded from the store. */
+        CONFLICT,
+        /** The store could not be reached; the change is only held locally. */
+        UNAVAILABLE
+    }
+
+    /**
+     * A registered session plus its bookkeeping.
+     * prev/next form the intrusive LRU list and are guarded by lruLock.
+     * service is null while the session is passivated; it and storeVersion only
+     * change while holding the entry's monitor.
+     */
+    private static final class SessionEntry {
+        final String id;
+        volatile GameService service;
+        final long createdAt;
+        volatile long lastAccess;
+        long storeVersion;
+        long lruStamp;
+        SessionEntry prev;
+        SessionEntry next;
+        boolean linked;
+
+        SessionEntry(String id, GameService service, long createdAt, long now) {
+            this.id = id;
+            this.service = service;
+            this.createdAt = createdAt;
+            this.lastAccess = now;
+            this.lruStamp = now;
+        }
+    }
+
+    private final Map<String, SessionEntry> sessions = new ConcurrentHashMap<>();
     private final QuestionBank globalQuestionBank;
+    private final SessionPolicy policy;
+    private final SessionStore store;
+    private final boolean shared;
+    private final TimingWheel<SessionEntry> expiryWheel;
+    private final ScheduledExecutorService reaper;
+    private volatile SessionJournal journal;
+
+    // LRU list: head is least recently used
+    private final ReentrantLock lruLock = new ReentrantLock();
+    private SessionEntry lruHead;
+    private SessionEntry lruTail;
+
+    private final LongAdder idleEvictions = new LongAdder();
+    private final LongAdder expiredEvictions = new LongAdder();
+    private final LongAdder capacityEvictions = new LongAdder();
+    private final AtomicInteger passivatedSessions = new AtomicInteger();
+    private final LongAdder passivations = new LongAdder();
+    private final LongAdder rehydrations = new LongAdder();
+    private final LongAdder passivationFailures = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder adoptions = new LongAdder();
+    private final LongAdder storeErrors = new LongAdder();
 
     /**
-     * Create a new SessionRegistry with the given QuestionBank.
-     * 
+     * Create a new SessionRegistry with the given QuestionBank and the configured
+     * policy, store and sharing mode.
+     *
      * @param globalQuestionBank The shared question bank for all sessions
      */
     public SessionRegistry(QuestionBank globalQuestionBank) {
+        this(globalQuestionBank, SessionPolicy.fromConfig(), null,
+            ServerConfig.getBoolean("MINDQUEST_SESSION_SHARED", false));
+    }
+
+    /**
+     * Create a single-node SessionRegistry with an explicit eviction policy.
+     * Passivated sessions go to a private file store under the policy's session directory.
+     *
+     * @param globalQuestionBank The shared question bank for all sessions
+     * @param policy TTL and capacity limits
+     */
+    public SessionRegistry(QuestionBank globalQuestionBank, SessionPolicy policy) {
+        this(globalQuestionBank, policy, FileSessionStore.privateTo(policy.getSessionDir()), false);
+    }
+
+    /**
+     * Create a SessionRegistry with an explicit policy and store.
+     *
+     * @param globalQuestionBank The shared question bank for all sessions
+     * @param policy TTL and capacity limits
+     * @param store Where passivated (and, when shared, all) session state lives;
+     *              null for the store selected by SessionStoreFactory. A store
+     *              that is not shared is cleared on startup and shutdown.
+     * @param shared Whether other nodes use the same store
+     */
+    public SessionRegistry(QuestionBank globalQuestionBank, SessionPolicy policy, SessionStore store, boolean shared) {
         this.globalQuestionBank = globalQuestionBank;
+        this.policy = policy;
+        this.store = store != null ? store : SessionStoreFactory.fromConfig(policy, shared);
+        this.shared = shared;
+        if (!shared) {
+            // Passivated records from a previous run are orphans; the journal, if
+            // enabled, is what brings those sessions back
+            try {
+                int stale = this.store.clear();
+                if (stale > 0) {
+                    System.out.println("[SessionRegistry] Removed " + stale + " stale passivated sessions");
+                }
+            } catch (IOException e) {
+                System.err.println("[SessionRegistry] Could not clear session store: " + e.getMessage());
+            }
+        }
+        System.out.println("[SessionRegistry] Session store: " + this.store.describe() + (shared ? " (shared)" : ""));
+
+        this.expiryWheel = new TimingWheel<>(policy.getTickMs(), policy.getWheelSize(),
+            System.currentTimeMillis(), this::onDeadline);
+        this.reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            t.setName("SessionReaper");
+            return t;
+        });
+        this.reaper.scheduleAtFixedRate(this::reap, policy.getTickMs(), policy.getTickMs(), TimeUnit.MILLISECONDS);
+        if (shared) {
+            this.reaper.scheduleAtFixedRate(this::purgeStore, STORE_PURGE_INTERVAL_MS, STORE_PURGE_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+        }
     }
 
     /**
      * Create a new game session.
-     * 
+     * Evicts the least recently used session first if the registry is full.
+     *
      * @return The session ID of the newly created session
+     * @throws IllegalStateException if the registry is shared and the store cannot be reached
      */
     public String createSession() {
+        ensureCapacity();
+
         String sessionId = UUID.randomUUID().toString();
         Player player = new Player();
         SessionManager sessionManager = new SessionManager(player, globalQuestionBank);
         GameService gameService = new GameService(sessionManager, player, globalQuestionBank);
-        
-        sessions.put(sessionId, gameService);
+
+        long now = System.currentTimeMillis();
+        SessionEntry entry = new SessionEntry(sessionId, gameService, now, now);
+        if (shared) {
+            try {
+                long version = store.compareAndPut(sessionId, 0, now, SessionCodec.encode(gameService.snapshot()));
+                if (version < 0) {
+                    throw new IllegalStateException("Session ID collision: " + sessionId);
+                }
+                entry.storeVersion = version;
+            } catch (IOException e) {
+                storeErrors.increment();
+                throw new IllegalStateException("Session store unavailable: " + e.getMessage(), e);
+            }
+        }
+        SessionJournal activeJournal = journal;
+        if (activeJournal != null) {
+            bindJournal(sessionId, gameService);
+            activeJournal.await(activeJournal.appendCreated(sessionId, now, gameService.snapshot()));
+        }
+        sessions.put(sessionId, entry);
+        linkLast(entry);
+        expiryWheel.schedule(entry, deadlineOf(entry, now));
         return sessionId;
     }
 
     /**
      * Get a GameService by session ID.
-     * 
+     * Counts as activity for idle-TTL and LRU purposes, and rehydrates the
+     * session from the store if it was passivated. In shared mode the local copy
+     * is refreshed if another node has written a newer version.
+     *
      * @param sessionId The session ID
      * @return The GameService, or null if not found
      */
     public GameService getSession(String sessionId) {
-        return sessions.get(sessionId);
+        SessionEntry entry = sessions.get(sessionId);
+        if (entry == null) {
+            if (!shared) {
+                return null;
+            }
+            entry = adopt(sessionId);
+            if (entry == null) {
+                return null;
+            }
+        }
+        // Touch and read under the entry lock so passivation cannot drop the
+        // service between the idle check and handing it to the caller
+        synchronized (entry) {
+            touch(entry);
+            if (shared) {
+                return refreshFromStore(entry);
+            }
+            GameService service = entry.service;
+            return service != null ? service : rehydrate(entry);
+        }
+    }
+
+    /**
+     * Write a session's current state back to the shared store.
+     * Called after each mutating request; a no-op when the registry is not shared.
+     *
+     * @param sessionId The session ID
+     * @return Whether the write went through, conflicted, or could not reach the store
+     */
+    public CommitResult commit(String sessionId) {
+        if (!shared) {
+            return CommitResult.COMMITTED;
+        }
+        SessionEntry entry = sessions.get(sessionId);
+        if (entry == null) {
+            return CommitResult.COMMITTED;
+        }
+        synchronized (entry) {
+            GameService service = entry.service;
+            if (service == null || sessions.get(sessionId) != entry) {
+                return CommitResult.COMMITTED;
+            }
+            try {
+                long version = store.compareAndPut(sessionId, entry.storeVersion, entry.createdAt,
+                    SessionCodec.encode(service.snapshot()));
+                if (version > 0) {
+                    entry.storeVersion = version;
+                    commits.increment();
+                    return CommitResult.COMMITTED;
+                }
+                // Another node got there first: throw away our change and take theirs
+                conflicts.increment();
+                reload(entry);
+                return CommitResult.CONFLICT;
+            } catch (IOException e) {
+                storeErrors.increment();
+                System.err.println("[SessionRegistry] Failed to commit session " + sessionId + ": " + e.getMessage());
+                return CommitResult.UNAVAILABLE;
+            }
+        }
     }
 
     /**
-     * Remove a session from the registry.
-     * 
+     * Whether session state is shared with other nodes through the store.
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Remove a session from the registry and the store.
+     *
      * @param sessionId The session ID to remove
-     * @return The removed GameService, or null if not found
+     * @return The removed GameService, or null if not found or passivated
      */
     public GameService removeSession(String sessionId) {
-        return sessions.remove(sessionId);
+        SessionEntry entry = sessions.remove(sessionId);
+        deleteFromStore(sessionId);
+        if (entry == null) {
+            return null;
+        }
+        unlink(entry);
+        synchronized (entry) {
+            journalRemoved(entry.id);
+            GameService service = entry.service;
+            if (service == null) {
+                passivatedSessions.decrementAndGet();
+            }
+            return service;
+        }
     }
 
     /**
      * Get the count of active sessions.
-     * 
+     *
      * @return Number of active sessions
      */
     public int getActiveSessionCount() {
         return sessions.size();
     }
 
+    /**
+     * Eviction counters and limits for the health endpoint.
+     */
+    public Map<String, Object> getEvictionStats() {
+        return Map.of(
+            "idleEvictions", idleEvictions.sum(),
+            "expiredEvictions", expiredEvictions.sum(),
+            "capacityEvictions", capacityEvictions.sum(),
+            "maxSessions", policy.getMaxSessions(),
+            "idleTtlSeconds", TimeUnit.MILLISECONDS.toSeconds(policy.getIdleTtlMs()),
+            "absoluteTtlSeconds", TimeUnit.MILLISECONDS.toSeconds(policy.getAbsoluteTtlMs())
+        );
+    }
+
+    /**
+     * Passivation counters for the health endpoint.
+     */
+    public Map<String, Object> getPassivationStats() {
+        return Map.of(
+            "enabled", policy.isPassivationEnabled(),
+            "passivatedSessions", passivatedSessions.get(),
+            "passivations", passivations.sum(),
+            "rehydrations", rehydrations.sum(),
+            "failures", passivationFailures.sum(),
+            "passivateAfterSeconds", TimeUnit.MILLISECONDS.toSeconds(policy.getPassivateAfterMs())
+        );
+    }
+
+    /**
+     * Session store counters for the health endpoint.
+     */
+    public Map<String, Object> getStoreStats() {
+        return Map.of(
+            "store", store.describe(),
+            "shared", shared,
+            "commits", commits.sum(),
+            "conflicts", conflicts.sum(),
+            "reloads", reloads.sum(),
+            "adoptions", adoptions.sum(),
+            "errors", storeErrors.sum()
+        );
+    }
+
+    /**
+     * Journal counters for the health endpoint.
+     */
+    public Map<String, Object> getJournalStats() {
+        SessionJournal activeJournal = journal;
+        return activeJournal != null ? activeJournal.stats() : Map.of("enabled", false);
+    }
+
     /**
      * Shutdown all sessions gracefully.
      * Should be called during server shutdown.
      */
     public void shutdownAll() {
-        sessions.values().forEach(service -> {
+        reaper.shutdownNow();
+        drainMailboxes();
+        // Close the journal first: sessions are kept in it, not marked removed,
+        // so they come back on the next start
+        SessionJournal activeJournal = journal;
+        journal = null;
+        if (activeJournal != null) {
+            try {
+                activeJournal.close();
+            } catch (IOException e) {
+                System.err.println("[SessionRegistry] Error closing journal: " + e.getMessage());
+            }
+        }
+        sessions.values().forEach(entry -> {
+            GameService service = entry.service;
+            if (service == null) {
+                return;
+            }
             try {
                 service.shutdown();
             } catch (Exception e) {
@@ -84,14 +432,631 @@ public class SessionRegistry {
             }
         });
         sessions.clear();
+        passivatedSessions.set(0);
+        lruLock.lock();
+        try {
+            lruHead = null;
+            lruTail = null;
+        } finally {
+            lruLock.unlock();
+        }
+        try {
+            // Shared records belong to every node, so only a private store is wiped
+            if (!shared) {
+                store.clear();
+            }
+            store.close();
+        } catch (IOException e) {
+            System.err.println("[SessionRegistry] Error closing session store: " + e.getMessage());
+        }
     }
 
     /**
      * Get the global question bank.
-     * 
+     *
      * @return The shared QuestionBank instance
      */
     public QuestionBank getQuestionBank() {
         return globalQuestionBank;
     }
+
+    private void ensureCapacity() {
+        while (sessions.size() >= policy.getMaxSessions()) {
+            if (!evictLeastRecentlyUsed()) {
+                break;
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Expiry
+    // ---------------------------------------------------------------------
+
+    private long expiryOf(SessionEntry entry) {
+        return Math.min(entry.lastAccess + policy.getIdleTtlMs(), entry.createdAt + policy.getAbsoluteTtlMs());
+    }
+
+    /**
+     * Next time the wheel should look at this entry: expiry, or passivation if sooner.
+     * Passivated entries keep a periodic check so that, once rehydrated, they are
+     * passivated again without needing a second wheel slot.
+     */
+    private long deadlineOf(SessionEntry entry, long now) {
+        long deadline = expiryOf(entry);
+        if (policy.isPassivationEnabled()) {
+            long passivateAt = entry.lastAccess + policy.getPassivateAfterMs();
+            deadline = Math.min(deadline, passivateAt > now ? passivateAt : now + policy.getPassivateAfterMs());
+        }
+        return deadline;
+    }
+
+    private void reap() {
+        try {
+            expiryWheel.advance(System.currentTimeMillis());
+        } catch (Exception e) {
+            System.err.println("[SessionRegistry] Reaper error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Called by the timing wheel when an entry's scheduled deadline passes.
+     * Touches do not reschedule, so the real deadline is recomputed here.
+     */
+    private long onDeadline(SessionEntry entry, long now) {
+        if (sessions.get(entry.id) != entry) {
+            return 0; // Already removed
+        }
+        if (expiryOf(entry) <= now) {
+            boolean absolute = entry.createdAt + policy.getAbsoluteTtlMs() <= now;
+            // A shared session idle here may still be active on another node;
+            // only the absolute TTL is the same everywhere
+            if (evict(entry, !shared || absolute)) {
+                (absolute ? expiredEvictions : idleEvictions).increment();
+            }
+            return 0;
+        }
+        if (policy.isPassivationEnabled() && entry.service != null
+                && now - entry.lastAccess >= policy.getPassivateAfterMs()) {
+            // Store I/O stays off the reaper thread; the mailbox keeps the snapshot
+            // from interleaving with the session's own operations
+            GameService service = entry.service;
+            if (service != null) {
+                service.getMailbox().execute(() -> passivate(entry, service));
+            }
+        }
+        return deadlineOf(entry, now);
+    }
+
+    private void purgeStore() {
+        try {
+            int purged = store.purgeIdle(policy.getIdleTtlMs());
+            if (purged > 0) {
+                System.out.println("[SessionRegistry] Purged " + purged + " idle sessions from the store");
+            }
+        } catch (IOException e) {
+            storeErrors.increment();
+            System.err.println("[SessionRegistry] Store purge failed: " + e.getMessage());
+        }
+    }
+
+    private boolean evictLeastRecentlyUsed() {
+        SessionEntry victim;
+        lruLock.lock();
+        try {
+            victim = lruHead;
+        } finally {
+            lruLock.unlock();
+        }
+        if (victim == null) {
+            return false;
+        }
+        if (evict(victim, !shared)) {
+            capacityEvictions.increment();
+        } else {
+            // Lost a race with another remover; make sure it is off the list
+            unlink(victim);
+        }
+        return true;
+    }
+
+    /**
+     * Remove an entry from this node.
+     *
+     * @param deleteStored Also delete its record from the store
+     */
+    private boolean evict(SessionEntry entry, boolean deleteStored) {
+        if (!sessions.remove(entry.id, entry)) {
+            return false;
+        }
+        unlink(entry);
+        if (deleteStored) {
+            deleteFromStore(entry.id);
+        }
+        GameService service;
+        synchronized (entry) {
+            journalRemoved(entry.id);
+            service = entry.service;
+            entry.service = null;
+            if (service == null) {
+                passivatedSessions.decrementAndGet();
+                return true;
+            }
+        }
+        try {
+            service.shutdown();
+        } catch (Exception e) {
+            System.err.println("[SessionRegistry] Error closing evicted session: " + e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Let operations already queued on resident sessions finish (and journal)
+     * before the sessions are dropped; the shared executor itself keeps running.
+     */
+    private void drainMailboxes() {
+        List<CompletableFuture<Void>> drained = new ArrayList<>();
+        for (SessionEntry entry : sessions.values()) {
+            GameService service = entry.service;
+            if (service != null) {
+                try {
+                    drained.add(service.getMailbox().submit(() -> null));
+                } catch (RejectedExecutionException e) {
+                    return; // Process is going down; nothing more will run
+                }
+            }
+        }
+        try {
+            CompletableFuture.allOf(drained.toArray(new CompletableFuture<?>[0]))
+                .get(SHUTDOWN_DRAIN_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            System.err.println("[SessionRegistry] Sessions still busy at shutdown: " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deleteFromStore(String sessionId) {
+        try {
+            store.delete(sessionId);
+        } catch (IOException | RuntimeException e) {
+            storeErrors.increment();
+            System.err.println("[SessionRegistry] Failed to delete stored session " + sessionId + ": " + e.getMessage());
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Passivation
+    // ---------------------------------------------------------------------
+
+    /**
+     * Write an idle session to the store and drop its GameService.
+     * Runs on the session's mailbox, so no operation mutates the service while it
+     * is snapshotted. Re-checks idleness under the entry lock, and refuses if work
+     * was queued behind it, since a request may have arrived after the reaper
+     * decided to passivate. A shared session is already in the store, so it is
+     * simply dropped.
+     */
+    private void passivate(SessionEntry entry, GameService service) {
+        synchronized (entry) {
+            if (entry.service != service || sessions.get(entry.id) != entry) {
+                return;
+            }
+            if (System.currentTimeMillis() - entry.lastAccess < policy.getPassivateAfterMs()
+                    || service.getMailbox().getPendingCount() > 0) {
+                return;
+            }
+            if (!shared) {
+                try {
+                    long version = store.compareAndPut(entry.id, entry.storeVersion, entry.createdAt,
+                        SessionCodec.encode(service.snapshot()));
+                    if (version < 0) {
+                        throw new IOException("unexpected record version in private store");
+                    }
+                    entry.storeVersion = version;
+                } catch (IOException | RuntimeException e) {
+                    passivationFailures.increment();
+                    System.err.println("[SessionRegistry] Failed to passivate session " + entry.id + ": " + e.getMessage());
+                    return;
+                }
+            }
+            entry.service = null;
+            passivatedSessions.incrementAndGet();
+            passivations.increment();
+        }
+        try {
+            service.shutdown();
+        } catch (Exception e) {
+            System.err.println("[SessionRegistry] Error closing passivated session: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild a passivated session from a private store. Caller holds the entry lock.
+     * A session whose snapshot cannot be read is removed, so the client sees
+     * "session not found" rather than a half-restored game.
+     */
+    private GameService rehydrate(SessionEntry entry) {
+        if (sessions.get(entry.id) != entry) {
+            return null;
+        }
+        GameService service = null;
+        try {
+            SessionStore.StoredSession stored = store.load(entry.id);
+            if (stored != null) {
+                service = GameService.restore(SessionCodec.decode(stored.data()), globalQuestionBank);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[SessionRegistry] Failed to rehydrate session " + entry.id + ": " + e.getMessage());
+        }
+        if (service == null) {
+            passivationFailures.increment();
+            evict(entry, true);
+            return null;
+        }
+        // The record is only needed while passivated
+        deleteFromStore(entry.id);
+        entry.storeVersion = 0;
+        bindJournal(entry.id, service);
+        entry.service = service;
+        passivatedSessions.decrementAndGet();
+        rehydrations.increment();
+        return service;
+    }
+
+    // ---------------------------------------------------------------------
+    // Shared store
+    // ---------------------------------------------------------------------
+
+    /**
+     * Bring a shared session up to date with the store. Caller holds the entry lock.
+     * If the store cannot be reached the local copy, if any, is served as is;
+     * the next commit will notice any divergence.
+     */
+    private GameService refreshFromStore(SessionEntry entry) {
+        if (sessions.get(entry.id) != entry) {
+            return null;
+        }
+        long version;
+        try {
+            version = store.version(entry.id);
+        } catch (IOException e) {
+            storeErrors.increment();
+            System.err.println("[SessionRegistry] Store unavailable, serving local copy of " + entry.id + ": " + e.getMessage());
+            return entry.service;
+        }
+        if (version == 0) {
+            // Removed or purged by another node
+            evict(entry, false);
+            return null;
+        }
+        if (entry.service != null && version == entry.storeVersion) {
+            return entry.service;
+        }
+        boolean passivated = entry.service == null;
+        GameService service = reload(entry);
+        if (service != null && passivated) {
+            passivatedSessions.decrementAndGet();
+            rehydrations.increment();
+        }
+        return service;
+    }
+
+    /**
+     * Replace the local copy with the stored one. Caller holds the entry lock.
+     *
+     * @return The reloaded service, the current one if the store could not be
+     *         read, or null if the session is gone
+     */
+    private GameService reload(SessionEntry entry) {
+        GameService service;
+        try {
+            SessionStore.StoredSession stored = store.load(entry.id);
+            if (stored == null) {
+                evict(entry, false);
+                return null;
+            }
+            service = GameService.restore(SessionCodec.decode(stored.data()), globalQuestionBank);
+            entry.storeVersion = stored.version();
+        } catch (IOException | RuntimeException e) {
+            storeErrors.increment();
+            System.err.println("[SessionRegistry] Failed to reload session " + entry.id + ": " + e.getMessage());
+            return entry.service;
+        }
+        GameService previous = entry.service;
+        bindJournal(entry.id, service);
+        entry.service = service;
+        if (previous != null) {
+            reloads.increment();
+            previous.shutdown();
+        }
+        return service;
+    }
+
+    /**
+     * Start tracking a shared session that was created on (or last served by)
+     * another node.
+     *
+     * @return The registered entry, or null if the store has no live record
+     */
+    private SessionEntry adopt(String sessionId) {
+        SessionStore.StoredSession stored;
+        try {
+            stored = store.load(sessionId);
+        } catch (IOException | RuntimeException e) {
+            storeErrors.increment();
+            System.err.println("[SessionRegistry] Failed to load session " + sessionId + ": " + e.getMessage());
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (stored == null || stored.createdAt() + policy.getAbsoluteTtlMs() <= now) {
+            return null;
+        }
+        GameService service;
+        try {
+            service = GameService.restore(SessionCodec.decode(stored.data()), globalQuestionBank);
+        } catch (IOException | RuntimeException e) {
+            storeErrors.increment();
+            System.err.println("[SessionRegistry] Failed to decode session " + sessionId + ": " + e.getMessage());
+            return null;
+        }
+
+        ensureCapacity();
+        bindJournal(sessionId, service);
+        SessionEntry entry = new SessionEntry(sessionId, service, stored.createdAt(), now);
+        entry.storeVersion = stored.version();
+        SessionEntry existing = sessions.putIfAbsent(sessionId, entry);
+        if (existing != null) {
+            return existing; // Another request adopted it first
+        }
+        linkLast(entry);
+        expiryWheel.schedule(entry, deadlineOf(entry, now));
+        adoptions.increment();
+        return entry;
+    }
+
+    // ---------------------------------------------------------------------
+    // Journal
+    // ---------------------------------------------------------------------
+
+    /**
+     * Rebuild the sessions recorded in a journal, then journal every change from
+     * now on. Call once at startup, before serving requests. Not meant for shared
+     * mode, where the store already holds every session.
+     *
+     * @return Number of sessions restored
+     */
+    public int enableJournal(SessionJournal sessionJournal) {
+        this.journal = sessionJournal;
+        long now = System.currentTimeMillis();
+        int restored = 0;
+        for (SessionJournal.RecoveredSession recovered : sessionJournal.replay().values()) {
+            if (recovered.createdAt() + policy.getAbsoluteTtlMs() <= now
+                    || recovered.lastActivity() + policy.getIdleTtlMs() <= now
+                    || sessions.containsKey(recovered.sessionId())) {
+                continue;
+            }
+            GameService service = GameService.restore(recovered.snapshot(), globalQuestionBank);
+            ensureCapacity();
+            bindJournal(recovered.sessionId(), service);
+            // Idle time keeps counting from the last journaled change
+            SessionEntry entry = new SessionEntry(recovered.sessionId(), service, recovered.createdAt(),
+                recovered.lastActivity());
+            sessions.put(entry.id, entry);
+            linkLast(entry);
+            expiryWheel.schedule(entry, deadlineOf(entry, now));
+            restored++;
+        }
+        System.out.println("[SessionRegistry] Restored " + restored + " sessions from the journal");
+
+        // Collapse the replayed history right away, then keep it bounded
+        compactJournal();
+        long interval = sessionJournal.getCompactIntervalMs();
+        if (interval > 0) {
+            reaper.scheduleAtFixedRate(() -> SharedExecutor.get().runAsync(this::compactJournal),
+                interval, interval, TimeUnit.MILLISECONDS);
+        }
+        return restored;
+    }
+
+    private void bindJournal(String sessionId, GameService service) {
+        if (journal != null) {
+            service.setStateListener((change, changed) -> journalChange(sessionId, change, changed));
+        }
+    }
+
+    private void journalChange(String sessionId, StateChangeListener.Change change, GameService service) {
+        SessionJournal activeJournal = journal;
+        if (activeJournal == null) {
+            return;
+        }
+        JournalRecord.Type type = switch (change) {
+            case ROUND_STARTED -> JournalRecord.Type.ROUND_STARTED;
+            case ANSWER_EVALUATED -> JournalRecord.Type.ANSWER_EVALUATED;
+            case POINTS_ADDED -> JournalRecord.Type.POINTS_ADDED;
+            default -> JournalRecord.Type.PROGRESS;
+        };
+        activeJournal.await(activeJournal.appendChange(sessionId, type, service.snapshot()));
+    }
+
+    /**
+     * Journal a removal. Caller holds the entry lock, which orders it against
+     * the snapshot compaction takes of the same entry.
+     * Not awaited: losing it only brings back a session that was leaving anyway.
+     */
+    private void journalRemoved(String sessionId) {
+        SessionJournal activeJournal = journal;
+        if (activeJournal != null) {
+            activeJournal.appendRemoved(sessionId);
+        }
+    }
+
+    /**
+     * Replace the journal with one image per live session.
+     *
+     * A resident session is imaged from a task on its own mailbox, so the snapshot
+     * cannot tear against an operation and its record lands after every change the
+     * session journaled before it. The entry lock is only taken inside that task;
+     * holding it while waiting would deadlock with a WebSocket commit completing on
+     * the same mailbox. If the mailboxes do not all get to it in time, compaction
+     * is abandoned and the old segments are kept.
+     */
+    private void compactJournal() {
+        SessionJournal activeJournal = journal;
+        if (activeJournal == null) {
+            return;
+        }
+        try {
+            activeJournal.compact(sink -> {
+                List<CompletableFuture<Void>> imaged = new ArrayList<>();
+                for (SessionEntry entry : sessions.values()) {
+                    GameService service;
+                    synchronized (entry) {
+                        if (sessions.get(entry.id) != entry) {
+                            continue;
+                        }
+                        service = entry.service;
+                        if (service == null) {
+                            imageEntry(entry, null, sink);
+                            continue;
+                        }
+                    }
+                    imaged.add(service.getMailbox().submit(() -> {
+                        synchronized (entry) {
+                            if (sessions.get(entry.id) == entry) {
+                                imageEntry(entry, service, sink);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                awaitImages(imaged);
+            });
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[SessionRegistry] Journal compaction failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Hand one entry's image to the compaction sink. Caller holds the entry lock and,
+     * for a resident session, runs on its mailbox. An entry passivated in the
+     * meantime (also a mailbox task) is imaged from the store.
+     */
+    private void imageEntry(SessionEntry entry, GameService expected, Consumer<SessionJournal.SessionImage> sink) {
+        GameService service = entry.service;
+        SessionSnapshot snapshot;
+        if (service == null) {
+            snapshot = passivatedSnapshot(entry);
+        } else if (service == expected) {
+            snapshot = service.snapshot();
+        } else {
+            // Rehydrated into a new service whose mailbox we are not on
+            throw new IllegalStateException("session " + entry.id + " was rehydrated during compaction");
+        }
+        if (snapshot != null) {
+            sink.accept(new SessionJournal.SessionImage(entry.id, entry.createdAt, snapshot));
+        }
+    }
+
+    private static void awaitImages(List<CompletableFuture<Void>> imaged) {
+        try {
+            CompletableFuture.allOf(imaged.toArray(new CompletableFuture<?>[0]))
+                .get(COMPACT_MAILBOX_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("session mailboxes did not image within " + COMPACT_MAILBOX_WAIT_MS + "ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while imaging sessions");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("imaging a session failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * State of a passivated entry, read back from the store. Caller holds the entry lock.
+     */
+    private SessionSnapshot passivatedSnapshot(SessionEntry entry) {
+        try {
+            SessionStore.StoredSession stored = store.load(entry.id);
+            return stored != null ? SessionCodec.decode(stored.data()) : null;
+        } catch (IOException e) {
+            System.err.println("[SessionRegistry] Cannot read passivated session " + entry.id + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // LRU list
+    // ---------------------------------------------------------------------
+
+    private void touch(SessionEntry entry) {
+        long now = System.currentTimeMillis();
+        entry.lastAccess = now;
+        // Reordering takes the lock, so only do it once per interval per session
+        if (now - entry.lruStamp < LRU_REORDER_INTERVAL_MS) {
+            return;
+        }
+        lruLock.lock();
+        try {
+            if (!entry.linked) {
+                return;
+            }
+            entry.lruStamp = now;
+            if (entry == lruTail) {
+                return;
+            }
+            detach(entry);
+            attachLast(entry);
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    private void linkLast(SessionEntry entry) {
+        lruLock.lock();
+        try {
+            attachLast(entry);
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    private void unlink(SessionEntry entry) {
+        lruLock.lock();
+        try {
+            if (entry.linked) {
+                detach(entry);
+            }
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    private void attachLast(SessionEntry entry) {
+        entry.prev = lruTail;
+        entry.next = null;
+        if (lruTail == null) {
+            lruHead = entry;
+        } else {
+            lruTail.next = entry;
+        }
+        lruTail = entry;
+        entry.linked = true;
+    }
+
+    private void detach(SessionEntry entry) {
+        if (entry.prev == null) {
+            lruHead = entry.next;
+        } else {
+            entry.prev.next = entry.next;
+        }
+        if (entry.next == null) {
+            lruTail = entry.prev;
+        } else {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.linked = false;
+    }
 }
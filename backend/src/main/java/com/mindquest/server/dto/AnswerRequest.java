@@ -7,4 +7,7 @@ public class AnswerRequest {
     public int index;           // Legacy numeric index (0-3)
     public String answer;       // Letter answer (A/B/C/D)
     public Long answerTimeMs;   // Time taken to answer in milliseconds
+    public Integer questionIndex;   // Optional: reject unless the round is at this question
+    public String questionId;       // Optional: reject unless this is the current question
+    public String idempotencyKey;   // Optional: a retry with the same key gets the original reply
 }
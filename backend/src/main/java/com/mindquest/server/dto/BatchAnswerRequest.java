@@ -0,0 +1,11 @@
+package com.mindquest.server.dto;
+
+import java.util.List;
+
+/**
+ * Request DTO for submitting several answers of a round at once.
+ */
+public class BatchAnswerRequest {
+    public List<AnswerRequest> answers; // In play order, starting at the current question
+    public Integer fromIndex;           // Optional: reject the batch unless the round is at this question
+}
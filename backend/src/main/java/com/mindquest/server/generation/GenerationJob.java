@@ -0,0 +1,146 @@
+package com.mindquest.server.generation;
+
+import com.mindquest.model.question.Question;
+import com.mindquest.server.util.QuestionMapper;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One asynchronous question-generation request.
+ *
+ * Lifecycle: QUEUED -> RUNNING -> DONE | PARTIAL | FAILED | CANCELLED.
+ * A queued job can be cancelled directly; a running job is cancelled through
+ * its provider request and ends as CANCELLED once the generator returns.
+ * PARTIAL means the job finished with fewer questions than requested.
+ */
+public final class GenerationJob {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        PARTIAL,
+        DONE,
+        FAILED,
+        CANCELLED;
+
+        public boolean isTerminal() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+
+    private final String id;
+    private final String provider;
+    private final String topic;
+    private final String difficulty;
+    private final int requestedCount;
+    private final long createdAt;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.QUEUED);
+    private volatile boolean cancelRequested;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile List<Question> questions = List.of();
+    private volatile String error;
+
+    GenerationJob(String id, String provider, String topic, String difficulty, int requestedCount) {
+        this.id = id;
+        this.provider = provider;
+        this.topic = topic;
+        this.difficulty = difficulty;
+        this.requestedCount = requestedCount;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    public String getId() { return id; }
+    public String getProvider() { return provider; }
+    public State getState() { return state.get(); }
+    public long getCreatedAt() { return createdAt; }
+    public long getFinishedAt() { return finishedAt; }
+    public List<Question> getQuestions() { return questions; }
+    public String getError() { return error; }
+    boolean isCancelRequested() { return cancelRequested; }
+
+    /**
+     * Claim the job for a worker. Fails if it was cancelled while queued.
+     */
+    boolean markRunning() {
+        if (!state.compareAndSet(State.QUEUED, State.RUNNING)) {
+            return false;
+        }
+        startedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * Request cancellation.
+     *
+     * @return true if the job was still queued and is now cancelled
+     */
+    boolean requestCancel() {
+        cancelRequested = true;
+        if (state.compareAndSet(State.QUEUED, State.CANCELLED)) {
+            finishedAt = System.currentTimeMillis();
+            return true;
+        }
+        return false;
+    }
+
+    void complete(List<Question> generated) {
+        if (cancelRequested) {
+            finish(State.CANCELLED);
+            return;
+        }
+        if (generated == null || generated.isEmpty()) {
+            fail("No questions generated");
+            return;
+        }
+        questions = List.copyOf(generated);
+        finish(generated.size() < requestedCount ? State.PARTIAL : State.DONE);
+    }
+
+    void fail(String message) {
+        error = message;
+        finish(cancelRequested ? State.CANCELLED : State.FAILED);
+    }
+
+    private void finish(State terminal) {
+        finishedAt = System.currentTimeMillis();
+        state.compareAndSet(State.RUNNING, terminal);
+    }
+
+    /**
+     * JSON-friendly view for the polling endpoint. Questions are only included
+     * once the job has produced them.
+     */
+    public Map<String, Object> toJson() {
+        State current = state.get();
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("jobId", id);
+        json.put("status", current.name().toLowerCase());
+        json.put("provider", provider);
+        json.put("topic", topic);
+        json.put("difficulty", difficulty);
+        json.put("requestedCount", requestedCount);
+        json.put("createdAt", createdAt);
+        if (startedAt > 0) {
+            json.put("startedAt", startedAt);
+        }
+        if (current.isTerminal()) {
+            json.put("finishedAt", finishedAt);
+            if (startedAt > 0) {
+                json.put("generationTimeMs", finishedAt - startedAt);
+            }
+        }
+        if (current == State.DONE || current == State.PARTIAL) {
+            json.put("count", questions.size());
+            json.put("questions", QuestionMapper.toMaps(questions));
+        }
+        if (error != null) {
+            json.put("error", error);
+        }
+        return json;
+    }
+}
@@ -0,0 +1,197 @@
+package com.mindquest.server.generation;
+
+import com.mindquest.config.ServerConfig;
+import com.mindquest.llm.InFlightRequests;
+import com.mindquest.loader.config.SourceConfig;
+import com.mindquest.loader.factory.QuestionBankFactory;
+import com.mindquest.model.question.Question;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Tracks asynchronous question-generation jobs.
+ *
+ * Jobs run on the supplied executor (the server's BlockingHandlerPool), so the
+ * number of concurrent generations stays bounded. Finished jobs are kept for
+ * polling until their result TTL expires or the retention cap pushes them out,
+ * oldest first.
+ *
+ * Settings (system property or environment variable):
+ * - MINDQUEST_JOB_RESULT_TTL_MINUTES: how long finished results stay available (default: 15)
+ * - MINDQUEST_JOB_MAX_RETAINED: finished jobs kept at most (default: 500)
+ */
+public final class GenerationJobRegistry {
+
+    private static final long DEFAULT_TTL_MINUTES = 15;
+    private static final int DEFAULT_MAX_RETAINED = 500;
+
+    private final ConcurrentHashMap<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<GenerationJob> finished = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger finishedCount = new AtomicInteger();
+    private final Executor executor;
+    private final Function<SourceConfig, List<Question>> generator;
+    private final long resultTtlMs;
+    private final int maxRetained;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    public GenerationJobRegistry(Executor executor, long resultTtlMs, int maxRetained) {
+        this(executor, QuestionBankFactory::getQuestions, resultTtlMs, maxRetained);
+    }
+
+    GenerationJobRegistry(Executor executor, Function<SourceConfig, List<Question>> generator,
+                          long resultTtlMs, int maxRetained) {
+        this.executor = executor;
+        this.generator = generator;
+        this.resultTtlMs = resultTtlMs;
+        this.maxRetained = Math.max(1, maxRetained);
+    }
+
+    /**
+     * Create a registry configured from the environment.
+     */
+    public static GenerationJobRegistry fromConfig(Executor executor) {
+        return new GenerationJobRegistry(
+            executor,
+            ServerConfig.getLong("MINDQUEST_JOB_RESULT_TTL_MINUTES", DEFAULT_TTL_MINUTES) * 60_000,
+            ServerConfig.getInt("MINDQUEST_JOB_MAX_RETAINED", DEFAULT_MAX_RETAINED)
+        );
+    }
+
+    /**
+     * Queue a generation job. The job ID doubles as the provider request ID,
+     * which is what makes the running LLM call cancellable.
+     *
+     * @throws RejectedExecutionException if the executor is saturated
+     */
+    public GenerationJob submit(String provider, SourceConfig config, int requestedCount) {
+        purgeExpired();
+        String jobId = "job-" + UUID.randomUUID();
+        GenerationJob job = new GenerationJob(jobId, provider, config.getTopic(), config.getDifficulty(), requestedCount);
+        SourceConfig tracked = new SourceConfig.Builder()
+            .type(config.getType())
+            .topic(config.getTopic())
+            .difficulty(config.getDifficulty())
+            .filePath(config.getFilePath())
+            .extraParams(config.getExtraParams())
+            .addExtraParam("requestId", jobId)
+            .build();
+
+        jobs.put(jobId, job);
+        try {
+            executor.execute(() -> run(job, tracked));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId);
+            throw e;
+        }
+        submitted.increment();
+        System.out.println("[GenerationJobs] Queued " + jobId + " (" + provider + ", '" + config.getTopic() + "')");
+        return job;
+    }
+
+    private void run(GenerationJob job, SourceConfig config) {
+        if (!job.markRunning()) {
+            return; // Cancelled while queued
+        }
+        try {
+            job.complete(generator.apply(config));
+        } catch (Exception e) {
+            System.err.println("[GenerationJobs] " + job.getId() + " failed: " + e.getMessage());
+            job.fail(e.getMessage());
+        } finally {
+            InFlightRequests.forget(job.getId());
+            retire(job);
+        }
+        System.out.println("[GenerationJobs] " + job.getId() + " finished as " + job.getState());
+    }
+
+    /**
+     * Look up a job; expired results are treated as unknown.
+     */
+    public GenerationJob get(String jobId) {
+        purgeExpired();
+        return jobs.get(jobId);
+    }
+
+    /**
+     * Cancel a job. A queued job never starts; a running job has its provider
+     * request cancelled. Finished jobs are left as they are.
+     *
+     * @return the job, or null if it is unknown or expired
+     */
+    public GenerationJob cancel(String jobId) {
+        GenerationJob job = get(jobId);
+        if (job == null || job.getState().isTerminal()) {
+            return job;
+        }
+        cancelled.increment();
+        if (job.requestCancel()) {
+            retire(job);
+        } else {
+            InFlightRequests.cancel(jobId);
+            if (job.getState().isTerminal()) {
+                InFlightRequests.forget(jobId); // Finished before the cancel landed
+            }
+        }
+        System.out.println("[GenerationJobs] Cancel requested for " + jobId);
+        return job;
+    }
+
+    private void retire(GenerationJob job) {
+        finished.add(job);
+        finishedCount.incrementAndGet();
+        // Over the cap: drop the oldest finished results
+        while (finishedCount.get() > maxRetained) {
+            GenerationJob oldest = finished.poll();
+            if (oldest == null) {
+                break;
+            }
+            finishedCount.decrementAndGet();
+            jobs.remove(oldest.getId(), oldest);
+            expired.increment();
+        }
+    }
+
+    /**
+     * Drop finished jobs whose results have outlived the TTL.
+     * Finished jobs are queued in completion order, so only the head needs checking.
+     */
+    public void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - resultTtlMs;
+        Iterator<GenerationJob> it = finished.iterator();
+        while (it.hasNext()) {
+            GenerationJob job = it.next();
+            if (job.getFinishedAt() > cutoff) {
+                break;
+            }
+            if (finished.remove(job)) {
+                finishedCount.decrementAndGet();
+                jobs.remove(job.getId(), job);
+                expired.increment();
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("tracked", jobs.size());
+        stats.put("retainedResults", finishedCount.get());
+        stats.put("submitted", submitted.sum());
+        stats.put("cancelled", cancelled.sum());
+        stats.put("expired", expired.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,478 @@
+package com.mindquest.server.handler;
+
+import com.mindquest.loader.TopicScanner;
+import com.mindquest.loader.config.SourceConfig;
+import com.mindquest.logging.Log;
+import com.mindquest.logging.Logger;
+import com.mindquest.model.question.Question;
+import com.mindquest.server.SessionRegistry;
+import com.mindquest.server.dto.AnswerRequest;
+import com.mindquest.server.dto.BatchAnswerRequest;
+import com.mindquest.server.dto.InlineQuestion;
+import com.mindquest.server.dto.StartRequest;
+import com.mindquest.server.util.AnswerMapper;
+import com.mindquest.server.util.QuestionFactory;
+import com.mindquest.server.util.TopicNormalizer;
+import com.mindquest.service.GameService;
+import com.mindquest.service.dto.AnswerResult;
+import com.mindquest.service.dto.RoundSummary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Transport-independent gameplay operations shared by the REST routes
+ * ({@link GameplayHandler}) and the WebSocket channel ({@link GameplayWebSocketHandler}).
+ * Each operation completes with the status and body the REST API has always
+ * produced, once it has run on the session's mailbox.
+ */
+class GameplayActions {
+
+    /**
+     * Result of an operation: HTTP-style status plus a body that is either a
+     * plain-text message or an object to serialize as JSON.
+     */
+    record Outcome(int status, Object body) {
+        static Outcome ok(Object body) {
+            return new Outcome(200, body);
+        }
+
+        boolean isSuccess() {
+            return status < 400;
+        }
+    }
+
+    private static final String INLINE_QUESTION_ID_PREFIX = "gemini-";
+    private static final Outcome SESSION_NOT_FOUND = new Outcome(404, "Session not found");
+    private static final Outcome INVALID_ANSWER_FORMAT = new Outcome(400, Map.of(
+        "error", "Invalid answer format", "message", "Answer must be A, B, C, D or index 0-3"));
+
+    private static final Logger log = Log.get("GameplayHandler");
+
+    private final SessionRegistry sessionRegistry;
+
+    GameplayActions(SessionRegistry sessionRegistry) {
+        this.sessionRegistry = sessionRegistry;
+    }
+
+    /**
+     * Run an operation on the session's mailbox. Operations on one session run
+     * one at a time in arrival order, so a double-tapped or retried answer cannot
+     * interleave with another; different sessions still run in parallel.
+     */
+    private CompletableFuture<Outcome> onSession(String sessionId, Function<GameService, Outcome> operation) {
+        GameService gameService = sessionRegistry.getSession(sessionId);
+        if (gameService == null) {
+            return CompletableFuture.completedFuture(SESSION_NOT_FOUND);
+        }
+        return gameService.getMailbox().submit(() -> operation.apply(gameService));
+    }
+
+    /**
+     * Run a mutating operation on the session's mailbox and, in shared mode,
+     * write the result back to the store in the same task, so no other operation
+     * on the session can change it while it is encoded.
+     */
+    private CompletableFuture<Outcome> changeSession(String sessionId, Function<GameService, Outcome> operation) {
+        return onSession(sessionId, gameService -> commit(sessionRegistry, sessionId, operation.apply(gameService)));
+    }
+
+    /**
+     * Shared store: persist a successful change. A version conflict means another
+     * node changed the session concurrently; the local copy has been reloaded and
+     * the client should retry. Call from the session's mailbox.
+     */
+    static Outcome commit(SessionRegistry sessionRegistry, String sessionId, Outcome outcome) {
+        if (!outcome.isSuccess() || !sessionRegistry.isShared()) {
+            return outcome;
+        }
+        switch (sessionRegistry.commit(sessionId)) {
+            case CONFLICT:
+                return new Outcome(409, Map.of(
+                    "error", "Session conflict",
+                    "message", "Session was updated by another request. Reload and retry."));
+            case UNAVAILABLE:
+                return new Outcome(503, Map.of(
+                    "error", "Session store unavailable",
+                    "message", "The change was applied but could not be saved. Retry shortly."));
+            default:
+                return outcome;
+        }
+    }
+
+    /**
+     * Start a new round from the given topic/difficulty or inline questions.
+     */
+    CompletableFuture<Outcome> startRound(String sessionId, StartRequest req) {
+        return changeSession(sessionId, gameService -> startRound(gameService, req));
+    }
+
+    private Outcome startRound(GameService gameService, StartRequest req) {
+        if (req.topic == null || req.difficulty == null) {
+            return new Outcome(400, "Missing topic or difficulty");
+        }
+
+        // Normalize topic and difficulty to match QuestionBank format
+        String normalizedTopic = TopicNormalizer.normalizeTopic(req.topic);
+        String normalizedDifficulty = TopicNormalizer.normalizeDifficulty(req.difficulty);
+        
+        // Check if inline questions are provided (e.g., from Gemini AI)
+        if (req.questions != null && !req.questions.isEmpty()) {
+            // Convert inline questions to concrete Question subclasses based on difficulty
+            List<Question> inlineQuestions = new ArrayList<>();
+            for (int i = 0; i < req.questions.size(); i++) {
+                InlineQuestion iq = req.questions.get(i);
+                Question q = QuestionFactory.createForDifficulty(
+                    INLINE_QUESTION_ID_PREFIX + i,
+                    iq.questionText,
+                    iq.choices,
+                    iq.correctIndex,
+                    normalizedDifficulty,
+                    normalizedTopic
+                );
+                inlineQuestions.add(q);
+            }
+            
+            // Start round with inline questions
+            gameService.startNewRoundWithQuestions(normalizedTopic, normalizedDifficulty, inlineQuestions);
+            log.info(() -> "Started round with " + inlineQuestions.size() + " inline questions for topic: " + normalizedTopic);
+            return Outcome.ok(Map.of(
+                "message", "Round started with AI-generated questions",
+                "topic", normalizedTopic,
+                "difficulty", normalizedDifficulty,
+                "questionCount", inlineQuestions.size()
+            ));
+        }
+        
+        // Check for custom sources
+        // We check against the "loader-friendly" filename format (lowercase, underscores)
+        String checkTopic = normalizedTopic.toLowerCase().replace(" ", "_");
+        SourceConfig config = null;
+        
+        if (TopicScanner.topicExists(checkTopic, SourceConfig.SourceType.CUSTOM_CSV)) {
+            config = new SourceConfig.Builder()
+                .type(SourceConfig.SourceType.CUSTOM_CSV)
+                .topic(normalizedTopic)
+                .difficulty(normalizedDifficulty)
+                .build();
+        } else if (TopicScanner.topicExists(checkTopic, SourceConfig.SourceType.CUSTOM_EXCEL)) {
+            config = new SourceConfig.Builder()
+                .type(SourceConfig.SourceType.CUSTOM_EXCEL)
+                .topic(normalizedTopic)
+                .difficulty(normalizedDifficulty)
+                .build();
+        } else if (TopicScanner.topicExists(checkTopic, SourceConfig.SourceType.CUSTOM_JSON)) {
+            config = new SourceConfig.Builder()
+                .type(SourceConfig.SourceType.CUSTOM_JSON)
+                .topic(normalizedTopic)
+                .difficulty(normalizedDifficulty)
+                .build();
+        }
+        
+        if (config != null) {
+            gameService.setSourceConfig(config);
+            log.info("Using custom source: " + config.getType() + " for topic " + normalizedTopic);
+        } else {
+            gameService.setSourceConfig(null);
+        }
+
+        gameService.startNewRound(normalizedTopic, normalizedDifficulty);
+        return Outcome.ok(Map.of("message", "Round started", "topic", normalizedTopic, "difficulty", normalizedDifficulty));
+    }
+
+    /**
+     * Get the current question.
+     */
+    CompletableFuture<Outcome> getCurrentQuestion(String sessionId) {
+        return onSession(sessionId, gameService -> getCurrentQuestion(gameService));
+    }
+
+    private Outcome getCurrentQuestion(GameService gameService) {
+        Question q = gameService.getCurrentQuestion();
+        if (q == null) {
+            // Check if round is over or just not started
+            if (!gameService.hasMoreQuestions()) {
+                return new Outcome(204, "Round complete");
+            }
+            return new Outcome(404, "No question available");
+        }
+        
+        log.debugSampled(() -> "Sending question ID: " + q.getId() + ", text: " + q.getQuestionText()
+            + ", choices: " + q.getChoices().size() + ", correct index: " + q.getCorrectIndex());
+        
+        return Outcome.ok(q);
+    }
+
+    /**
+     * Submit an answer to the current question and advance.
+     */
+    CompletableFuture<Outcome> submitAnswer(String sessionId, AnswerRequest req) {
+        return changeSession(sessionId, gameService -> submitAnswer(gameService, req));
+    }
+
+    private Outcome submitAnswer(GameService gameService, AnswerRequest req) {
+        if (req.idempotencyKey != null) {
+            Object reply = gameService.getAnswerReply(req.idempotencyKey);
+            if (reply != null) {
+                log.debug(() -> "Replaying answer for idempotency key " + req.idempotencyKey);
+                return Outcome.ok(reply);
+            }
+        }
+        
+        int questionIndex = gameService.getCurrentQuestionIndex();
+        Question q = gameService.getCurrentQuestion();
+        if (q == null) {
+            return new Outcome(400, "No active question");
+        }
+        if ((req.questionIndex != null && req.questionIndex != questionIndex)
+                || (req.questionId != null && !req.questionId.equals(q.getId()))) {
+            return questionMismatch(gameService);
+        }
+        
+        Integer answerIndex = resolveAnswerIndex(req);
+        if (answerIndex == null) {
+            return INVALID_ANSWER_FORMAT;
+        }
+        
+        log.debugSampled(() -> "Received answer: " + (req.answer != null ? req.answer : req.index) + " -> index: " + answerIndex + ", time: " + req.answerTimeMs + "ms");
+        
+        // Score, then advance: the journal then never holds a consumed question without
+        // its score. The mailbox runs nothing in between, so the index checked above still holds.
+        AnswerResult result = gameService.evaluateAnswer(q, answerIndex, false, req.answerTimeMs);
+        gameService.advanceFrom(questionIndex);
+        
+        // Check if round ended
+        boolean roundComplete = !gameService.hasMoreQuestions();
+        RoundSummary summary = null;
+        if (roundComplete) {
+            summary = gameService.completeRoundAndSummarize();
+        }
+
+        Map<String, Object> body = answerBody(result, q, roundComplete);
+        body.put("summary", summary != null ? summary : "null");
+        if (req.idempotencyKey != null) {
+            gameService.rememberAnswerReply(req.idempotencyKey, body);
+        }
+        return Outcome.ok(body);
+    }
+
+    /**
+     * 409 for an answer aimed at a question the round has already moved past,
+     * typically a retry whose original went through without an idempotency key.
+     */
+    private static Outcome questionMismatch(GameService gameService) {
+        Question current = gameService.getCurrentQuestion();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", "Question mismatch");
+        body.put("message", "The answer is not for the current question");
+        body.put("currentIndex", gameService.getCurrentQuestionIndex());
+        body.put("currentQuestionId", current != null ? current.getId() : null);
+        return new Outcome(409, body);
+    }
+
+    /**
+     * Get the whole current round without correct answers, so a client can
+     * play it locally and submit everything in one request.
+     */
+    CompletableFuture<Outcome> getRound(String sessionId) {
+        return onSession(sessionId, gameService -> getRound(gameService));
+    }
+
+    private Outcome getRound(GameService gameService) {
+        List<Question> questions = gameService.getCurrentRoundQuestions();
+        if (questions.isEmpty()) {
+            return new Outcome(404, "No active round");
+        }
+        
+        List<Map<String, Object>> items = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            Question q = questions.get(i);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("index", i);
+            item.put("id", q.getId());
+            item.put("questionText", q.getQuestionText());
+            item.put("choices", q.getChoices());
+            item.put("difficulty", q.getDifficulty());
+            item.put("topic", q.getTopic());
+            items.add(item);
+        }
+        
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("topic", gameService.getCurrentTopic());
+        body.put("difficulty", gameService.getCurrentDifficulty());
+        body.put("questionCount", questions.size());
+        body.put("currentIndex", gameService.getCurrentQuestionIndex());
+        body.put("questions", items);
+        return Outcome.ok(body);
+    }
+
+    /**
+     * Submit answers for the remaining questions of the round in one go.
+     * Answers are replayed in order through the same scoring as single answers;
+     * the batch is validated up front so a bad entry leaves the round untouched.
+     */
+    CompletableFuture<Outcome> submitAnswers(String sessionId, BatchAnswerRequest req) {
+        return changeSession(sessionId, gameService -> submitAnswers(sessionId, gameService, req));
+    }
+
+    private Outcome submitAnswers(String sessionId, GameService gameService, BatchAnswerRequest req) {
+        if (req.answers == null || req.answers.isEmpty()) {
+            return new Outcome(400, "No answers provided");
+        }
+        
+        int currentIndex = gameService.getCurrentQuestionIndex();
+        int remaining = gameService.getCurrentRoundQuestions().size() - currentIndex;
+        if (remaining <= 0) {
+            return new Outcome(400, "No active question");
+        }
+        if (req.fromIndex != null && req.fromIndex != currentIndex) {
+            // Typically a retried batch that was already applied
+            return new Outcome(409, Map.of(
+                "error", "Round position mismatch",
+                "message", "Answers start at question " + req.fromIndex + " but the round is at " + currentIndex,
+                "currentIndex", currentIndex
+            ));
+        }
+        if (req.answers.size() > remaining) {
+            return new Outcome(400, Map.of(
+                "error", "Too many answers",
+                "message", req.answers.size() + " answers for " + remaining + " remaining questions"
+            ));
+        }
+        
+        int[] answerIndices = new int[req.answers.size()];
+        for (int i = 0; i < answerIndices.length; i++) {
+            AnswerRequest answer = req.answers.get(i);
+            Integer answerIndex = answer != null ? resolveAnswerIndex(answer) : null;
+            if (answerIndex == null) {
+                return new Outcome(400, Map.of(
+                    "error", "Invalid answer format",
+                    "message", "Answer " + i + " must be A, B, C, D or index 0-3"
+                ));
+            }
+            answerIndices[i] = answerIndex;
+        }
+        
+        List<Map<String, Object>> results = new ArrayList<>(answerIndices.length);
+        for (int i = 0; i < answerIndices.length; i++) {
+            Question q = gameService.getCurrentQuestion();
+            AnswerResult result = gameService.evaluateAnswer(q, answerIndices[i], false, req.answers.get(i).answerTimeMs);
+            gameService.moveToNextQuestion();
+            results.add(answerBody(result, q, !gameService.hasMoreQuestions()));
+        }
+        
+        boolean roundComplete = !gameService.hasMoreQuestions();
+        RoundSummary summary = roundComplete ? gameService.completeRoundAndSummarize() : null;
+        log.debug(() -> "Applied " + results.size() + " batched answers for session " + sessionId
+            + (roundComplete ? " (round complete)" : ""));
+        
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("results", results);
+        body.put("currentIndex", gameService.getCurrentQuestionIndex());
+        body.put("roundComplete", roundComplete);
+        body.put("summary", summary != null ? summary : "null");
+        return Outcome.ok(body);
+    }
+
+    /**
+     * Map a letter answer (A/B/C/D) to its index, falling back to the numeric index.
+     *
+     * @return the 0-based choice, or null if the letter is not recognised
+     */
+    private static Integer resolveAnswerIndex(AnswerRequest req) {
+        if (req.answer != null && !req.answer.isEmpty()) {
+            int answerIndex = AnswerMapper.letterToIndex(req.answer);
+            return answerIndex == -1 ? null : answerIndex;
+        }
+        return req.index;
+    }
+
+    /**
+     * Per-answer response fields, shared by single and batched answers.
+     */
+    private static Map<String, Object> answerBody(AnswerResult result, Question q, boolean roundComplete) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("correct", result.isCorrect());
+        body.put("pointsAwarded", result.getPointsAwarded());
+        body.put("damageTaken", result.getDamageTaken());
+        body.put("currentHp", result.getPlayerHpAfter());
+        body.put("correctIndex", q.getCorrectIndex());
+        body.put("roundComplete", roundComplete);
+        body.put("isCritical", result.isCritical());
+        body.put("isCounterattack", result.isCounterattack());
+        body.put("correctAnswers", result.getCorrectAnswers());
+        body.put("incorrectAnswers", result.getIncorrectAnswers());
+        body.put("currentAccuracy", result.getCurrentAccuracy());
+        body.put("correctStreak", result.getCorrectStreak());
+        body.put("wrongStreak", result.getWrongStreak());
+        body.put("isHotStreak", result.isHotStreak());
+        return body;
+    }
+
+    /**
+     * Get current hint count.
+     */
+    CompletableFuture<Outcome> getHints(String sessionId) {
+        return onSession(sessionId, gameService -> getHints(sessionId, gameService));
+    }
+
+    private Outcome getHints(String sessionId, GameService gameService) {
+        log.debugSampled(() -> "getHints called for session: " + sessionId + " -> hints=" + gameService.getHints() + ", maxHints=" + gameService.getMaxHints());
+
+        return Outcome.ok(Map.of(
+            "hints", gameService.getHints(),
+            "maxHints", gameService.getMaxHints()
+        ));
+    }
+
+    /**
+     * Use a hint (50/50 elimination).
+     */
+    CompletableFuture<Outcome> useHint(String sessionId) {
+        return changeSession(sessionId, gameService -> useHint(gameService));
+    }
+
+    private Outcome useHint(GameService gameService) {
+        Question q = gameService.getCurrentQuestion();
+        if (q == null) {
+            return new Outcome(400, "No active question");
+        }
+        
+        boolean success = gameService.useHint();
+        if (!success) {
+            return new Outcome(400, Map.of(
+                "error", "No hints remaining",
+                "hints", 0
+            ));
+        }
+        
+        // Eliminate TWO wrong answers (50/50 style)
+        int correctIndex = q.getCorrectIndex();
+        List<Integer> wrongIndices = new ArrayList<>();
+        for (int i = 0; i < q.getChoices().size(); i++) {
+            if (i != correctIndex) {
+                wrongIndices.add(i);
+            }
+        }
+        
+        // Randomly select TWO wrong answers to eliminate
+        Collections.shuffle(wrongIndices);
+        List<Integer> eliminatedIndices = new ArrayList<>();
+        eliminatedIndices.add(wrongIndices.get(0));
+        if (wrongIndices.size() > 1) {
+            eliminatedIndices.add(wrongIndices.get(1));
+        }
+        
+        return Outcome.ok(Map.of(
+            "success", true,
+            "hints", gameService.getHints(),
+            "maxHints", gameService.getMaxHints(),
+            "eliminatedIndices", eliminatedIndices
+        ));
+    }
+}
@@ -0,0 +1,237 @@
+package com.mindquest.server.handler;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindquest.logging.Log;
+import com.mindquest.logging.Logger;
+import com.mindquest.metrics.LatencyHistogram;
+import com.mindquest.metrics.MetricFamily;
+import com.mindquest.metrics.MetricsRegistry;
+import com.mindquest.server.SessionRegistry;
+import com.mindquest.server.dto.AnswerRequest;
+import com.mindquest.server.dto.BatchAnswerRequest;
+import com.mindquest.server.dto.StartRequest;
+import io.javalin.websocket.WsCloseContext;
+import io.javalin.websocket.WsConfig;
+import io.javalin.websocket.WsConnectContext;
+import io.javalin.websocket.WsErrorContext;
+import io.javalin.websocket.WsMessageContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WebSocket gameplay channel: /api/sessions/{id}/ws
+ *
+ * One connection per player carries every gameplay action instead of one HTTP
+ * request each. Messages are JSON objects with a {@code type} and an optional
+ * client-chosen {@code id} that is echoed back:
+ *
+ *   -> {"type":"start", "id":"1", "topic":"AI", "difficulty":"easy", "questions":[...]}
+ *   -> {"type":"question", "id":"2"}
+ *   -> {"type":"answer", "id":"3", "answer":"B", "answerTimeMs":2100}
+ *   -> {"type":"round"} / {"type":"round-answers", "answers":[...]}
+ *   -> {"type":"hints"} / {"type":"use-hint"} / {"type":"ping"}
+ *   <- {"type":"answer", "id":"3", "status":200, "data":{...same body as the REST route...}}
+ *
+ * Status codes and bodies match the REST routes; plain-text REST bodies arrive as
+ * {@code {"message": ...}}. The REST API is unchanged and can be mixed freely.
+ *
+ * The server sends no keepalive pings; an idle socket is closed after
+ * MINDQUEST_WS_IDLE_TIMEOUT_SECONDS, so a client that idles longer sends
+ * {@code {"type":"ping"}}.
+ */
+public class GameplayWebSocketHandler {
+
+    private static final ObjectMapper mapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final Logger log = Log.get("GameplayWS");
+    private static final Set<String> MESSAGE_TYPES = Set.of(
+        "start", "question", "answer", "round", "round-answers", "hints", "use-hint", "ping");
+    private static final MetricFamily<LatencyHistogram> MESSAGE_LATENCY = MetricsRegistry.get().histogram(
+        "mindquest_websocket_message_duration_seconds", "Gameplay WebSocket handling time by message type", "type");
+
+    private final SessionRegistry sessionRegistry;
+    private final GameplayActions actions;
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final LongAdder totalConnections = new LongAdder();
+    private final LongAdder messagesIn = new LongAdder();
+    private final LongAdder messagesOut = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final ConcurrentHashMap<String, Latency> latencyByType = new ConcurrentHashMap<>();
+
+    public GameplayWebSocketHandler(SessionRegistry sessionRegistry) {
+        this.sessionRegistry = sessionRegistry;
+        this.actions = new GameplayActions(sessionRegistry);
+    }
+
+    /**
+     * Register the connection callbacks; pass as {@code app.ws(path, handler::configure)}.
+     */
+    public void configure(WsConfig ws) {
+        ws.onConnect(this::onConnect);
+        ws.onMessage(this::onMessage);
+        ws.onClose(this::onClose);
+        ws.onError(this::onError);
+    }
+
+    private void onConnect(WsConnectContext ctx) {
+        String sessionId = ctx.pathParam("id");
+        if (sessionRegistry.getSession(sessionId) == null) {
+            ctx.closeSession(4404, "Session not found");
+            return;
+        }
+        openConnections.incrementAndGet();
+        totalConnections.increment();
+        ctx.attribute("open", Boolean.TRUE);
+        log.debug(() -> "Connected to session " + sessionId);
+    }
+
+    private void onMessage(WsMessageContext ctx) {
+        long start = System.nanoTime();
+        messagesIn.increment();
+        String sessionId = ctx.pathParam("id");
+
+        JsonNode message;
+        try {
+            message = mapper.readTree(ctx.message());
+        } catch (Exception e) {
+            errors.increment();
+            send(ctx, "error", null, new GameplayActions.Outcome(400,
+                Map.of("error", "Invalid message", "message", "Expected a JSON object with a 'type'")));
+            return;
+        }
+        String type = message.path("type").asText("");
+        String requestId = message.hasNonNull("id") ? message.get("id").asText() : null;
+
+        CompletableFuture<GameplayActions.Outcome> pending;
+        try {
+            pending = dispatch(sessionId, type, message);
+        } catch (Exception e) {
+            pending = CompletableFuture.failedFuture(e);
+        }
+        // Replies are sent when the session's mailbox has run the operation, in order
+        pending.whenComplete((outcome, failure) -> {
+            if (failure != null) {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+                errors.increment();
+                log.warn(type + " failed for session " + sessionId + ": " + cause.getMessage());
+                outcome = new GameplayActions.Outcome(500, Map.of("error", "Internal server error", "message", String.valueOf(cause.getMessage())));
+            }
+            send(ctx, type, requestId, outcome);
+            // Client-chosen types are not used as keys, so junk cannot grow the maps
+            String metricType = MESSAGE_TYPES.contains(type) ? type : "unknown";
+            long elapsed = System.nanoTime() - start;
+            latencyByType.computeIfAbsent(metricType, t -> new Latency()).record(elapsed);
+            MESSAGE_LATENCY.labels(metricType).record(elapsed);
+        });
+    }
+
+    private CompletableFuture<GameplayActions.Outcome> dispatch(String sessionId, String type, JsonNode message) throws Exception {
+        switch (type) {
+            case "start":
+                return actions.startRound(sessionId, mapper.treeToValue(message, StartRequest.class));
+            case "question":
+                return actions.getCurrentQuestion(sessionId);
+            case "answer":
+                return actions.submitAnswer(sessionId, mapper.treeToValue(message, AnswerRequest.class));
+            case "round":
+                return actions.getRound(sessionId);
+            case "round-answers":
+                return actions.submitAnswers(sessionId, mapper.treeToValue(message, BatchAnswerRequest.class));
+            case "hints":
+                return actions.getHints(sessionId);
+            case "use-hint":
+                return actions.useHint(sessionId);
+            case "ping":
+                return CompletableFuture.completedFuture(GameplayActions.Outcome.ok(Map.of("timestamp", System.currentTimeMillis())));
+            default:
+                errors.increment();
+                return CompletableFuture.completedFuture(new GameplayActions.Outcome(400, Map.of("error", "Unknown message type", "type", type)));
+        }
+    }
+
+    private void send(WsMessageContext ctx, String type, String requestId, GameplayActions.Outcome outcome) {
+        Map<String, Object> reply = new LinkedHashMap<>();
+        reply.put("type", type);
+        if (requestId != null) {
+            reply.put("id", requestId);
+        }
+        reply.put("status", outcome.status());
+        Object body = outcome.body();
+        reply.put("data", body instanceof String ? Map.of("message", body) : body);
+        // Replies come from mailbox workers as well as the Jetty thread; one send at a time per socket
+        synchronized (ctx.session) {
+            ctx.send(reply);
+        }
+        messagesOut.increment();
+    }
+
+    private void onClose(WsCloseContext ctx) {
+        if (Boolean.TRUE.equals(ctx.attribute("open"))) {
+            openConnections.decrementAndGet();
+        }
+        log.debug(() -> "Closed for session " + ctx.pathParam("id") + " (" + ctx.status() + ")");
+    }
+
+    private void onError(WsErrorContext ctx) {
+        errors.increment();
+        log.warn("Error on session " + ctx.pathParam("id") + ": "
+            + (ctx.error() != null ? ctx.error().getMessage() : "unknown"));
+    }
+
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    /**
+     * Connection, message and latency counters for the health endpoint.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("openConnections", openConnections.get());
+        stats.put("totalConnections", totalConnections.sum());
+        stats.put("messagesIn", messagesIn.sum());
+        stats.put("messagesOut", messagesOut.sum());
+        stats.put("errors", errors.sum());
+        Map<String, Object> latency = new TreeMap<>();
+        latencyByType.forEach((type, l) -> latency.put(type, l.snapshot()));
+        stats.put("latencyByType", latency);
+        return stats;
+    }
+
+    /**
+     * Handling time per message type, from receipt to reply sent.
+     */
+    private static final class Latency {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        Map<String, Object> snapshot() {
+            long n = count.sum();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("count", n);
+            snapshot.put("avgMicros", n == 0 ? 0 : totalNanos.sum() / n / 1000);
+            snapshot.put("maxMicros", maxNanos.get() / 1000);
+            return snapshot;
+        }
+    }
+}
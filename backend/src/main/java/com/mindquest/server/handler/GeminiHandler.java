@@ -6,11 +6,12 @@ import com.mindquest.llm.util.SecretResolver;
 import com.mindquest.model.question.Question;
 import com.mindquest.server.dto.GeminiGenerateRequest;
 import com.mindquest.server.util.NetworkUtils;
+import com.mindquest.server.generation.GenerationJobRegistry;
+import com.mindquest.server.util.QuestionMapper;
 import com.mindquest.server.util.TopicNormalizer;
 import io.javalin.http.Context;
 
 import java.security.Security;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -23,8 +24,10 @@ import javax.net.ssl.SSLContext;
  */
 public class GeminiHandler {
 
-    public GeminiHandler() {
-        // No dependencies needed
+    private final GenerationJobRegistry jobs;
+
+    public GeminiHandler(GenerationJobRegistry jobs) {
+        this.jobs = jobs;
     }
 
     /**
@@ -80,6 +83,7 @@ public class GeminiHandler {
 
     /**
      * POST /api/gemini/generate - Generate questions using Gemini AI.
+     * With {@code ?async=true} responds 202 with a job ID instead of waiting.
      */
     public void generateQuestions(Context ctx) {
         GeminiGenerateRequest req;
@@ -101,22 +105,14 @@ public class GeminiHandler {
             return;
         }
         
-        // Enforce topic length limit (max 100 chars to prevent prompt injection)
-        String topic = req.topic.trim();
-        if (topic.length() > 100) {
-            topic = topic.substring(0, 100);
-        }
-        
-        // Sanitize topic - remove special characters that could affect prompt
-        topic = topic.replaceAll("[^a-zA-Z0-9\\s\\-]", "");
+        // Enforce topic length limit and strip characters that could affect the prompt
+        String topic = TopicNormalizer.sanitizePromptTopic(req.topic);
         
         // Normalize difficulty
         String difficulty = TopicNormalizer.normalizeDifficulty(req.difficulty);
         
         // Clamp question count (5-10)
-        int count = req.count;
-        if (count < 5) count = 5;
-        if (count > 10) count = 10;
+        int count = TopicNormalizer.clampQuestionCount(req.count);
         
         System.out.println("[Gemini] Generating " + count + " questions for topic '" + topic + "' at " + difficulty + " difficulty");
         
@@ -128,6 +124,12 @@ public class GeminiHandler {
                 .difficulty(difficulty)
                 .addExtraParam("questionCount", String.valueOf(count))
                 .build();
+
+            // ?async=true: hand back a job ID and let the client poll /api/generation-jobs/{id}
+            if (GenerationJobHandler.isAsyncRequest(ctx)) {
+                GenerationJobHandler.submit(ctx, jobs, "gemini", config, count);
+                return;
+            }
             
             // Generate questions
             long startTime = System.currentTimeMillis();
@@ -143,17 +145,7 @@ public class GeminiHandler {
             }
             
             // Convert questions to JSON-friendly format
-            List<Map<String, Object>> questionList = new ArrayList<>();
-            for (Question q : questions) {
-                Map<String, Object> qMap = new HashMap<>();
-                qMap.put("id", q.getId());
-                qMap.put("questionText", q.getQuestionText());
-                qMap.put("choices", q.getChoices());
-                qMap.put("correctIndex", q.getCorrectIndex());
-                qMap.put("difficulty", q.getDifficulty());
-                qMap.put("topic", q.getTopic());
-                questionList.add(qMap);
-            }
+            List<Map<String, Object>> questionList = QuestionMapper.toMaps(questions);
             
             System.out.println("[Gemini] Generated " + questions.size() + " questions in " + elapsed + "ms");
             
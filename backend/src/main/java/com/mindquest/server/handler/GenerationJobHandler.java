@@ -0,0 +1,70 @@
+package com.mindquest.server.handler;
+
+import com.mindquest.loader.config.SourceConfig;
+import com.mindquest.server.generation.GenerationJob;
+import com.mindquest.server.generation.GenerationJobRegistry;
+import io.javalin.http.Context;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Handler for asynchronous question-generation jobs.
+ * Jobs are started by the generate endpoints with {@code ?async=true}.
+ */
+public class GenerationJobHandler {
+
+    private final GenerationJobRegistry jobs;
+
+    public GenerationJobHandler(GenerationJobRegistry jobs) {
+        this.jobs = jobs;
+    }
+
+    /**
+     * GET /api/generation-jobs/{id} - Poll a job's state and, once finished, its questions.
+     */
+    public void getJob(Context ctx) {
+        GenerationJob job = jobs.get(ctx.pathParam("id"));
+        if (job == null) {
+            ctx.status(404).json(Map.of("error", "Job not found", "message", "Unknown job ID or result expired"));
+            return;
+        }
+        ctx.json(job.toJson());
+    }
+
+    /**
+     * DELETE /api/generation-jobs/{id} - Cancel a queued or running job.
+     */
+    public void cancelJob(Context ctx) {
+        GenerationJob job = jobs.cancel(ctx.pathParam("id"));
+        if (job == null) {
+            ctx.status(404).json(Map.of("error", "Job not found", "message", "Unknown job ID or result expired"));
+            return;
+        }
+        ctx.json(job.toJson());
+    }
+
+    /**
+     * Whether a generate request asked to run as a background job.
+     */
+    static boolean isAsyncRequest(Context ctx) {
+        return "true".equalsIgnoreCase(ctx.queryParam("async"));
+    }
+
+    /**
+     * Start a job for a validated generate request and answer 202 with its ID.
+     */
+    static void submit(Context ctx, GenerationJobRegistry jobs, String provider, SourceConfig config, int count) {
+        try {
+            GenerationJob job = jobs.submit(provider, config, count);
+            ctx.status(202)
+                .header("Location", "/api/generation-jobs/" + job.getId())
+                .json(job.toJson());
+        } catch (RejectedExecutionException e) {
+            ctx.status(503).header("Retry-After", "5").json(Map.of(
+                "error", "Server busy",
+                "message", "Too many generation requests in progress. Retry shortly."
+            ));
+        }
+    }
+}
@@ -8,6 +8,8 @@ import com.mindquest.loader.config.SourceConfig;
 import com.mindquest.loader.factory.QuestionBankFactory;
 import com.mindquest.model.question.Question;
 import com.mindquest.server.dto.GeminiGenerateRequest;
+import com.mindquest.server.generation.GenerationJobRegistry;
+import com.mindquest.server.util.QuestionMapper;
 import com.mindquest.server.util.TopicNormalizer;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
@@ -26,10 +28,12 @@ public class LocalLlmHandler {
     
     private final ProviderRegistry registry;
     private final SecretResolver secrets;
+    private final GenerationJobRegistry jobs;
     
-    public LocalLlmHandler() {
+    public LocalLlmHandler(GenerationJobRegistry jobs) {
         this.registry = new ProviderRegistry();
         this.secrets = new SecretResolver();
+        this.jobs = jobs;
     }
     
     /**
@@ -244,6 +248,7 @@ public class LocalLlmHandler {
      * POST /api/llm/local/generate
      * Generate questions using the local LLM (LM Studio).
      * Uses the same request format as the Gemini endpoint for consistency.
+     * With {@code ?async=true} responds 202 with a job ID instead of waiting.
      */
     public void generateQuestions(Context ctx) {
         GeminiGenerateRequest req;
@@ -286,22 +291,14 @@ public class LocalLlmHandler {
             return;
         }
         
-        // Enforce topic length limit (max 100 chars)
-        String topic = req.topic.trim();
-        if (topic.length() > 100) {
-            topic = topic.substring(0, 100);
-        }
-        
-        // Sanitize topic
-        topic = topic.replaceAll("[^a-zA-Z0-9\\s\\-]", "");
+        // Enforce topic length limit and strip characters that could affect the prompt
+        String topic = TopicNormalizer.sanitizePromptTopic(req.topic);
         
         // Normalize difficulty
         String difficulty = TopicNormalizer.normalizeDifficulty(req.difficulty);
         
         // Clamp question count (5-10)
-        int count = req.count;
-        if (count < 5) count = 5;
-        if (count > 10) count = 10;
+        int count = TopicNormalizer.clampQuestionCount(req.count);
         
         System.out.println("[LocalLLM] Generating " + count + " questions for topic '" + topic + "' at " + difficulty + " difficulty");
         
@@ -313,6 +310,12 @@ public class LocalLlmHandler {
                 .difficulty(difficulty)
                 .addExtraParam("questionCount", String.valueOf(count))
                 .build();
+
+            // ?async=true: hand back a job ID and let the client poll /api/generation-jobs/{id}
+            if (GenerationJobHandler.isAsyncRequest(ctx)) {
+                GenerationJobHandler.submit(ctx, jobs, "local", config, count);
+                return;
+            }
             
             // Generate questions
             long startTime = System.currentTimeMillis();
@@ -328,17 +331,7 @@ public class LocalLlmHandler {
             }
             
             // Convert questions to JSON-friendly format
-            List<Map<String, Object>> questionList = new ArrayList<>();
-            for (Question q : questions) {
-                Map<String, Object> qMap = new HashMap<>();
-                qMap.put("id", q.getId());
-                qMap.put("questionText", q.getQuestionText());
-                qMap.put("choices", q.getChoices());
-                qMap.put("correctIndex", q.getCorrectIndex());
-                qMap.put("difficulty", q.getDifficulty());
-                qMap.put("topic", q.getTopic());
-                questionList.add(qMap);
-            }
+            List<Map<String, Object>> questionList = QuestionMapper.toMaps(questions);
             
             System.out.println("[LocalLLM] Generated " + questions.size() + " questions in " + elapsed + "ms");
             
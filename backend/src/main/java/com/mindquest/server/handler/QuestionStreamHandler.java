@@ -0,0 +1,411 @@
+package com.mindquest.server.handler;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.mindquest.config.ServerConfig;
+import com.mindquest.llm.CompletionResult;
+import com.mindquest.llm.InFlightRequests;
+import com.mindquest.llm.LlmProvider;
+import com.mindquest.llm.Prompt;
+import com.mindquest.llm.ProviderRegistry;
+import com.mindquest.llm.StreamEvent;
+import com.mindquest.llm.prompts.PromptTemplates;
+import com.mindquest.llm.util.QuestionStreamParser;
+import com.mindquest.llm.util.SecretResolver;
+import com.mindquest.logging.Log;
+import com.mindquest.logging.Logger;
+import com.mindquest.metrics.LatencyHistogram;
+import com.mindquest.metrics.MetricFamily;
+import com.mindquest.metrics.MetricsRegistry;
+import com.mindquest.model.question.Question;
+import com.mindquest.server.util.QuestionFactory;
+import com.mindquest.server.util.QuestionMapper;
+import com.mindquest.server.util.TopicNormalizer;
+import io.javalin.http.Context;
+import io.javalin.http.sse.SseClient;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Handler for streamed question generation over Server-Sent Events.
+ *
+ * GET /api/gemini/generate/stream and /api/llm/local/generate/stream take
+ * {@code topic}, {@code difficulty} and {@code count} query parameters and emit:
+ * - {@code started}: request accepted, generation begins
+ * - {@code question}: one fully parsed question, as soon as its JSON object closes
+ * - {@code done}: totals, including time to first question
+ * - {@code error}: generation failed; the stream is closed afterwards
+ * plus a comment line every heartbeat interval so proxies keep the connection open.
+ *
+ * When the client disconnects, the provider request is cancelled.
+ *
+ * Settings (system property or environment variable):
+ * - MINDQUEST_MAX_GENERATION_STREAMS: concurrent streams (default: 16)
+ * - MINDQUEST_SSE_HEARTBEAT_SECONDS: heartbeat interval (default: 15)
+ */
+public class QuestionStreamHandler {
+
+    private static final Gson gson = new Gson();
+    private static final Logger log = Log.get("QuestionStream");
+    private static final MetricFamily<LatencyHistogram> FIRST_QUESTION = MetricsRegistry.get().histogram(
+        "mindquest_llm_stream_first_question_seconds", "Time from stream start to the first parsed question", "provider");
+
+    private final ProviderRegistry registry = new ProviderRegistry();
+    private final SecretResolver secrets = new SecretResolver();
+    private final Semaphore slots;
+    private final long heartbeatMs;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r);
+        t.setDaemon(true);
+        t.setName("MindQuest-SseHeartbeat");
+        return t;
+    });
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public QuestionStreamHandler(int maxStreams, long heartbeatMs) {
+        this.slots = new Semaphore(Math.max(1, maxStreams));
+        this.heartbeatMs = Math.max(1000, heartbeatMs);
+    }
+
+    public static QuestionStreamHandler fromConfig() {
+        return new QuestionStreamHandler(
+            ServerConfig.getInt("MINDQUEST_MAX_GENERATION_STREAMS", 16),
+            ServerConfig.getLong("MINDQUEST_SSE_HEARTBEAT_SECONDS", 15) * 1000
+        );
+    }
+
+    /**
+     * SSE /api/gemini/generate/stream - Stream questions from Gemini.
+     */
+    public void streamGemini(SseClient client) {
+        stream(client, "gemini");
+    }
+
+    /**
+     * SSE /api/llm/local/generate/stream - Stream questions from the local LLM.
+     */
+    public void streamLocal(SseClient client) {
+        stream(client, "local");
+    }
+
+    private void stream(SseClient client, String providerId) {
+        Context ctx = client.ctx();
+        String rawTopic = ctx.queryParam("topic");
+        String rawDifficulty = ctx.queryParam("difficulty");
+        if (rawTopic == null || rawTopic.trim().isEmpty() || rawDifficulty == null || rawDifficulty.trim().isEmpty()) {
+            client.sendEvent("error", Map.of("error", "Topic and difficulty are required"));
+            client.close();
+            return;
+        }
+        String topic = TopicNormalizer.sanitizePromptTopic(rawTopic);
+        String difficulty = TopicNormalizer.normalizeDifficulty(rawDifficulty);
+        int count = TopicNormalizer.clampQuestionCount(parseCount(ctx.queryParam("count")));
+
+        if (!slots.tryAcquire()) {
+            rejected.increment();
+            client.sendEvent("error", Map.of(
+                "error", "Server busy",
+                "message", "Too many generation streams in progress. Retry shortly."
+            ));
+            client.close();
+            return;
+        }
+
+        LlmProvider provider;
+        try {
+            provider = "gemini".equals(providerId)
+                ? registry.createProvider("gemini", secrets.getGeminiApiKey(), null)
+                : registry.createProvider("local", null, null);
+        } catch (Exception e) {
+            slots.release();
+            failed.increment();
+            client.sendEvent("error", Map.of("error", "Provider unavailable", "message", String.valueOf(e.getMessage())));
+            client.close();
+            return;
+        }
+
+        started.increment();
+        client.keepAlive();
+        StreamSession session = new StreamSession(client, provider, providerId, topic, difficulty, count);
+        client.onClose(session::clientClosed);
+        session.start();
+    }
+
+    private static int parseCount(String value) {
+        try {
+            return value != null ? Integer.parseInt(value.trim()) : 5;
+        } catch (NumberFormatException e) {
+            return 5;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("started", started.sum());
+        stats.put("completed", completed.sum());
+        stats.put("clientDisconnects", disconnected.sum());
+        stats.put("failed", failed.sum());
+        stats.put("rejected", rejected.sum());
+        return stats;
+    }
+
+    /**
+     * One open stream: forwards provider tokens through the incremental parser
+     * and owns the cleanup when either side ends it.
+     */
+    private final class StreamSession implements Flow.Subscriber<StreamEvent> {
+
+        private final SseClient client;
+        private final LlmProvider provider;
+        private final String providerId;
+        private final String requestId = "stream-" + UUID.randomUUID();
+        private final String topic;
+        private final String difficulty;
+        private final int count;
+        private final QuestionStreamParser parser = new QuestionStreamParser(this::onQuestionJson);
+        private final List<Question> questions = new ArrayList<>();
+        private final AtomicBoolean finished = new AtomicBoolean(false);
+        private final long startNanos = System.nanoTime();
+        private volatile Flow.Subscription subscription;
+        private volatile ScheduledFuture<?> heartbeat;
+        private long firstQuestionMs = -1;
+
+        StreamSession(SseClient client, LlmProvider provider, String providerId,
+                      String topic, String difficulty, int count) {
+            this.client = client;
+            this.provider = provider;
+            this.providerId = providerId;
+            this.topic = topic;
+            this.difficulty = difficulty;
+            this.count = count;
+        }
+
+        void start() {
+            send("started", Map.of("requestId", requestId, "topic", topic, "difficulty", difficulty, "count", count));
+            heartbeat = heartbeats.scheduleAtFixedRate(this::sendHeartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+            log.info(requestId + " streaming " + count + " questions from " + providerId);
+
+            Prompt prompt = buildPrompt();
+            try {
+                provider.stream(prompt).subscribe(this);
+            } catch (UnsupportedOperationException e) {
+                // Provider cannot stream: run a normal completion and emit everything at the end
+                provider.completeAsync(prompt).whenComplete(this::onCompletion);
+            } catch (Exception e) {
+                fail(e);
+            }
+        }
+
+        private Prompt buildPrompt() {
+            String promptText = PromptTemplates.generateQuestionsPrompt(topic, difficulty, count);
+            if ("local".equals(providerId)) {
+                // Local models need the stricter framing used by LocalLlmQuestionSource
+                promptText = "You are a question generator for a quiz game. " +
+                    "Generate questions in valid JSON format ONLY. " +
+                    "Do not include any explanation or markdown, just the JSON.\n\n" + promptText;
+            }
+            return new Prompt.Builder()
+                .id(requestId)
+                .instruction(promptText)
+                .maxTokens("local".equals(providerId) ? 2500 : 2000)
+                .temperature(0.7)
+                .stream(true)
+                .build();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (finished.get()) {
+                subscription.cancel();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(StreamEvent event) {
+            if (finished.get()) {
+                return;
+            }
+            if (event.hasError()) {
+                fail(event.getError());
+            } else if (event.isDone()) {
+                finish();
+            } else {
+                parser.feed(event.getPartialText());
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            fail(error);
+        }
+
+        @Override
+        public void onComplete() {
+            finish();
+        }
+
+        private void onCompletion(CompletionResult result, Throwable error) {
+            if (error != null) {
+                fail(error);
+                return;
+            }
+            parser.feed(result.getText());
+            finish();
+        }
+
+        /**
+         * Parser callback: one question object has closed in the token stream.
+         */
+        private void onQuestionJson(String json) {
+            if (finished.get() || questions.size() >= count) {
+                return;
+            }
+            Question question = toQuestion(json, questions.size() + 1);
+            if (question == null) {
+                return;
+            }
+            questions.add(question);
+            long elapsedMs = elapsedMs();
+            if (firstQuestionMs < 0) {
+                firstQuestionMs = elapsedMs;
+                FIRST_QUESTION.labels(providerId).recordSince(startNanos);
+            }
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("index", questions.size() - 1);
+            data.put("elapsedMs", elapsedMs);
+            data.put("question", QuestionMapper.toMap(question));
+            send("question", data);
+        }
+
+        private Question toQuestion(String json, int ordinal) {
+            try {
+                // Reuse the whole-response repairs (e.g. extra choices) on this single question
+                String wrapped = PromptTemplates.sanitizeQuestionJson("{\"questions\":[" + json + "]}");
+                JsonObject obj = gson.fromJson(wrapped, JsonObject.class)
+                    .getAsJsonArray("questions").get(0).getAsJsonObject();
+                JsonArray choicesArray = obj.getAsJsonArray("choices");
+                int correctIndex = obj.get("correctIndex").getAsInt();
+                List<String> choices = new ArrayList<>();
+                for (int i = 0; i < choicesArray.size(); i++) {
+                    choices.add(choicesArray.get(i).getAsString());
+                }
+                if (choices.size() != 4 || correctIndex < 0 || correctIndex > 3) {
+                    log.warn("Skipping malformed question in " + requestId);
+                    return null;
+                }
+                String id = providerId.toUpperCase() + "_" + difficulty.toUpperCase() + "_"
+                    + requestId.substring(requestId.length() - 8) + "_" + String.format("%02d", ordinal);
+                return QuestionFactory.createForDifficulty(id, obj.get("questionText").getAsString(),
+                    choices, correctIndex, difficulty, topic);
+            } catch (Exception e) {
+                log.warn("Could not parse streamed question: " + e.getMessage());
+                return null;
+            }
+        }
+
+        private void finish() {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            InFlightRequests.recordLatency(providerId,
+                questions.isEmpty() ? InFlightRequests.OUTCOME_ERROR : InFlightRequests.OUTCOME_SUCCESS, startNanos);
+            if (questions.isEmpty()) {
+                failed.increment();
+                send("error", Map.of("error", "No questions generated",
+                    "message", "The model returned no valid questions. Try a different topic."));
+            } else {
+                completed.increment();
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("count", questions.size());
+                data.put("generationTimeMs", elapsedMs());
+                data.put("timeToFirstQuestionMs", firstQuestionMs);
+                send("done", data);
+                log.info(requestId + " done: " + questions.size()
+                    + " questions, first after " + firstQuestionMs + "ms, total " + elapsedMs() + "ms");
+            }
+            release();
+            client.close();
+        }
+
+        private void fail(Throwable error) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            failed.increment();
+            InFlightRequests.recordLatency(providerId, InFlightRequests.OUTCOME_ERROR, startNanos);
+            log.warn(requestId + " failed: " + error.getMessage());
+            send("error", Map.of("error", "Generation failed", "message", String.valueOf(error.getMessage())));
+            release();
+            client.close();
+        }
+
+        /**
+         * The client went away (or we closed the stream). Stop the provider if it is still generating.
+         */
+        void clientClosed() {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            disconnected.increment();
+            InFlightRequests.recordLatency(providerId, InFlightRequests.OUTCOME_CANCELLED, startNanos);
+            log.info(requestId + " client disconnected, cancelling");
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+            provider.cancel(requestId);
+            release();
+        }
+
+        private void release() {
+            if (heartbeat != null) {
+                heartbeat.cancel(false);
+            }
+            provider.close();
+            slots.release();
+        }
+
+        private void sendHeartbeat() {
+            if (!finished.get()) {
+                synchronized (client) {
+                    if (!client.terminated()) {
+                        client.sendComment("heartbeat " + elapsedMs() + "ms");
+                    }
+                }
+            }
+        }
+
+        private void send(String event, Object data) {
+            synchronized (client) {
+                if (!client.terminated()) {
+                    client.sendEvent(event, data);
+                }
+            }
+        }
+
+        private long elapsedMs() {
+            return (System.nanoTime() - startNanos) / 1_000_000;
+        }
+    }
+}
@@ -22,7 +22,14 @@ public class SessionHandler {
      * POST /api/sessions - Create a new game session.
      */
     public void createSession(Context ctx) {
-        String sessionId = sessionRegistry.createSession();
+        String sessionId;
+        try {
+            sessionId = sessionRegistry.createSession();
+        } catch (IllegalStateException e) {
+            // Shared session store unreachable
+            ctx.status(503).json(Map.of("error", "Session store unavailable", "message", e.getMessage()));
+            return;
+        }
         ctx.json(Map.of("sessionId", sessionId));
     }
 
@@ -38,11 +45,11 @@ public class SessionHandler {
             return;
         }
         
-        ctx.json(Map.of(
+        ctx.future(() -> gameService.getMailbox().submit(() -> Map.of(
             "globalPoints", gameService.getGlobalPoints(),
             "topic", gameService.getCurrentTopic() != null ? gameService.getCurrentTopic() : "None",
             "hasMore", gameService.hasMoreQuestions()
-        ));
+        )).thenAccept(ctx::json));
     }
 
     /**
@@ -57,12 +64,14 @@ public class SessionHandler {
             return;
         }
         
-        // Call backend to rollback the round (no points awarded)
-        gameService.rollbackRound();
-        
-        ctx.json(Map.of(
-            "message", "Round abandoned successfully",
-            "globalPoints", gameService.getGlobalPoints()
-        ));
+        // Call backend to rollback the round (no points awarded), in turn with other session operations;
+        // in shared mode the same task writes the session back to the store
+        ctx.future(() -> gameService.getMailbox().submit(() -> {
+            gameService.rollbackRound();
+            return GameplayActions.commit(sessionRegistry, sessionId, GameplayActions.Outcome.ok(Map.of(
+                "message", "Round abandoned successfully",
+                "globalPoints", gameService.getGlobalPoints()
+            )));
+        }).thenAccept(outcome -> ctx.status(outcome.status()).json(outcome.body())));
     }
 }
@@ -90,6 +90,7 @@ public class UploadHandler {
             Files.move(tmpPath, targetPath);
 
             String topicName = filename.substring(0, filename.lastIndexOf('.'));
+            TopicScanner.refreshTopic(getSourceType(extension), topicName);
 
             System.out.println("[Upload] Saved " + filename + " to " + targetDir);
 
@@ -174,6 +175,7 @@ public class UploadHandler {
             Files.copy(sourcePath, targetPath, StandardCopyOption.REPLACE_EXISTING);
             
             String topicName = filename.substring(0, dotIdx);
+            TopicScanner.refreshTopic(getSourceType(extension), topicName);
             
             // Use the actual loader to count questions
             int questionsLoaded = 0;
@@ -0,0 +1,205 @@
+package com.mindquest.server.journal;
+
+import com.mindquest.service.dto.SessionSnapshot;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * One entry in the session journal.
+ *
+ * On disk each record is framed as: body length, CRC32 of the body, body.
+ * The body is: type code, timestamp, session ID, payload. A frame whose length
+ * or checksum does not match is treated as a torn write and ends the segment.
+ *
+ * Payloads:
+ * - CREATED, ROUND_STARTED: SessionCodec snapshot
+ * - SNAPSHOT: creation time, then SessionCodec snapshot (written by compaction)
+ * - ANSWER_EVALUATED, PROGRESS, POINTS_ADDED: the scalar state after the change
+ *   (see {@link #encodeScalars}); question lists and used IDs only change at round start
+ * - REMOVED: empty
+ */
+public final class JournalRecord {
+
+    public enum Type {
+        CREATED(1),
+        SNAPSHOT(2),
+        ROUND_STARTED(3),
+        ANSWER_EVALUATED(4),
+        PROGRESS(5),
+        POINTS_ADDED(6),
+        REMOVED(7);
+
+        private final int code;
+
+        Type(int code) {
+            this.code = code;
+        }
+
+        /** Whether the payload carries a full SessionCodec snapshot. */
+        public boolean isFullState() {
+            return this == CREATED || this == SNAPSHOT || this == ROUND_STARTED;
+        }
+
+        static Type fromCode(int code) throws IOException {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IOException("Unknown journal record type " + code);
+        }
+    }
+
+    /** Upper bound on a single record; anything larger is treated as corruption. */
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private final Type type;
+    private final long timestamp;
+    private final String sessionId;
+    private final byte[] payload;
+
+    JournalRecord(Type type, long timestamp, String sessionId, byte[] payload) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.sessionId = sessionId;
+        this.payload = payload;
+    }
+
+    public Type getType() { return type; }
+    public long getTimestamp() { return timestamp; }
+    public String getSessionId() { return sessionId; }
+    public byte[] getPayload() { return payload; }
+
+    /**
+     * Encode a complete frame (length, checksum, body) ready to append.
+     */
+    static byte[] frame(Type type, long timestamp, String sessionId, byte[] payload) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(32 + payload.length);
+        DataOutputStream bodyOut = new DataOutputStream(body);
+        bodyOut.writeByte(type.code);
+        bodyOut.writeLong(timestamp);
+        bodyOut.writeUTF(sessionId);
+        bodyOut.write(payload);
+        bodyOut.flush();
+        byte[] bodyBytes = body.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(bodyBytes);
+
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(8 + bodyBytes.length);
+        DataOutputStream out = new DataOutputStream(frame);
+        out.writeInt(bodyBytes.length);
+        out.writeInt((int) crc.getValue());
+        out.write(bodyBytes);
+        out.flush();
+        return frame.toByteArray();
+    }
+
+    /**
+     * Read every intact record of a segment, stopping at the first torn or corrupt frame.
+     */
+    static List<JournalRecord> readSegment(Path segment) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        try (InputStream raw = Files.newInputStream(segment);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 64 * 1024))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break; // Clean end of segment
+                }
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    System.err.println("[SessionJournal] Bad record length in " + segment.getFileName() + ", stopping");
+                    break;
+                }
+                int expectedCrc;
+                byte[] body = new byte[length];
+                try {
+                    expectedCrc = in.readInt();
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    System.err.println("[SessionJournal] Torn record at end of " + segment.getFileName());
+                    break;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if ((int) crc.getValue() != expectedCrc) {
+                    System.err.println("[SessionJournal] Checksum mismatch in " + segment.getFileName() + ", stopping");
+                    break;
+                }
+                records.add(parseBody(body));
+            }
+        }
+        return records;
+    }
+
+    private static JournalRecord parseBody(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        Type type = Type.fromCode(in.readUnsignedByte());
+        long timestamp = in.readLong();
+        String sessionId = in.readUTF();
+        byte[] payload = in.readAllBytes();
+        return new JournalRecord(type, timestamp, sessionId, payload);
+    }
+
+    /**
+     * Encode the fields that change between round starts.
+     */
+    static byte[] encodeScalars(SessionSnapshot s) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(72);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(s.getQuestionIndex());
+        out.writeInt(s.getGlobalPoints());
+        out.writeInt(s.getHp());
+        out.writeInt(s.getScore());
+        out.writeInt(s.getHints());
+        out.writeInt(s.getMaxHints());
+        out.writeInt(s.getCorrectAnswers());
+        out.writeInt(s.getIncorrectAnswers());
+        out.writeLong(s.getTotalAnswerTimeMs());
+        out.writeInt(s.getAnswersWithTime());
+        out.writeInt(s.getCorrectStreak());
+        out.writeInt(s.getWrongStreak());
+        writeNullableInt(out, s.getRollbackHp());
+        writeNullableInt(out, s.getRollbackScore());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Overwrite a builder's scalar fields with a payload from {@link #encodeScalars}.
+     */
+    static void applyScalars(byte[] payload, SessionSnapshot.Builder builder) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        builder.questionIndex(in.readInt())
+            .globalPoints(in.readInt())
+            .player(in.readInt(), in.readInt(), in.readInt(), in.readInt())
+            .answerStats(in.readInt(), in.readInt(), in.readLong(), in.readInt())
+            .streaks(in.readInt(), in.readInt())
+            .rollback(readNullableInt(in), readNullableInt(in));
+    }
+
+    private static void writeNullableInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readNullableInt(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+}
@@ -0,0 +1,532 @@
+package com.mindquest.server.journal;
+
+import com.mindquest.config.ServerConfig;
+import com.mindquest.server.session.SessionCodec;
+import com.mindquest.service.dto.SessionSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Write-ahead journal of session state changes, so sessions survive a restart.
+ *
+ * Records are appended to numbered segment files ({@code journal-<seq>.log}) by a
+ * single writer thread. The writer drains whatever is queued, writes it in one
+ * go and fsyncs once per batch (group commit), so concurrent answers share the
+ * cost of a sync. In async mode (the default) callers return immediately and a
+ * crash can lose the last batch; in sync mode they wait for their batch to be
+ * durable, which holds the calling mailbox worker for the fsync.
+ *
+ * On startup {@link #replay()} parses segments in parallel and folds each
+ * session's records in parallel. Compaction writes one SNAPSHOT per live session
+ * into a fresh segment and deletes every older segment that replay could read.
+ *
+ * Read from system properties / environment variables:
+ * - MINDQUEST_JOURNAL_ENABLED: journal session progress (default true)
+ * - MINDQUEST_JOURNAL_DIR: segment directory (default data/journal)
+ * - MINDQUEST_JOURNAL_SEGMENT_MB: roll to a new segment past this size (default 64)
+ * - MINDQUEST_JOURNAL_MODE: async or sync (default async)
+ * - MINDQUEST_JOURNAL_COMPACT_MINUTES: compaction interval (default 10)
+ */
+public class SessionJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int MAX_BATCH = 1024;
+
+    /**
+     * A session rebuilt from the journal.
+     *
+     * @param createdAt    Session creation time, for the absolute TTL
+     * @param lastActivity Time of the last journaled change, for the idle TTL
+     */
+    public record RecoveredSession(String sessionId, long createdAt, long lastActivity, SessionSnapshot snapshot) {
+    }
+
+    /**
+     * Current state of a live session, written during compaction.
+     */
+    public record SessionImage(String sessionId, long createdAt, SessionSnapshot snapshot) {
+    }
+
+    /** A queued append, or a segment roll request when frame is null. */
+    private static final class Pending {
+        final byte[] frame;
+        final long enqueuedNanos;
+        final CompletableFuture<Long> done = new CompletableFuture<>();
+
+        Pending(byte[] frame) {
+            this.frame = frame;
+            this.enqueuedNanos = System.nanoTime();
+        }
+    }
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean awaitDurable;
+    private final long compactIntervalMs;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final List<Long> existingSegments;
+    private final Set<Long> unreadableSegments = ConcurrentHashMap.newKeySet();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Writer-thread state
+    private FileChannel channel;
+    private volatile long currentSeq;
+    private long currentSize;
+
+    // Stats
+    private final LongAdder appends = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder appendNanos = new LongAdder();
+    private final AtomicLong maxAppendNanos = new AtomicLong();
+    private final LongAdder fsyncNanos = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder compactions = new LongAdder();
+    private final Map<String, Object> replayStats = new ConcurrentHashMap<>();
+
+    public SessionJournal(String directory, long segmentBytes, boolean awaitDurable, long compactIntervalMs)
+            throws IOException {
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.awaitDurable = awaitDurable;
+        this.compactIntervalMs = compactIntervalMs;
+        Files.createDirectories(this.directory);
+
+        this.existingSegments = listSegments();
+        long nextSeq = existingSegments.isEmpty() ? 1 : existingSegments.get(existingSegments.size() - 1) + 1;
+        openSegment(nextSeq);
+
+        this.writer = new Thread(this::writeLoop, "SessionJournal-Writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Build the journal from server configuration.
+     *
+     * @return The journal, or null if journaling is disabled or the directory is unusable
+     */
+    public static SessionJournal fromConfig() {
+        if (!ServerConfig.getBoolean("MINDQUEST_JOURNAL_ENABLED", true)) {
+            return null;
+        }
+        String dir = ServerConfig.getString("MINDQUEST_JOURNAL_DIR", "data/journal");
+        String mode = ServerConfig.getString("MINDQUEST_JOURNAL_MODE", "async").trim().toLowerCase();
+        try {
+            return new SessionJournal(
+                dir,
+                ServerConfig.getLong("MINDQUEST_JOURNAL_SEGMENT_MB", 64) * 1024 * 1024,
+                !"async".equals(mode),
+                TimeUnit.MINUTES.toMillis(ServerConfig.getLong("MINDQUEST_JOURNAL_COMPACT_MINUTES", 10))
+            );
+        } catch (IOException e) {
+            System.err.println("[SessionJournal] Disabled, cannot open " + dir + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Appending
+    // ---------------------------------------------------------------------
+
+    public CompletableFuture<Long> appendCreated(String sessionId, long createdAt, SessionSnapshot snapshot) {
+        return append(JournalRecord.Type.CREATED, createdAt, sessionId, () -> SessionCodec.encode(snapshot));
+    }
+
+    /**
+     * Journal a state change. Round starts carry the full snapshot, everything
+     * else only the scalar fields.
+     */
+    public CompletableFuture<Long> appendChange(String sessionId, JournalRecord.Type type, SessionSnapshot snapshot) {
+        return append(type, System.currentTimeMillis(), sessionId, () -> type.isFullState()
+            ? SessionCodec.encode(snapshot)
+            : JournalRecord.encodeScalars(snapshot));
+    }
+
+    public CompletableFuture<Long> appendRemoved(String sessionId) {
+        return append(JournalRecord.Type.REMOVED, System.currentTimeMillis(), sessionId, () -> new byte[0]);
+    }
+
+    /**
+     * Block until an append is durable, if the journal runs in sync mode.
+     * Failures are logged and counted but never propagate into gameplay.
+     */
+    public void await(CompletableFuture<Long> append) {
+        if (!awaitDurable) {
+            return;
+        }
+        try {
+            append.join();
+        } catch (Exception e) {
+            System.err.println("[SessionJournal] Append failed: " + e.getMessage());
+        }
+    }
+
+    public boolean isSyncMode() {
+        return awaitDurable;
+    }
+
+    public long getCompactIntervalMs() {
+        return compactIntervalMs;
+    }
+
+    @FunctionalInterface
+    private interface PayloadEncoder {
+        byte[] encode() throws IOException;
+    }
+
+    private CompletableFuture<Long> append(JournalRecord.Type type, long timestamp, String sessionId,
+                                           PayloadEncoder payload) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IOException("Journal is closed"));
+        }
+        try {
+            // Encoding happens on the caller so the writer thread only does I/O
+            Pending pending = new Pending(JournalRecord.frame(type, timestamp, sessionId, payload.encode()));
+            queue.add(pending);
+            return pending.done;
+        } catch (IOException e) {
+            failures.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<Long> requestRoll() {
+        Pending roll = new Pending(null);
+        queue.add(roll);
+        return roll.done;
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                failures.increment();
+                System.err.println("[SessionJournal] Write failed: " + e.getMessage());
+                batch.forEach(p -> p.done.completeExceptionally(e));
+                // A partial write would hide everything after it at replay; continue in a new segment
+                try {
+                    openSegment(currentSeq + 1);
+                } catch (IOException rollFailure) {
+                    System.err.println("[SessionJournal] Cannot open new segment: " + rollFailure.getMessage());
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Write one batch with a single fsync. Roll requests split the batch:
+     * everything before them goes to the current segment.
+     */
+    private void writeBatch(List<Pending> batch) throws IOException {
+        int start = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i).frame == null) {
+                flush(batch.subList(start, i));
+                openSegment(currentSeq + 1);
+                batch.get(i).done.complete(currentSeq);
+                start = i + 1;
+            }
+        }
+        flush(batch.subList(start, batch.size()));
+        if (currentSize >= segmentBytes) {
+            openSegment(currentSeq + 1);
+        }
+    }
+
+    private void flush(List<Pending> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        int total = 0;
+        for (Pending p : records) {
+            total += p.frame.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        for (Pending p : records) {
+            buffer.put(p.frame);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        long syncStart = System.nanoTime();
+        channel.force(false);
+        long now = System.nanoTime();
+        fsyncNanos.add(now - syncStart);
+
+        currentSize += total;
+        bytesWritten.add(total);
+        batches.increment();
+        appends.add(records.size());
+        for (Pending p : records) {
+            long latency = now - p.enqueuedNanos;
+            appendNanos.add(latency);
+            maxAppendNanos.accumulateAndGet(latency, Math::max);
+            p.done.complete(currentSeq);
+        }
+    }
+
+    private void openSegment(long seq) throws IOException {
+        if (channel != null) {
+            channel.force(true);
+            channel.close();
+        }
+        channel = FileChannel.open(segmentPath(seq),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentSeq = seq;
+        currentSize = channel.size();
+    }
+
+    // ---------------------------------------------------------------------
+    // Replay
+    // ---------------------------------------------------------------------
+
+    /**
+     * Rebuild every session that was live when the journal was last written.
+     * Only reads segments that existed when the journal was opened.
+     */
+    public Map<String, RecoveredSession> replay() {
+        long start = System.currentTimeMillis();
+
+        // Parse segments in parallel, then restore their order
+        List<List<JournalRecord>> parsed = existingSegments.parallelStream()
+            .map(seq -> {
+                try {
+                    return JournalRecord.readSegment(segmentPath(seq));
+                } catch (IOException e) {
+                    System.err.println("[SessionJournal] Cannot read segment " + seq + ": " + e.getMessage());
+                    // Its records were not replayed, so compaction must not delete it
+                    unreadableSegments.add(seq);
+                    return List.<JournalRecord>of();
+                }
+            })
+            .toList();
+
+        Map<String, List<JournalRecord>> bySession = new LinkedHashMap<>();
+        int recordCount = 0;
+        for (List<JournalRecord> segment : parsed) {
+            for (JournalRecord record : segment) {
+                bySession.computeIfAbsent(record.getSessionId(), id -> new ArrayList<>()).add(record);
+                recordCount++;
+            }
+        }
+
+        // Fold each session independently
+        Map<String, RecoveredSession> recovered = new ConcurrentHashMap<>();
+        bySession.entrySet().parallelStream().forEach(e -> {
+            RecoveredSession session = fold(e.getKey(), e.getValue());
+            if (session != null) {
+                recovered.put(session.sessionId(), session);
+            }
+        });
+
+        long elapsed = System.currentTimeMillis() - start;
+        replayStats.put("segments", existingSegments.size());
+        replayStats.put("unreadableSegments", unreadableSegments.size());
+        replayStats.put("records", recordCount);
+        replayStats.put("sessions", recovered.size());
+        replayStats.put("millis", elapsed);
+        System.out.println("[SessionJournal] Replayed " + recordCount + " records from " + existingSegments.size()
+            + " segments: " + recovered.size() + " sessions in " + elapsed + "ms");
+        return new HashMap<>(recovered);
+    }
+
+    private static RecoveredSession fold(String sessionId, List<JournalRecord> records) {
+        SessionSnapshot.Builder state = null;
+        long createdAt = 0;
+        long lastActivity = 0;
+        for (JournalRecord record : records) {
+            lastActivity = Math.max(lastActivity, record.getTimestamp());
+            try {
+                switch (record.getType()) {
+                    case CREATED -> {
+                        createdAt = record.getTimestamp();
+                        state = SessionCodec.decode(record.getPayload()).toBuilder();
+                    }
+                    case SNAPSHOT -> {
+                        ByteBuffer payload = ByteBuffer.wrap(record.getPayload());
+                        createdAt = payload.getLong();
+                        state = SessionCodec.decode(Arrays.copyOfRange(record.getPayload(), 8,
+                            record.getPayload().length)).toBuilder();
+                    }
+                    case ROUND_STARTED -> state = SessionCodec.decode(record.getPayload()).toBuilder();
+                    case ANSWER_EVALUATED, PROGRESS, POINTS_ADDED -> {
+                        if (state != null) {
+                            JournalRecord.applyScalars(record.getPayload(), state);
+                        }
+                    }
+                    case REMOVED -> state = null;
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("[SessionJournal] Skipping bad record for " + sessionId + ": " + e.getMessage());
+            }
+        }
+        if (state == null || createdAt == 0) {
+            return null;
+        }
+        return new RecoveredSession(sessionId, createdAt, lastActivity, state.build());
+    }
+
+    // ---------------------------------------------------------------------
+    // Compaction
+    // ---------------------------------------------------------------------
+
+    /**
+     * Start a fresh segment, write the given images into it and delete every older
+     * segment, except those replay could not read, which are kept for inspection.
+     * Images must be supplied by the caller in a way that orders them correctly
+     * against concurrent REMOVED records (see SessionRegistry).
+     *
+     * @param images Supplies the live sessions once the new segment is open
+     * @return Number of segments deleted
+     */
+    public int compact(ImageSource images) throws IOException {
+        long boundary = requestRoll().join();
+
+        // Images may be handed over from several session mailboxes at once
+        List<CompletableFuture<Long>> writes = Collections.synchronizedList(new ArrayList<>());
+        images.forEachImage(image -> writes.add(append(JournalRecord.Type.SNAPSHOT, System.currentTimeMillis(),
+            image.sessionId(), () -> {
+                byte[] snapshot = SessionCodec.encode(image.snapshot());
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 + snapshot.length);
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeLong(image.createdAt());
+                out.write(snapshot);
+                out.flush();
+                return bytes.toByteArray();
+            })));
+        CompletableFuture<?>[] pending;
+        synchronized (writes) {
+            pending = writes.toArray(new CompletableFuture<?>[0]);
+        }
+        CompletableFuture.allOf(pending).join();
+
+        int deleted = 0;
+        for (long seq : listSegments()) {
+            if (seq < boundary && !unreadableSegments.contains(seq)) {
+                Files.deleteIfExists(segmentPath(seq));
+                deleted++;
+            }
+        }
+        compactions.increment();
+        System.out.println("[SessionJournal] Compacted " + pending.length + " sessions, removed " + deleted + " segments");
+        return deleted;
+    }
+
+    /**
+     * Supplies session images during compaction. The sink may be called from any
+     * thread, but only until forEachImage returns; throwing aborts the compaction
+     * and keeps the old segments.
+     */
+    @FunctionalInterface
+    public interface ImageSource {
+        void forEachImage(Consumer<SessionImage> sink);
+    }
+
+    // ---------------------------------------------------------------------
+    // Stats / lifecycle
+    // ---------------------------------------------------------------------
+
+    public Map<String, Object> stats() {
+        long count = appends.sum();
+        long batchCount = batches.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", awaitDurable ? "sync" : "async");
+        stats.put("appends", count);
+        stats.put("batches", batchCount);
+        stats.put("avgBatchSize", batchCount > 0 ? (double) count / batchCount : 0.0);
+        stats.put("avgAppendMicros", count > 0 ? appendNanos.sum() / count / 1000 : 0);
+        stats.put("maxAppendMicros", maxAppendNanos.get() / 1000);
+        stats.put("avgFsyncMicros", batchCount > 0 ? fsyncNanos.sum() / batchCount / 1000 : 0);
+        stats.put("bytesWritten", bytesWritten.sum());
+        stats.put("queueDepth", queue.size());
+        stats.put("currentSegment", currentSeq);
+        stats.put("failures", failures.sum());
+        stats.put("compactions", compactions.sum());
+        stats.put("lastReplay", new LinkedHashMap<>(replayStats));
+        return stats;
+    }
+
+    /**
+     * Flush queued records and close the current segment.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!running) {
+            return;
+        }
+        // The writer notices within one poll interval and drains the queue first.
+        // Interrupting it would close the channel mid-write.
+        running = false;
+        try {
+            writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private Path segmentPath(long seq) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, seq, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> listSegments() throws IOException {
+        List<Long> seqs = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    seqs.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    System.err.println("[SessionJournal] Ignoring unexpected file " + name);
+                }
+            }
+        }
+        seqs.sort(Long::compare);
+        return seqs;
+    }
+}
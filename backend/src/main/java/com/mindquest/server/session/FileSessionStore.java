@@ -0,0 +1,289 @@
+package com.mindquest.server.session;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stores session records as one file per session, named {@code <sessionId>.bin}.
+ *
+ * Several processes may point at the same directory. Writes are serialized per
+ * session by a striped lock: an in-process ReentrantLock plus an OS byte-range
+ * lock on a shared {@code .lock} file. Records are written to a temp file and
+ * moved into place, so readers never see a half-written snapshot and do not
+ * need the lock.
+ *
+ * A single-node registry uses {@link #privateTo(String)} instead, so that
+ * clearing its orphans on startup and shutdown cannot touch another process's
+ * records.
+ *
+ * File layout: magic, version, createdAt, then the SessionCodec payload.
+ */
+public class FileSessionStore implements SessionStore {
+
+    private static final String SUFFIX = ".bin";
+    private static final String LOCK_FILE = ".lock";
+    private static final int MAGIC = 0x4D515352; // "MQSR"
+    private static final int HEADER_BYTES = 4 + 8 + 8;
+    private static final int LOCK_STRIPES = 64;
+    private static final String PRIVATE_PREFIX = "node-";
+    private static final AtomicInteger privateStores = new AtomicInteger();
+
+    private final Path directory;
+    private final boolean privateDirectory;
+    private final ReentrantLock[] localLocks = new ReentrantLock[LOCK_STRIPES];
+    private FileChannel lockChannel;
+
+    public FileSessionStore(String directory) {
+        this(Paths.get(directory), false);
+    }
+
+    private FileSessionStore(Path directory, boolean privateDirectory) {
+        this.directory = directory;
+        this.privateDirectory = privateDirectory;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            localLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * A store in its own subdirectory of {@code baseDirectory}, named after this
+     * process and removed on close. Subdirectories left behind by processes that
+     * are no longer running are deleted.
+     */
+    public static FileSessionStore privateTo(String baseDirectory) {
+        Path base = Paths.get(baseDirectory);
+        removeAbandoned(base);
+        long pid = ProcessHandle.current().pid();
+        Path directory = base.resolve(PRIVATE_PREFIX + pid + "-" + privateStores.incrementAndGet());
+        return new FileSessionStore(directory, true);
+    }
+
+    private static void removeAbandoned(Path base) {
+        if (!Files.isDirectory(base)) {
+            return;
+        }
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(base, PRIVATE_PREFIX + "*")) {
+            for (Path dir : dirs) {
+                String name = dir.getFileName().toString();
+                int dash = name.indexOf('-', PRIVATE_PREFIX.length());
+                long pid;
+                try {
+                    pid = Long.parseLong(name.substring(PRIVATE_PREFIX.length(), dash < 0 ? name.length() : dash));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if (ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false)) {
+                    continue;
+                }
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                    for (Path file : files) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+                Files.deleteIfExists(dir);
+            }
+        } catch (IOException e) {
+            System.err.println("[FileSessionStore] Could not remove abandoned stores in " + base + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public StoredSession load(String sessionId) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(pathFor(sessionId));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (bytes.length < HEADER_BYTES) {
+            throw new IOException("Truncated session record: " + sessionId);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a session record: " + sessionId);
+        }
+        long version = buffer.getLong();
+        long createdAt = buffer.getLong();
+        byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return new StoredSession(version, createdAt, data);
+    }
+
+    @Override
+    public long version(String sessionId) throws IOException {
+        try (InputStream raw = Files.newInputStream(pathFor(sessionId));
+             DataInputStream in = new DataInputStream(raw)) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a session record: " + sessionId);
+            }
+            return in.readLong();
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (EOFException e) {
+            throw new IOException("Truncated session record: " + sessionId, e);
+        }
+    }
+
+    @Override
+    public long compareAndPut(String sessionId, long expectedVersion, long createdAt, byte[] data) throws IOException {
+        Path target = pathFor(sessionId);
+        int stripe = stripeOf(sessionId);
+        ReentrantLock local = localLocks[stripe];
+        local.lock();
+        FileLock fileLock = null;
+        try {
+            fileLock = lockChannel().lock(stripe, 1, false);
+            if (version(sessionId) != expectedVersion) {
+                return -1;
+            }
+            long newVersion = expectedVersion + 1;
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + data.length);
+            buffer.putInt(MAGIC).putLong(newVersion).putLong(createdAt).put(data);
+
+            Path tmp = directory.resolve(sessionId + SUFFIX + ".tmp");
+            Files.write(tmp, buffer.array());
+            try {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return newVersion;
+        } finally {
+            try {
+                release(fileLock);
+            } finally {
+                local.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void delete(String sessionId) throws IOException {
+        Path target = pathFor(sessionId);
+        int stripe = stripeOf(sessionId);
+        ReentrantLock local = localLocks[stripe];
+        local.lock();
+        FileLock fileLock = null;
+        try {
+            fileLock = lockChannel().lock(stripe, 1, false);
+            Files.deleteIfExists(target);
+        } finally {
+            try {
+                release(fileLock);
+            } finally {
+                local.unlock();
+            }
+        }
+    }
+
+    private static void release(FileLock fileLock) throws IOException {
+        if (fileLock != null && fileLock.isValid()) {
+            fileLock.release();
+        }
+    }
+
+    @Override
+    public int purgeIdle(long maxIdleMs) throws IOException {
+        long cutoff = System.currentTimeMillis() - maxIdleMs;
+        return removeMatching(file -> Files.getLastModifiedTime(file).toMillis() < cutoff);
+    }
+
+    /**
+     * Remove every stored record.
+     *
+     * @return Number of files removed
+     */
+    @Override
+    public int clear() throws IOException {
+        return removeMatching(file -> true);
+    }
+
+    @Override
+    public String describe() {
+        return "file:" + directory;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (lockChannel != null) {
+            lockChannel.close();
+            lockChannel = null;
+        }
+        if (privateDirectory) {
+            try {
+                Files.deleteIfExists(directory.resolve(LOCK_FILE));
+                Files.deleteIfExists(directory);
+            } catch (DirectoryNotEmptyException e) {
+                // Still holds records; a later process removes it as abandoned
+            }
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private interface FileFilter {
+        boolean matches(Path file) throws IOException;
+    }
+
+    private int removeMatching(FileFilter filter) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String sessionId = name.substring(0, name.length() - SUFFIX.length());
+                try {
+                    if (filter.matches(file)) {
+                        delete(sessionId);
+                        removed++;
+                    }
+                } catch (NoSuchFileException e) {
+                    // Removed concurrently
+                } catch (IOException | IllegalArgumentException e) {
+                    System.err.println("[FileSessionStore] Failed to delete " + file + ": " + e.getMessage());
+                }
+            }
+        }
+        return removed;
+    }
+
+    private synchronized FileChannel lockChannel() throws IOException {
+        if (lockChannel == null) {
+            Files.createDirectories(directory);
+            lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        }
+        return lockChannel;
+    }
+
+    private static int stripeOf(String sessionId) {
+        return Math.floorMod(sessionId.hashCode(), LOCK_STRIPES);
+    }
+
+    private Path pathFor(String sessionId) {
+        // Session IDs are server-generated UUIDs; reject anything that could escape the directory
+        if (sessionId.indexOf('/') >= 0 || sessionId.indexOf('\\') >= 0 || sessionId.contains("..")) {
+            throw new IllegalArgumentException("Invalid session id: " + sessionId);
+        }
+        return directory.resolve(sessionId + SUFFIX);
+    }
+}
@@ -0,0 +1,87 @@
+package com.mindquest.server.session;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Session store held in this JVM's heap.
+ *
+ * Serialized snapshots are much smaller than live GameService graphs, so this
+ * is still useful as a passivation target, and it backs SessionStoreServer.
+ * It cannot be shared between nodes on its own.
+ */
+public class InMemorySessionStore implements SessionStore {
+
+    private static final class Record {
+        final StoredSession session;
+        final long writtenAt;
+
+        Record(StoredSession session, long writtenAt) {
+            this.session = session;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    private final Map<String, Record> records = new ConcurrentHashMap<>();
+
+    @Override
+    public StoredSession load(String sessionId) {
+        Record record = records.get(sessionId);
+        return record != null ? record.session : null;
+    }
+
+    @Override
+    public long version(String sessionId) {
+        Record record = records.get(sessionId);
+        return record != null ? record.session.version() : 0;
+    }
+
+    @Override
+    public long compareAndPut(String sessionId, long expectedVersion, long createdAt, byte[] data) {
+        long[] result = {-1};
+        records.compute(sessionId, (id, current) -> {
+            long currentVersion = current != null ? current.session.version() : 0;
+            if (currentVersion != expectedVersion) {
+                return current;
+            }
+            result[0] = currentVersion + 1;
+            return new Record(new StoredSession(result[0], createdAt, data.clone()), System.currentTimeMillis());
+        });
+        return result[0];
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        records.remove(sessionId);
+    }
+
+    @Override
+    public int purgeIdle(long maxIdleMs) {
+        long cutoff = System.currentTimeMillis() - maxIdleMs;
+        int[] removed = {0};
+        records.values().removeIf(record -> {
+            if (record.writtenAt >= cutoff) {
+                return false;
+            }
+            removed[0]++;
+            return true;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public int clear() {
+        int removed = records.size();
+        records.clear();
+        return removed;
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    @Override
+    public String describe() {
+        return "memory";
+    }
+}
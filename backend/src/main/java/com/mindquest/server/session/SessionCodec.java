@@ -0,0 +1,216 @@
+package com.mindquest.server.session;
+
+import com.mindquest.loader.config.SourceConfig;
+import com.mindquest.model.question.Question;
+import com.mindquest.server.util.QuestionFactory;
+import com.mindquest.service.dto.SessionSnapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact binary encoding of a SessionSnapshot.
+ *
+ * Layout: magic, format version, then the snapshot fields in a fixed order.
+ * Strings are written as modified UTF-8 with a presence flag so nulls survive
+ * the round trip. Bump FORMAT_VERSION whenever the layout changes.
+ */
+public final class SessionCodec {
+
+    private static final int MAGIC = 0x4D515353; // "MQSS"
+    private static final int FORMAT_VERSION = 1;
+
+    private SessionCodec() {
+        // Utility class - no instantiation
+    }
+
+    /**
+     * Serialize a snapshot to bytes.
+     */
+    public static byte[] encode(SessionSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+
+            List<Question> questions = snapshot.getRoundQuestions();
+            out.writeInt(questions.size());
+            for (Question q : questions) {
+                writeQuestion(out, q);
+            }
+
+            Set<String> usedIds = snapshot.getUsedQuestionIds();
+            out.writeInt(usedIds.size());
+            for (String id : usedIds) {
+                out.writeUTF(id);
+            }
+
+            writeNullableString(out, snapshot.getTopic());
+            writeNullableString(out, snapshot.getDifficulty());
+            out.writeInt(snapshot.getQuestionIndex());
+            out.writeInt(snapshot.getGlobalPoints());
+            writeSourceConfig(out, snapshot.getSourceConfig());
+
+            out.writeInt(snapshot.getHp());
+            out.writeInt(snapshot.getScore());
+            out.writeInt(snapshot.getHints());
+            out.writeInt(snapshot.getMaxHints());
+
+            out.writeInt(snapshot.getCorrectAnswers());
+            out.writeInt(snapshot.getIncorrectAnswers());
+            out.writeLong(snapshot.getTotalAnswerTimeMs());
+            out.writeInt(snapshot.getAnswersWithTime());
+            out.writeInt(snapshot.getCorrectStreak());
+            out.writeInt(snapshot.getWrongStreak());
+            writeNullableInt(out, snapshot.getRollbackHp());
+            writeNullableInt(out, snapshot.getRollbackScore());
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserialize bytes produced by {@link #encode}.
+     *
+     * @throws IOException if the data is truncated, corrupt or from an unknown format version
+     */
+    public static SessionSnapshot decode(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a session snapshot");
+            }
+            int version = in.readUnsignedShort();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported session snapshot version: " + version);
+            }
+
+            int questionCount = in.readInt();
+            List<Question> questions = new ArrayList<>(questionCount);
+            for (int i = 0; i < questionCount; i++) {
+                questions.add(readQuestion(in));
+            }
+
+            int usedCount = in.readInt();
+            Set<String> usedIds = new HashSet<>(Math.max(16, usedCount * 2));
+            for (int i = 0; i < usedCount; i++) {
+                usedIds.add(in.readUTF());
+            }
+
+            SessionSnapshot.Builder builder = new SessionSnapshot.Builder()
+                .roundQuestions(questions)
+                .usedQuestionIds(usedIds)
+                .topic(readNullableString(in))
+                .difficulty(readNullableString(in))
+                .questionIndex(in.readInt())
+                .globalPoints(in.readInt())
+                .sourceConfig(readSourceConfig(in));
+
+            builder.player(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+            builder.answerStats(in.readInt(), in.readInt(), in.readLong(), in.readInt());
+            builder.streaks(in.readInt(), in.readInt());
+            builder.rollback(readNullableInt(in), readNullableInt(in));
+            return builder.build();
+        }
+    }
+
+    private static void writeQuestion(DataOutputStream out, Question q) throws IOException {
+        writeNullableString(out, q.getId());
+        writeNullableString(out, q.getQuestionText());
+        List<String> choices = q.getChoices();
+        out.writeByte(choices.size());
+        for (String choice : choices) {
+            writeNullableString(out, choice);
+        }
+        out.writeByte(q.getCorrectIndex());
+        writeNullableString(out, q.getDifficulty());
+        writeNullableString(out, q.getTopic());
+    }
+
+    private static Question readQuestion(DataInputStream in) throws IOException {
+        String id = readNullableString(in);
+        String text = readNullableString(in);
+        int choiceCount = in.readUnsignedByte();
+        List<String> choices = new ArrayList<>(choiceCount);
+        for (int i = 0; i < choiceCount; i++) {
+            choices.add(readNullableString(in));
+        }
+        int correctIndex = in.readByte();
+        String difficulty = readNullableString(in);
+        String topic = readNullableString(in);
+        return QuestionFactory.createForDifficulty(id, text, choices, correctIndex, difficulty, topic);
+    }
+
+    private static void writeSourceConfig(DataOutputStream out, SourceConfig config) throws IOException {
+        out.writeBoolean(config != null);
+        if (config == null) {
+            return;
+        }
+        out.writeUTF(config.getType().name());
+        writeNullableString(out, config.getTopic());
+        writeNullableString(out, config.getDifficulty());
+        writeNullableString(out, config.getFilePath());
+        Map<String, String> params = config.getExtraParams();
+        out.writeInt(params.size());
+        for (Map.Entry<String, String> e : params.entrySet()) {
+            out.writeUTF(e.getKey());
+            writeNullableString(out, e.getValue());
+        }
+    }
+
+    private static SourceConfig readSourceConfig(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        SourceConfig.SourceType type;
+        try {
+            type = SourceConfig.SourceType.valueOf(in.readUTF());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown source type in session snapshot", e);
+        }
+        String topic = readNullableString(in);
+        String difficulty = readNullableString(in);
+        String filePath = readNullableString(in);
+        int paramCount = in.readInt();
+        Map<String, String> params = new HashMap<>();
+        for (int i = 0; i < paramCount; i++) {
+            params.put(in.readUTF(), readNullableString(in));
+        }
+        return new SourceConfig.Builder()
+            .type(type)
+            .topic(topic)
+            .difficulty(difficulty)
+            .filePath(filePath)
+            .extraParams(params)
+            .build();
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullableInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readNullableInt(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.mindquest.server.session;
+
+import com.mindquest.config.ServerConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lifetime limits applied by SessionRegistry.
+ *
+ * Read from system properties / environment variables:
+ * - MINDQUEST_SESSION_IDLE_TTL_MINUTES: evict after this long without a request (default 30)
+ * - MINDQUEST_SESSION_ABSOLUTE_TTL_MINUTES: evict this long after creation regardless of activity (default 1440)
+ * - MINDQUEST_SESSION_MAX: maximum live sessions; the least recently used is evicted beyond it (default 10000)
+ * - MINDQUEST_SESSION_REAPER_TICK_MS: timing wheel resolution (default 1000)
+ * - MINDQUEST_SESSION_PASSIVATE_AFTER_MINUTES: write idle sessions to disk and drop them
+ *   from memory after this long (default 5, 0 disables; must be below the idle TTL to matter)
+ * - MINDQUEST_SESSION_DIR: directory for passivated sessions (default data/sessions)
+ */
+public final class SessionPolicy {
+
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final String DEFAULT_SESSION_DIR = "data/sessions";
+
+    private final long idleTtlMs;
+    private final long absoluteTtlMs;
+    private final int maxSessions;
+    private final long tickMs;
+    private final int wheelSize;
+    private final long passivateAfterMs;
+    private final String sessionDir;
+
+    /**
+     * Policy without passivation: idle sessions stay in memory until evicted.
+     */
+    public SessionPolicy(long idleTtlMs, long absoluteTtlMs, int maxSessions, long tickMs, int wheelSize) {
+        this(idleTtlMs, absoluteTtlMs, maxSessions, tickMs, wheelSize, 0, DEFAULT_SESSION_DIR);
+    }
+
+    public SessionPolicy(long idleTtlMs, long absoluteTtlMs, int maxSessions, long tickMs, int wheelSize,
+                         long passivateAfterMs, String sessionDir) {
+        if (idleTtlMs <= 0 || absoluteTtlMs <= 0 || maxSessions <= 0 || tickMs <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Session policy values must be positive");
+        }
+        if (passivateAfterMs < 0) {
+            throw new IllegalArgumentException("Passivation delay cannot be negative");
+        }
+        this.idleTtlMs = idleTtlMs;
+        this.absoluteTtlMs = absoluteTtlMs;
+        this.maxSessions = maxSessions;
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.passivateAfterMs = passivateAfterMs;
+        this.sessionDir = sessionDir;
+    }
+
+    /**
+     * Build the policy from server configuration.
+     */
+    public static SessionPolicy fromConfig() {
+        return new SessionPolicy(
+            TimeUnit.MINUTES.toMillis(ServerConfig.getLong("MINDQUEST_SESSION_IDLE_TTL_MINUTES", 30)),
+            TimeUnit.MINUTES.toMillis(ServerConfig.getLong("MINDQUEST_SESSION_ABSOLUTE_TTL_MINUTES", 1440)),
+            ServerConfig.getInt("MINDQUEST_SESSION_MAX", 10_000),
+            ServerConfig.getLong("MINDQUEST_SESSION_REAPER_TICK_MS", 1000),
+            DEFAULT_WHEEL_SIZE,
+            TimeUnit.MINUTES.toMillis(ServerConfig.getLong("MINDQUEST_SESSION_PASSIVATE_AFTER_MINUTES", 5)),
+            ServerConfig.getString("MINDQUEST_SESSION_DIR", DEFAULT_SESSION_DIR)
+        );
+    }
+
+    public long getIdleTtlMs() { return idleTtlMs; }
+    public long getAbsoluteTtlMs() { return absoluteTtlMs; }
+    public int getMaxSessions() { return maxSessions; }
+    public long getTickMs() { return tickMs; }
+    public int getWheelSize() { return wheelSize; }
+    public long getPassivateAfterMs() { return passivateAfterMs; }
+    public String getSessionDir() { return sessionDir; }
+
+    /**
+     * Passivation only helps if it happens before the idle TTL evicts the session.
+     */
+    public boolean isPassivationEnabled() {
+        return passivateAfterMs > 0 && passivateAfterMs < idleTtlMs;
+    }
+}
@@ -0,0 +1,79 @@
+package com.mindquest.server.session;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Storage for serialized session state, keyed by session ID.
+ *
+ * Every record carries a version that starts at 1 and increases by one on each
+ * successful write. Writers pass the version they last saw to
+ * {@link #compareAndPut}; a mismatch means another request (possibly on another
+ * node) wrote first, and the caller must reload before trying again.
+ *
+ * Implementations must be thread-safe. Implementations that are shared between
+ * processes (file, socket) let several MindQuest nodes serve the same sessions.
+ */
+public interface SessionStore extends Closeable {
+
+    /**
+     * A stored session record.
+     *
+     * @param version   Record version, >= 1
+     * @param createdAt Session creation time (epoch ms), used for the absolute TTL
+     * @param data      SessionCodec-encoded snapshot
+     */
+    record StoredSession(long version, long createdAt, byte[] data) {
+    }
+
+    /**
+     * Load a session record.
+     *
+     * @return The record, or null if there is none
+     */
+    StoredSession load(String sessionId) throws IOException;
+
+    /**
+     * Current version of a session record without transferring its data.
+     *
+     * @return The version, or 0 if there is no record
+     */
+    long version(String sessionId) throws IOException;
+
+    /**
+     * Write a record if its current version equals expectedVersion.
+     * An expectedVersion of 0 means the record must not exist yet.
+     *
+     * @return The new version, or -1 if the expected version did not match
+     */
+    long compareAndPut(String sessionId, long expectedVersion, long createdAt, byte[] data) throws IOException;
+
+    /**
+     * Delete a session record, if any.
+     */
+    void delete(String sessionId) throws IOException;
+
+    /**
+     * Delete records that have not been written for longer than maxIdleMs.
+     *
+     * @return Number of records removed
+     */
+    int purgeIdle(long maxIdleMs) throws IOException;
+
+    /**
+     * Delete every record.
+     *
+     * @return Number of records removed
+     */
+    int clear() throws IOException;
+
+    /**
+     * Short description for logs and the health endpoint (e.g. "file:data/sessions").
+     */
+    String describe();
+
+    @Override
+    default void close() throws IOException {
+        // Nothing to release by default
+    }
+}
@@ -0,0 +1,44 @@
+package com.mindquest.server.session;
+
+import com.mindquest.config.ServerConfig;
+
+/**
+ * Creates the configured SessionStore.
+ *
+ * Read from system properties / environment variables:
+ * - MINDQUEST_SESSION_STORE: file, memory or socket (default file)
+ * - MINDQUEST_SESSION_DIR: directory for the file store (default data/sessions, see SessionPolicy);
+ *   a registry that is not shared uses a private subdirectory of it
+ * - MINDQUEST_SESSION_STORE_ADDRESS: host:port of a SessionStoreServer for the socket store
+ *   (default localhost:7071)
+ */
+public final class SessionStoreFactory {
+
+    private SessionStoreFactory() {
+        // Utility class - no instantiation
+    }
+
+    /**
+     * @param shared Whether other nodes use the same store; a private file store
+     *               gets a directory of its own
+     */
+    public static SessionStore fromConfig(SessionPolicy policy, boolean shared) {
+        String type = ServerConfig.getString("MINDQUEST_SESSION_STORE", "file").trim().toLowerCase();
+        switch (type) {
+            case "memory":
+                return new InMemorySessionStore();
+            case "socket":
+                return SocketSessionStore.forAddress(
+                    ServerConfig.getString("MINDQUEST_SESSION_STORE_ADDRESS", "localhost:7071"));
+            case "file":
+                return fileStore(policy, shared);
+            default:
+                System.err.println("[WARN] Unknown MINDQUEST_SESSION_STORE '" + type + "', using file");
+                return fileStore(policy, shared);
+        }
+    }
+
+    private static SessionStore fileStore(SessionPolicy policy, boolean shared) {
+        return shared ? new FileSessionStore(policy.getSessionDir()) : FileSessionStore.privateTo(policy.getSessionDir());
+    }
+}
@@ -0,0 +1,209 @@
+package com.mindquest.server.session;
+
+import com.mindquest.config.ServerConfig;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in session store process that several MindQuest nodes on one machine
+ * can share through SocketSessionStore.
+ *
+ * Usage:
+ *   java -cp mindquest-backend.jar com.mindquest.server.session.SessionStoreServer [port] [directory]
+ *
+ * Records are kept in memory unless a directory is given, in which case they are
+ * written through a FileSessionStore and survive a store restart. Binds to the
+ * loopback interface only; this is not meant to be exposed on a network.
+ *
+ * Read from system properties / environment variables:
+ * - MINDQUEST_SESSION_STORE_PORT: port when none is given (default 7071)
+ * - MINDQUEST_SESSION_STORE_MAX_RECORD_KB: largest record accepted; a connection
+ *   that announces a bigger one is closed (default 4096)
+ */
+public class SessionStoreServer {
+
+    private static final int DEFAULT_PORT = 7071;
+    private static final int MAX_CONNECTIONS = 256;
+    private static final int DEFAULT_MAX_RECORD_KB = 4096;
+
+    private final SessionStore store;
+    private final int maxRecordBytes;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+    private final AtomicInteger threadCounter = new AtomicInteger(1);
+
+    public SessionStoreServer(SessionStore store, int port) throws IOException {
+        this(store, port, ServerConfig.getInt("MINDQUEST_SESSION_STORE_MAX_RECORD_KB", DEFAULT_MAX_RECORD_KB) * 1024);
+    }
+
+    public SessionStoreServer(SessionStore store, int port, int maxRecordBytes) throws IOException {
+        this.store = store;
+        this.maxRecordBytes = maxRecordBytes;
+        this.serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        // One thread per node connection; nodes pool their connections so this stays small
+        this.connections = Executors.newFixedThreadPool(MAX_CONNECTIONS, r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            t.setName("SessionStore-Conn-" + threadCounter.getAndIncrement());
+            return t;
+        });
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0
+            ? Integer.parseInt(args[0])
+            : ServerConfig.getInt("MINDQUEST_SESSION_STORE_PORT", DEFAULT_PORT);
+        SessionStore store = args.length > 1 ? new FileSessionStore(args[1]) : new InMemorySessionStore();
+
+        SessionStoreServer server = new SessionStoreServer(store, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        System.out.println("[SessionStoreServer] Serving " + store.describe() + " on 127.0.0.1:" + server.getPort());
+        server.serve();
+    }
+
+    /**
+     * Accept connections until the server socket is closed.
+     */
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.execute(() -> handle(socket));
+            } catch (SocketException e) {
+                // Closed by stop()
+            } catch (IOException e) {
+                System.err.println("[SessionStoreServer] Accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Run {@link #serve()} on a background daemon thread.
+     */
+    public SessionStoreServer startInBackground() {
+        Thread acceptor = new Thread(this::serve, "SessionStore-Acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return this;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void stop() {
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // Shutting down anyway
+        }
+        connections.shutdownNow();
+        try {
+            store.close();
+        } catch (IOException e) {
+            System.err.println("[SessionStoreServer] Error closing store: " + e.getMessage());
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    return; // Client closed the connection
+                }
+                String sessionId = in.readUTF();
+                dispatch(op, sessionId, in, out);
+                out.flush();
+            }
+        } catch (IOException e) {
+            if (!serverSocket.isClosed()) {
+                System.err.println("[SessionStoreServer] Connection error: " + e.getMessage());
+            }
+        }
+    }
+
+    private void dispatch(byte op, String sessionId, DataInputStream in, DataOutputStream out) throws IOException {
+        // Read the whole request before touching the store so a store error
+        // leaves the stream positioned at the next request
+        long expectedVersion = 0;
+        long createdAt = 0;
+        long maxIdleMs = 0;
+        byte[] data = null;
+        if (op == SocketSessionStore.OP_COMPARE_AND_PUT) {
+            expectedVersion = in.readLong();
+            createdAt = in.readLong();
+            int length = in.readInt();
+            if (length < 0 || length > maxRecordBytes) {
+                // The rest of the stream cannot be trusted; handle() closes the connection
+                throw new IOException("Rejected record of " + length + " bytes for " + sessionId
+                    + " (limit " + maxRecordBytes + ")");
+            }
+            data = new byte[length];
+            in.readFully(data);
+        } else if (op == SocketSessionStore.OP_PURGE_IDLE) {
+            maxIdleMs = in.readLong();
+        }
+
+        try {
+            switch (op) {
+                case SocketSessionStore.OP_LOAD -> {
+                    SessionStore.StoredSession session = store.load(sessionId);
+                    out.writeByte(SocketSessionStore.STATUS_OK);
+                    out.writeBoolean(session != null);
+                    if (session != null) {
+                        out.writeLong(session.version());
+                        out.writeLong(session.createdAt());
+                        out.writeInt(session.data().length);
+                        out.write(session.data());
+                    }
+                }
+                case SocketSessionStore.OP_VERSION -> {
+                    long version = store.version(sessionId);
+                    out.writeByte(SocketSessionStore.STATUS_OK);
+                    out.writeLong(version);
+                }
+                case SocketSessionStore.OP_COMPARE_AND_PUT -> {
+                    long version = store.compareAndPut(sessionId, expectedVersion, createdAt, data);
+                    out.writeByte(SocketSessionStore.STATUS_OK);
+                    out.writeLong(version);
+                }
+                case SocketSessionStore.OP_DELETE -> {
+                    store.delete(sessionId);
+                    out.writeByte(SocketSessionStore.STATUS_OK);
+                }
+                case SocketSessionStore.OP_PURGE_IDLE -> {
+                    int removed = store.purgeIdle(maxIdleMs);
+                    out.writeByte(SocketSessionStore.STATUS_OK);
+                    out.writeInt(removed);
+                }
+                case SocketSessionStore.OP_CLEAR -> {
+                    int removed = store.clear();
+                    out.writeByte(SocketSessionStore.STATUS_OK);
+                    out.writeInt(removed);
+                }
+                default -> throw new IOException("Unknown opcode " + op);
+            }
+        } catch (IOException | RuntimeException e) {
+            out.writeByte(SocketSessionStore.STATUS_ERROR);
+            out.writeUTF(String.valueOf(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.mindquest.server.session;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Client for a SessionStoreServer reachable over TCP.
+ *
+ * Each request is one opcode + session ID, answered by a status byte and the
+ * operation's result. Connections are pooled and reused; a connection that sees
+ * an I/O error is closed rather than returned to the pool.
+ */
+public class SocketSessionStore implements SessionStore {
+
+    // Wire protocol, shared with SessionStoreServer
+    static final byte OP_LOAD = 1;
+    static final byte OP_VERSION = 2;
+    static final byte OP_COMPARE_AND_PUT = 3;
+    static final byte OP_DELETE = 4;
+    static final byte OP_PURGE_IDLE = 5;
+    static final byte OP_CLEAR = 6;
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_ERROR = 1;
+
+    private static final int CONNECT_TIMEOUT_MS = 2000;
+    private static final int READ_TIMEOUT_MS = 5000;
+    private static final int MAX_IDLE_CONNECTIONS = 16;
+
+    private static final class Connection {
+        final Socket socket;
+        final DataInputStream in;
+        final DataOutputStream out;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Already broken
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call<T> {
+        T exchange(DataInputStream in, DataOutputStream out) throws IOException;
+    }
+
+    private final String host;
+    private final int port;
+    private final ConcurrentLinkedQueue<Connection> idle = new ConcurrentLinkedQueue<>();
+
+    public SocketSessionStore(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Parse a "host:port" address.
+     */
+    public static SocketSessionStore forAddress(String address) {
+        int colon = address.lastIndexOf(':');
+        if (colon <= 0 || colon == address.length() - 1) {
+            throw new IllegalArgumentException("Session store address must be host:port, got '" + address + "'");
+        }
+        return new SocketSessionStore(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+    }
+
+    @Override
+    public StoredSession load(String sessionId) throws IOException {
+        return call(OP_LOAD, sessionId, (in, out) -> {
+            out.flush();
+            readStatus(in);
+            if (!in.readBoolean()) {
+                return null;
+            }
+            long version = in.readLong();
+            long createdAt = in.readLong();
+            byte[] data = new byte[in.readInt()];
+            in.readFully(data);
+            return new StoredSession(version, createdAt, data);
+        });
+    }
+
+    @Override
+    public long version(String sessionId) throws IOException {
+        return call(OP_VERSION, sessionId, (in, out) -> {
+            out.flush();
+            readStatus(in);
+            return in.readLong();
+        });
+    }
+
+    @Override
+    public long compareAndPut(String sessionId, long expectedVersion, long createdAt, byte[] data) throws IOException {
+        return call(OP_COMPARE_AND_PUT, sessionId, (in, out) -> {
+            out.writeLong(expectedVersion);
+            out.writeLong(createdAt);
+            out.writeInt(data.length);
+            out.write(data);
+            out.flush();
+            readStatus(in);
+            return in.readLong();
+        });
+    }
+
+    @Override
+    public void delete(String sessionId) throws IOException {
+        call(OP_DELETE, sessionId, (in, out) -> {
+            out.flush();
+            readStatus(in);
+            return null;
+        });
+    }
+
+    @Override
+    public int purgeIdle(long maxIdleMs) throws IOException {
+        return call(OP_PURGE_IDLE, "", (in, out) -> {
+            out.writeLong(maxIdleMs);
+            out.flush();
+            readStatus(in);
+            return in.readInt();
+        });
+    }
+
+    @Override
+    public int clear() throws IOException {
+        return call(OP_CLEAR, "", (in, out) -> {
+            out.flush();
+            readStatus(in);
+            return in.readInt();
+        });
+    }
+
+    @Override
+    public String describe() {
+        return "socket:" + host + ":" + port;
+    }
+
+    @Override
+    public void close() {
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    private <T> T call(byte op, String sessionId, Call<T> call) throws IOException {
+        Connection connection = idle.poll();
+        if (connection == null) {
+            connection = open();
+        }
+        try {
+            connection.out.writeByte(op);
+            connection.out.writeUTF(sessionId);
+            T result = call.exchange(connection.in, connection.out);
+            release(connection);
+            return result;
+        } catch (RemoteException e) {
+            // The server answered; the connection is still in a clean state
+            release(connection);
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    private Connection open() throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            socket.setSoTimeout(READ_TIMEOUT_MS);
+            socket.setTcpNoDelay(true);
+            return new Connection(socket);
+        } catch (IOException e) {
+            socket.close();
+            throw new IOException("Session store unreachable at " + host + ":" + port + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void release(Connection connection) {
+        if (idle.size() < MAX_IDLE_CONNECTIONS) {
+            idle.offer(connection);
+        } else {
+            connection.close();
+        }
+    }
+
+    private static void readStatus(DataInputStream in) throws IOException {
+        if (in.readByte() != STATUS_OK) {
+            throw new RemoteException(in.readUTF());
+        }
+    }
+
+    /** Error reported by the store server, as opposed to a transport failure. */
+    private static final class RemoteException extends IOException {
+        RemoteException(String message) {
+            super("Session store error: " + message);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.mindquest.server.session;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel for coarse-grained expiry (session TTLs).
+ *
+ * Scheduling and cancellation are O(1): an element is appended to the bucket for
+ * its deadline tick. Deadlines further out than one revolution simply stay in their
+ * bucket until the revolution that makes them due. Elements are not rescheduled on
+ * every access; instead the handler is asked for the element's real deadline when its
+ * bucket fires and may push it further out.
+ *
+ * advance() is expected to be called from a single reaper thread; schedule() may be
+ * called from any thread.
+ *
+ * @param <E> The element type being tracked
+ */
+public final class TimingWheel<E> {
+
+    /**
+     * Decides what happens to an element whose bucket has fired.
+     */
+    @FunctionalInterface
+    public interface ExpiryHandler<E> {
+        /**
+         * @param element The element whose scheduled deadline has passed
+         * @param nowMs Current time in milliseconds
+         * @return A new deadline (ms) to keep tracking the element, or a value
+         *         less than or equal to nowMs to drop it from the wheel
+         */
+        long onDeadline(E element, long nowMs);
+    }
+
+    private static final class Slot<E> {
+        final E element;
+        final long deadlineTick;
+
+        Slot(E element, long deadlineTick) {
+            this.element = element;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    private final long tickMs;
+    private final Queue<Slot<E>>[] buckets;
+    private final ExpiryHandler<E> handler;
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMs, int wheelSize, long startMs, ExpiryHandler<E> handler) {
+        if (tickMs <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMs and wheelSize must be positive");
+        }
+        this.tickMs = tickMs;
+        this.handler = handler;
+        this.buckets = (Queue<Slot<E>>[]) new Queue<?>[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    /**
+     * Track an element until its deadline.
+     *
+     * @param element The element to track
+     * @param deadlineMs Absolute deadline in milliseconds
+     */
+    public void schedule(E element, long deadlineMs) {
+        // Never land in a bucket that has already been processed for this tick
+        long tick = Math.max(deadlineMs / tickMs, currentTick + 1);
+        buckets[(int) (tick % buckets.length)].add(new Slot<>(element, tick));
+        size.incrementAndGet();
+    }
+
+    /**
+     * Process every bucket up to the given time.
+     *
+     * @param nowMs Current time in milliseconds
+     */
+    public void advance(long nowMs) {
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            long tick = currentTick + 1;
+            // Publish the tick first so reschedules from the handler land in a later bucket
+            currentTick = tick;
+            Queue<Slot<E>> bucket = buckets[(int) (tick % buckets.length)];
+            // Only drain what is there now; rescheduled slots must wait for a later pass
+            int pending = bucket.size();
+            for (int i = 0; i < pending; i++) {
+                Slot<E> slot = bucket.poll();
+                if (slot == null) {
+                    break;
+                }
+                if (slot.deadlineTick > tick) {
+                    // Due in a later revolution
+                    bucket.add(slot);
+                    continue;
+                }
+                size.decrementAndGet();
+                long next = handler.onDeadline(slot.element, nowMs);
+                if (next > nowMs) {
+                    schedule(slot.element, next);
+                }
+            }
+        }
+    }
+
+    /** Number of scheduled slots (including ones whose element may already be gone). */
+    public int size() {
+        return size.get();
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+}
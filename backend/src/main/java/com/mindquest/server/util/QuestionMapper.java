@@ -0,0 +1,40 @@
+package com.mindquest.server.util;
+
+import com.mindquest.model.question.Question;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class for converting questions to JSON-friendly maps.
+ */
+public final class QuestionMapper {
+
+    private QuestionMapper() {
+        // Utility class - no instantiation
+    }
+
+    /**
+     * Convert a generated question, including its correct answer.
+     */
+    public static Map<String, Object> toMap(Question q) {
+        Map<String, Object> qMap = new HashMap<>();
+        qMap.put("id", q.getId());
+        qMap.put("questionText", q.getQuestionText());
+        qMap.put("choices", q.getChoices());
+        qMap.put("correctIndex", q.getCorrectIndex());
+        qMap.put("difficulty", q.getDifficulty());
+        qMap.put("topic", q.getTopic());
+        return qMap;
+    }
+
+    public static List<Map<String, Object>> toMaps(List<Question> questions) {
+        List<Map<String, Object>> questionList = new ArrayList<>(questions.size());
+        for (Question q : questions) {
+            questionList.add(toMap(q));
+        }
+        return questionList;
+    }
+}
@@ -49,6 +49,25 @@ public final class TopicNormalizer {
         return lower.substring(0, 1).toUpperCase() + lower.substring(1);
     }
 
+    /**
+     * Clean a user-supplied topic before it is placed in an LLM prompt:
+     * max 100 chars (to prevent prompt injection) and no special characters.
+     */
+    public static String sanitizePromptTopic(String topic) {
+        String clean = topic.trim();
+        if (clean.length() > 100) {
+            clean = clean.substring(0, 100);
+        }
+        return clean.replaceAll("[^a-zA-Z0-9\\s\\-]", "");
+    }
+
+    /**
+     * Clamp a requested number of generated questions to 5-10.
+     */
+    public static int clampQuestionCount(int count) {
+        return Math.max(5, Math.min(10, count));
+    }
+
     /**
      * Capitalize the first letter of each word in the input string.
      */
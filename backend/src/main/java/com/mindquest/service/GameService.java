@@ -7,15 +7,21 @@ import com.mindquest.model.game.Player;
 import com.mindquest.model.question.Question;
 import com.mindquest.service.dto.AnswerResult;
 import com.mindquest.service.dto.RoundSummary;
+import com.mindquest.service.dto.SessionSnapshot;
+import com.mindquest.service.executor.SessionMailbox;
 import com.mindquest.service.scoring.DifficultyMultipliers;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 
+/**
+ * Game rules and per-session progress. Not thread-safe: the player and the
+ * round counters are plain fields, so server code runs every operation on the
+ * session's {@link #getMailbox() mailbox}, which executes them one at a time.
+ */
 public class GameService {
     // Game Balance Constants
     private static final long CRITICAL_HIT_THRESHOLD_MS = 5000;
@@ -25,9 +31,7 @@ public class GameService {
     private static final int COUNTERATTACK_STREAK_THRESHOLD = 3;
     private static final double COUNTERATTACK_DAMAGE_MULTIPLIER = 1.5;
     private static final int FINAL_CHANCE_HP_RESTORE = 30;
-    
-    // Thread Pool Configuration
-    private static final int MIN_THREAD_POOL_SIZE = 2;
+    private static final int ANSWER_REPLY_CACHE_SIZE = 32;
     
     private final SessionManager sessionManager;
     private final Player player;
@@ -45,17 +49,19 @@ public class GameService {
     // Streak tracking
     private int correctStreak = 0;
     private int wrongStreak = 0;
-    
-    private static final AtomicInteger poolThreadCounter = new AtomicInteger(1);
-    private final ExecutorService backgroundPool = Executors.newFixedThreadPool(
-        Math.max(MIN_THREAD_POOL_SIZE, Runtime.getRuntime().availableProcessors()/2),
-        r -> {
-            Thread t = new Thread(r);
-            t.setDaemon(true);
-            t.setName("GameService-" + poolThreadCounter.getAndIncrement());
-            return t;
+
+    private volatile StateChangeListener stateListener;
+    private final SessionMailbox mailbox = SessionMailbox.onSharedExecutor();
+
+    // Replies to the most recent answers by idempotency key. Like the rest of the
+    // state it is only touched from the mailbox; it is not persisted, so after a
+    // restart a retry is caught by the question index check instead.
+    private final Map<String, Object> answerReplies = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+            return size() > ANSWER_REPLY_CACHE_SIZE;
         }
-    );
+    };
 
     public GameService(SessionManager sessionManager, Player player, QuestionBank questionBank) {
         this.sessionManager = sessionManager;
@@ -94,6 +100,7 @@ public class GameService {
         // (hints are per-round and reset automatically, so not snapshotted)
         snapshotHp = player.getHp();
         snapshotScore = player.getScore();
+        notifyChange(StateChangeListener.Change.ROUND_STARTED);
     }
     
     /**
@@ -120,31 +127,34 @@ public class GameService {
         // Snapshot HP/score for revert
         snapshotHp = player.getHp();
         snapshotScore = player.getScore();
+        notifyChange(StateChangeListener.Change.ROUND_STARTED);
     }
 
     /**
+     * Runs startNewRound on this session's mailbox.
      * Times out after 60 seconds to prevent indefinite hangs.
      */
     public CompletableFuture<Void> startNewRoundAsync(String topic, String difficulty) {
-        return CompletableFuture.runAsync(
-            () -> startNewRound(topic, difficulty),
-            backgroundPool
-        ).orTimeout(60, TimeUnit.SECONDS);
+        return mailbox.submit(() -> {
+            startNewRound(topic, difficulty);
+            return (Void) null;
+        }).orTimeout(60, TimeUnit.SECONDS);
     }
 
     /**
-     * Shutdown the background executor used by this service.
+     * Serial executor for this session's operations; see the class comment.
+     */
+    public SessionMailbox getMailbox() {
+        return mailbox;
+    }
+
+    /**
+     * Release per-session resources.
+     * The mailbox drains on the shared executor, which lives as long as
+     * the process, so there is nothing per-session to stop here.
      */
     public void shutdown() {
-        backgroundPool.shutdown();
-        try {
-            if (!backgroundPool.awaitTermination(5, TimeUnit.SECONDS)) {
-                backgroundPool.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            backgroundPool.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+        // No per-session threads to stop
     }
 
     /**
@@ -165,8 +175,53 @@ public class GameService {
         return sessionManager.hasMoreQuestions();
     }
 
+    /**
+     * Retrieves all questions of the current round in play order.
+     *
+     * @return Unmodifiable list, empty if no round has started
+     */
+    public List<Question> getCurrentRoundQuestions() {
+        return sessionManager.getCurrentRoundQuestions();
+    }
+
+    /**
+     * @return 0-based index of the current question within the round
+     */
+    public int getCurrentQuestionIndex() {
+        return sessionManager.getCurrentQuestionIndex();
+    }
+
     public void moveToNextQuestion() {
         sessionManager.moveToNextQuestion();
+        notifyChange(StateChangeListener.Change.QUESTION_ADVANCED);
+    }
+
+    /**
+     * Advances past the question at {@code expectedIndex}, unless another answer
+     * already did.
+     *
+     * @return true if this call advanced the round
+     */
+    public boolean advanceFrom(int expectedIndex) {
+        if (!sessionManager.advanceFrom(expectedIndex)) {
+            return false;
+        }
+        notifyChange(StateChangeListener.Change.QUESTION_ADVANCED);
+        return true;
+    }
+
+    /**
+     * Reply sent for an earlier answer with this idempotency key, or null.
+     */
+    public Object getAnswerReply(String idempotencyKey) {
+        return answerReplies.get(idempotencyKey);
+    }
+
+    /**
+     * Remember the reply to an applied answer so a retry can be answered with it.
+     */
+    public void rememberAnswerReply(String idempotencyKey, Object reply) {
+        answerReplies.put(idempotencyKey, reply);
     }
 
     public int getGlobalPoints() {
@@ -179,7 +234,11 @@ public class GameService {
      * @return true if hint was successfully used, false if no hints remain
      */
     public boolean useHint() {
-        return player.useHint();
+        boolean used = player.useHint();
+        if (used) {
+            notifyChange(StateChangeListener.Change.HINT_CHANGED);
+        }
+        return used;
     }
 
     public int getHints() {
@@ -193,6 +252,7 @@ public class GameService {
   
     public void restoreHint() {
         player.restoreHint();
+        notifyChange(StateChangeListener.Change.HINT_CHANGED);
     }
 
     /**
@@ -288,6 +348,8 @@ public class GameService {
             currentAccuracy = Math.min(100.0, (correctAnswersCount * 100.0) / totalAnswered);
         }
 
+        notifyChange(StateChangeListener.Change.ANSWER_EVALUATED);
+
         return new AnswerResult(
             correct, 
             pointsAwarded, 
@@ -336,6 +398,7 @@ public class GameService {
         
         snapshotHp = null;
         snapshotScore = null;
+        notifyChange(StateChangeListener.Change.POINTS_ADDED);
         
         return new RoundSummary(
             hpBonus, 
@@ -360,6 +423,7 @@ public class GameService {
         }
         snapshotHp = null;
         snapshotScore = null;
+        notifyChange(StateChangeListener.Change.ROUND_ROLLED_BACK);
     }
 
     /**
@@ -375,6 +439,8 @@ public class GameService {
     }
 
     public String getCurrentTopic() { return sessionManager.getCurrentTopic(); }
+
+    public String getCurrentDifficulty() { return sessionManager.getCurrentDifficulty(); }
     
     public int getCorrectStreak() { return correctStreak; }
     
@@ -383,4 +449,59 @@ public class GameService {
     public void setSourceConfig(SourceConfig config) {
         sessionManager.setSourceConfig(config);
     }
+
+    /**
+     * Register a listener for state transitions (round start, answers, points, ...).
+     * Pass null to remove it.
+     */
+    public void setStateListener(StateChangeListener listener) {
+        this.stateListener = listener;
+    }
+
+    private void notifyChange(StateChangeListener.Change change) {
+        StateChangeListener listener = stateListener;
+        if (listener != null) {
+            listener.onChange(change, this);
+        }
+    }
+
+    /**
+     * Captures session, player and round statistics so the session can be
+     * dropped from memory and rebuilt later with {@link #restore}.
+     */
+    public SessionSnapshot snapshot() {
+        SessionSnapshot.Builder builder = new SessionSnapshot.Builder();
+        sessionManager.exportTo(builder);
+        return builder
+            .player(player.getHp(), player.getScore(), player.getHints(), player.getMaxHints())
+            .answerStats(correctAnswersCount, incorrectAnswersCount, totalAnswerTimeMs, answersWithTime)
+            .streaks(correctStreak, wrongStreak)
+            .rollback(snapshotHp, snapshotScore)
+            .build();
+    }
+
+    /**
+     * Rebuilds a GameService (with its own SessionManager and Player) from a snapshot.
+     *
+     * @param snapshot State captured by {@link #snapshot()}
+     * @param questionBank The shared question bank
+     * @return A GameService equivalent to the one that was snapshotted
+     */
+    public static GameService restore(SessionSnapshot snapshot, QuestionBank questionBank) {
+        Player player = new Player();
+        player.restoreState(snapshot.getHp(), snapshot.getScore(), snapshot.getHints(), snapshot.getMaxHints());
+        SessionManager sessionManager = new SessionManager(player, questionBank);
+        sessionManager.restoreFrom(snapshot);
+
+        GameService service = new GameService(sessionManager, player, questionBank);
+        service.correctAnswersCount = snapshot.getCorrectAnswers();
+        service.incorrectAnswersCount = snapshot.getIncorrectAnswers();
+        service.totalAnswerTimeMs = snapshot.getTotalAnswerTimeMs();
+        service.answersWithTime = snapshot.getAnswersWithTime();
+        service.correctStreak = snapshot.getCorrectStreak();
+        service.wrongStreak = snapshot.getWrongStreak();
+        service.snapshotHp = snapshot.getRollbackHp();
+        service.snapshotScore = snapshot.getRollbackScore();
+        return service;
+    }
 }
@@ -0,0 +1,20 @@
+package com.mindquest.service;
+
+/**
+ * Receives GameService state transitions, e.g. to journal session progress.
+ * Called on the thread that made the change, after the change is applied.
+ */
+@FunctionalInterface
+public interface StateChangeListener {
+
+    enum Change {
+        ROUND_STARTED,
+        ANSWER_EVALUATED,
+        QUESTION_ADVANCED,
+        HINT_CHANGED,
+        POINTS_ADDED,
+        ROUND_ROLLED_BACK
+    }
+
+    void onChange(Change change, GameService service);
+}
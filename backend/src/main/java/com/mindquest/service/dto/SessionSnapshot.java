@@ -0,0 +1,191 @@
+package com.mindquest.service.dto;
+
+import com.mindquest.loader.config.SourceConfig;
+import com.mindquest.model.question.Question;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Point-in-time copy of everything a session needs to be rebuilt:
+ * SessionManager state, Player stats and GameService round statistics.
+ * Used to passivate idle sessions and rehydrate them on the next request.
+ */
+public final class SessionSnapshot {
+
+    // SessionManager state
+    private final List<Question> roundQuestions;
+    private final Set<String> usedQuestionIds;
+    private final String topic;
+    private final String difficulty;
+    private final int questionIndex;
+    private final int globalPoints;
+    private final SourceConfig sourceConfig;
+
+    // Player state
+    private final int hp;
+    private final int score;
+    private final int hints;
+    private final int maxHints;
+
+    // GameService round statistics
+    private final int correctAnswers;
+    private final int incorrectAnswers;
+    private final long totalAnswerTimeMs;
+    private final int answersWithTime;
+    private final int correctStreak;
+    private final int wrongStreak;
+    private final Integer rollbackHp;
+    private final Integer rollbackScore;
+
+    private SessionSnapshot(Builder builder) {
+        this.roundQuestions = Collections.unmodifiableList(builder.roundQuestions);
+        this.usedQuestionIds = Collections.unmodifiableSet(builder.usedQuestionIds);
+        this.topic = builder.topic;
+        this.difficulty = builder.difficulty;
+        this.questionIndex = builder.questionIndex;
+        this.globalPoints = builder.globalPoints;
+        this.sourceConfig = builder.sourceConfig;
+        this.hp = builder.hp;
+        this.score = builder.score;
+        this.hints = builder.hints;
+        this.maxHints = builder.maxHints;
+        this.correctAnswers = builder.correctAnswers;
+        this.incorrectAnswers = builder.incorrectAnswers;
+        this.totalAnswerTimeMs = builder.totalAnswerTimeMs;
+        this.answersWithTime = builder.answersWithTime;
+        this.correctStreak = builder.correctStreak;
+        this.wrongStreak = builder.wrongStreak;
+        this.rollbackHp = builder.rollbackHp;
+        this.rollbackScore = builder.rollbackScore;
+    }
+
+    public List<Question> getRoundQuestions() { return roundQuestions; }
+    public Set<String> getUsedQuestionIds() { return usedQuestionIds; }
+    public String getTopic() { return topic; }
+    public String getDifficulty() { return difficulty; }
+    public int getQuestionIndex() { return questionIndex; }
+    public int getGlobalPoints() { return globalPoints; }
+    public SourceConfig getSourceConfig() { return sourceConfig; }
+    public int getHp() { return hp; }
+    public int getScore() { return score; }
+    public int getHints() { return hints; }
+    public int getMaxHints() { return maxHints; }
+    public int getCorrectAnswers() { return correctAnswers; }
+    public int getIncorrectAnswers() { return incorrectAnswers; }
+    public long getTotalAnswerTimeMs() { return totalAnswerTimeMs; }
+    public int getAnswersWithTime() { return answersWithTime; }
+    public int getCorrectStreak() { return correctStreak; }
+    public int getWrongStreak() { return wrongStreak; }
+    public Integer getRollbackHp() { return rollbackHp; }
+    public Integer getRollbackScore() { return rollbackScore; }
+
+    /**
+     * Builder pre-filled with this snapshot's values, for applying partial updates.
+     */
+    public Builder toBuilder() {
+        return new Builder()
+            .roundQuestions(roundQuestions)
+            .usedQuestionIds(usedQuestionIds)
+            .topic(topic)
+            .difficulty(difficulty)
+            .questionIndex(questionIndex)
+            .globalPoints(globalPoints)
+            .sourceConfig(sourceConfig)
+            .player(hp, score, hints, maxHints)
+            .answerStats(correctAnswers, incorrectAnswers, totalAnswerTimeMs, answersWithTime)
+            .streaks(correctStreak, wrongStreak)
+            .rollback(rollbackHp, rollbackScore);
+    }
+
+    public static class Builder {
+        private List<Question> roundQuestions = Collections.emptyList();
+        private Set<String> usedQuestionIds = new HashSet<>();
+        private String topic;
+        private String difficulty;
+        private int questionIndex;
+        private int globalPoints;
+        private SourceConfig sourceConfig;
+        private int hp;
+        private int score;
+        private int hints;
+        private int maxHints;
+        private int correctAnswers;
+        private int incorrectAnswers;
+        private long totalAnswerTimeMs;
+        private int answersWithTime;
+        private int correctStreak;
+        private int wrongStreak;
+        private Integer rollbackHp;
+        private Integer rollbackScore;
+
+        public Builder roundQuestions(List<Question> roundQuestions) {
+            this.roundQuestions = roundQuestions;
+            return this;
+        }
+
+        public Builder usedQuestionIds(Set<String> usedQuestionIds) {
+            this.usedQuestionIds = usedQuestionIds;
+            return this;
+        }
+
+        public Builder topic(String topic) {
+            this.topic = topic;
+            return this;
+        }
+
+        public Builder difficulty(String difficulty) {
+            this.difficulty = difficulty;
+            return this;
+        }
+
+        public Builder questionIndex(int questionIndex) {
+            this.questionIndex = questionIndex;
+            return this;
+        }
+
+        public Builder globalPoints(int globalPoints) {
+            this.globalPoints = globalPoints;
+            return this;
+        }
+
+        public Builder sourceConfig(SourceConfig sourceConfig) {
+            this.sourceConfig = sourceConfig;
+            return this;
+        }
+
+        public Builder player(int hp, int score, int hints, int maxHints) {
+            this.hp = hp;
+            this.score = score;
+            this.hints = hints;
+            this.maxHints = maxHints;
+            return this;
+        }
+
+        public Builder answerStats(int correctAnswers, int incorrectAnswers, long totalAnswerTimeMs, int answersWithTime) {
+            this.correctAnswers = correctAnswers;
+            this.incorrectAnswers = incorrectAnswers;
+            this.totalAnswerTimeMs = totalAnswerTimeMs;
+            this.answersWithTime = answersWithTime;
+            return this;
+        }
+
+        public Builder streaks(int correctStreak, int wrongStreak) {
+            this.correctStreak = correctStreak;
+            this.wrongStreak = wrongStreak;
+            return this;
+        }
+
+        public Builder rollback(Integer rollbackHp, Integer rollbackScore) {
+            this.rollbackHp = rollbackHp;
+            this.rollbackScore = rollbackScore;
+            return this;
+        }
+
+        public SessionSnapshot build() {
+            return new SessionSnapshot(this);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.mindquest.service.executor;
+
+import com.mindquest.logging.Log;
+import com.mindquest.logging.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Per-session command queue that runs tasks one at a time, in submission order,
+ * on a shared executor.
+ *
+ * Everything submitted to one mailbox happens-before the next task starts, so
+ * session state (Player, GameService counters) needs no locks as long as it is
+ * only touched from mailbox tasks. Different sessions drain in parallel on the
+ * shared workers; an idle mailbox holds no thread and costs one empty queue.
+ *
+ * A busy mailbox yields its worker after {@value #BATCH_SIZE} tasks so one
+ * chatty session cannot monopolize a worker.
+ */
+public final class SessionMailbox implements Executor {
+
+    private static final int BATCH_SIZE = 16;
+    private static final Logger log = Log.get("SessionMailbox");
+
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public SessionMailbox(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Mailbox draining on the server-wide {@link SharedExecutor}. Drains go through
+     * its queueing path, so a saturated pool never runs one inline on the thread
+     * that submitted a task (a Jetty thread, the reaper, or another session's drain).
+     */
+    public static SessionMailbox onSharedExecutor() {
+        return new SessionMailbox(SharedExecutor.get().queueing());
+    }
+
+    /**
+     * Queue a task; it runs after every task submitted before it.
+     *
+     * @throws RejectedExecutionException if the underlying executor refuses the
+     *         drain (e.g. it has been shut down); the task is not kept
+     */
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        try {
+            schedule();
+        } catch (RejectedExecutionException e) {
+            tasks.remove(task);
+            throw e;
+        }
+    }
+
+    /**
+     * Queue a task and get its result. Exceptions complete the future exceptionally.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, this);
+    }
+
+    /** Tasks waiting in this mailbox. */
+    public int getPendingCount() {
+        return tasks.size();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                // Nothing is draining; leave the mailbox schedulable so a later submit can retry
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                // supplyAsync tasks never throw; plain execute() callers own their errors
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Task failed", e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // A task queued after the last poll, or left over from the batch, needs a new drain
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
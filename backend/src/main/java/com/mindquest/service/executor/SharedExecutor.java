@@ -0,0 +1,229 @@
+package com.mindquest.service.executor;
+
+import com.mindquest.config.ServerConfig;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Server-wide bounded executor shared by every session and by the question loaders.
+ * Replaces the per-GameService thread pools so that idle sessions cost no threads.
+ *
+ * Sizing (system property or environment variable):
+ * - MINDQUEST_EXECUTOR_THREADS: worker threads (default: max(2, available processors))
+ * - MINDQUEST_EXECUTOR_QUEUE: queued tasks before back-pressure kicks in (default: 1024)
+ *
+ * When the queue is full the submitting thread runs the task itself, so callers
+ * slow down instead of failing. Work submitted through {@link #queueing()} is
+ * never run inline: it waits in an overflow list that workers move back into
+ * the queue as it frees up.
+ *
+ * The pool lives as long as the JVM: servers started and stopped in one process
+ * (tests, the load generator) all share it, so only a JVM shutdown hook stops it.
+ * After that, new tasks are rejected with {@link RejectedExecutionException}.
+ */
+public final class SharedExecutor {
+
+    private static final int MIN_THREADS = 2;
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static final class Holder {
+        private static final SharedExecutor INSTANCE = new SharedExecutor(
+            ServerConfig.getInt("MINDQUEST_EXECUTOR_THREADS",
+                Math.max(MIN_THREADS, Runtime.getRuntime().availableProcessors())),
+            ServerConfig.getInt("MINDQUEST_EXECUTOR_QUEUE", DEFAULT_QUEUE_CAPACITY)
+        );
+    }
+
+    private final ThreadPoolExecutor pool;
+    private final int queueCapacity;
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    // Queueing tasks that found the queue full, in arrival order
+    private final Queue<Runnable> overflow = new ConcurrentLinkedQueue<>();
+    private final Executor queueing = task -> execute(new QueuedTask(task));
+    private final AtomicInteger threadCounter = new AtomicInteger(1);
+
+    private SharedExecutor(int threads, int queueCapacity) {
+        int workerCount = Math.max(1, threads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+
+        RejectedExecutionHandler backPressure = (task, executor) -> {
+            if (executor.isShutdown()) {
+                // Reject outright; silently dropping the task would leave its future pending forever
+                throw new RejectedExecutionException("Shared executor has been shut down");
+            }
+            if (task instanceof QueuedTask) {
+                overflowed.increment();
+                overflow.add(task);
+                // Workers pump the overflow after each task; if they all went idle
+                // before it was added, nothing would, so pump here
+                if (executor.getQueue().isEmpty()) {
+                    pumpOverflow();
+                }
+                return;
+            }
+            callerRuns.increment();
+            task.run();
+        };
+
+        this.pool = new ThreadPoolExecutor(
+            workerCount,
+            workerCount,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(this.queueCapacity),
+            r -> {
+                Thread t = new Thread(r);
+                t.setDaemon(true);
+                t.setName("MindQuest-Worker-" + threadCounter.getAndIncrement());
+                return t;
+            },
+            backPressure
+        ) {
+            @Override
+            protected void afterExecute(Runnable task, Throwable error) {
+                pumpOverflow();
+            }
+        };
+        // Idle workers exit so a quiet server holds no threads
+        this.pool.allowCoreThreadTimeOut(true);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "MindQuest-ExecutorShutdown"));
+    }
+
+    /**
+     * Get the process-wide executor instance.
+     */
+    public static SharedExecutor get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * The underlying executor, for use with CompletableFuture.*Async.
+     */
+    public ExecutorService executor() {
+        return pool;
+    }
+
+    /**
+     * Executor that never runs a task on the submitting thread, for work that must
+     * not nest inside whatever the caller is doing (session mailbox drains).
+     * A full queue delays such tasks instead.
+     */
+    public Executor queueing() {
+        return queueing;
+    }
+
+    public CompletableFuture<Void> runAsync(Runnable task) {
+        return CompletableFuture.runAsync(task, pool);
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, pool);
+    }
+
+    /** Tasks waiting for a worker. */
+    public int getQueueDepth() {
+        return pool.getQueue().size();
+    }
+
+    /** Tasks currently executing on a worker. */
+    public int getActiveTaskCount() {
+        return pool.getActiveCount();
+    }
+
+    public int getPoolSize() {
+        return pool.getPoolSize();
+    }
+
+    public int getMaxThreads() {
+        return pool.getMaximumPoolSize();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getCompletedTaskCount() {
+        return pool.getCompletedTaskCount();
+    }
+
+    /** Tasks that ran on the submitting thread because the queue was full. */
+    public long getCallerRunsCount() {
+        return callerRuns.sum();
+    }
+
+    /** Queueing tasks that had to wait in the overflow list because the queue was full. */
+    public long getOverflowCount() {
+        return overflowed.sum();
+    }
+
+    /**
+     * Snapshot of the executor gauges for health/diagnostic endpoints.
+     */
+    public Map<String, Object> stats() {
+        return Map.of(
+            "queueDepth", getQueueDepth(),
+            "queueCapacity", queueCapacity,
+            "activeTasks", getActiveTaskCount(),
+            "poolSize", getPoolSize(),
+            "maxThreads", getMaxThreads(),
+            "completedTasks", getCompletedTaskCount(),
+            "callerRuns", getCallerRunsCount(),
+            "overflowed", getOverflowCount(),
+            "overflowDepth", overflow.size()
+        );
+    }
+
+    private void execute(Runnable task) {
+        pool.execute(task);
+    }
+
+    /**
+     * Move overflowed tasks into the queue while it has room. A task that loses
+     * the race for the last slot goes back to the overflow list.
+     */
+    private void pumpOverflow() {
+        Runnable next;
+        while (pool.getQueue().remainingCapacity() > 0 && !pool.isShutdown() && (next = overflow.poll()) != null) {
+            pool.execute(next);
+        }
+    }
+
+    /** Marks a task submitted through {@link #queueing()}. */
+    private record QueuedTask(Runnable task) implements Runnable {
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    /**
+     * Stop accepting work and wait briefly for running tasks.
+     * Runs from the JVM shutdown hook; the executor cannot be restarted.
+     */
+    private void shutdown() {
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(5, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
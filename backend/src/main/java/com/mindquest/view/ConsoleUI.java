@@ -2,7 +2,8 @@ package com.mindquest.view;
 
 import com.mindquest.util.ColorUtils;
 import com.mindquest.util.ConsoleUtils;
-import com.mindquest.config.GameConfig;
+import com.mindquest.logging.Log;
+import com.mindquest.logging.Logger;
 import com.mindquest.controller.InputHandler;
 import com.mindquest.controller.MenuId;
 import com.mindquest.loader.config.SourceConfig;
@@ -14,6 +15,9 @@ import java.util.List;
 
 public class ConsoleUI {
 
+    // Answer/ID reveal while playing; enable with MINDQUEST_LOG_LEVEL_CONSOLE=DEBUG
+    private static final Logger DEBUG_LOG = Log.get("Console");
+
     public static void clearScreen() {
         ConsoleUtils.clearScreen();
     }
@@ -136,7 +140,7 @@ public class ConsoleUI {
         System.out.println(ColorUtils.orange("Tip: Type 'EXIT' to abandon this round and return to the main menu."));
         System.out.print("Enter your answer (1-" + choicesToDisplay.size() + "): ");
 
-        if (GameConfig.DEBUG) {
+        if (DEBUG_LOG.isDebugEnabled()) {
             System.out.println("\n[DEBUG] Correct Answer Index: " + (question.getCorrectIndex() + 1));
             System.out.println("[DEBUG] Question ID: " + question.getId());
             if (sourceConfig != null) {
@@ -0,0 +1,99 @@
+package com.mindquest.controller;
+
+import com.mindquest.model.question.EasyQuestion;
+import com.mindquest.model.question.Question;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Quick harness for bitset-backed round draws.
+ */
+public class QuestionDeckTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== Question Deck Test ===\n");
+
+        testDrawsExhaustBucket();
+        testResyncFromUsedIds();
+        testDrawsAreUniform();
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void testDrawsExhaustBucket() {
+        List<Question> bucket = bucket(1003);
+        QuestionDeck deck = new QuestionDeck(bucket);
+        Random random = new Random(7);
+        UsedQuestionIds used = UsedQuestionIds.empty();
+        Set<String> seen = new HashSet<>();
+        boolean unique = true;
+        int rounds = 0;
+        while (true) {
+            QuestionDeck.Draw draw = deck.draw(5, used, random);
+            if (draw.questions().isEmpty()) {
+                break;
+            }
+            for (Question q : draw.questions()) {
+                unique &= seen.add(q.getId());
+            }
+            UsedQuestionIds next = used.plus(draw.questions().stream().map(Question::getId).toList());
+            deck.commit(draw, used, next);
+            used = next;
+            rounds++;
+        }
+        report("Every question drawn exactly once before the bucket runs dry",
+            unique && seen.size() == bucket.size() && rounds == 201);
+    }
+
+    private static void testResyncFromUsedIds() {
+        List<Question> bucket = bucket(10);
+        QuestionDeck deck = new QuestionDeck(bucket);
+        List<String> played = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            played.add(bucket.get(i).getId());
+        }
+        QuestionDeck.Draw draw = deck.draw(5, UsedQuestionIds.copyOf(played), new Random(1));
+        Set<String> ids = new HashSet<>();
+        draw.questions().forEach(q -> ids.add(q.getId()));
+        report("Deck rebuilt from session used IDs",
+            ids.equals(Set.of(bucket.get(8).getId(), bucket.get(9).getId())));
+    }
+
+    private static void testDrawsAreUniform() {
+        List<Question> bucket = bucket(20);
+        QuestionDeck deck = new QuestionDeck(bucket);
+        UsedQuestionIds used = UsedQuestionIds.copyOf(List.of(bucket.get(3).getId()));
+        Random random = new Random(42);
+        int[] hits = new int[bucket.size()];
+        int trials = 40_000;
+        for (int t = 0; t < trials; t++) {
+            for (int ordinal : deck.draw(5, used, random).ordinals()) {
+                hits[ordinal]++;
+            }
+        }
+        double expected = trials * 5.0 / 19;
+        boolean uniform = hits[3] == 0;
+        for (int i = 0; i < hits.length; i++) {
+            if (i != 3) {
+                uniform &= Math.abs(hits[i] - expected) < expected * 0.05;
+            }
+        }
+        report("Unused questions drawn uniformly, used ones never", uniform);
+    }
+
+    private static List<Question> bucket(int size) {
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            questions.add(new EasyQuestion("Q_" + i, "Question " + i, List.of("A", "B", "C", "D"), 0, "Test"));
+        }
+        return questions;
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.mindquest.controller;
+
+import com.mindquest.model.QuestionBank;
+import com.mindquest.model.game.Player;
+import com.mindquest.model.question.EasyQuestion;
+import com.mindquest.model.question.Question;
+import com.mindquest.service.executor.SharedExecutor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Quick harness for next-round prefetch: a round for the same topic and
+ * difficulty is served from the background load, a different one is not, and a
+ * prefetch still queued on the shared pool is never waited on.
+ */
+public class RoundPrefetchTest {
+
+    /**
+     * Bank with one large bucket per topic that counts how often it is asked for questions.
+     */
+    private static final class CountingBank extends QuestionBank {
+        private final Map<String, List<Question>> buckets = new ConcurrentHashMap<>();
+        private final AtomicInteger loads = new AtomicInteger();
+
+        @Override
+        public List<Question> getQuestionsByTopicAndDifficulty(String topic, String difficulty) {
+            loads.incrementAndGet();
+            return buckets.computeIfAbsent(topic + "_" + difficulty, key -> {
+                List<Question> questions = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    questions.add(new EasyQuestion(key + "_" + i, "Question " + i, List.of("a", "b", "c", "d"), 0, topic));
+                }
+                return questions;
+            });
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Round Prefetch Test ===\n");
+
+        CountingBank bank = new CountingBank();
+        SessionManager session = new SessionManager(new Player(), bank);
+
+        session.startNewRound("Physics", "Easy");
+        Set<String> firstRound = ids(session.getCurrentRoundQuestions());
+        playQuestions(session, 3);
+        boolean prefetched = awaitLoads(bank, 2);
+        report("Next round prepared in the background at the prefetch point", prefetched);
+
+        playQuestions(session, 2);
+        session.startNewRound("Physics", "Easy");
+        Set<String> secondRound = ids(session.getCurrentRoundQuestions());
+        report("Same topic and difficulty served from the prefetch", bank.loads.get() == 2 && secondRound.size() == 5);
+        report("Prefetched round does not repeat questions", !secondRound.removeAll(firstRound));
+
+        playQuestions(session, 3);
+        awaitLoads(bank, 3);
+        session.startNewRound("Chemistry", "Easy");
+        report("Different topic discards the prefetch and loads", bank.loads.get() == 4
+            && "Chemistry".equals(session.getCurrentTopic()) && session.getCurrentRoundQuestionCount() == 5);
+
+        // With every shared worker busy the prefetch sits in the queue; the round
+        // start must take it over and load inline instead of waiting behind it
+        CountDownLatch release = new CountDownLatch(1);
+        SharedExecutor executor = SharedExecutor.get();
+        CountDownLatch busy = new CountDownLatch(executor.getMaxThreads());
+        for (int i = 0; i < executor.getMaxThreads(); i++) {
+            executor.runAsync(() -> {
+                busy.countDown();
+                awaitQuietly(release);
+            });
+        }
+        busy.await(5, TimeUnit.SECONDS);
+        playQuestions(session, 3);
+        long started = System.nanoTime();
+        session.startNewRound("Chemistry", "Easy");
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        release.countDown();
+        report("Queued prefetch is loaded inline, not awaited", waitedMs < 1000
+            && session.getCurrentRoundQuestionCount() == 5);
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void playQuestions(SessionManager session, int count) {
+        for (int i = 0; i < count; i++) {
+            session.advanceFrom(session.getCurrentQuestionIndex());
+        }
+    }
+
+    private static boolean awaitLoads(CountingBank bank, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (bank.loads.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return bank.loads.get() == expected;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Set<String> ids(List<Question> questions) {
+        Set<String> ids = new HashSet<>();
+        questions.forEach(q -> ids.add(q.getId()));
+        return ids;
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
@@ -0,0 +1,46 @@
+package com.mindquest.controller;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Quick harness for the structurally shared used-ID set behind SessionManager.
+ */
+public class UsedQuestionIdsTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== Used Question IDs Test ===\n");
+
+        testVersionsAreIsolated();
+        testForkAfterStaleAppend();
+        testCopyOf();
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void testVersionsAreIsolated() {
+        UsedQuestionIds first = UsedQuestionIds.empty().plus(List.of("a", "b"));
+        UsedQuestionIds second = first.plus(List.of("c", "a"));
+        report("Older version does not see later appends",
+            first.size() == 2 && !first.contains("c") && second.size() == 3 && second.contains("c"));
+        report("Duplicates are not counted twice", second.equals(Set.of("a", "b", "c")));
+        report("Adding nothing new keeps the same version", second.plus(List.of("b")) == second);
+    }
+
+    private static void testForkAfterStaleAppend() {
+        UsedQuestionIds base = UsedQuestionIds.empty().plus(List.of("a"));
+        UsedQuestionIds winner = base.plus(List.of("b"));
+        UsedQuestionIds loser = base.plus(List.of("c"));
+        report("Appending to a stale version forks",
+            winner.equals(Set.of("a", "b")) && loser.equals(Set.of("a", "c")) && !loser.contains("b"));
+    }
+
+    private static void testCopyOf() {
+        UsedQuestionIds copy = UsedQuestionIds.copyOf(Set.of("x", "y"));
+        report("Copy of a snapshot set", copy.size() == 2 && copy.contains("x") && !copy.contains(null));
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.mindquest.llm.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.mindquest.llm.Prompt;
+import com.mindquest.llm.StreamEvent;
+import com.mindquest.llm.providers.MockProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+
+/**
+ * Quick harness for the incremental question parser: arbitrary chunk boundaries,
+ * tricky string content, and time to first question on a simulated token stream.
+ */
+public class QuestionStreamParserTest {
+
+    private static final String RESPONSE = "```json\n{\n"
+        + "  \"topic\": \"Test\",\n"
+        + "  \"difficulty\": \"Easy\",\n"
+        + "  \"questions\": [\n"
+        + question(1, "What does {} mean in \\\"JSON\\\"?") + ",\n"
+        + question(2, "Which bracket closes [ ?") + ",\n"
+        + question(3, "Backslash at the end \\\\") + ",\n"
+        + question(4, "Plain question four?") + ",\n"
+        + question(5, "Plain question five?") + "\n"
+        + "  ]\n}\n```";
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== QuestionStreamParser Test ===\n");
+
+        testChunkBoundaries();
+        testTimeToFirstQuestion();
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void testChunkBoundaries() {
+        System.out.println("--- Chunk boundaries ---");
+        List<String> whole = parseInChunks(RESPONSE, new Random(1), RESPONSE.length());
+        boolean ok = whole.size() == 5 && allParse(whole);
+
+        Random random = new Random(42);
+        for (int run = 0; run < 200 && ok; run++) {
+            List<String> chunked = parseInChunks(RESPONSE, random, 1 + random.nextInt(12));
+            ok = chunked.equals(whole);
+        }
+        report("Same 5 questions for any chunking, braces/quotes in strings ignored", ok);
+    }
+
+    /**
+     * Not a pass/fail check on absolute numbers: prints time to first question
+     * against total generation time for a simulated token stream.
+     */
+    private static void testTimeToFirstQuestion() throws Exception {
+        System.out.println("--- Time to first question ---");
+        // MockProvider streams one word every 50ms
+        MockProvider provider = new MockProvider(RESPONSE, false, 0);
+        long start = System.nanoTime();
+        long[] firstAt = {-1};
+        List<String> questions = new ArrayList<>();
+        QuestionStreamParser parser = new QuestionStreamParser(json -> {
+            if (firstAt[0] < 0) {
+                firstAt[0] = (System.nanoTime() - start) / 1_000_000;
+            }
+            questions.add(json);
+        });
+
+        CountDownLatch done = new CountDownLatch(1);
+        Prompt prompt = new Prompt.Builder().id("ttfq").instruction("generate").stream(true).build();
+        provider.stream(prompt).subscribe(new Flow.Subscriber<StreamEvent>() {
+            public void onSubscribe(Flow.Subscription s) { s.request(Long.MAX_VALUE); }
+            public void onNext(StreamEvent e) {
+                if (e.isDone()) {
+                    done.countDown();
+                } else {
+                    parser.feed(e.getPartialText());
+                }
+            }
+            public void onError(Throwable t) { done.countDown(); }
+            public void onComplete() { done.countDown(); }
+        });
+        done.await();
+        long total = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("first question after %d ms, all %d after %d ms%n", firstAt[0], questions.size(), total);
+        report("First question arrives well before the full response", questions.size() == 5 && firstAt[0] < total / 2);
+    }
+
+    private static List<String> parseInChunks(String text, Random random, int maxChunk) {
+        List<String> out = new ArrayList<>();
+        QuestionStreamParser parser = new QuestionStreamParser(out::add);
+        int pos = 0;
+        while (pos < text.length()) {
+            int end = Math.min(text.length(), pos + 1 + random.nextInt(maxChunk));
+            parser.feed(text.substring(pos, end));
+            pos = end;
+        }
+        return out;
+    }
+
+    private static boolean allParse(List<String> objects) {
+        Gson gson = new Gson();
+        for (String json : objects) {
+            JsonObject obj = gson.fromJson(json, JsonObject.class);
+            if (!obj.has("questionText") || obj.getAsJsonArray("choices").size() != 4) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String question(int n, String text) {
+        return "    {\n      \"questionText\": \"" + text + "\",\n"
+            + "      \"choices\": [\"A" + n + "\", \"B" + n + "\", \"C" + n + "\", \"D" + n + "\"],\n"
+            + "      \"correctIndex\": " + (n % 4) + "\n    }";
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.mindquest.loader;
+
+import com.mindquest.loader.source.CsvQuestionLoader;
+import com.mindquest.model.question.Question;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Quick harness for the streaming CSV loader: the difficulty filter is applied
+ * per row, invalid rows are skipped, and reservoir samples are bounded and
+ * reach every matching row. Run from the backend/ folder.
+ */
+public class CsvStreamingTest {
+
+    private static final String HEADER = "topic,difficulty,questionText,choice0,choice1,choice2,choice3,correctIndex\n";
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== CSV Streaming Test ===\n");
+
+        Path file = Files.createTempFile("csv_streaming_probe", ".csv");
+        try {
+            Files.writeString(file, HEADER + rows());
+            testFilter(file);
+            testSample(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void testFilter(Path file) throws IOException {
+        System.out.println("--- Difficulty filter ---");
+        List<Question> all = CsvQuestionLoader.loadQuestions(file.toString());
+        report("Unfiltered load keeps every valid row", all.size() == 60);
+
+        List<Question> medium = CsvQuestionLoader.loadQuestions(file.toString(), "medium");
+        boolean onlyMedium = medium.stream().allMatch(q -> "Medium".equalsIgnoreCase(q.getDifficulty()));
+        report("Filtered load keeps only the requested difficulty", medium.size() == 20 && onlyMedium);
+
+        report("Unknown difficulty matches nothing", CsvQuestionLoader.loadQuestions(file.toString(), "Expert").isEmpty());
+    }
+
+    private static void testSample(Path file) throws IOException {
+        System.out.println("--- Reservoir sample ---");
+        Random random = new Random(42);
+        List<Question> sample = CsvQuestionLoader.sampleQuestions(file.toString(), "Easy", 5, random);
+        boolean onlyEasy = sample.stream().allMatch(q -> "Easy".equalsIgnoreCase(q.getDifficulty()));
+        report("Sample holds at most the requested count", sample.size() == 5 && onlyEasy);
+
+        List<Question> everything = CsvQuestionLoader.sampleQuestions(file.toString(), "Easy", 100, random);
+        report("Sample larger than the matches returns all of them", everything.size() == 20);
+
+        Set<String> reached = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            for (Question q : CsvQuestionLoader.sampleQuestions(file.toString(), "Easy", 5, random)) {
+                reached.add(q.getQuestionText());
+            }
+        }
+        report("Repeated samples reach every matching row", reached.size() == 20);
+    }
+
+    /**
+     * Twenty valid rows per difficulty, interleaved with rows the loader must skip.
+     */
+    private static String rows() {
+        StringBuilder csv = new StringBuilder();
+        String[] difficulties = {"Easy", "Medium", "Hard"};
+        for (int i = 0; i < 60; i++) {
+            String difficulty = difficulties[i % 3];
+            csv.append("probe,").append(difficulty).append(",").append(difficulty).append(" question ").append(i)
+                .append("?,a,b,c,d,1\n");
+            if (i % 10 == 0) {
+                csv.append("probe,").append(difficulty).append(",Broken ").append(i).append(",a,b,c,d,not-a-number\n");
+                csv.append(",,,,,,,\n");
+            }
+        }
+        return csv.toString();
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
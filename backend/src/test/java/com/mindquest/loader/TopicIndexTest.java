@@ -0,0 +1,100 @@
+package com.mindquest.loader;
+
+import com.mindquest.controller.SessionManager;
+import com.mindquest.loader.config.SourceConfig;
+import com.mindquest.model.QuestionBank;
+import com.mindquest.model.game.Player;
+import com.mindquest.model.question.Question;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Quick harness for the startup topic index: file topics are parsed once and
+ * served from memory, rounds draw from the index, and a file reported changed by
+ * the directory watcher or an upload is re-parsed on the next lookup. Run from
+ * the backend/ folder.
+ */
+public class TopicIndexTest {
+
+    private static final String PROBE_TOPIC = "index_probe";
+    private static final String HEADER = "topic,difficulty,questionText,choice0,choice1,choice2,choice3,correctIndex\n";
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== Topic Index Test ===\n");
+
+        Path probe = Paths.get(TopicScanner.getTopicFilePath(PROBE_TOPIC, SourceConfig.SourceType.CUSTOM_CSV));
+        Files.writeString(probe, HEADER + rows(3));
+        try {
+            TopicIndex.Report report = TopicIndex.get().build();
+            report("Startup build indexes every source", report.sources() > 0 && report.questions() > 0
+                && report.estimatedBytes() > 0 && TopicIndex.get().getQuestionCount() == report.questions());
+
+            List<Question> first = TopicIndex.get().lookup(config(SourceConfig.SourceType.CUSTOM_CSV, PROBE_TOPIC));
+            report("Indexed bucket is served from memory",
+                first != null && first.size() == 3 && first == TopicIndex.get().lookup(config(SourceConfig.SourceType.CUSTOM_CSV, PROBE_TOPIC)));
+
+            SourceConfig generated = new SourceConfig.Builder()
+                .type(SourceConfig.SourceType.GEMINI_API).topic("Philosophy").difficulty("Easy").build();
+            SourceConfig explicitFile = new SourceConfig.Builder()
+                .type(SourceConfig.SourceType.CUSTOM_CSV).topic(PROBE_TOPIC).difficulty("Easy")
+                .filePath(probe.toString()).build();
+            report("Generated sources and explicit paths are not indexed",
+                TopicIndex.get().lookup(generated) == null && TopicIndex.get().lookup(explicitFile) == null);
+
+            SessionManager session = new SessionManager(new Player(), QuestionBank.shared());
+            session.setSourceConfig(config(SourceConfig.SourceType.CUSTOM_CSV, PROBE_TOPIC));
+            session.startNewRound(PROBE_TOPIC, "Easy");
+            report("Rounds draw the indexed questions",
+                session.getCurrentRoundQuestionCount() == 3 && first.containsAll(session.getCurrentRoundQuestions()));
+
+            Files.writeString(probe, HEADER + rows(4));
+            report("Watcher re-indexes a changed file", awaitSize(4));
+
+            Files.writeString(probe, HEADER + rows(5));
+            TopicScanner.refreshTopic(SourceConfig.SourceType.CUSTOM_CSV, PROBE_TOPIC);
+            List<Question> uploaded = TopicIndex.get().lookup(config(SourceConfig.SourceType.CUSTOM_CSV, PROBE_TOPIC));
+            report("Upload notification re-indexes on the next lookup", uploaded != null && uploaded.size() == 5);
+        } finally {
+            Files.deleteIfExists(probe);
+        }
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static boolean awaitSize(int expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            List<Question> questions = TopicIndex.get().lookup(config(SourceConfig.SourceType.CUSTOM_CSV, PROBE_TOPIC));
+            if (questions != null && questions.size() == expected) {
+                return true;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static SourceConfig config(SourceConfig.SourceType type, String topic) {
+        return new SourceConfig.Builder().type(type).topic(topic).difficulty("Easy").build();
+    }
+
+    private static String rows(int count) {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            csv.append(PROBE_TOPIC).append(",Easy,Probe question ").append(i).append("?,a,b,c,d,1\n");
+        }
+        return csv.toString();
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.mindquest.loader;
+
+import com.mindquest.loader.config.SourceConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Quick harness for the topic directory index: upload notifications apply at
+ * once, and files added or removed behind the server's back are picked up by
+ * the directory watcher. Run from the backend/ folder.
+ */
+public class TopicWatchTest {
+
+    private static final String HEADER = "topic,difficulty,questionText,choice0,choice1,choice2,choice3,correctIndex\n";
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Topic Watch Test ===\n");
+
+        SourceConfig.SourceType csv = SourceConfig.SourceType.CUSTOM_CSV;
+        Path notified = Paths.get(TopicScanner.getTopicFilePath("watch_probe_upload", csv));
+        Path watched = Paths.get(TopicScanner.getTopicFilePath("watch_probe_copy", csv));
+        Path upperCase = watched.resolveSibling("Watch_Probe_Upper.CSV");
+        try {
+            report("Index starts from the directory listing", TopicScanner.topicExists("test_topic", csv)
+                && !TopicScanner.topicExists("watch_probe_upload", csv));
+
+            write(notified);
+            TopicScanner.refreshTopic(csv, "watch_probe_upload");
+            report("Upload notification is visible immediately", TopicScanner.topicExists("watch_probe_upload", csv)
+                && TopicScanner.getAvailableTopics(csv).contains("watch_probe_upload"));
+
+            write(watched);
+            report("Watcher picks up a copied file", await(() -> TopicScanner.topicExists("watch_probe_copy", csv)));
+
+            Files.delete(watched);
+            report("Watcher drops a deleted file", await(() -> !TopicScanner.topicExists("watch_probe_copy", csv)));
+
+            write(upperCase);
+            boolean added = await(() -> TopicScanner.topicExists("Watch_Probe_Upper", csv));
+            Files.writeString(upperCase, "probe,Easy,Another?,a,b,c,d,2\n", StandardOpenOption.APPEND);
+            TopicScanner.refreshTopic(csv, "Watch_Probe_Upper");
+            Thread.sleep(300);
+            report("Upper-case extension survives modify events and upload notifications",
+                added && TopicScanner.topicExists("Watch_Probe_Upper", csv));
+
+            Files.writeString(Paths.get(watched + ".tmp"), HEADER);
+            report("Temporary files are ignored", !await(() -> TopicScanner.topicExists("watch_probe_copy.csv", csv)));
+        } finally {
+            Files.deleteIfExists(notified);
+            Files.deleteIfExists(watched);
+            Files.deleteIfExists(upperCase);
+            Files.deleteIfExists(Paths.get(watched + ".tmp"));
+        }
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void write(Path file) throws IOException {
+        Files.writeString(file, HEADER + "probe,Easy,Probe?,a,b,c,d,1\n");
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(20);
+        }
+        return true;
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
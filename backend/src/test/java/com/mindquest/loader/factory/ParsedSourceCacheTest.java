@@ -0,0 +1,148 @@
+package com.mindquest.loader.factory;
+
+import com.mindquest.loader.QuestionFootprint;
+import com.mindquest.loader.TopicScanner;
+import com.mindquest.loader.config.SourceConfig;
+import com.mindquest.loader.source.CsvQuestionLoader;
+import com.mindquest.model.question.Question;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Quick harness for the parsed-source cache: concurrent misses share one
+ * parse, touched files are revalidated by checksum, changed files re-parse,
+ * and the byte budget evicts the least recently used list. Run from backend/.
+ */
+public class ParsedSourceCacheTest {
+
+    private static final String HEADER = "topic,difficulty,questionText,choice0,choice1,choice2,choice3,correctIndex\n";
+    private static final int PLAYERS = 100;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Parsed Source Cache Test ===\n");
+
+        Path first = probe("cache_probe_a", 3);
+        Path second = probe("cache_probe_b", 3);
+        try {
+            testSingleFlight(first);
+            testRevalidation(first);
+            testEviction(first, second);
+        } finally {
+            Files.deleteIfExists(first);
+            Files.deleteIfExists(second);
+        }
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void testSingleFlight(Path file) throws Exception {
+        System.out.println("--- Single flight ---");
+        ParsedSourceCache cache = new ParsedSourceCache(1 << 20);
+        AtomicInteger parses = new AtomicInteger();
+        SourceConfig config = config("cache_probe_a");
+
+        ExecutorService players = Executors.newFixedThreadPool(16);
+        CountDownLatch go = new CountDownLatch(1);
+        List<CompletableFuture<List<Question>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < PLAYERS; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        go.await();
+                        return cache.getOrLoad(config, () -> slowParse(file, parses));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, players));
+            }
+            go.countDown();
+            List<Question> shared = results.get(0).get(10, TimeUnit.SECONDS);
+            boolean sameList = true;
+            for (CompletableFuture<List<Question>> result : results) {
+                sameList &= result.get(10, TimeUnit.SECONDS) == shared;
+            }
+            report(PLAYERS + " players starting one topic parse it once", parses.get() == 1 && sameList);
+        } finally {
+            players.shutdownNow();
+        }
+    }
+
+    private static void testRevalidation(Path file) throws IOException {
+        System.out.println("--- Revalidation ---");
+        ParsedSourceCache cache = new ParsedSourceCache(1 << 20);
+        AtomicInteger parses = new AtomicInteger();
+        SourceConfig config = config("cache_probe_a");
+
+        List<Question> loaded = cache.getOrLoad(config, () -> count(file, parses));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        List<Question> touched = cache.getOrLoad(config, () -> count(file, parses));
+        report("Touched file with the same content is not re-parsed", touched == loaded && parses.get() == 1);
+
+        Files.writeString(file, HEADER + rows("cache_probe_a", 4));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+        List<Question> changed = cache.getOrLoad(config, () -> count(file, parses));
+        report("Changed file is re-parsed", changed.size() == 4 && parses.get() == 2);
+    }
+
+    private static void testEviction(Path first, Path second) throws IOException {
+        System.out.println("--- Eviction ---");
+        AtomicInteger parses = new AtomicInteger();
+        List<Question> sample = CsvQuestionLoader.loadQuestions(first.toString());
+        // Room for one parsed file but not two
+        ParsedSourceCache cache = new ParsedSourceCache(QuestionFootprint.estimate(sample) + 64);
+
+        cache.getOrLoad(config("cache_probe_a"), () -> count(first, parses));
+        cache.getOrLoad(config("cache_probe_b"), () -> count(second, parses));
+        boolean bounded = cache.getEntryCount() == 1 && cache.getCachedBytes() <= cache.getBudgetBytes();
+        cache.getOrLoad(config("cache_probe_a"), () -> count(first, parses));
+        report("Budget evicts the least recently used list", bounded && parses.get() == 3);
+    }
+
+    private static List<Question> slowParse(Path file, AtomicInteger parses) throws IOException {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return count(file, parses);
+    }
+
+    private static List<Question> count(Path file, AtomicInteger parses) throws IOException {
+        parses.incrementAndGet();
+        return CsvQuestionLoader.loadQuestions(file.toString());
+    }
+
+    private static Path probe(String topic, int rows) throws IOException {
+        Path file = Paths.get(TopicScanner.getTopicFilePath(topic, SourceConfig.SourceType.CUSTOM_CSV));
+        Files.writeString(file, HEADER + rows(topic, rows));
+        return file;
+    }
+
+    private static SourceConfig config(String topic) {
+        return new SourceConfig.Builder().type(SourceConfig.SourceType.CUSTOM_CSV).topic(topic).difficulty("Easy").build();
+    }
+
+    private static String rows(String topic, int count) {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            csv.append(topic).append(",Easy,Probe question ").append(i).append("?,a,b,c,d,1\n");
+        }
+        return csv.toString();
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
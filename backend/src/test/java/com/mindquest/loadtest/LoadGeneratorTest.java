@@ -0,0 +1,68 @@
+package com.mindquest.loadtest;
+
+import java.util.Random;
+
+/**
+ * Quick harness for the load generator: think-time parsing and a short
+ * offline run against the mock LLM provider.
+ */
+public class LoadGeneratorTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Load Generator Test ===\n");
+
+        testThinkTime();
+        testShortRun();
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void testThinkTime() {
+        System.out.println("--- Think time ---");
+        Random random = new Random(1);
+        ThinkTime uniform = ThinkTime.parse("uniform:100-200");
+        boolean inRange = true;
+        for (int i = 0; i < 1000; i++) {
+            long ms = uniform.sampleMillis(random);
+            inRange &= ms >= 100 && ms <= 200;
+        }
+        report("Uniform samples stay in range", inRange);
+
+        ThinkTime exp = ThinkTime.parse("exp:500");
+        long sum = 0;
+        for (int i = 0; i < 10_000; i++) {
+            sum += exp.sampleMillis(random);
+        }
+        report("Exponential mean close to requested", Math.abs(sum / 10_000.0 - 500) < 50);
+
+        boolean rejected;
+        try {
+            ThinkTime.parse("uniform:300-100");
+            rejected = false;
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        report("Invalid spec rejected", rejected && ThinkTime.parse("none").sampleMillis(random) == 0);
+    }
+
+    private static void testShortRun() throws Exception {
+        System.out.println("--- Short run ---");
+        LoadSettings settings = new LoadSettings(8, 3, 0, ThinkTime.parse("fixed:20"),
+            0.7, 0.3, 0.3, "Computer Science", "Easy");
+        LoadGenerator.Report report = new LoadGenerator(settings).run();
+        System.out.printf("%d requests, %.1f req/s, %d errors%n",
+            report.totalRequests(), report.throughput(), report.totalErrors());
+
+        long generated = report.endpoints().stream()
+            .filter(e -> e.getName().contains("/llm/")).mapToLong(EndpointStats::getCount).sum();
+        long answers = report.endpoints().stream()
+            .filter(e -> e.getName().endsWith("/answer")).mapToLong(EndpointStats::getCount).sum();
+        report("Players complete rounds without errors", answers > 0 && report.totalErrors() == 0);
+        report("LLM path served offline by the mock provider", generated > 0);
+        report("Resource usage sampled", report.peakHeapBytes() > 0 && report.peakThreads() > 0);
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
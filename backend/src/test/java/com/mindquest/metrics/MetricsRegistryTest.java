@@ -0,0 +1,135 @@
+package com.mindquest.metrics;
+
+import com.mindquest.server.GameServer;
+import io.javalin.Javalin;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quick harness for the metrics registry: histogram buckets and percentiles,
+ * lossless concurrent recording, exposition format, and the /metrics route.
+ */
+public class MetricsRegistryTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== MetricsRegistry Test ===\n");
+
+        testBuckets();
+        testConcurrentRecording();
+        testExposition();
+        testServerRoute();
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void testBuckets() {
+        System.out.println("--- Buckets ---");
+        boolean ok = true;
+        for (long v = 1; v < (1L << 40); v = v * 3 / 2 + 1) {
+            int index = LatencyHistogram.indexOf(v);
+            if (index == LatencyHistogram.BUCKET_COUNT) {
+                continue;
+            }
+            long upper = LatencyHistogram.upperBoundNanos(index);
+            long lower = index == 0 ? 0 : LatencyHistogram.upperBoundNanos(index - 1) + 1;
+            ok &= v >= lower && v <= upper && (index == 0 || upper < v * 3 / 2 + 1);
+        }
+        report("Every value lands in a bucket within 50% of its bound", ok);
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i, TimeUnit.MILLISECONDS);
+        }
+        long p50 = histogram.valueAtPercentile(50) / 1_000_000;
+        long p99 = histogram.valueAtPercentile(99) / 1_000_000;
+        System.out.println("p50=" + p50 + "ms p99=" + p99 + "ms for 1..100ms");
+        report("Percentiles close to true values", p50 >= 50 && p50 <= 75 && p99 >= 99 && p99 <= 150);
+    }
+
+    private static void testConcurrentRecording() throws Exception {
+        System.out.println("--- Concurrent recording ---");
+        int threads = 8;
+        int perThread = 1_000_000;
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricFamily<LatencyHistogram> family = registry.histogram("test_latency_seconds", "test", "route");
+        MetricFamily<Counter> counter = registry.counter("test_total", "test");
+
+        List<Thread> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    family.labels("/api/sessions/{id}/state").record(i);
+                    counter.labels().inc();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        long total = (long) threads * perThread;
+        System.out.printf("%d threads: %.1f ns per record (label lookup + histogram + counter)%n",
+            threads, (double) elapsed * threads / total);
+        report("No lost updates under contention",
+            family.labels("/api/sessions/{id}/state").getCount() == total && counter.labels().sum() == total);
+    }
+
+    private static void testExposition() {
+        System.out.println("--- Exposition ---");
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.histogram("demo_seconds", "demo histogram", "route").labels("/a\"b").record(2, TimeUnit.MILLISECONDS);
+        registry.gauge("demo_gauge", "demo gauge").register(() -> 7);
+        String text = registry.scrape();
+        boolean ok = text.contains("# TYPE demo_seconds histogram")
+            && text.contains("demo_seconds_bucket{route=\"/a\\\"b\",le=\"+Inf\"} 1")
+            && text.contains("demo_seconds_count{route=\"/a\\\"b\"} 1")
+            && text.contains("demo_gauge 7");
+        report("Prometheus text format with escaped labels", ok);
+    }
+
+    private static void testServerRoute() throws Exception {
+        System.out.println("--- /metrics ---");
+        System.setProperty("MINDQUEST_JOURNAL_ENABLED", "false");
+        System.setProperty("MINDQUEST_SESSION_STORE", "memory");
+        GameServer server = new GameServer();
+        Javalin app = server.start(0);
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://localhost:" + app.port();
+            String sessionBody = client.send(HttpRequest.newBuilder(URI.create(base + "/api/sessions"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString()).body();
+            String sessionId = sessionBody.replaceAll(".*\"sessionId\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+            for (int i = 0; i < 5; i++) {
+                client.send(HttpRequest.newBuilder(URI.create(base + "/api/sessions/" + sessionId + "/state")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            }
+            client.send(HttpRequest.newBuilder(URI.create(base + "/no/such/route")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+            HttpResponse<String> metrics = client.send(HttpRequest.newBuilder(URI.create(base + "/metrics")).build(),
+                HttpResponse.BodyHandlers.ofString());
+            String text = metrics.body();
+            boolean ok = metrics.headers().firstValue("Content-Type").orElse("").startsWith("text/plain")
+                && text.contains("mindquest_http_request_duration_seconds_count{route=\"/api/sessions/{id}/state\",method=\"GET\",status=\"200\"} 5")
+                && text.contains("route=\"unmatched\",method=\"GET\",status=\"404\"")
+                && text.contains("mindquest_active_sessions ")
+                && text.contains("mindquest_executor_queue_depth{pool=\"blocking\"}");
+            report("Route templates, statuses and gauges exposed", ok);
+        } finally {
+            server.stop(app);
+        }
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.mindquest.model;
+
+import com.mindquest.model.question.Difficulty;
+import com.mindquest.model.question.Question;
+
+import java.util.List;
+
+/**
+ * Quick harness for the shared built-in bank: one instance, read-only buckets
+ * handed out without copying, and question IDs unchanged from earlier builds.
+ */
+public class QuestionBankTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== Question Bank Test ===\n");
+
+        QuestionBank bank = QuestionBank.shared();
+        report("One shared instance", bank == QuestionBank.shared());
+
+        List<Question> easy = bank.getQuestionsByTopicAndDifficulty("Computer Science", "Easy");
+        report("Lookups return the same list without copying",
+            easy == bank.getQuestionsByTopicAndDifficulty("Computer Science", "Easy")
+                && easy == bank.getQuestions("Computer Science", Difficulty.EASY)
+                && easy == bank.getQuestionsByTopicAndDifficulty("Computer Science", "easy"));
+
+        boolean rejected;
+        try {
+            easy.clear();
+            rejected = false;
+        } catch (UnsupportedOperationException e) {
+            rejected = true;
+        }
+        report("Buckets are unmodifiable", rejected && easy.size() == 5);
+
+        report("Unknown topic or difficulty yields null",
+            bank.getQuestionsByTopicAndDifficulty("Chemistry", "Easy") == null
+                && bank.getQuestionsByTopicAndDifficulty("Philosophy", "Extreme") == null
+                && bank.getQuestionsByTopicAndDifficulty("Philosophy", null) == null);
+
+        int total = 0;
+        boolean idsKept = true;
+        for (String topic : bank.getTopics()) {
+            for (Difficulty difficulty : Difficulty.values()) {
+                List<Question> bucket = bank.getQuestions(topic, difficulty);
+                for (int i = 0; i < bucket.size(); i++) {
+                    Question q = bucket.get(i);
+                    String expected = String.format("%s_%s_%03d", topic.substring(0, 2).toUpperCase(),
+                        difficulty.getLabel().toUpperCase().substring(0, 4), i + 1);
+                    idsKept &= expected.equals(q.getId()) && difficulty.getLabel().equals(q.getDifficulty())
+                        && topic == q.getTopic();
+                }
+                total += bucket.size();
+            }
+        }
+        report("45 questions keep their IDs, labels and interned topics", total == 45 && idsKept
+            && "AR_MEDI_001".equals(bank.getQuestions("Artificial Intelligence", Difficulty.MEDIUM).get(0).getId()));
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
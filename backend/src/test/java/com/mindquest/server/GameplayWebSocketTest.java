@@ -0,0 +1,197 @@
+package com.mindquest.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.javalin.Javalin;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quick harness for the WebSocket gameplay channel: plays a full round over one
+ * socket, checks the REST routes see the same session state, and compares
+ * per-action latency of the two transports, and that a server started after
+ * another one stopped still works.
+ */
+public class GameplayWebSocketTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final int ROUNDS = 50;
+    private static final String START = "{\"type\":\"start\",\"id\":\"s\",\"topic\":\"Space\",\"difficulty\":\"easy\",\"questions\":["
+        + "{\"questionText\":\"Q1?\",\"choices\":[\"a\",\"b\",\"c\",\"d\"],\"correctIndex\":0},"
+        + "{\"questionText\":\"Q2?\",\"choices\":[\"a\",\"b\",\"c\",\"d\"],\"correctIndex\":1},"
+        + "{\"questionText\":\"Q3?\",\"choices\":[\"a\",\"b\",\"c\",\"d\"],\"correctIndex\":2}]}";
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Gameplay WebSocket Test ===\n");
+
+        System.setProperty("MINDQUEST_JOURNAL_ENABLED", "false");
+        System.setProperty("MINDQUEST_SESSION_STORE", "memory");
+
+        GameServer server = new GameServer();
+        Javalin app = server.start(0);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String base = "http://localhost:" + app.port();
+
+        try {
+            String sessionId = createSession(client, base);
+            Socket socket = Socket.open(client, "ws://localhost:" + app.port() + "/api/sessions/" + sessionId + "/ws");
+
+            JsonNode started = socket.call(START);
+            JsonNode question = socket.call("{\"type\":\"question\",\"id\":\"q\"}");
+            report("Start and question answered with echoed ids",
+                started.path("status").asInt() == 200 && "s".equals(started.path("id").asText())
+                    && "q".equals(question.path("id").asText())
+                    && question.path("data").path("questionText").asText().startsWith("Q"));
+
+            int correct = question.path("data").path("correctIndex").asInt();
+            JsonNode answer = socket.call("{\"type\":\"answer\",\"index\":" + correct + ",\"answerTimeMs\":1500}");
+            JsonNode restQuestion = mapper.readTree(get(client, base + "/api/sessions/" + sessionId + "/question").body());
+            report("Answer over WS advances the session seen by REST",
+                answer.path("data").path("correct").asBoolean()
+                    && !restQuestion.path("id").asText().equals(question.path("data").path("id").asText()));
+
+            socket.call("{\"type\":\"answer\",\"index\":1}");
+            JsonNode last = socket.call("{\"type\":\"answer\",\"index\":0}");
+            JsonNode done = socket.call("{\"type\":\"question\"}");
+            report("Round completes with summary, then 204",
+                last.path("data").path("roundComplete").asBoolean() && done.path("status").asInt() == 204);
+
+            JsonNode unknown = socket.call("{\"type\":\"teleport\"}");
+            JsonNode garbage = socket.call("not json");
+            report("Unknown and malformed messages get 400 without closing",
+                unknown.path("status").asInt() == 400 && garbage.path("status").asInt() == 400
+                    && socket.call("{\"type\":\"ping\"}").path("status").asInt() == 200);
+
+            Socket missing = Socket.open(client, "ws://localhost:" + app.port() + "/api/sessions/nope/ws");
+            report("Unknown session is closed with 4404", missing.closeCode.get(5, TimeUnit.SECONDS) == 4404);
+
+            compareLatency(client, base, socket, sessionId);
+            socket.ws.sendClose(WebSocket.NORMAL_CLOSURE, "bye").join();
+            Thread.sleep(200);
+
+            JsonNode stats = mapper.readTree(get(client, base + "/health").body()).path("websocket");
+            System.out.println("WebSocket stats: " + stats);
+            report("Health reports connections and per-type latency",
+                stats.path("openConnections").asInt() == 0 && stats.path("totalConnections").asInt() == 1
+                    && stats.path("latencyByType").has("answer"));
+        } finally {
+            server.stop(app);
+        }
+
+        // Stopping a server leaves the shared executor running for the next one
+        GameServer restarted = new GameServer();
+        Javalin again = restarted.start(0);
+        try {
+            String againBase = "http://localhost:" + again.port();
+            String sessionId = createSession(client, againBase);
+            CompletableFuture<HttpResponse<String>> start = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return post(client, againBase + "/api/sessions/" + sessionId + "/start",
+                        START.replace("\"type\":\"start\",\"id\":\"s\",", ""));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            report("A second server in the same JVM still runs session operations",
+                start.get(10, TimeUnit.SECONDS).statusCode() == 200);
+        } finally {
+            restarted.stop(again);
+        }
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    /**
+     * Not a pass/fail check on absolute numbers: average time per question+answer
+     * pair over REST (new request each) versus the open socket.
+     */
+    private static void compareLatency(HttpClient client, String base, Socket socket, String sessionId) throws Exception {
+        String startBody = START.replace("\"type\":\"start\",\"id\":\"s\",", "");
+        long restNanos = 0;
+        long wsNanos = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            post(client, base + "/api/sessions/" + sessionId + "/start", startBody);
+            long t0 = System.nanoTime();
+            get(client, base + "/api/sessions/" + sessionId + "/question");
+            post(client, base + "/api/sessions/" + sessionId + "/answer", "{\"index\":0}");
+            restNanos += System.nanoTime() - t0;
+
+            socket.call(START);
+            long t1 = System.nanoTime();
+            socket.call("{\"type\":\"question\"}");
+            socket.call("{\"type\":\"answer\",\"index\":0}");
+            wsNanos += System.nanoTime() - t1;
+        }
+        System.out.printf("question+answer avg: REST %.2f ms, WebSocket %.2f ms%n",
+            restNanos / 1e6 / ROUNDS, wsNanos / 1e6 / ROUNDS);
+    }
+
+    /**
+     * Minimal request/response client: one outstanding message at a time.
+     */
+    private static final class Socket implements WebSocket.Listener {
+        private final LinkedBlockingQueue<String> replies = new LinkedBlockingQueue<>();
+        private final CompletableFuture<Integer> closeCode = new CompletableFuture<>();
+        private final StringBuilder partial = new StringBuilder();
+        private WebSocket ws;
+
+        static Socket open(HttpClient client, String url) {
+            Socket socket = new Socket();
+            socket.ws = client.newWebSocketBuilder().buildAsync(URI.create(url), socket).join();
+            return socket;
+        }
+
+        JsonNode call(String message) throws Exception {
+            ws.sendText(message, true).join();
+            String reply = replies.poll(5, TimeUnit.SECONDS);
+            if (reply == null) {
+                throw new IllegalStateException("No reply to " + message);
+            }
+            return mapper.readTree(reply);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                replies.add(partial.toString());
+                partial.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            closeCode.complete(statusCode);
+            return null;
+        }
+    }
+
+    private static String createSession(HttpClient client, String base) throws Exception {
+        return mapper.readTree(post(client, base + "/api/sessions", "").body()).path("sessionId").asText();
+    }
+
+    private static HttpResponse<String> get(HttpClient client, String url) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(HttpClient client, String url, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.mindquest.server;
+
+import io.javalin.Javalin;
+import io.javalin.http.Handler;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Benchmark harness: gameplay latency while long "LLM" requests flood the server.
+ *
+ * Runs the real GameServer on a deliberately small Jetty pool and fires a storm of
+ * slow requests, once through a route that blocks the Jetty worker (the old
+ * behaviour) and once through the BlockingHandlerPool. Meanwhile a single client
+ * polls session state and records latencies.
+ */
+public class LlmStormTest {
+
+    private static final int HTTP_THREADS = 16;
+    private static final int STORM_SIZE = 24;
+    private static final long LLM_DELAY_MS = 2000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== LLM Storm Benchmark ===\n");
+
+        System.setProperty("MINDQUEST_HTTP_MAX_THREADS", String.valueOf(HTTP_THREADS));
+        System.setProperty("MINDQUEST_BLOCKING_THREADS", String.valueOf(STORM_SIZE));
+        System.setProperty("MINDQUEST_JOURNAL_ENABLED", "false");
+        System.setProperty("MINDQUEST_SESSION_STORE", "memory");
+
+        GameServer server = new GameServer();
+        Javalin app = server.createApp();
+        Handler slowLlm = ctx -> {
+            Thread.sleep(LLM_DELAY_MS);
+            ctx.json(List.of());
+        };
+        app.post("/storm/inline", slowLlm);
+        app.post("/storm/offloaded", server.getBlockingPool().offload(slowLlm));
+        app.start(0);
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String base = "http://localhost:" + app.port();
+        String sessionId = client.send(HttpRequest.newBuilder(URI.create(base + "/api/sessions"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(),
+            HttpResponse.BodyHandlers.ofString()).body().replaceAll(".*\"sessionId\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+        String probeUrl = base + "/api/sessions/" + sessionId + "/state";
+
+        try {
+            long[] baseline = run(client, probeUrl, null);
+            long[] inline = run(client, probeUrl, base + "/storm/inline");
+            long[] offloaded = run(client, probeUrl, base + "/storm/offloaded");
+
+            print("no storm", baseline);
+            print("storm, blocking Jetty", inline);
+            print("storm, offloaded", offloaded);
+
+            long bound = Math.max(250, baseline[1] * 5);
+            report("Gameplay p99 stays flat with offloaded generation (< " + bound + "ms)", offloaded[1] < bound);
+            System.out.println("Blocking pool: " + server.getBlockingPool().stats());
+        } finally {
+            server.stop(app);
+        }
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    /**
+     * Poll the probe URL while the storm is running; returns {p50, p99, max} in ms.
+     */
+    private static long[] run(HttpClient client, String probeUrl, String stormUrl) throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> storm = new ArrayList<>();
+        if (stormUrl != null) {
+            for (int i = 0; i < STORM_SIZE; i++) {
+                storm.add(client.sendAsync(HttpRequest.newBuilder(URI.create(stormUrl))
+                    .POST(HttpRequest.BodyPublishers.ofString("{}")).build(), HttpResponse.BodyHandlers.ofString()));
+            }
+            Thread.sleep(200); // Let the storm occupy the workers
+        }
+
+        List<Long> latencies = new ArrayList<>();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(probeUrl)).GET().build();
+        long deadline = System.currentTimeMillis() + LLM_DELAY_MS;
+        while (System.currentTimeMillis() < deadline) {
+            long start = System.nanoTime();
+            client.send(probe, HttpResponse.BodyHandlers.discarding());
+            latencies.add((System.nanoTime() - start) / 1_000_000);
+        }
+        CompletableFuture.allOf(storm.toArray(new CompletableFuture[0])).join();
+
+        Collections.sort(latencies);
+        return new long[] {
+            latencies.get(latencies.size() / 2),
+            latencies.get(Math.min(latencies.size() - 1, (int) (latencies.size() * 0.99))),
+            latencies.get(latencies.size() - 1)
+        };
+    }
+
+    private static void print(String name, long[] stats) {
+        System.out.printf("%-24s p50=%5dms  p99=%5dms  max=%5dms%n", name, stats[0], stats[1], stats[2]);
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
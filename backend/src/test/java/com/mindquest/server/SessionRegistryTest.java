@@ -0,0 +1,123 @@
+package com.mindquest.server;
+
+import com.mindquest.model.QuestionBank;
+import com.mindquest.model.question.EasyQuestion;
+import com.mindquest.model.question.Question;
+import com.mindquest.server.session.SessionPolicy;
+import com.mindquest.service.GameService;
+
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Quick harness for SessionRegistry eviction (idle TTL, absolute TTL, capacity)
+ * and passivation.
+ */
+public class SessionRegistryTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== SessionRegistry Eviction Test ===\n");
+
+        testCapacityEvictsLeastRecentlyUsed();
+        testIdleTtl();
+        testAbsoluteTtl();
+        testPassivationRoundTrip();
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void testCapacityEvictsLeastRecentlyUsed() throws Exception {
+        System.out.println("--- Capacity / LRU ---");
+        SessionPolicy policy = new SessionPolicy(60_000, 600_000, 3, 50, 64);
+        SessionRegistry registry = new SessionRegistry(QuestionBank.shared(), policy);
+
+        String first = registry.createSession();
+        String second = registry.createSession();
+        String third = registry.createSession();
+
+        // Touch the oldest session after the reorder interval so it becomes most recent
+        Thread.sleep(1100);
+        registry.getSession(first);
+
+        String fourth = registry.createSession();
+        boolean ok = registry.getSession(first) != null
+            && registry.getSession(second) == null
+            && registry.getSession(third) != null
+            && registry.getSession(fourth) != null
+            && registry.getActiveSessionCount() == 3;
+        report("Least recently used session evicted at capacity", ok);
+        registry.shutdownAll();
+    }
+
+    private static void testIdleTtl() throws Exception {
+        System.out.println("--- Idle TTL ---");
+        SessionPolicy policy = new SessionPolicy(300, 600_000, 100, 50, 64);
+        SessionRegistry registry = new SessionRegistry(QuestionBank.shared(), policy);
+
+        String idle = registry.createSession();
+        String active = registry.createSession();
+        for (int i = 0; i < 8; i++) {
+            Thread.sleep(100);
+            registry.getSession(active);
+        }
+
+        boolean ok = registry.getSession(idle) == null && registry.getSession(active) != null;
+        report("Idle session evicted, active session kept", ok);
+        registry.shutdownAll();
+    }
+
+    private static void testAbsoluteTtl() throws Exception {
+        System.out.println("--- Absolute TTL ---");
+        SessionPolicy policy = new SessionPolicy(60_000, 400, 100, 50, 64);
+        SessionRegistry registry = new SessionRegistry(QuestionBank.shared(), policy);
+
+        String session = registry.createSession();
+        for (int i = 0; i < 8; i++) {
+            Thread.sleep(100);
+            registry.getSession(session);
+        }
+
+        report("Session evicted after absolute TTL despite activity", registry.getSession(session) == null);
+        System.out.println("Stats: " + registry.getEvictionStats());
+        registry.shutdownAll();
+    }
+
+    private static void testPassivationRoundTrip() throws Exception {
+        System.out.println("--- Passivation ---");
+        String dir = Files.createTempDirectory("mindquest-sessions").toString();
+        SessionPolicy policy = new SessionPolicy(60_000, 600_000, 100, 50, 64, 200, dir);
+        SessionRegistry registry = new SessionRegistry(QuestionBank.shared(), policy);
+
+        String sessionId = registry.createSession();
+        GameService original = registry.getSession(sessionId);
+        List<Question> questions = List.of(
+            new EasyQuestion("q1", "First?", List.of("a", "b", "c", "d"), 0, "Test"),
+            new EasyQuestion("q2", "Second?", List.of("a", "b", "c", "d"), 1, "Test"));
+        original.startNewRoundWithQuestions("Test", "Easy", questions);
+        Question first = original.getCurrentQuestion();
+        original.evaluateAnswer(first, first.getCorrectIndex(), false, 2000L);
+        original.moveToNextQuestion();
+        original.completeRoundAndSummarize();
+        int points = original.getGlobalPoints();
+        String expectedQuestion = original.getCurrentQuestion().getQuestionText();
+
+        Thread.sleep(600);
+        boolean passivated = ((Integer) registry.getPassivationStats().get("passivatedSessions")) == 1;
+
+        GameService restored = registry.getSession(sessionId);
+        boolean ok = passivated
+            && restored != null
+            && restored != original
+            && restored.getGlobalPoints() == points
+            && restored.getCorrectStreak() == 1
+            && expectedQuestion.equals(restored.getCurrentQuestion().getQuestionText())
+            && ((Integer) registry.getPassivationStats().get("passivatedSessions")) == 0;
+        report("Idle session passivated and rehydrated with state intact", ok);
+        System.out.println("Stats: " + registry.getPassivationStats());
+        registry.shutdownAll();
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
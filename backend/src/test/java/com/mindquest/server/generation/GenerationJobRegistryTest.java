@@ -0,0 +1,126 @@
+package com.mindquest.server.generation;
+
+import com.mindquest.llm.InFlightRequests;
+import com.mindquest.llm.Prompt;
+import com.mindquest.llm.exception.LlmException;
+import com.mindquest.llm.providers.MockProvider;
+import com.mindquest.loader.config.SourceConfig;
+import com.mindquest.model.question.EasyQuestion;
+import com.mindquest.model.question.Question;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Quick harness for generation jobs: completion states, cancellation of queued
+ * and running jobs (through the provider), and result expiry.
+ */
+public class GenerationJobRegistryTest {
+
+    private static final List<Question> FIVE = List.of(
+        question("q1"), question("q2"), question("q3"), question("q4"), question("q5"));
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== GenerationJobRegistry Test ===\n");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            testCompletionStates(executor);
+            testCancellation(executor);
+            testExpiry(executor);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void testCompletionStates(ExecutorService executor) throws Exception {
+        System.out.println("--- Completion states ---");
+        GenerationJobRegistry done = new GenerationJobRegistry(executor, c -> FIVE, 60_000, 10);
+        GenerationJobRegistry partial = new GenerationJobRegistry(executor, c -> FIVE.subList(0, 2), 60_000, 10);
+        GenerationJobRegistry failed = new GenerationJobRegistry(executor, c -> {
+            throw new IllegalStateException("boom");
+        }, 60_000, 10);
+
+        report("All requested questions -> done", awaitState(done, done.submit("mock", config(), 5)) == GenerationJob.State.DONE);
+        report("Fewer questions -> partial", awaitState(partial, partial.submit("mock", config(), 5)) == GenerationJob.State.PARTIAL);
+        GenerationJob failure = failed.submit("mock", config(), 5);
+        report("Generator error -> failed", awaitState(failed, failure) == GenerationJob.State.FAILED
+            && "boom".equals(failure.getError()));
+    }
+
+    private static void testCancellation(ExecutorService executor) throws Exception {
+        System.out.println("--- Cancellation ---");
+        // Generator behaves like the LLM sources: one slow provider call keyed by request ID
+        Function<SourceConfig, List<Question>> slowLlm = c -> {
+            try (MockProvider provider = new MockProvider("{}", false, 5_000)) {
+                Prompt prompt = new Prompt.Builder().id(c.getExtraParam("requestId")).instruction("q").build();
+                InFlightRequests.complete(provider, prompt);
+                return FIVE;
+            } catch (LlmException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        };
+        GenerationJobRegistry registry = new GenerationJobRegistry(executor, slowLlm, 60_000, 10);
+
+        GenerationJob running = registry.submit("mock", config(), 5);
+        GenerationJob queued = registry.submit("mock", config(), 5);
+        while (running.getState() != GenerationJob.State.RUNNING) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100); // Let the provider call start
+
+        long start = System.currentTimeMillis();
+        registry.cancel(queued.getId());
+        registry.cancel(running.getId());
+        GenerationJob.State runningState = awaitState(registry, running);
+        long elapsed = System.currentTimeMillis() - start;
+
+        report("Queued job cancelled without running", queued.getState() == GenerationJob.State.CANCELLED);
+        report("Running job cancelled through the provider (" + elapsed + "ms)",
+            runningState == GenerationJob.State.CANCELLED && elapsed < 2_000);
+        System.out.println("Stats: " + registry.stats());
+    }
+
+    private static void testExpiry(ExecutorService executor) throws Exception {
+        System.out.println("--- Result retention ---");
+        GenerationJobRegistry ttl = new GenerationJobRegistry(executor, c -> FIVE, 200, 10);
+        GenerationJob job = ttl.submit("mock", config(), 5);
+        awaitState(ttl, job);
+        boolean visible = ttl.get(job.getId()) != null;
+        Thread.sleep(300);
+        report("Finished result expires after its TTL", visible && ttl.get(job.getId()) == null);
+
+        GenerationJobRegistry capped = new GenerationJobRegistry(executor, c -> FIVE, 60_000, 2);
+        GenerationJob first = capped.submit("mock", config(), 5);
+        awaitState(capped, first);
+        for (int i = 0; i < 2; i++) {
+            awaitState(capped, capped.submit("mock", config(), 5));
+        }
+        report("Retention cap drops the oldest result", capped.get(first.getId()) == null);
+    }
+
+    private static GenerationJob.State awaitState(GenerationJobRegistry registry, GenerationJob job) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!job.getState().isTerminal() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return job.getState();
+    }
+
+    private static SourceConfig config() {
+        return new SourceConfig.Builder().type(SourceConfig.SourceType.GEMINI_API)
+            .topic("Test").difficulty("Easy").build();
+    }
+
+    private static Question question(String id) {
+        return new EasyQuestion(id, id + "?", List.of("a", "b", "c", "d"), 0, "Test");
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.mindquest.server.handler;
+
+import com.mindquest.model.QuestionBank;
+import com.mindquest.model.question.EasyQuestion;
+import com.mindquest.model.question.Question;
+import com.mindquest.server.SessionRegistry;
+import com.mindquest.server.dto.AnswerRequest;
+import com.mindquest.service.GameService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Quick harness for retried answers: a replayed idempotency key returns the
+ * original reply, and an answer for a question already passed scores nothing.
+ */
+public class AnswerIdempotencyTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== Answer Idempotency Test ===\n");
+
+        SessionRegistry registry = new SessionRegistry(QuestionBank.shared());
+        GameplayActions actions = new GameplayActions(registry);
+        try {
+            testReplayReturnsOriginalReply(registry, actions);
+            testStaleAnswerRejected(registry, actions);
+        } finally {
+            registry.shutdownAll();
+        }
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void testReplayReturnsOriginalReply(SessionRegistry registry, GameplayActions actions) {
+        System.out.println("--- Replay ---");
+        String id = startRound(registry);
+        GameService game = registry.getSession(id);
+
+        AnswerRequest first = answer(game, "key-1");
+        GameplayActions.Outcome original = actions.submitAnswer(id, first).join();
+        GameplayActions.Outcome retry = actions.submitAnswer(id, answer(game, "key-1")).join();
+
+        report("Retry gets the original reply", retry.status() == 200 && retry.body() == original.body());
+        report("Retry does not advance the round", game.getCurrentQuestionIndex() == 1);
+
+        GameplayActions.Outcome next = actions.submitAnswer(id, answer(game, "key-2")).join();
+        report("A new key answers the next question and the retry was not scored",
+            next.status() == 200 && game.getCurrentQuestionIndex() == 2 && correctAnswers(next) == 2);
+    }
+
+    private static void testStaleAnswerRejected(SessionRegistry registry, GameplayActions actions) {
+        System.out.println("--- Compare and advance ---");
+        String id = startRound(registry);
+        GameService game = registry.getSession(id);
+
+        String firstId = game.getCurrentQuestion().getId();
+        AnswerRequest fresh = answer(game, null);
+        fresh.questionIndex = 0;
+        fresh.questionId = firstId;
+        GameplayActions.Outcome applied = actions.submitAnswer(id, fresh).join();
+
+        AnswerRequest stale = answer(game, null);
+        stale.questionIndex = 0;
+        GameplayActions.Outcome byIndex = actions.submitAnswer(id, stale).join();
+        stale.questionIndex = null;
+        stale.questionId = firstId;
+        GameplayActions.Outcome byId = actions.submitAnswer(id, stale).join();
+
+        Map<?, ?> conflict = (Map<?, ?>) byIndex.body();
+        report("Answer for a passed question is rejected by index and by ID",
+            applied.status() == 200 && byIndex.status() == 409 && byId.status() == 409
+                && Integer.valueOf(1).equals(conflict.get("currentIndex")));
+        report("Rejected answers leave the round in place",
+            game.getCurrentQuestionIndex() == 1 && !game.advanceFrom(0));
+    }
+
+    private static String startRound(SessionRegistry registry) {
+        String id = registry.createSession();
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            questions.add(new EasyQuestion("q" + i, "Question " + i + "?", List.of("a", "b", "c", "d"), 1, "Test"));
+        }
+        registry.getSession(id).startNewRoundWithQuestions("Test", "Easy", questions);
+        return id;
+    }
+
+    private static AnswerRequest answer(GameService game, String key) {
+        AnswerRequest req = new AnswerRequest();
+        req.index = game.getCurrentQuestion() != null ? game.getCurrentQuestion().getCorrectIndex() : 0;
+        req.answerTimeMs = 1500L;
+        req.idempotencyKey = key;
+        return req;
+    }
+
+    private static int correctAnswers(GameplayActions.Outcome outcome) {
+        Object correct = ((Map<?, ?>) outcome.body()).get("correctAnswers");
+        return correct instanceof Integer ? (Integer) correct : -1;
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.mindquest.server.handler;
+
+import com.mindquest.logging.Log;
+import com.mindquest.model.QuestionBank;
+import com.mindquest.model.question.EasyQuestion;
+import com.mindquest.model.question.Question;
+import com.mindquest.server.SessionRegistry;
+import com.mindquest.server.dto.AnswerRequest;
+import com.mindquest.service.GameService;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Quick benchmark for the logging facade on the /question and /answer paths.
+ *
+ * Runs the same gameplay loop with per-request debug output enabled, once the old
+ * way (every line printed synchronously) and once through the async appender with
+ * sampling, and compares request throughput. Console output goes to a temp file.
+ */
+public class LoggingThroughputTest {
+
+    private static final int THREADS = 4;
+    private static final long DURATION_MS = 3000;
+    private static final int ROUND_SIZE = 8;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Logging Throughput Test ===\n");
+
+        PrintStream console = System.out;
+        File sink = File.createTempFile("mindquest-log", ".txt");
+        sink.deleteOnExit();
+        System.setProperty("MINDQUEST_LOG_LEVEL_GAMEPLAYHANDLER", "DEBUG");
+
+        double legacy;
+        double async;
+        long sinkBytesLegacy;
+        try (PrintStream redirected = new PrintStream(new FileOutputStream(sink), true)) {
+            System.setOut(redirected);
+
+            // Warm-up, then the synchronous unsampled baseline
+            configure(false, Integer.MAX_VALUE);
+            run(1000);
+            legacy = run(DURATION_MS);
+            sinkBytesLegacy = sink.length();
+
+            configure(true, 20);
+            run(1000);
+            async = run(DURATION_MS);
+            Log.flush(2000);
+        } finally {
+            System.setOut(console);
+            System.clearProperty("MINDQUEST_LOG_LEVEL_GAMEPLAYHANDLER");
+            System.clearProperty("MINDQUEST_LOG_ASYNC");
+            System.clearProperty("MINDQUEST_LOG_SAMPLE_PER_SECOND");
+            Log.reconfigure();
+        }
+
+        System.out.printf("Synchronous, every line: %,.0f requests/s%n", legacy);
+        System.out.printf("Async appender, sampled: %,.0f requests/s (%.1fx)%n", async, async / legacy);
+        System.out.println("Log output: " + sinkBytesLegacy / 1024 + " KB synchronous vs "
+            + (sink.length() - sinkBytesLegacy) / 1024 + " KB async");
+        report("Async sampled logging is faster than synchronous logging", async > legacy);
+        report("Sampling bounds log volume", sink.length() - sinkBytesLegacy < sinkBytesLegacy);
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void configure(boolean asyncAppender, int samplesPerSecond) {
+        System.setProperty("MINDQUEST_LOG_ASYNC", String.valueOf(asyncAppender));
+        System.setProperty("MINDQUEST_LOG_SAMPLE_PER_SECOND", String.valueOf(samplesPerSecond));
+        Log.reconfigure();
+    }
+
+    /**
+     * Question + answer requests per second, with one session per thread.
+     */
+    private static double run(long durationMs) throws InterruptedException {
+        SessionRegistry registry = new SessionRegistry(QuestionBank.shared());
+        GameplayActions actions = new GameplayActions(registry);
+        LongAdder requests = new LongAdder();
+        CountDownLatch done = new CountDownLatch(THREADS);
+        long deadline = System.nanoTime() + durationMs * 1_000_000;
+        long start = System.nanoTime();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                String id = registry.createSession();
+                Thread worker = new Thread(() -> {
+                    GameService game = registry.getSession(id);
+                    AnswerRequest req = new AnswerRequest();
+                    req.answerTimeMs = 1500L;
+                    while (System.nanoTime() < deadline) {
+                        startRound(game);
+                        for (int i = 0; i < ROUND_SIZE; i++) {
+                            // Wait for each reply, as a client would, so this measures requests rather than enqueues
+                            actions.getCurrentQuestion(id).join();
+                            req.index = 1;
+                            actions.submitAnswer(id, req).join();
+                            requests.add(2);
+                        }
+                    }
+                    done.countDown();
+                });
+                worker.start();
+            }
+            done.await();
+        } finally {
+            registry.shutdownAll();
+        }
+        return requests.sum() * 1e9 / (System.nanoTime() - start);
+    }
+
+    /**
+     * Start a round on the session's mailbox, in turn with the queued actions.
+     */
+    private static void startRound(GameService game) {
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < ROUND_SIZE; i++) {
+            questions.add(new EasyQuestion("q" + i, "Question " + i + "?", List.of("a", "b", "c", "d"), 1, "Test"));
+        }
+        game.getMailbox().submit(() -> {
+            game.startNewRoundWithQuestions("Test", "Easy", questions);
+            return null;
+        }).join();
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.mindquest.server.handler;
+
+import com.mindquest.model.QuestionBank;
+import com.mindquest.model.question.EasyQuestion;
+import com.mindquest.model.question.Question;
+import com.mindquest.server.SessionRegistry;
+import com.mindquest.server.dto.AnswerRequest;
+import com.mindquest.server.dto.BatchAnswerRequest;
+import com.mindquest.service.GameService;
+import com.mindquest.service.dto.RoundSummary;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Quick harness for the round bundle: the bundle hides answers, and a batched
+ * submit scores exactly like answering the same round one question at a time.
+ */
+public class RoundBundleTest {
+
+    // Correct/wrong pattern by position, with per-answer times
+    private static final boolean[] CORRECT = {true, true, true, false, true, false, false, false};
+    private static final long[] TIMES = {900, 2500, 4000, 1200, 700, 3000, 5000, 800};
+
+    public static void main(String[] args) {
+        System.out.println("=== Round Bundle Test ===\n");
+
+        SessionRegistry registry = new SessionRegistry(QuestionBank.shared());
+        GameplayActions actions = new GameplayActions(registry);
+        try {
+            testBundleHidesAnswers(registry, actions);
+            testBatchMatchesStepByStep(registry, actions);
+            testRejectedBatchLeavesRoundUntouched(registry, actions);
+        } finally {
+            registry.shutdownAll();
+        }
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void testBundleHidesAnswers(SessionRegistry registry, GameplayActions actions) {
+        System.out.println("--- Bundle ---");
+        String id = startRound(registry);
+        GameplayActions.Outcome outcome = actions.getRound(id).join();
+        Map<?, ?> body = (Map<?, ?>) outcome.body();
+        List<?> questions = (List<?>) body.get("questions");
+        boolean hidden = questions.stream().noneMatch(q -> ((Map<?, ?>) q).containsKey("correctIndex"));
+        report("Whole round returned without correct answers",
+            outcome.status() == 200 && questions.size() == CORRECT.length && hidden
+                && Integer.valueOf(0).equals(body.get("currentIndex")));
+    }
+
+    private static void testBatchMatchesStepByStep(SessionRegistry registry, GameplayActions actions) {
+        System.out.println("--- Batch vs step-by-step ---");
+        String stepId = startRound(registry);
+        List<Object> stepResults = new ArrayList<>();
+        Object stepSummary = null;
+        for (int i = 0; i < CORRECT.length; i++) {
+            Map<?, ?> body = (Map<?, ?>) actions.submitAnswer(stepId, answerFor(registry.getSession(stepId), i)).join().body();
+            Map<Object, Object> result = new LinkedHashMap<>(body);
+            stepSummary = result.remove("summary");
+            stepResults.add(result);
+        }
+
+        String batchId = startRound(registry);
+        BatchAnswerRequest batch = new BatchAnswerRequest();
+        batch.fromIndex = 0;
+        batch.answers = new ArrayList<>();
+        GameService batchGame = registry.getSession(batchId);
+        for (int i = 0; i < CORRECT.length; i++) {
+            batch.answers.add(answerFor(batchGame, i));
+        }
+        GameplayActions.Outcome outcome = actions.submitAnswers(batchId, batch).join();
+        Map<?, ?> body = (Map<?, ?>) outcome.body();
+
+        report("Per-answer results identical", outcome.status() == 200 && stepResults.equals(body.get("results")));
+        report("Round summary identical", sameSummary((RoundSummary) stepSummary, (RoundSummary) body.get("summary"))
+            && registry.getSession(stepId).getGlobalPoints() == batchGame.getGlobalPoints());
+
+        GameplayActions.Outcome retry = actions.submitAnswers(batchId, batch).join();
+        report("Retried batch rejected", retry.status() == 400 || retry.status() == 409);
+    }
+
+    private static void testRejectedBatchLeavesRoundUntouched(SessionRegistry registry, GameplayActions actions) {
+        System.out.println("--- Validation ---");
+        String id = startRound(registry);
+        GameService game = registry.getSession(id);
+        BatchAnswerRequest batch = new BatchAnswerRequest();
+        batch.answers = new ArrayList<>(List.of(answerFor(game, 0), answerFor(game, 1)));
+        AnswerRequest bad = new AnswerRequest();
+        bad.answer = "Z";
+        batch.answers.add(bad);
+
+        GameplayActions.Outcome invalid = actions.submitAnswers(id, batch).join();
+        batch.answers.remove(2);
+        batch.fromIndex = 3;
+        GameplayActions.Outcome stale = actions.submitAnswers(id, batch).join();
+        report("Invalid or stale batch applies nothing",
+            invalid.status() == 400 && stale.status() == 409 && game.getCurrentQuestionIndex() == 0);
+    }
+
+    /**
+     * Rounds are shuffled, so every question shares one correct index to keep results comparable by position.
+     */
+    private static String startRound(SessionRegistry registry) {
+        String id = registry.createSession();
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < CORRECT.length; i++) {
+            questions.add(new EasyQuestion("q" + i, "Question " + i + "?", List.of("a", "b", "c", "d"), 1, "Test"));
+        }
+        registry.getSession(id).startNewRoundWithQuestions("Test", "Easy", questions);
+        return id;
+    }
+
+    /**
+     * Answer for position i of the session's round, right or wrong according to the pattern.
+     */
+    private static AnswerRequest answerFor(GameService game, int i) {
+        int correct = game.getCurrentRoundQuestions().get(i).getCorrectIndex();
+        AnswerRequest req = new AnswerRequest();
+        req.index = CORRECT[i] ? correct : (correct + 1) % 4;
+        req.answerTimeMs = TIMES[i];
+        return req;
+    }
+
+    private static boolean sameSummary(RoundSummary a, RoundSummary b) {
+        return a.getHpBonus() == b.getHpBonus()
+            && a.getRoundScore() == b.getRoundScore()
+            && a.getNewGlobalPointsTotal() == b.getNewGlobalPointsTotal()
+            && a.getCorrectAnswers() == b.getCorrectAnswers()
+            && a.getIncorrectAnswers() == b.getIncorrectAnswers()
+            && a.getAccuracyPercentage() == b.getAccuracyPercentage()
+            && a.getAverageAnswerTimeMs() == b.getAverageAnswerTimeMs();
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
@@ -0,0 +1,231 @@
+package com.mindquest.server.handler;
+
+import com.mindquest.model.QuestionBank;
+import com.mindquest.model.question.EasyQuestion;
+import com.mindquest.model.question.Question;
+import com.mindquest.server.SessionRegistry;
+import com.mindquest.server.dto.AnswerRequest;
+import com.mindquest.server.session.InMemorySessionStore;
+import com.mindquest.server.session.SessionPolicy;
+import com.mindquest.service.GameService;
+import com.mindquest.service.executor.SessionMailbox;
+import com.mindquest.service.executor.SharedExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Quick harness for per-session mailboxes: tasks run in order and never overlap,
+ * a rejected drain does not wedge the mailbox, a saturated shared pool never runs
+ * a drain on the submitting thread, a burst of concurrent answers
+ * to one session scores each question once, and in shared mode an answer is
+ * committed from its own mailbox task.
+ */
+public class SessionMailboxTest {
+
+    private static final int ROUND_SIZE = 5;
+    private static final int CONCURRENT_ANSWERS = 40;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Session Mailbox Test ===\n");
+
+        testOrderingAndExclusion();
+        testSaturatedPool();
+
+        SessionRegistry registry = new SessionRegistry(QuestionBank.shared());
+        try {
+            testConcurrentAnswers(registry, new GameplayActions(registry));
+        } finally {
+            registry.shutdownAll();
+        }
+
+        testSharedCommit();
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void testOrderingAndExclusion() throws Exception {
+        System.out.println("--- Mailbox ---");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            SessionMailbox mailbox = new SessionMailbox(pool);
+            List<Integer> order = new ArrayList<>();
+            int[] running = new int[1];
+            boolean[] overlapped = new boolean[1];
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                int n = i;
+                results.add(mailbox.submit(() -> {
+                    // Plain fields: the mailbox must provide exclusion and visibility
+                    overlapped[0] |= ++running[0] > 1;
+                    order.add(n);
+                    running[0]--;
+                    return n;
+                }));
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+            boolean inOrder = order.size() == 1000;
+            for (int i = 0; inOrder && i < order.size(); i++) {
+                inOrder = order.get(i) == i;
+            }
+            report("Tasks run in submission order", inOrder);
+            report("Tasks never overlap", !overlapped[0] && mailbox.getPendingCount() == 0);
+
+            CompletableFuture<Object> failed = mailbox.submit(() -> {
+                throw new IllegalStateException("boom");
+            });
+            boolean failedExceptionally = failed.handle((v, e) -> e != null).get(5, TimeUnit.SECONDS);
+            int after = mailbox.submit(() -> 7).get(5, TimeUnit.SECONDS);
+            report("A failing task does not stall the mailbox", failedExceptionally && after == 7);
+
+            AtomicBoolean rejecting = new AtomicBoolean(true);
+            SessionMailbox refused = new SessionMailbox(task -> {
+                if (rejecting.get()) {
+                    throw new RejectedExecutionException("shut down");
+                }
+                pool.execute(task);
+            });
+            boolean rejected;
+            try {
+                refused.submit(() -> 1);
+                rejected = false;
+            } catch (RejectedExecutionException e) {
+                rejected = true;
+            }
+            rejecting.set(false);
+            int retried = refused.submit(() -> 2).get(5, TimeUnit.SECONDS);
+            report("A rejected drain surfaces to the caller and does not wedge the mailbox",
+                rejected && retried == 2 && refused.getPendingCount() == 0);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * With every shared worker busy and the queue full, a drain waits for a
+     * worker instead of running on the submitting thread.
+     */
+    private static void testSaturatedPool() throws Exception {
+        System.out.println("--- Saturated pool ---");
+        SharedExecutor executor = SharedExecutor.get();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch busy = new CountDownLatch(executor.getMaxThreads());
+        for (int i = 0; i < executor.getMaxThreads(); i++) {
+            executor.runAsync(() -> {
+                busy.countDown();
+                awaitQuietly(release);
+            });
+        }
+        busy.await(5, TimeUnit.SECONDS);
+        for (int i = 0; i < executor.getQueueCapacity(); i++) {
+            executor.runAsync(() -> { });
+        }
+        try {
+            CompletableFuture<String> ranOn = SessionMailbox.onSharedExecutor()
+                .submit(() -> Thread.currentThread().getName());
+            boolean deferred = !ranOn.isDone();
+            release.countDown();
+            String thread = ranOn.get(10, TimeUnit.SECONDS);
+            report("Saturated pool delays a drain instead of running it inline",
+                deferred && !thread.equals(Thread.currentThread().getName()));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void testConcurrentAnswers(SessionRegistry registry, GameplayActions actions) throws Exception {
+        System.out.println("--- Concurrent answers ---");
+        String id = registry.createSession();
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < ROUND_SIZE; i++) {
+            questions.add(new EasyQuestion("q" + i, "Question " + i + "?", List.of("a", "b", "c", "d"), 1, "Test"));
+        }
+        GameService game = registry.getSession(id);
+        game.startNewRoundWithQuestions("Test", "Easy", questions);
+
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        CountDownLatch go = new CountDownLatch(1);
+        List<CompletableFuture<GameplayActions.Outcome>> outcomes = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_ANSWERS; i++) {
+                outcomes.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    AnswerRequest req = new AnswerRequest();
+                    req.index = 1;
+                    req.answerTimeMs = 1000L;
+                    return actions.submitAnswer(id, req).join();
+                }, clients));
+            }
+            go.countDown();
+            int accepted = 0;
+            int rejected = 0;
+            for (CompletableFuture<GameplayActions.Outcome> outcome : outcomes) {
+                int status = outcome.get(10, TimeUnit.SECONDS).status();
+                if (status == 200) {
+                    accepted++;
+                } else if (status == 400) {
+                    rejected++;
+                }
+            }
+            System.out.println(accepted + " accepted, " + rejected + " rejected");
+            report("Each question scored exactly once",
+                accepted == ROUND_SIZE && rejected == CONCURRENT_ANSWERS - ROUND_SIZE);
+            report("Session ends consistent",
+                game.getCurrentQuestionIndex() == ROUND_SIZE && !game.hasMoreQuestions());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    /**
+     * Shared mode: a mutating action writes the session back from its own
+     * mailbox task, so another node sees it without a separate commit.
+     */
+    private static void testSharedCommit() throws Exception {
+        System.out.println("--- Shared commit ---");
+        SessionPolicy policy = new SessionPolicy(60_000, 600_000, 100, 50, 64);
+        InMemorySessionStore store = new InMemorySessionStore();
+        SessionRegistry nodeA = new SessionRegistry(QuestionBank.shared(), policy, store, true);
+        SessionRegistry nodeB = new SessionRegistry(QuestionBank.shared(), policy, store, true);
+        try {
+            String id = nodeA.createSession();
+            nodeA.getSession(id).startNewRoundWithQuestions("Test", "Easy", List.of(
+                new EasyQuestion("q0", "Question 0?", List.of("a", "b", "c", "d"), 1, "Test"),
+                new EasyQuestion("q1", "Question 1?", List.of("a", "b", "c", "d"), 1, "Test")));
+            nodeA.commit(id);
+
+            AnswerRequest req = new AnswerRequest();
+            req.index = 1;
+            int status = new GameplayActions(nodeA).submitAnswer(id, req).get(5, TimeUnit.SECONDS).status();
+            GameService onB = nodeB.getSession(id);
+            report("Answer is committed by its mailbox task", status == 200
+                && onB != null && onB.getCurrentQuestionIndex() == 1);
+        } finally {
+            nodeA.shutdownAll();
+            nodeB.shutdownAll();
+        }
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
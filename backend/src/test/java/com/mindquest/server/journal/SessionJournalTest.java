@@ -0,0 +1,162 @@
+package com.mindquest.server.journal;
+
+import com.mindquest.model.QuestionBank;
+import com.mindquest.model.question.EasyQuestion;
+import com.mindquest.model.question.Question;
+import com.mindquest.server.SessionRegistry;
+import com.mindquest.server.session.SessionPolicy;
+import com.mindquest.service.GameService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+/**
+ * Quick harness for the session journal: restart recovery, removal, compaction,
+ * and the per-answer overhead of journaling.
+ */
+public class SessionJournalTest {
+
+    private static final List<Question> QUESTIONS = List.of(
+        new EasyQuestion("q1", "First?", List.of("a", "b", "c", "d"), 0, "Test"),
+        new EasyQuestion("q2", "Second?", List.of("a", "b", "c", "d"), 1, "Test"),
+        new EasyQuestion("q3", "Third?", List.of("a", "b", "c", "d"), 2, "Test"));
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== SessionJournal Test ===\n");
+
+        testRecoveryAfterRestart();
+        testUnreadableSegmentKept();
+        testAnswerOverhead();
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void testRecoveryAfterRestart() throws Exception {
+        System.out.println("--- Restart recovery ---");
+        String journalDir = Files.createTempDirectory("mindquest-journal").toString();
+        QuestionBank bank = QuestionBank.shared();
+
+        SessionRegistry before = newRegistry(bank);
+        before.enableJournal(new SessionJournal(journalDir, 1024 * 1024, true, 0));
+        String kept = before.createSession();
+        String removed = before.createSession();
+
+        GameService service = before.getSession(kept);
+        service.startNewRoundWithQuestions("Test", "Easy", QUESTIONS);
+        Question q = service.getCurrentQuestion();
+        service.evaluateAnswer(q, q.getCorrectIndex(), false, 1500L);
+        service.moveToNextQuestion();
+        service.completeRoundAndSummarize();
+        service.startNewRoundWithQuestions("Test", "Easy", QUESTIONS);
+        q = service.getCurrentQuestion();
+        service.evaluateAnswer(q, q.getCorrectIndex(), false, 1500L);
+        service.moveToNextQuestion();
+        int points = service.getGlobalPoints();
+        String currentQuestion = service.getCurrentQuestion().getQuestionText();
+        int streak = service.getCorrectStreak();
+        before.removeSession(removed);
+        before.shutdownAll();
+
+        SessionRegistry after = newRegistry(bank);
+        int restored = after.enableJournal(new SessionJournal(journalDir, 1024 * 1024, true, 0));
+        GameService recovered = after.getSession(kept);
+        boolean ok = restored == 1
+            && recovered != null
+            && recovered.getGlobalPoints() == points
+            && recovered.getCorrectStreak() == streak
+            && currentQuestion.equals(recovered.getCurrentQuestion().getQuestionText())
+            && after.getSession(removed) == null;
+        report("Session progress survives a restart, removed session does not", ok);
+
+        // Startup compaction leaves a single snapshot segment plus the live one
+        long segments;
+        try (Stream<Path> files = Files.list(Path.of(journalDir))) {
+            segments = files.filter(f -> f.getFileName().toString().endsWith(".log")).count();
+        }
+        report("Replayed history compacted (" + segments + " segments left)", segments <= 2);
+        System.out.println("Journal: " + after.getJournalStats());
+        after.shutdownAll();
+    }
+
+    private static void testUnreadableSegmentKept() throws Exception {
+        System.out.println("--- Unreadable segment ---");
+        Path journalDir = Files.createTempDirectory("mindquest-journal");
+        // A directory in place of a segment cannot be read, so replay skips it
+        Path unreadable = Files.createDirectory(journalDir.resolve(String.format("journal-%020d.log", 1)));
+
+        SessionRegistry registry = newRegistry(QuestionBank.shared());
+        registry.enableJournal(new SessionJournal(journalDir.toString(), 1024 * 1024, true, 0));
+        report("Segment that failed to replay survives compaction", Files.exists(unreadable));
+        registry.shutdownAll();
+    }
+
+    /**
+     * Not a pass/fail check: prints evaluateAnswer cost without a journal and with
+     * the journal in async and sync mode, single-threaded and with concurrent sessions.
+     */
+    private static void testAnswerOverhead() throws Exception {
+        System.out.println("--- Per-answer overhead ---");
+        int answers = 2000;
+        System.out.printf("no journal:            %8.1f us/answer%n", measure(null, 1, answers));
+        System.out.printf("async journal:         %8.1f us/answer%n", measure(false, 1, answers));
+        System.out.printf("sync journal, 1 thr:   %8.1f us/answer%n", measure(true, 1, answers / 4));
+        System.out.printf("sync journal, 16 thr:  %8.1f us/answer (per thread)%n", measure(true, 16, answers / 4));
+    }
+
+    private static double measure(Boolean sync, int threads, int answersPerThread) throws Exception {
+        SessionRegistry registry = newRegistry(QuestionBank.shared());
+        SessionJournal journal = null;
+        if (sync != null) {
+            journal = new SessionJournal(Files.createTempDirectory("mindquest-journal").toString(),
+                64L * 1024 * 1024, sync, 0);
+            registry.enableJournal(journal);
+        }
+        List<GameService> services = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            GameService service = registry.getSession(registry.createSession());
+            service.startNewRoundWithQuestions("Test", "Easy", QUESTIONS);
+            services.add(service);
+        }
+
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] totals = new long[threads];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            new Thread(() -> {
+                GameService service = services.get(index);
+                Question q = QUESTIONS.get(0);
+                long start = System.nanoTime();
+                for (int i = 0; i < answersPerThread; i++) {
+                    service.evaluateAnswer(q, i % 4, false, 2000L);
+                }
+                totals[index] = System.nanoTime() - start;
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        if (journal != null) {
+            System.out.println("  " + journal.stats());
+        }
+        registry.shutdownAll();
+        long sum = 0;
+        for (long total : totals) {
+            sum += total;
+        }
+        return sum / 1000.0 / threads / answersPerThread;
+    }
+
+    private static SessionRegistry newRegistry(QuestionBank bank) throws Exception {
+        SessionPolicy policy = new SessionPolicy(600_000, 6_000_000, 1000, 100, 64, 0,
+            Files.createTempDirectory("mindquest-sessions").toString());
+        return new SessionRegistry(bank, policy);
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.mindquest.server.session;
+
+import com.mindquest.model.QuestionBank;
+import com.mindquest.model.question.EasyQuestion;
+import com.mindquest.model.question.Question;
+import com.mindquest.server.SessionRegistry;
+import com.mindquest.service.GameService;
+
+import java.io.DataOutputStream;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Quick harness for the SessionStore implementations and for two registries
+ * ("nodes") sharing one store.
+ */
+public class SessionStoreTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== SessionStore Test ===\n");
+
+        testCompareAndPut("memory", new InMemorySessionStore());
+        testCompareAndPut("file", new FileSessionStore(Files.createTempDirectory("mindquest-store").toString()));
+        testPrivateStores();
+
+        SessionStoreServer server = new SessionStoreServer(new InMemorySessionStore(), 0).startInBackground();
+        try {
+            testCompareAndPut("socket", new SocketSessionStore("127.0.0.1", server.getPort()));
+            testOversizedRecord(server.getPort());
+            testSharedNodes(new SocketSessionStore("127.0.0.1", server.getPort()),
+                new SocketSessionStore("127.0.0.1", server.getPort()));
+        } finally {
+            server.stop();
+        }
+
+        System.out.println("\n=== All Tests Complete ===");
+    }
+
+    private static void testCompareAndPut(String name, SessionStore store) throws Exception {
+        System.out.println("--- " + name + " store ---");
+        byte[] first = {1, 2, 3};
+        byte[] second = {4, 5};
+
+        boolean ok = store.version("s1") == 0
+            && store.compareAndPut("s1", 0, 42L, first) == 1
+            && store.compareAndPut("s1", 0, 42L, second) == -1
+            && store.compareAndPut("s1", 1, 42L, second) == 2
+            && store.compareAndPut("s1", 1, 42L, first) == -1
+            && store.version("s1") == 2;
+        SessionStore.StoredSession loaded = store.load("s1");
+        ok = ok && loaded != null
+            && loaded.version() == 2
+            && loaded.createdAt() == 42L
+            && java.util.Arrays.equals(loaded.data(), second);
+
+        store.delete("s1");
+        ok = ok && store.load("s1") == null && store.version("s1") == 0;
+        report(name + ": versioned compare-and-put", ok);
+        store.clear();
+        store.close();
+    }
+
+    private static void testPrivateStores() throws Exception {
+        System.out.println("--- private file stores ---");
+        String base = Files.createTempDirectory("mindquest-store").toString();
+        FileSessionStore first = FileSessionStore.privateTo(base);
+        FileSessionStore second = FileSessionStore.privateTo(base);
+        first.compareAndPut("s1", 0, 42L, new byte[] {1});
+        second.compareAndPut("s2", 0, 42L, new byte[] {2});
+
+        second.clear();
+        second.close();
+        report("Clearing one private store leaves the other's records",
+            first.load("s1") != null && !Files.exists(second.getDirectory()));
+        first.clear();
+        first.close();
+    }
+
+    private static void testOversizedRecord(int port) throws Exception {
+        System.out.println("--- oversized record ---");
+        boolean closed;
+        try (Socket socket = new Socket("127.0.0.1", port)) {
+            socket.setSoTimeout(5000);
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeByte(SocketSessionStore.OP_COMPARE_AND_PUT);
+            out.writeUTF("s1");
+            out.writeLong(0);
+            out.writeLong(42L);
+            out.writeInt(Integer.MAX_VALUE);
+            out.flush();
+            closed = socket.getInputStream().read() == -1;
+        }
+        SocketSessionStore store = new SocketSessionStore("127.0.0.1", port);
+        boolean stillServing = store.version("s1") == 0;
+        store.close();
+        report("Oversized record length closes the connection", closed && stillServing);
+    }
+
+    private static void testSharedNodes(SessionStore storeA, SessionStore storeB) throws Exception {
+        System.out.println("--- Two nodes, one store ---");
+        SessionPolicy policy = new SessionPolicy(60_000, 600_000, 100, 50, 64);
+        QuestionBank bank = QuestionBank.shared();
+        SessionRegistry nodeA = new SessionRegistry(bank, policy, storeA, true);
+        SessionRegistry nodeB = new SessionRegistry(bank, policy, storeB, true);
+
+        // Created on A, first request lands on B
+        String sessionId = nodeA.createSession();
+        GameService onB = nodeB.getSession(sessionId);
+        List<Question> questions = List.of(
+            new EasyQuestion("q1", "First?", List.of("a", "b", "c", "d"), 0, "Test"),
+            new EasyQuestion("q2", "Second?", List.of("a", "b", "c", "d"), 1, "Test"));
+        onB.startNewRoundWithQuestions("Test", "Easy", questions);
+        boolean committed = nodeB.commit(sessionId) == SessionRegistry.CommitResult.COMMITTED;
+
+        // Next request goes back to A, which must see B's round
+        GameService onA = nodeA.getSession(sessionId);
+        boolean sawRound = onA != null && onA.getCurrentQuestion() != null
+            && "Test".equals(onA.getCurrentTopic());
+        report("Node B adopts a session created on node A", onB != null && committed);
+        report("Node A reloads state written by node B", sawRound);
+
+        // Both nodes change the same version; the second writer must lose
+        onA.moveToNextQuestion();
+        GameService staleB = nodeB.getSession(sessionId);
+        staleB.rollbackRound();
+        SessionRegistry.CommitResult first = nodeA.commit(sessionId);
+        SessionRegistry.CommitResult second = nodeB.commit(sessionId);
+        report("Concurrent write is rejected as a conflict",
+            first == SessionRegistry.CommitResult.COMMITTED && second == SessionRegistry.CommitResult.CONFLICT);
+
+        nodeA.removeSession(sessionId);
+        report("Removal on one node is visible on the other", nodeB.getSession(sessionId) == null);
+        System.out.println("Stats A: " + nodeA.getStoreStats());
+        System.out.println("Stats B: " + nodeB.getStoreStats());
+
+        nodeA.shutdownAll();
+        nodeB.shutdownAll();
+    }
+
+    private static void report(String name, boolean passed) {
+        System.out.println((passed ? "✓ " : "✗ ") + name + (passed ? " PASSED" : " FAILED"));
+    }
+}
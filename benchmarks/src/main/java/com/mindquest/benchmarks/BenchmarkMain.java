@@ -0,0 +1,37 @@
+package com.mindquest.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar: the standard JMH command line with the GC
+ * profiler always on, so every run reports allocation rate (gc.alloc.rate.norm
+ * = bytes per operation) next to the timings.
+ *
+ * <pre>
+ *   mvn -B package -pl benchmarks -am -DskipTests
+ *   java -jar benchmarks/target/benchmarks.jar                 # everything
+ *   java -jar benchmarks/target/benchmarks.jar SessionManager  # one suite
+ * </pre>
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+        // Utility class - no instantiation
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+                || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        new Runner(new OptionsBuilder()
+            .parent(commandLine)
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
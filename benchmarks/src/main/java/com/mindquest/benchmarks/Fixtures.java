@@ -0,0 +1,37 @@
+package com.mindquest.benchmarks;
+
+import com.mindquest.model.question.EasyQuestion;
+import com.mindquest.model.question.Question;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shared benchmark data.
+ */
+final class Fixtures {
+
+    static final String TOPIC = "Computer Science";
+    static final String DIFFICULTY = "Easy";
+
+    private Fixtures() {
+        // Utility class - no instantiation
+    }
+
+    static Question question(int i) {
+        return new EasyQuestion("BENCH_" + i, "Benchmark question " + i + "?",
+            List.of("First choice", "Second choice", "Third choice", "Fourth choice"), i % 4, TOPIC);
+    }
+
+    /**
+     * IDs of questions a long-running session has already seen; disjoint from the built-in bank.
+     */
+    static Set<String> usedIds(int count) {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            ids.add("USED_" + i);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,73 @@
+package com.mindquest.benchmarks;
+
+import com.mindquest.controller.SessionManager;
+import com.mindquest.model.QuestionBank;
+import com.mindquest.model.game.Player;
+import com.mindquest.model.question.Question;
+import com.mindquest.service.GameService;
+import com.mindquest.service.dto.AnswerResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring cost of one answer: streaks, criticals, HP and score updates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameServiceBenchmark {
+
+    private static final QuestionBank BANK = QuestionBank.shared();
+
+    private GameService gameService;
+    private Question[] questions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createQuestions() {
+        questions = new Question[16];
+        for (int i = 0; i < questions.length; i++) {
+            questions[i] = Fixtures.question(i);
+        }
+    }
+
+    /**
+     * Fresh game per iteration so answer counters and streaks stay in range.
+     */
+    @Setup(Level.Iteration)
+    public void startGame() {
+        Player player = new Player();
+        gameService = new GameService(new SessionManager(player, BANK), player, BANK);
+        gameService.startNewRound(Fixtures.TOPIC, Fixtures.DIFFICULTY);
+        next = 0;
+    }
+
+    @Benchmark
+    public AnswerResult evaluateCorrectAnswer() {
+        Question q = questions[next++ & 15];
+        return gameService.evaluateAnswer(q, q.getCorrectIndex(), false, 1500L);
+    }
+
+    @Benchmark
+    public AnswerResult evaluateMixedAnswers() {
+        int i = next++;
+        Question q = questions[i & 15];
+        // Two right, one wrong: exercises streak resets and damage as well as scoring
+        int answer = i % 3 == 2 ? (q.getCorrectIndex() + 1) % 4 : q.getCorrectIndex();
+        return gameService.evaluateAnswer(q, answer, false, 7000L);
+    }
+}
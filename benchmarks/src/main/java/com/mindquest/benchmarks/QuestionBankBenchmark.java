@@ -0,0 +1,57 @@
+package com.mindquest.benchmarks;
+
+import com.mindquest.model.QuestionBank;
+import com.mindquest.model.question.Difficulty;
+import com.mindquest.model.question.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Built-in bank lookups, as done on every round start without a custom source.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuestionBankBenchmark {
+
+    private static final String[] TOPICS = {"Computer Science", "Artificial Intelligence", "Philosophy"};
+    private static final String[] DIFFICULTIES = {"Easy", "Medium", "Hard"};
+
+    private final QuestionBank bank = QuestionBank.shared();
+
+    @Benchmark
+    public List<Question> lookup() {
+        return bank.getQuestionsByTopicAndDifficulty(Fixtures.TOPIC, Fixtures.DIFFICULTY);
+    }
+
+    @Benchmark
+    public void lookupEveryPool(Blackhole blackhole) {
+        for (String topic : TOPICS) {
+            for (String difficulty : DIFFICULTIES) {
+                blackhole.consume(bank.getQuestionsByTopicAndDifficulty(topic, difficulty));
+            }
+        }
+    }
+
+    /**
+     * Hardcoded-source loads and LLM fallbacks used to build a fresh bank each time; they now share one.
+     */
+    @Benchmark
+    public List<Question> sharedLookupByEnum() {
+        return QuestionBank.shared().getQuestions(Fixtures.TOPIC, Difficulty.EASY);
+    }
+}
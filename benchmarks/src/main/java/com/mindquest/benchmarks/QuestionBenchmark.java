@@ -0,0 +1,43 @@
+package com.mindquest.benchmarks;
+
+import com.mindquest.model.question.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Question accessors used by every question/answer request and JSON serialization.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QuestionBenchmark {
+
+    private final Question question = Fixtures.question(1);
+
+    @Benchmark
+    public List<String> getChoices() {
+        return question.getChoices();
+    }
+
+    /**
+     * Typical caller pattern: read one choice or the count.
+     */
+    @Benchmark
+    public int choiceLookup() {
+        List<String> choices = question.getChoices();
+        return choices.size() + choices.get(question.getCorrectIndex()).length();
+    }
+}
@@ -0,0 +1,98 @@
+package com.mindquest.benchmarks;
+
+import com.mindquest.controller.SessionManager;
+import com.mindquest.model.QuestionBank;
+import com.mindquest.model.game.Player;
+import com.mindquest.service.dto.SessionSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session state transitions. SessionState is a small cursor over a round and a
+ * used-question log that every state shares: advancing or scoring allocates only
+ * the cursor, and a new round appends its IDs to the log. Cost should therefore
+ * stay flat as the number of questions already seen ({@code usedIds}) grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SessionManagerBenchmark {
+
+    private static final QuestionBank BANK = QuestionBank.shared();
+
+    @Param({"0", "1000", "10000"})
+    public int usedIds;
+
+    private SessionManager sessionManager;
+    private SessionSnapshot freshSession;
+
+    @Setup(Level.Trial)
+    public void createSession() {
+        sessionManager = new SessionManager(new Player(), BANK);
+        freshSession = new SessionSnapshot.Builder()
+            .usedQuestionIds(Fixtures.usedIds(usedIds))
+            .topic(Fixtures.TOPIC)
+            .difficulty(Fixtures.DIFFICULTY)
+            .build();
+        sessionManager.restoreFrom(freshSession);
+        sessionManager.startNewRound(Fixtures.TOPIC, Fixtures.DIFFICULTY);
+    }
+
+    /**
+     * The index only grows; each transition allocates the same cursor regardless of its value.
+     */
+    @Benchmark
+    public int moveToNextQuestion() {
+        sessionManager.moveToNextQuestion();
+        return sessionManager.getCurrentQuestionIndex();
+    }
+
+    @Benchmark
+    public int addToGlobalPoints() {
+        sessionManager.addToGlobalPoints(1);
+        return sessionManager.getGlobalPoints();
+    }
+
+    /**
+     * Each round marks its questions as used, so the built-in bank would run dry after
+     * one call; rewind to the same history before every invocation. The restore copy is
+     * outside the measurement.
+     */
+    @State(Scope.Thread)
+    public static class RoundState {
+        SessionManager sessionManager;
+        SessionSnapshot freshSession;
+
+        @Setup(Level.Trial)
+        public void create(SessionManagerBenchmark outer) {
+            sessionManager = new SessionManager(new Player(), BANK);
+            freshSession = outer.freshSession;
+        }
+
+        @Setup(Level.Invocation)
+        public void rewind() {
+            sessionManager.restoreFrom(freshSession);
+        }
+    }
+
+    @Benchmark
+    public int startNewRound(RoundState round) {
+        round.sessionManager.startNewRound(Fixtures.TOPIC, Fixtures.DIFFICULTY);
+        return round.sessionManager.getCurrentRoundQuestionCount();
+    }
+}
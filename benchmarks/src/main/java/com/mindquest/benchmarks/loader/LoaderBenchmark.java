@@ -0,0 +1,74 @@
+package com.mindquest.benchmarks.loader;
+
+import com.mindquest.model.question.Question;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse throughput of each question loader on generated fixtures.
+ *
+ * The primary score is whole-file loads per second; the {@code questions}
+ * counter is questions parsed per second, comparable across sizes. The GC
+ * profiler (always on through BenchmarkMain) adds bytes allocated per load.
+ * Peak heap and time-to-first-question need a fresh JVM per case and are
+ * measured by {@link LoaderFootprint}.
+ *
+ * CSV_SAMPLE should allocate in proportion to the file but return the same
+ * 500 questions at every size; LoaderFootprint shows its peak heap staying flat.
+ *
+ * The 1M-row XLSX case usually fails with OutOfMemoryError under the default
+ * heap, which is itself the baseline the streaming loaders have to beat.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class LoaderBenchmark {
+
+    @Param({"CSV", "CSV_EASY", "CSV_SAMPLE", "XLSX", "JSON", "CUSTOM_JSON"})
+    public LoaderFormat format;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        file = QuestionFixtures.fixture(format, rows);
+    }
+
+    /**
+     * Questions parsed, reported as a rate next to the load rate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Parsed {
+        public long questions;
+    }
+
+    @Benchmark
+    public List<Question> load(Parsed parsed) throws IOException {
+        List<Question> questions = format.load(file);
+        parsed.questions += questions.size();
+        return questions;
+    }
+}
@@ -0,0 +1,123 @@
+package com.mindquest.benchmarks.loader;
+
+import com.mindquest.model.question.Question;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Peak heap and time-to-first-question per loader and fixture size.
+ *
+ * Each case runs in its own JVM so one load's garbage cannot inflate the next
+ * one's peak. Time-to-first-question is measured from opening the file until
+ * the caller holds a question; for today's loaders, which return the whole
+ * list, it equals the full load time, and a streaming loader should show it
+ * falling far below.
+ * <pre>
+ *   java -cp benchmarks/target/benchmarks.jar com.mindquest.benchmarks.loader.LoaderFootprint [rows...]
+ * </pre>
+ * Child JVMs get -Xmx2g unless MINDQUEST_FOOTPRINT_XMX says otherwise.
+ */
+public final class LoaderFootprint {
+
+    private static final String CHILD_FLAG = "--child";
+
+    private LoaderFootprint() {
+        // Utility class - no instantiation
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && CHILD_FLAG.equals(args[0])) {
+            measure(LoaderFormat.valueOf(args[1]), Integer.parseInt(args[2]));
+            return;
+        }
+
+        String[] sizes = args.length > 0 ? args : new String[] {"1000", "100000", "1000000"};
+        String maxHeap = System.getenv().getOrDefault("MINDQUEST_FOOTPRINT_XMX", "2g");
+        System.out.printf("%-12s %9s %11s %11s %14s %12s %11s%n",
+            "Loader", "Rows", "File MB", "Questions", "First q (ms)", "Load (ms)", "Peak heap MB");
+        for (String size : sizes) {
+            int rows = Integer.parseInt(size);
+            for (LoaderFormat format : LoaderFormat.values()) {
+                // Generate in this JVM so the child measures loading only
+                Path file = QuestionFixtures.fixture(format, rows);
+                String result = runChild(maxHeap, format, rows);
+                System.out.printf("%-12s %9d %11.1f %s%n",
+                    format, rows, Files.size(file) / 1048576.0, result);
+            }
+        }
+    }
+
+    private static String runChild(String maxHeap, LoaderFormat format, int rows)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx" + maxHeap);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoaderFootprint.class.getName());
+        command.add(CHILD_FLAG);
+        command.add(format.name());
+        command.add(String.valueOf(rows));
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String result = null;
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                if (line.startsWith("RESULT ")) {
+                    result = line.substring("RESULT ".length());
+                } else if (line.contains("OutOfMemoryError")) {
+                    result = String.format("%11s", "out of memory");
+                }
+            }
+        }
+        process.waitFor();
+        return result != null ? result : String.format("%11s", "failed (exit " + process.exitValue() + ")");
+    }
+
+    /**
+     * Child side: one load with the heap peak reset just before it.
+     */
+    private static void measure(LoaderFormat format, int rows) throws IOException {
+        File file = QuestionFixtures.fixture(format, rows).toFile();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool);
+            }
+        }
+        System.gc();
+        long baseline = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            pool.resetPeakUsage();
+            baseline += pool.getUsage().getUsed();
+        }
+
+        long start = System.nanoTime();
+        List<Question> questions = format.load(file.toPath());
+        Question first = questions.isEmpty() ? null : questions.get(0);
+        long firstQuestion = System.nanoTime() - start;
+        Question last = questions.isEmpty() ? null : questions.get(questions.size() - 1);
+        long total = System.nanoTime() - start;
+
+        // Sum of per-pool peaks: slightly pessimistic, as pools may peak at different moments
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        System.out.printf("RESULT %11d %14.1f %12.1f %11.1f%n", questions.size(),
+            first == null ? Double.NaN : firstQuestion / 1e6, last == null ? Double.NaN : total / 1e6, (peak - baseline) / 1048576.0);
+    }
+}
@@ -0,0 +1,77 @@
+package com.mindquest.benchmarks.loader;
+
+import com.mindquest.loader.source.CsvQuestionLoader;
+import com.mindquest.loader.source.CustomJsonQuestionLoader;
+import com.mindquest.loader.source.ExcelQuestionLoader;
+import com.mindquest.loader.source.JsonQuestionLoader;
+import com.mindquest.model.question.Question;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The loaders under test and the fixture file each one reads. The CSV cases
+ * share one fixture per size.
+ */
+public enum LoaderFormat {
+
+    CSV("csv") {
+        @Override
+        public List<Question> load(Path file) throws IOException {
+            return CsvQuestionLoader.loadQuestions(file.toString());
+        }
+    },
+    /** One difficulty, filtered while streaming the same CSV fixture. */
+    CSV_EASY("csv") {
+        @Override
+        public List<Question> load(Path file) throws IOException {
+            return CsvQuestionLoader.loadQuestions(file.toString(), "Easy");
+        }
+    },
+    /** Reservoir sample the server takes from CSV files above the sampling threshold. */
+    CSV_SAMPLE("csv") {
+        @Override
+        public List<Question> load(Path file) throws IOException {
+            return CsvQuestionLoader.sampleQuestions(file.toString(), "Easy", SAMPLE_SIZE, ThreadLocalRandom.current());
+        }
+    },
+    XLSX("xlsx") {
+        @Override
+        public List<Question> load(Path file) throws IOException {
+            return ExcelQuestionLoader.loadQuestions(file.toString());
+        }
+    },
+    JSON("json") {
+        @Override
+        public List<Question> load(Path file) throws IOException {
+            return JsonQuestionLoader.loadQuestions(new FileInputStream(file.toFile()), "easy");
+        }
+    },
+    CUSTOM_JSON("json") {
+        @Override
+        public List<Question> load(Path file) throws IOException {
+            return CustomJsonQuestionLoader.loadQuestionsFromFile(file.toString(), "easy");
+        }
+    };
+
+    /** Default of MINDQUEST_CSV_SAMPLE_SIZE. */
+    private static final int SAMPLE_SIZE = 500;
+
+    private final String extension;
+
+    LoaderFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Load questions from the file the way the server does.
+     */
+    public abstract List<Question> load(Path file) throws IOException;
+}
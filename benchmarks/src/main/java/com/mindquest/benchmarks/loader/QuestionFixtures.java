@@ -0,0 +1,127 @@
+package com.mindquest.benchmarks.loader;
+
+import com.mindquest.config.ServerConfig;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Generates large question banks in every loader format.
+ *
+ * Files are written once per row count to MINDQUEST_FIXTURE_DIR (default: a
+ * mindquest-fixtures folder in the temp directory) and reused by later runs.
+ * Rows cycle through Easy/Medium/Hard; CSV rows carry quoted commas and quotes
+ * so the parser does real work. Run directly to pre-generate:
+ * <pre>
+ *   java -cp benchmarks/target/benchmarks.jar com.mindquest.benchmarks.loader.QuestionFixtures 1000 100000 1000000
+ * </pre>
+ */
+public final class QuestionFixtures {
+
+    private static final String[] DIFFICULTIES = {"Easy", "Medium", "Hard"};
+
+    private QuestionFixtures() {
+        // Utility class - no instantiation
+    }
+
+    public static void main(String[] args) throws IOException {
+        for (String rows : args.length > 0 ? args : new String[] {"1000", "100000", "1000000"}) {
+            for (LoaderFormat format : LoaderFormat.values()) {
+                System.out.println("[Fixtures] " + fixture(format, Integer.parseInt(rows)));
+            }
+        }
+    }
+
+    public static Path directory() {
+        return Paths.get(ServerConfig.getString("MINDQUEST_FIXTURE_DIR",
+            Paths.get(System.getProperty("java.io.tmpdir"), "mindquest-fixtures").toString()));
+    }
+
+    /**
+     * Path of the fixture for the format and size, generating it on first use.
+     */
+    public static synchronized Path fixture(LoaderFormat format, int rows) throws IOException {
+        Path file = directory().resolve("questions-" + rows + "." + format.getExtension());
+        if (Files.isRegularFile(file)) {
+            return file;
+        }
+        Files.createDirectories(file.getParent());
+        // Write to a temp name first so an interrupted run never leaves a truncated fixture behind
+        Path partial = file.resolveSibling(file.getFileName() + ".partial");
+        switch (format.getExtension()) {
+            case "csv":
+                writeCsv(partial, rows);
+                break;
+            case "xlsx":
+                writeXlsx(partial, rows);
+                break;
+            default:
+                writeJson(partial, rows);
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    private static void writeCsv(Path file, int rows) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("topic,difficulty,questionText,choice0,choice1,choice2,choice3,correctIndex\n");
+            for (int i = 0; i < rows; i++) {
+                out.write("Benchmark,");
+                out.write(DIFFICULTIES[i % 3]);
+                out.write(",\"Question " + i + ": which option, if any, is \"\"correct\"\"?\",");
+                out.write("Option A " + i + ",Option B " + i + ",\"Option C, with comma\",Option D " + i + ",");
+                out.write(Integer.toString(i % 4));
+                out.write('\n');
+            }
+        }
+    }
+
+    private static void writeXlsx(Path file, int rows) throws IOException {
+        // Streaming writer keeps 100 rows in memory; the reader under test is the expensive part
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+             OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Questions");
+            Row header = sheet.createRow(0);
+            String[] columns = {"topic", "difficulty", "questionText", "choice0", "choice1", "choice2", "choice3", "correctIndex"};
+            for (int c = 0; c < columns.length; c++) {
+                header.createCell(c).setCellValue(columns[c]);
+            }
+            for (int i = 0; i < rows; i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue("Benchmark");
+                row.createCell(1).setCellValue(DIFFICULTIES[i % 3]);
+                row.createCell(2).setCellValue("Question " + i + ": which option is correct?");
+                row.createCell(3).setCellValue("Option A " + i);
+                row.createCell(4).setCellValue("Option B " + i);
+                row.createCell(5).setCellValue("Option C " + i);
+                row.createCell(6).setCellValue("Option D " + i);
+                row.createCell(7).setCellValue(i % 4);
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+    }
+
+    private static void writeJson(Path file, int rows) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("{\n  \"topic\": \"Benchmark\",\n  \"difficulty\": \"easy\",\n  \"questions\": [\n");
+            for (int i = 0; i < rows; i++) {
+                out.write("    {\"questionText\": \"Question " + i + ": which option is correct?\", ");
+                out.write("\"choices\": [\"Option A " + i + "\", \"Option B " + i + "\", \"Option C " + i
+                    + "\", \"Option D " + i + "\"], ");
+                out.write("\"correctIndex\": " + (i % 4) + "}");
+                out.write(i < rows - 1 ? ",\n" : "\n");
+            }
+            out.write("  ]\n}\n");
+        }
+    }
+}